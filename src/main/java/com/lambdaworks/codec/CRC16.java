@@ -15,7 +15,13 @@
  */
 package com.lambdaworks.codec;
 
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+
 /**
+ * CRC16 checksum calculation using slicing-by-8: eight bytes are processed per step with eight precomputed lookup tables.
+ *
  * @author Mark Paluch
  *         <ul>
  *         <li>Name: XMODEM (also known as ZMODEM or CRC-16/ACORN)</li>
@@ -50,6 +56,25 @@ public class CRC16 {
             0x5C64, 0x4C45, 0x3CA2, 0x2C83, 0x1CE0, 0x0CC1, 0xEF1F, 0xFF3E, 0xCF5D, 0xDF7C, 0xAF9B, 0xBFBA, 0x8FD9, 0x9FF8,
             0x6E17, 0x7E36, 0x4E55, 0x5E74, 0x2E93, 0x3EB2, 0x0ED1, 0x1EF0 };
 
+    /**
+     * Lookup tables for slicing-by-8. Table {@code n} (at offset {@code n * 256}) contains the CRC of a byte followed by
+     * {@code n} zero bytes. Table {@literal 0} is {@link #LOOKUP_TABLE}.
+     */
+    private static final int[] SLICING_TABLE = new int[8 * 256];
+
+    static {
+
+        System.arraycopy(LOOKUP_TABLE, 0, SLICING_TABLE, 0, 256);
+
+        for (int table = 1; table < 8; table++) {
+            for (int i = 0; i < 256; i++) {
+
+                int previous = SLICING_TABLE[(table - 1) * 256 + i];
+                SLICING_TABLE[table * 256 + i] = ((previous << 8) ^ LOOKUP_TABLE[(previous >>> 8) & 0xFF]) & 0xFFFF;
+            }
+        }
+    }
+
     /**
      * Utility constructor.
      */
@@ -64,12 +89,124 @@ public class CRC16 {
      * @return CRC16 as interger value
      */
     public static int crc16(byte[] bytes) {
+        return crc16(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Create a CRC16 checksum from a range of {@code bytes}.
+     *
+     * @param bytes input bytes
+     * @param offset offset of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 4.4
+     */
+    public static int crc16(byte[] bytes, int offset, int length) {
+
+        int crc = 0x0000;
+        int i = offset;
+        int end = offset + length;
+
+        for (; i + 8 <= end; i += 8) {
+            crc = SLICING_TABLE[0x700 + (((crc >>> 8) ^ bytes[i]) & 0xFF)] ^ SLICING_TABLE[0x600 + ((crc ^ bytes[i + 1]) & 0xFF)]
+                    ^ SLICING_TABLE[0x500 + (bytes[i + 2] & 0xFF)] ^ SLICING_TABLE[0x400 + (bytes[i + 3] & 0xFF)]
+                    ^ SLICING_TABLE[0x300 + (bytes[i + 4] & 0xFF)] ^ SLICING_TABLE[0x200 + (bytes[i + 5] & 0xFF)]
+                    ^ SLICING_TABLE[0x100 + (bytes[i + 6] & 0xFF)] ^ SLICING_TABLE[bytes[i + 7] & 0xFF];
+        }
+
+        for (; i < end; i++) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (bytes[i] & 0xFF)) & 0xFF]);
+        }
+        return crc & 0xFFFF;
+    }
+
+    /**
+     * Create a CRC16 checksum from the remaining bytes of the {@link ByteBuffer}. The position of the buffer is not changed.
+     *
+     * @param bytes input bytes
+     * @return CRC16 as interger value
+     * @since 4.4
+     */
+    public static int crc16(ByteBuffer bytes) {
+        return crc16(bytes, bytes.position(), bytes.remaining());
+    }
+
+    /**
+     * Create a CRC16 checksum from a range of {@code bytes} using absolute indexes. The position and limit of the buffer are
+     * not changed.
+     *
+     * @param bytes input bytes
+     * @param index index of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 4.4
+     */
+    public static int crc16(ByteBuffer bytes, int index, int length) {
+
+        if (bytes.hasArray()) {
+            return crc16(bytes.array(), bytes.arrayOffset() + index, length);
+        }
+
         int crc = 0x0000;
+        int i = index;
+        int end = index + length;
+
+        for (; i + 8 <= end; i += 8) {
+            crc = SLICING_TABLE[0x700 + (((crc >>> 8) ^ bytes.get(i)) & 0xFF)]
+                    ^ SLICING_TABLE[0x600 + ((crc ^ bytes.get(i + 1)) & 0xFF)] ^ SLICING_TABLE[0x500 + (bytes.get(i + 2) & 0xFF)]
+                    ^ SLICING_TABLE[0x400 + (bytes.get(i + 3) & 0xFF)] ^ SLICING_TABLE[0x300 + (bytes.get(i + 4) & 0xFF)]
+                    ^ SLICING_TABLE[0x200 + (bytes.get(i + 5) & 0xFF)] ^ SLICING_TABLE[0x100 + (bytes.get(i + 6) & 0xFF)]
+                    ^ SLICING_TABLE[bytes.get(i + 7) & 0xFF];
+        }
 
-        for (byte b : bytes) {
-            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (b & 0xFF)) & 0xFF]);
+        for (; i < end; i++) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (bytes.get(i) & 0xFF)) & 0xFF]);
         }
         return crc & 0xFFFF;
     }
 
+    /**
+     * Create a CRC16 checksum from the readable bytes of the {@link ByteBuf}. The reader index of the buffer is not changed.
+     *
+     * @param bytes input bytes
+     * @return CRC16 as interger value
+     * @since 4.4
+     */
+    public static int crc16(ByteBuf bytes) {
+        return crc16(bytes, bytes.readerIndex(), bytes.readableBytes());
+    }
+
+    /**
+     * Create a CRC16 checksum from a range of {@code bytes} using absolute indexes. The reader and writer index of the buffer
+     * are not changed.
+     *
+     * @param bytes input bytes
+     * @param index index of the first byte
+     * @param length number of bytes
+     * @return CRC16 as interger value
+     * @since 4.4
+     */
+    public static int crc16(ByteBuf bytes, int index, int length) {
+
+        if (bytes.hasArray()) {
+            return crc16(bytes.array(), bytes.arrayOffset() + index, length);
+        }
+
+        int crc = 0x0000;
+        int i = index;
+        int end = index + length;
+
+        for (; i + 8 <= end; i += 8) {
+            crc = SLICING_TABLE[0x700 + (((crc >>> 8) ^ bytes.getByte(i)) & 0xFF)]
+                    ^ SLICING_TABLE[0x600 + ((crc ^ bytes.getByte(i + 1)) & 0xFF)]
+                    ^ SLICING_TABLE[0x500 + (bytes.getByte(i + 2) & 0xFF)] ^ SLICING_TABLE[0x400 + (bytes.getByte(i + 3) & 0xFF)]
+                    ^ SLICING_TABLE[0x300 + (bytes.getByte(i + 4) & 0xFF)] ^ SLICING_TABLE[0x200 + (bytes.getByte(i + 5) & 0xFF)]
+                    ^ SLICING_TABLE[0x100 + (bytes.getByte(i + 6) & 0xFF)] ^ SLICING_TABLE[bytes.getByte(i + 7) & 0xFF];
+        }
+
+        for (; i < end; i++) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (bytes.getByte(i) & 0xFF)) & 0xFF]);
+        }
+        return crc & 0xFFFF;
+    }
 }
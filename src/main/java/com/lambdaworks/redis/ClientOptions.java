@@ -16,6 +16,7 @@
 package com.lambdaworks.redis;
 
 import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
 
 import com.lambdaworks.redis.internal.LettuceAssert;
 
@@ -34,6 +35,12 @@ public class ClientOptions implements Serializable {
     public static final DisconnectedBehavior DEFAULT_DISCONNECTED_BEHAVIOR = DisconnectedBehavior.DEFAULT;
     public static final SocketOptions DEFAULT_SOCKET_OPTIONS = SocketOptions.create();
     public static final SslOptions DEFAULT_SSL_OPTIONS = SslOptions.create();
+    public static final boolean DEFAULT_ZERO_COPY_DECODING = false;
+    public static final long DEFAULT_COMMAND_TIMEOUT = 0;
+    public static final TimeUnit DEFAULT_COMMAND_TIMEOUT_UNIT = TimeUnit.SECONDS;
+    public static final boolean DEFAULT_WRITE_COALESCING = false;
+    public static final int DEFAULT_MAX_COMMANDS_PER_FLUSH = 256;
+    public static final int DEFAULT_LARGE_VALUE_THRESHOLD = 0;
 
     private final boolean pingBeforeActivateConnection;
     private final boolean autoReconnect;
@@ -43,6 +50,12 @@ public class ClientOptions implements Serializable {
     private final DisconnectedBehavior disconnectedBehavior;
     private final SocketOptions socketOptions;
     private final SslOptions sslOptions;
+    private final boolean zeroCopyDecoding;
+    private final long commandTimeout;
+    private final TimeUnit commandTimeoutUnit;
+    private final boolean writeCoalescing;
+    private final int maxCommandsPerFlush;
+    private final int largeValueThreshold;
 
     protected ClientOptions(Builder builder) {
         pingBeforeActivateConnection = builder.pingBeforeActivateConnection;
@@ -53,6 +66,12 @@ public class ClientOptions implements Serializable {
         disconnectedBehavior = builder.disconnectedBehavior;
         socketOptions = builder.socketOptions;
         sslOptions = builder.sslOptions;
+        zeroCopyDecoding = builder.zeroCopyDecoding;
+        commandTimeout = builder.commandTimeout;
+        commandTimeoutUnit = builder.commandTimeoutUnit;
+        writeCoalescing = builder.writeCoalescing;
+        maxCommandsPerFlush = builder.maxCommandsPerFlush;
+        largeValueThreshold = builder.largeValueThreshold;
     }
 
     protected ClientOptions(ClientOptions original) {
@@ -64,6 +83,12 @@ public class ClientOptions implements Serializable {
         this.disconnectedBehavior = original.getDisconnectedBehavior();
         this.socketOptions = original.getSocketOptions();
         this.sslOptions = original.getSslOptions();
+        this.zeroCopyDecoding = original.isZeroCopyDecoding();
+        this.commandTimeout = original.getCommandTimeout();
+        this.commandTimeoutUnit = original.getCommandTimeoutUnit();
+        this.writeCoalescing = original.isWriteCoalescing();
+        this.maxCommandsPerFlush = original.getMaxCommandsPerFlush();
+        this.largeValueThreshold = original.getLargeValueThreshold();
     }
 
     /**
@@ -107,6 +132,12 @@ public class ClientOptions implements Serializable {
         private DisconnectedBehavior disconnectedBehavior = DEFAULT_DISCONNECTED_BEHAVIOR;
         private SocketOptions socketOptions = DEFAULT_SOCKET_OPTIONS;
         private SslOptions sslOptions = DEFAULT_SSL_OPTIONS;
+        private boolean zeroCopyDecoding = DEFAULT_ZERO_COPY_DECODING;
+        private long commandTimeout = DEFAULT_COMMAND_TIMEOUT;
+        private TimeUnit commandTimeoutUnit = DEFAULT_COMMAND_TIMEOUT_UNIT;
+        private boolean writeCoalescing = DEFAULT_WRITE_COALESCING;
+        private int maxCommandsPerFlush = DEFAULT_MAX_COMMANDS_PER_FLUSH;
+        private int largeValueThreshold = DEFAULT_LARGE_VALUE_THRESHOLD;
 
         /**
          * @deprecated Use {@link ClientOptions#builder()}
@@ -219,6 +250,87 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Enables or disables zero-copy response decoding. If enabled, received data is aggregated by reference instead of
+         * being copied into a connection-local buffer and bulk replies are passed to the codec without copying whenever
+         * possible. Defaults to {@literal false}. See {@link #DEFAULT_ZERO_COPY_DECODING}.
+         *
+         * @param zeroCopyDecoding true/false
+         * @return {@code this}
+         */
+        public Builder zeroCopyDecoding(boolean zeroCopyDecoding) {
+            this.zeroCopyDecoding = zeroCopyDecoding;
+            return this;
+        }
+
+        /**
+         * Sets the command timeout applied to every command sent on a connection. Commands that do not receive a response
+         * within the timeout are completed exceptionally with a {@link RedisCommandTimeoutException}. Timeouts are tracked on
+         * the {@link com.lambdaworks.redis.resource.ClientResources#timer() timer} and apply to asynchronous, reactive and
+         * synchronous commands. Blocking commands such as {@literal BLPOP} are not subject to the command timeout. A timeout
+         * of {@literal 0} disables command timeouts. Defaults to {@literal 0}. See {@link #DEFAULT_COMMAND_TIMEOUT}.
+         *
+         * @param commandTimeout the timeout, must not be negative
+         * @param commandTimeoutUnit the unit of the timeout, must not be {@literal null}
+         * @return {@code this}
+         */
+        public Builder commandTimeout(long commandTimeout, TimeUnit commandTimeoutUnit) {
+
+            LettuceAssert.isTrue(commandTimeout >= 0, "Command timeout must be greater or equal to 0");
+            LettuceAssert.notNull(commandTimeoutUnit, "TimeUnit must not be null");
+
+            this.commandTimeout = commandTimeout;
+            this.commandTimeoutUnit = commandTimeoutUnit;
+            return this;
+        }
+
+        /**
+         * Enables or disables write coalescing. If enabled, commands written from outside of the connection's event loop are
+         * collected and written by a single event loop task that flushes once per batch instead of once per command. Batches
+         * are flushed after {@link #maxCommandsPerFlush(int)} commands or when the channel's write buffer exceeds its high water
+         * mark. Defaults to {@literal false}. See {@link #DEFAULT_WRITE_COALESCING}.
+         *
+         * @param writeCoalescing true/false
+         * @return {@code this}
+         */
+        public Builder writeCoalescing(boolean writeCoalescing) {
+            this.writeCoalescing = writeCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of commands that are written before flushing when write coalescing is enabled. Defaults to
+         * {@literal 256}. See {@link #DEFAULT_MAX_COMMANDS_PER_FLUSH}.
+         *
+         * @param maxCommandsPerFlush the maximum number of commands per flush, must be greater {@literal 0}
+         * @return {@code this}
+         */
+        public Builder maxCommandsPerFlush(int maxCommandsPerFlush) {
+
+            LettuceAssert.isTrue(maxCommandsPerFlush > 0, "Max commands per flush must be greater 0");
+
+            this.maxCommandsPerFlush = maxCommandsPerFlush;
+            return this;
+        }
+
+        /**
+         * Sets the size in bytes from which values are written as separate buffers instead of being copied into the command
+         * buffer. Large {@code byte[]} values and values encoded by a {@link com.lambdaworks.redis.codec.RedisCodec} to a
+         * {@link java.nio.ByteBuffer} are passed to the transport without copying. Codecs must not reuse the returned
+         * {@link java.nio.ByteBuffer} when using this option. Defaults to {@literal 0} (disabled). See
+         * {@link #DEFAULT_LARGE_VALUE_THRESHOLD}.
+         *
+         * @param largeValueThreshold the threshold in bytes, {@literal 0} to disable
+         * @return {@code this}
+         */
+        public Builder largeValueThreshold(int largeValueThreshold) {
+
+            LettuceAssert.isTrue(largeValueThreshold >= 0, "Large value threshold must be greater or equal 0");
+
+            this.largeValueThreshold = largeValueThreshold;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClientOptions}.
          * 
@@ -312,6 +424,62 @@ public class ClientOptions implements Serializable {
         return sslOptions;
     }
 
+    /**
+     * If this flag is {@literal true}, received data is retained and aggregated by reference instead of being copied into an
+     * intermediate buffer. Bulk replies reach the codec as views of the received data. Default is {@literal false}.
+     *
+     * @return {@literal true} if zero-copy decoding is enabled.
+     */
+    public boolean isZeroCopyDecoding() {
+        return zeroCopyDecoding;
+    }
+
+    /**
+     * Timeout for commands sent on a connection. A value of {@literal 0} disables command timeouts. Default is {@literal 0}.
+     *
+     * @return the command timeout.
+     */
+    public long getCommandTimeout() {
+        return commandTimeout;
+    }
+
+    /**
+     * Unit for the {@link #getCommandTimeout()}. Defaults to {@link TimeUnit#SECONDS}.
+     *
+     * @return the unit for the command timeout.
+     */
+    public TimeUnit getCommandTimeoutUnit() {
+        return commandTimeoutUnit;
+    }
+
+    /**
+     * If this flag is {@literal true}, commands written from outside of the event loop are coalesced into batches that are
+     * flushed once per batch. Default is {@literal false}.
+     *
+     * @return {@literal true} if write coalescing is enabled.
+     */
+    public boolean isWriteCoalescing() {
+        return writeCoalescing;
+    }
+
+    /**
+     * Maximum number of coalesced commands written before flushing. Defaults to {@literal 256}.
+     *
+     * @return the maximum number of commands per flush.
+     */
+    public int getMaxCommandsPerFlush() {
+        return maxCommandsPerFlush;
+    }
+
+    /**
+     * Size in bytes from which values are written as separate buffers. Defaults to {@literal 0} (disabled).
+     *
+     * @return the large value threshold in bytes.
+     */
+    public int getLargeValueThreshold() {
+        return largeValueThreshold;
+    }
+
     /**
      * Behavior of connections in disconnected state.
      */
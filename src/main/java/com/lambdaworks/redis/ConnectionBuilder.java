@@ -76,7 +76,7 @@ public class ConnectionBuilder {
         connection.setOptions(clientOptions);
 
         handlers.add(new ChannelGroupListener(channelGroup));
-        handlers.add(new CommandEncoder());
+        handlers.add(new CommandEncoder(true, clientOptions.getLargeValueThreshold()));
         handlers.add(commandHandler);
         handlers.add(connection);
         handlers.add(new ConnectionEventTrigger(connectionEvents, connection, clientResources.eventBus()));
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.api.async.RedisAsyncCommands;
+import com.lambdaworks.redis.api.rx.RedisReactiveCommands;
+import com.lambdaworks.redis.api.sync.RedisCommands;
+import com.lambdaworks.redis.cluster.api.sync.RedisClusterCommands;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * Delegating {@link StatefulRedisConnection} for pooled connections. Method calls are delegated to the pooled connection
+ * without reflection. {@link #close()} returns the connection to its pool instead of closing the underlying connection. The
+ * {@link #sync()}, {@link #async()} and {@link #reactive()} APIs are bound to this wrapper so closing the API returns the
+ * connection to the pool as well.
+ * <p>
+ * A pool creates a new wrapper for each allocation. Once the wrapper is closed, calls on the wrapper and its APIs fail with
+ * {@link RedisException}, even if the pooled connection was allocated again.
+ * <p>
+ * This class is part of the internal API and may change without further notice.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class PooledStatefulRedisConnection<K, V> implements StatefulRedisConnection<K, V> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PooledStatefulRedisConnection> RELEASED = AtomicIntegerFieldUpdater
+            .newUpdater(PooledStatefulRedisConnection.class, "released");
+
+    private final StatefulRedisConnectionImpl<K, V> connection;
+    private final Consumer<? super StatefulRedisConnectionImpl<K, V>> returnToPool;
+    private final RedisAsyncCommandsImpl<K, V> async;
+
+    private volatile RedisCommands<K, V> sync;
+    private volatile RedisReactiveCommandsImpl<K, V> reactive;
+
+    // accessed via RELEASED
+    @SuppressWarnings("unused")
+    private volatile int released;
+
+    /**
+     * Create a new {@link PooledStatefulRedisConnection} for a single allocation of {@code connection}.
+     *
+     * @param connection the pooled connection, must not be {@literal null}.
+     * @param returnToPool callback to return the pooled connection to its pool, must not be {@literal null}.
+     */
+    public PooledStatefulRedisConnection(StatefulRedisConnectionImpl<K, V> connection,
+            Consumer<? super StatefulRedisConnectionImpl<K, V>> returnToPool) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+        LettuceAssert.notNull(returnToPool, "Return to pool callback must not be null");
+
+        this.connection = connection;
+        this.returnToPool = returnToPool;
+        this.async = new RedisAsyncCommandsImpl<>(this, connection.codec);
+    }
+
+    /**
+     * @return {@literal true} if this wrapper was not yet closed.
+     */
+    public boolean isAllocated() {
+        return released == 0;
+    }
+
+    /**
+     * Returns the pooled connection regardless of the allocation state.
+     *
+     * @return the pooled connection.
+     */
+    public StatefulRedisConnection<K, V> getTargetConnection() {
+        return connection;
+    }
+
+    private StatefulRedisConnectionImpl<K, V> getConnection() {
+
+        if (released != 0) {
+            throw new RedisException("Connection is deallocated and cannot be used anymore.");
+        }
+
+        return connection;
+    }
+
+    @Override
+    public boolean isMulti() {
+        return getConnection().isMulti();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RedisCommands<K, V> sync() {
+
+        getConnection();
+
+        RedisCommands<K, V> sync = this.sync;
+        if (sync == null) {
+
+            Class<?>[] interfaces = { RedisCommands.class, RedisClusterCommands.class };
+            this.sync = sync = (RedisCommands<K, V>) Proxy.newProxyInstance(AbstractRedisClient.class.getClassLoader(),
+                    interfaces, new FutureSyncInvocationHandler<>(this, async, interfaces));
+        }
+
+        return sync;
+    }
+
+    @Override
+    public RedisAsyncCommands<K, V> async() {
+        getConnection();
+        return async;
+    }
+
+    @Override
+    public RedisReactiveCommands<K, V> reactive() {
+
+        getConnection();
+
+        RedisReactiveCommandsImpl<K, V> reactive = this.reactive;
+        if (reactive == null) {
+            this.reactive = reactive = new RedisReactiveCommandsImpl<>(this, connection.codec);
+        }
+
+        return reactive;
+    }
+
+    @Override
+    public void setTimeout(long timeout, TimeUnit unit) {
+        getConnection().setTimeout(timeout, unit);
+    }
+
+    @Override
+    public TimeUnit getTimeoutUnit() {
+        return getConnection().getTimeoutUnit();
+    }
+
+    @Override
+    public long getTimeout() {
+        return getConnection().getTimeout();
+    }
+
+    @Override
+    public <T, C extends RedisCommand<K, V, T>> C dispatch(C command) {
+        return getConnection().dispatch(command);
+    }
+
+    @Override
+    public Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands) {
+        return getConnection().dispatch(commands);
+    }
+
+    /**
+     * Return the connection to its pool. The underlying connection remains open.
+     */
+    @Override
+    public void close() {
+
+        if (!RELEASED.compareAndSet(this, 0, 1)) {
+            throw new RedisException("Connection is deallocated and cannot be used anymore.");
+        }
+
+        returnToPool.accept(connection);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return getConnection().isOpen();
+    }
+
+    @Override
+    public ClientOptions getOptions() {
+        return getConnection().getOptions();
+    }
+
+    @Override
+    public void reset() {
+        getConnection().reset();
+    }
+
+    @Override
+    public void setAutoFlushCommands(boolean autoFlush) {
+        getConnection().setAutoFlushCommands(autoFlush);
+    }
+
+    @Override
+    public void flushCommands() {
+        getConnection().flushCommands();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(getClass().getSimpleName());
+        sb.append(" [connection=").append(connection);
+        sb.append(", allocated=").append(isAllocated());
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -54,6 +54,16 @@ public abstract class ReadFrom {
      */
     public static final ReadFrom NEAREST = new ReadFromImpl.ReadFromNearest();
 
+    /**
+     * Setting to read from slaves and fall back to the master if no slave is available. Each read is routed to the less loaded
+     * of two randomly chosen slaves ("power of two choices"). Load is determined from the number of commands awaiting a
+     * response and the exponentially weighted moving average of the completion latency of each connection so slow or
+     * overloaded slaves receive fewer reads.
+     *
+     * @since 4.4
+     */
+    public static final ReadFrom ADAPTIVE = new ReadFromImpl.ReadFromAdaptive();
+
     /**
      * Chooses the nodes from the matching Redis nodes that match this read selector.
      *
@@ -62,6 +72,17 @@ public abstract class ReadFrom {
      */
     public abstract List<RedisNodeDescription> select(Nodes nodes);
 
+    /**
+     * Returns whether reads are balanced across the {@link #select(Nodes) selected nodes} by their current load. Connection
+     * providers route reads to the first available node if this method returns {@literal false}.
+     *
+     * @return {@literal true} if reads are balanced by load. Defaults to {@literal false}.
+     * @since 4.4
+     */
+    public boolean isAdaptive() {
+        return false;
+    }
+
     /**
      * Retrieve the {@link ReadFrom} preset by name.
      *
@@ -90,6 +111,10 @@ public abstract class ReadFrom {
             return NEAREST;
         }
 
+        if (name.equalsIgnoreCase("adaptive")) {
+            return ADAPTIVE;
+        }
+
         throw new IllegalArgumentException("ReadFrom " + name + " not supported");
     }
 
@@ -131,4 +131,38 @@ class ReadFromImpl {
             return nodes.getNodes();
         }
     }
+
+    /**
+     * Read from slaves and fall back to the master if no slave is available. Reads are balanced across the selected nodes by
+     * their load.
+     */
+    static final class ReadFromAdaptive extends ReadFrom {
+
+        @Override
+        public List<RedisNodeDescription> select(Nodes nodes) {
+
+            List<RedisNodeDescription> result = new ArrayList<>(nodes.getNodes().size());
+
+            for (RedisNodeDescription node : nodes) {
+                if (node.getRole() == RedisInstance.Role.SLAVE) {
+                    result.add(node);
+                }
+            }
+
+            if (result.isEmpty()) {
+                for (RedisNodeDescription node : nodes) {
+                    if (node.getRole() == RedisInstance.Role.MASTER) {
+                        result.add(node);
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        @Override
+        public boolean isAdaptive() {
+            return true;
+        }
+    }
 }
@@ -133,6 +133,22 @@ public abstract class RedisChannelHandler<K, V> extends ChannelInboundHandlerAda
         return channelWriter.write(cmd);
     }
 
+    /**
+     * Dispatch multiple commands using a single write operation, see {@link RedisChannelWriter#write(Collection)}.
+     *
+     * @param commands the commands, must not be {@literal null}.
+     * @return the written commands.
+     * @since 4.4
+     */
+    public Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        if (debugEnabled) {
+            logger.debug("dispatching commands {}", commands);
+        }
+
+        return channelWriter.write(commands);
+    }
+
     /**
      * Register Closeable resources. Internal access only.
      * 
@@ -16,6 +16,9 @@
 package com.lambdaworks.redis;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import com.lambdaworks.redis.protocol.RedisCommand;
 
@@ -40,6 +43,26 @@ public interface RedisChannelWriter<K, V> extends Closeable {
      */
     <T, C extends RedisCommand<K, V, T>> C write(C command);
 
+    /**
+     * Write multiple commands on the channel. Writers may write the commands using a single write and flush operation. The
+     * commands may be changed/wrapped during write and the written instances are returned after the call.
+     *
+     * @param commands the redis commands, must not be {@literal null}.
+     * @return the written redis commands.
+     * @since 4.4
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    default Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        List<RedisCommand<K, V, ?>> written = new ArrayList<>(commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            written.add(write((RedisCommand) command));
+        }
+
+        return written;
+    }
+
     @Override
     void close();
 
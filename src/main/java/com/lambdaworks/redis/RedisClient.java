@@ -469,9 +469,19 @@ public class RedisClient extends AbstractRedisClient {
         return getConnection(future);
     }
 
-    @SuppressWarnings("unused")
-    // Required by ReflectiveNodeConnectionFactory.
-    <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectStandaloneAsync(RedisCodec<K, V> codec, RedisURI redisURI) {
+    /**
+     * Open a new connection to a Redis server without blocking the caller. Use the supplied {@link RedisCodec codec} to
+     * encode/decode keys and values.
+     *
+     * @param codec Use this codec to encode/decode keys and values, must not be {@literal null}
+     * @param redisURI the Redis server to connect to, must not be {@literal null}
+     * @param <K> Key type
+     * @param <V> Value type
+     * @return the {@link ConnectionFuture} that is completed with the connection once it is established
+     * @since 4.4
+     */
+    public <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectStandaloneAsync(RedisCodec<K, V> codec,
+            RedisURI redisURI) {
         return connectStandaloneAsync(codec, redisURI, Timeout.from(redisURI));
     }
 
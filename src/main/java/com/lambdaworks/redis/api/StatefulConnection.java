@@ -15,6 +15,9 @@
  */
 package com.lambdaworks.redis.api;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import com.lambdaworks.redis.ClientOptions;
@@ -60,6 +63,27 @@ public interface StatefulConnection<K, V> extends AutoCloseable {
      */
     <T, C extends RedisCommand<K, V, T>> C dispatch(C command);
 
+    /**
+     * Dispatch multiple commands. The commands are written using a single write operation if supported by the connection.
+     * The commands may be changed/wrapped during write and the written instances are returned after the call. This method does
+     * not wait until the commands complete.
+     *
+     * @param commands the Redis commands, must not be {@literal null}.
+     * @return the written redis commands
+     * @since 4.4
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    default Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        List<RedisCommand<K, V, ?>> dispatched = new ArrayList<>(commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            dispatched.add(dispatch((RedisCommand) command));
+        }
+
+        return dispatched;
+    }
+
     /**
      * Close the connection. The connection will become not usable anymore as soon as this method was called.
      */
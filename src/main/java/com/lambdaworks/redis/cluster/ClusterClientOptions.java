@@ -34,9 +34,11 @@ public class ClusterClientOptions extends ClientOptions {
     public static final boolean DEFAULT_CLOSE_STALE_CONNECTIONS = true;
     public static final boolean DEFAULT_VALIDATE_CLUSTER_MEMBERSHIP = true;
     public static final int DEFAULT_MAX_REDIRECTS = 5;
+    public static final boolean DEFAULT_WARM_UP_CONNECTIONS = false;
 
     private final boolean validateClusterNodeMembership;
     private final int maxRedirects;
+    private final boolean warmUpConnections;
     private final ClusterTopologyRefreshOptions topologyRefreshOptions;
 
     protected ClusterClientOptions(Builder builder) {
@@ -45,6 +47,7 @@ public class ClusterClientOptions extends ClientOptions {
 
         this.validateClusterNodeMembership = builder.validateClusterNodeMembership;
         this.maxRedirects = builder.maxRedirects;
+        this.warmUpConnections = builder.warmUpConnections;
 
         ClusterTopologyRefreshOptions refreshOptions = builder.topologyRefreshOptions;
 
@@ -65,6 +68,7 @@ public class ClusterClientOptions extends ClientOptions {
 
         this.validateClusterNodeMembership = original.validateClusterNodeMembership;
         this.maxRedirects = original.maxRedirects;
+        this.warmUpConnections = original.warmUpConnections;
         this.topologyRefreshOptions = original.topologyRefreshOptions;
     }
 
@@ -107,6 +111,7 @@ public class ClusterClientOptions extends ClientOptions {
         private boolean closeStaleConnections = DEFAULT_CLOSE_STALE_CONNECTIONS;
         private boolean validateClusterNodeMembership = DEFAULT_VALIDATE_CLUSTER_MEMBERSHIP;
         private int maxRedirects = DEFAULT_MAX_REDIRECTS;
+        private boolean warmUpConnections = DEFAULT_WARM_UP_CONNECTIONS;
         private ClusterTopologyRefreshOptions topologyRefreshOptions = null;
 
         /**
@@ -190,6 +195,20 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        /**
+         * Connect eagerly to all masters and to the read candidates selected by {@link com.lambdaworks.redis.ReadFrom} before a
+         * cluster connection is returned and before a refreshed topology is used for command routing. Defaults to
+         * {@literal false}. See {@link ClusterClientOptions#DEFAULT_WARM_UP_CONNECTIONS}.
+         *
+         * @param warmUpConnections {@literal true} to connect to cluster nodes eagerly.
+         * @return {@code this}
+         * @since 4.4
+         */
+        public Builder warmUpConnections(boolean warmUpConnections) {
+            this.warmUpConnections = warmUpConnections;
+            return this;
+        }
+
         /**
          * Sets the {@link ClusterTopologyRefreshOptions} for detailed control of topology updates.
          *
@@ -249,6 +268,36 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder zeroCopyDecoding(boolean zeroCopyDecoding) {
+            super.zeroCopyDecoding(zeroCopyDecoding);
+            return this;
+        }
+
+        @Override
+        public Builder commandTimeout(long commandTimeout, TimeUnit commandTimeoutUnit) {
+            super.commandTimeout(commandTimeout, commandTimeoutUnit);
+            return this;
+        }
+
+        @Override
+        public Builder writeCoalescing(boolean writeCoalescing) {
+            super.writeCoalescing(writeCoalescing);
+            return this;
+        }
+
+        @Override
+        public Builder maxCommandsPerFlush(int maxCommandsPerFlush) {
+            super.maxCommandsPerFlush(maxCommandsPerFlush);
+            return this;
+        }
+
+        @Override
+        public Builder largeValueThreshold(int largeValueThreshold) {
+            super.largeValueThreshold(largeValueThreshold);
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClusterClientOptions}
          *
@@ -320,6 +369,18 @@ public class ClusterClientOptions extends ClientOptions {
         return maxRedirects;
     }
 
+    /**
+     * Connect eagerly to all masters and to the read candidates selected by {@link com.lambdaworks.redis.ReadFrom} before a
+     * cluster connection is returned and before a refreshed topology is used for command routing. Defaults to
+     * {@literal false}.
+     *
+     * @return {@literal true} if connections to cluster nodes are established eagerly.
+     * @since 4.4
+     */
+    public boolean isWarmUpConnections() {
+        return warmUpConnections;
+    }
+
     /**
      * The {@link ClusterTopologyRefreshOptions} for detailed control of topology updates.
      * 
@@ -21,7 +21,6 @@ import com.lambdaworks.redis.protocol.CommandKeyword;
 import com.lambdaworks.redis.protocol.CommandWrapper;
 import com.lambdaworks.redis.protocol.ProtocolKeyword;
 import com.lambdaworks.redis.protocol.RedisCommand;
-import io.netty.buffer.ByteBuf;
 
 /**
  * @author Mark Paluch
@@ -29,7 +28,10 @@ import io.netty.buffer.ByteBuf;
  */
 class ClusterCommand<K, V, T> extends CommandWrapper<K, V, T> implements RedisCommand<K, V, T> {
 
+    private static final int SLOT_UNKNOWN = -2;
+
     private int redirections;
+    private int slot = SLOT_UNKNOWN;
     private final int maxRedirections;
 
     private final RedisChannelWriter<K, V> retry;
@@ -88,9 +90,20 @@ class ClusterCommand<K, V, T> extends CommandWrapper<K, V, T> implements RedisCo
         return command.getArgs();
     }
 
-    @Override
-    public void encode(ByteBuf buf) {
-        command.encode(buf);
+    /**
+     * Return the slot of the first key. The slot is calculated on first access and retained for retries and redirections.
+     *
+     * @return the slot or {@literal -1} if the command has no key.
+     */
+    int getSlot() {
+
+        if (slot == SLOT_UNKNOWN) {
+
+            CommandArgs<K, V> args = getArgs();
+            slot = args != null ? SlotHash.getSlot(args) : -1;
+        }
+
+        return slot;
     }
 
     @Override
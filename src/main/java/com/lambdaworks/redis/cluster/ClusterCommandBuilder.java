@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static com.lambdaworks.redis.protocol.CommandType.*;
+
+import java.util.List;
+import java.util.Map;
+
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.output.*;
+import com.lambdaworks.redis.protocol.BaseRedisCommandBuilder;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandArgs;
+
+/**
+ * Command builder for the per-slot commands of cross-slot multi-key operations. Keys are partitioned by slot before the
+ * commands are created, so the arguments are neither {@literal null} nor empty.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+class ClusterCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
+
+    ClusterCommandBuilder(RedisCodec<K, V> codec) {
+        super(codec);
+    }
+
+    Command<K, V, Long> del(List<K> keys) {
+        return createCommand(DEL, new IntegerOutput<>(codec), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, Long> unlink(List<K> keys) {
+        return createCommand(UNLINK, new IntegerOutput<>(codec), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, Long> exists(List<K> keys) {
+        return createCommand(EXISTS, new IntegerOutput<>(codec), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, Long> touch(List<K> keys) {
+        return createCommand(TOUCH, new IntegerOutput<>(codec), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, List<V>> mget(List<K> keys) {
+        return createCommand(MGET, new ValueListOutput<>(codec), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, Long> mget(ValueStreamingChannel<V> channel, List<K> keys) {
+        return createCommand(MGET, new ValueStreamingOutput<>(codec, channel), new CommandArgs<>(codec).addKeys(keys));
+    }
+
+    Command<K, V, String> mset(Map<K, V> map) {
+        return createCommand(MSET, new StatusOutput<>(codec), new CommandArgs<>(codec).add(map));
+    }
+
+    Command<K, V, Boolean> msetnx(Map<K, V> map) {
+        return createCommand(MSETNX, new BooleanOutput<>(codec), new CommandArgs<>(codec).add(map));
+    }
+}
@@ -16,6 +16,7 @@
 package com.lambdaworks.redis.cluster;
 
 import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
 
 import com.lambdaworks.redis.ReadFrom;
 import com.lambdaworks.redis.RedisException;
@@ -57,6 +58,32 @@ interface ClusterConnectionProvider extends Closeable {
      */
     <K, V> StatefulRedisConnection<K, V> getConnection(Intent intent, String host, int port);
 
+    /**
+     * Provide a connection for the intent and host/port without blocking. The returned future completes once the connection is
+     * established or completes exceptionally if the connection attempt failed.
+     *
+     * @param intent {@link com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent#READ} or
+     *        {@link com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent#WRITE} {@literal READ} connections will be
+     *        provided in {@literal READONLY} mode
+     * @param host host of the node
+     * @param port port of the node
+     * @return a future providing a valid connection to the given host. The future completes with a {@link RedisException}
+     *         if the host is not part of the cluster.
+     * @since 4.4
+     */
+    <K, V> CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync(Intent intent, String host, int port);
+
+    /**
+     * Route {@code slot} to the master identified by {@code host} and {@code port} until the next topology update. Applies a
+     * {@literal MOVED} redirection to slot-based lookups without refreshing the whole topology. Unknown masters are ignored.
+     *
+     * @param slot the slot-hash
+     * @param host host of the master node
+     * @param port port of the master node
+     * @since 4.4
+     */
+    void redirectSlot(int slot, String host, int port);
+
     /**
      * Provide a connection for the intent and nodeId. The connection can survive cluster topology updates. The connection will
      * be closed if the node identified by {@code nodeId} is no longer part of the cluster.
@@ -15,20 +15,23 @@
  */
 package com.lambdaworks.redis.cluster;
 
-import static com.lambdaworks.redis.cluster.SlotHash.getSlot;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.internal.HostAndPort;
 import com.lambdaworks.redis.internal.LettuceAssert;
-import com.lambdaworks.redis.protocol.CommandArgs;
 import com.lambdaworks.redis.protocol.CommandKeyword;
 import com.lambdaworks.redis.protocol.ProtocolKeyword;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
-import io.netty.util.concurrent.EventExecutorGroup;
-
 /**
  * Channel writer for cluster operation. This writer looks up the right partition by hash/slot for the operation.
  *
@@ -41,7 +44,6 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
 
     private final RedisChannelWriter<K, V> defaultWriter;
     private final ClusterEventListener clusterEventListener;
-    private final EventExecutorGroup eventExecutors;
     private final int executionLimit;
 
     private ClusterConnectionProvider clusterConnectionProvider;
@@ -49,7 +51,7 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
     private volatile Partitions partitions;
 
     ClusterDistributionChannelWriter(ClientOptions clientOptions, RedisChannelWriter<K, V> defaultWriter,
-            ClusterEventListener clusterEventListener, EventExecutorGroup eventExecutors) {
+            ClusterEventListener clusterEventListener) {
 
         if (clientOptions instanceof ClusterClientOptions) {
             this.executionLimit = ((ClusterClientOptions) clientOptions).getMaxRedirects();
@@ -59,7 +61,6 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
 
         this.defaultWriter = defaultWriter;
         this.clusterEventListener = clusterEventListener;
-        this.eventExecutors = eventExecutors;
     }
 
     @Override
@@ -73,7 +74,6 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         }
 
         RedisCommand<K, V, T> commandToSend = command;
-        CommandArgs<K, V> args = command.getArgs();
 
         if (!(command instanceof ClusterCommand)) {
             commandToSend = new ClusterCommand<>(command, this, executionLimit);
@@ -84,32 +84,46 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
             ClusterCommand<K, V, T> clusterCommand = (ClusterCommand<K, V, T>) commandToSend;
             if (clusterCommand.isMoved() || clusterCommand.isAsk()) {
 
+                String error = clusterCommand.getError();
                 HostAndPort target;
                 boolean asking;
                 if (clusterCommand.isMoved()) {
-                    target = getMoveTarget(clusterCommand.getError());
+                    target = getMoveTarget(error);
                     clusterEventListener.onMovedRedirection();
                     asking = false;
+
+                    // route subsequent commands for the slot to the new owner until the next topology refresh
+                    int slot = getRedirectSlot(error);
+                    if (slot != -1) {
+                        clusterConnectionProvider.redirectSlot(slot, target.getHostText(), target.getPort());
+                    } else {
+                        clusterEventListener.onInvalidRedirection();
+                    }
                 } else {
-                    target = getAskTarget(clusterCommand.getError());
+                    target = getAskTarget(error);
                     asking = true;
                     clusterEventListener.onAskRedirection();
                 }
 
                 commandToSend.getOutput().setError((String) null);
 
-                eventExecutors.submit(() -> {
+                CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = clusterConnectionProvider
+                        .getConnectionAsync(ClusterConnectionProvider.Intent.WRITE, target.getHostText(), target.getPort());
 
-                    try {
-                        RedisChannelHandler<K, V> connection = (RedisChannelHandler<K, V>) clusterConnectionProvider
-                                .getConnection(ClusterConnectionProvider.Intent.WRITE, target.getHostText(), target.getPort());
+                connectFuture.whenComplete((connection, throwable) -> {
+
+                    if (throwable != null) {
+                        command.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable);
+                        return;
+                    }
 
+                    try {
                         if (asking) { // set asking bit
-                            StatefulRedisConnection<K, V> statefulRedisConnection = (StatefulRedisConnection<K, V>) connection;
-                            statefulRedisConnection.async().asking();
+                            connection.async().asking();
                         }
 
-                        connection.getChannelWriter().write(command);
+                        ((RedisChannelHandler<K, V>) connection).getChannelWriter().write(command);
                     } catch (Exception e) {
                         command.completeExceptionally(e);
                     }
@@ -119,14 +133,92 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
             }
         }
 
+        RedisChannelWriter<K, V> channelWriter = getWriter((ClusterCommand<K, V, T>) commandToSend);
+
+        if (command.getOutput() != null) {
+            commandToSend.getOutput().setError((String) null);
+        }
+
+        if (channelWriter != defaultWriter) {
+            return channelWriter.write((C) commandToSend);
+        }
+
+        defaultWriter.write((C) commandToSend);
+
+        return command;
+    }
+
+    /**
+     * Write a batch of commands. Commands are grouped by the node that serves their slot so each node receives its share of
+     * commands with a single write and flush. Commands that are subject to a {@literal MOVED} or {@literal ASK} redirection
+     * are dispatched individually.
+     *
+     * @param commands the commands to write.
+     * @return the written commands.
+     */
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        List<RedisCommand<K, V, ?>> result = new ArrayList<>(commands.size());
+        Map<RedisChannelWriter<K, V>, List<RedisCommand<K, V, ?>>> partitioned = new LinkedHashMap<>();
+
+        for (RedisCommand<K, V, ?> command : commands) {
+
+            if (command instanceof ClusterCommand) {
+
+                ClusterCommand<K, V, ?> clusterCommand = (ClusterCommand<K, V, ?>) command;
+                if (!clusterCommand.isDone() && (clusterCommand.isMoved() || clusterCommand.isAsk())) {
+                    result.add(write((RedisCommand) command));
+                    continue;
+                }
+            }
+
+            RedisCommand<K, V, ?> commandToSend = command;
+            if (!(command instanceof ClusterCommand)) {
+                commandToSend = new ClusterCommand(command, this, executionLimit);
+            }
+
+            if (command.getOutput() != null) {
+                commandToSend.getOutput().setError((String) null);
+            }
+
+            partitioned.computeIfAbsent(getWriter((ClusterCommand<K, V, ?>) commandToSend), key -> new ArrayList<>())
+                    .add(commandToSend);
+            result.add(commandToSend);
+        }
+
+        for (Map.Entry<RedisChannelWriter<K, V>, List<RedisCommand<K, V, ?>>> entry : partitioned.entrySet()) {
+            entry.getKey().write(entry.getValue());
+        }
+
+        return result;
+    }
+
+    /**
+     * Lookup the {@link RedisChannelWriter} of the node serving the first key of {@code command}. The slot is calculated once
+     * per command and reused when the command is retried.
+     *
+     * @param command the command.
+     * @return the node {@link RedisChannelWriter} or the default writer if the command has no key.
+     */
+    @SuppressWarnings("unchecked")
+    private RedisChannelWriter<K, V> getWriter(ClusterCommand<K, V, ?> command) {
+
+        int slot = command.getSlot();
         RedisChannelWriter<K, V> channelWriter = null;
 
-        if (args != null && args.getFirstEncodedKey() != null) {
-            int hash = getSlot(args.getFirstEncodedKey());
+        if (slot != -1) {
             ClusterConnectionProvider.Intent intent = getIntent(command.getType());
 
             RedisChannelHandler<K, V> connection = (RedisChannelHandler<K, V>) clusterConnectionProvider.getConnection(intent,
-                    hash);
+                    slot);
 
             channelWriter = connection.getChannelWriter();
         }
@@ -136,17 +228,11 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
             channelWriter = writer.defaultWriter;
         }
 
-        if (command.getOutput() != null) {
-            commandToSend.getOutput().setError((String) null);
-        }
-
-        if (channelWriter != null && channelWriter != this && channelWriter != defaultWriter) {
-            return channelWriter.write((C) commandToSend);
+        if (channelWriter == null || channelWriter == this) {
+            return defaultWriter;
         }
 
-        defaultWriter.write((C) commandToSend);
-
-        return command;
+        return channelWriter;
     }
 
     private ClusterConnectionProvider.Intent getIntent(ProtocolKeyword type) {
@@ -159,27 +245,72 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
     }
 
     static HostAndPort getMoveTarget(String errorMessage) {
+        return getRedirectTarget(errorMessage, CommandKeyword.MOVED);
+    }
+
+    static HostAndPort getAskTarget(String errorMessage) {
+        return getRedirectTarget(errorMessage, CommandKeyword.ASK);
+    }
+
+    /**
+     * Parse the target of a redirection error message in the form {@code MOVED|ASK <slot> <host>:<port>}.
+     */
+    private static HostAndPort getRedirectTarget(String errorMessage, CommandKeyword keyword) {
 
         LettuceAssert.notEmpty(errorMessage, "ErrorMessage must not be empty");
-        LettuceAssert.isTrue(errorMessage.startsWith(CommandKeyword.MOVED.name()), "ErrorMessage must start with "
-                + CommandKeyword.MOVED);
 
-        String[] movedMessageParts = errorMessage.split(" ");
-        LettuceAssert.isTrue(movedMessageParts.length >= 3, "ErrorMessage must consist of 3 tokens (" + errorMessage + ")");
+        if (!errorMessage.startsWith(keyword.name())) {
+            throw new IllegalArgumentException("ErrorMessage must start with " + keyword);
+        }
+
+        int targetStart = errorMessage.indexOf(' ', keyword.name().length() + 1) + 1;
+        if (targetStart == 0 || targetStart == errorMessage.length()) {
+            throw new IllegalArgumentException("ErrorMessage must consist of 3 tokens (" + errorMessage + ")");
+        }
 
-        return HostAndPort.parseCompat(movedMessageParts[2]);
+        int targetEnd = errorMessage.indexOf(' ', targetStart);
+        return HostAndPort.parseCompat(errorMessage.substring(targetStart, targetEnd == -1 ? errorMessage.length()
+                : targetEnd));
     }
 
-    static HostAndPort getAskTarget(String errorMessage) {
+    /**
+     * Parse the slot of a redirection error message in the form {@code MOVED|ASK <slot> <host>:<port>}.
+     *
+     * @return the slot or {@literal -1} if the slot is not a number between {@literal 0} and
+     *         {@link SlotHash#SLOT_COUNT} (exclusive).
+     */
+    static int getRedirectSlot(String errorMessage) {
 
-        LettuceAssert.notEmpty(errorMessage, "ErrorMessage must not be empty");
-        LettuceAssert.isTrue(errorMessage.startsWith(CommandKeyword.ASK.name()), "ErrorMessage must start with "
-                + CommandKeyword.ASK);
+        int slot = 0;
+        int index = errorMessage.indexOf(' ') + 1;
+
+        if (index == 0 || index == errorMessage.length()) {
+            throw new IllegalArgumentException("ErrorMessage must consist of 3 tokens (" + errorMessage + ")");
+        }
 
-        String[] movedMessageParts = errorMessage.split(" ");
-        LettuceAssert.isTrue(movedMessageParts.length >= 3, "ErrorMessage must consist of 3 tokens (" + errorMessage + ")");
+        if (errorMessage.charAt(index) == ' ') {
+            return -1;
+        }
+
+        for (; index < errorMessage.length(); index++) {
+
+            char c = errorMessage.charAt(index);
+            if (c == ' ') {
+                break;
+            }
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            slot = slot * 10 + (c - '0');
+
+            if (slot >= SlotHash.SLOT_COUNT) {
+                return -1;
+            }
+        }
 
-        return HostAndPort.parseCompat(movedMessageParts[2]);
+        return slot;
     }
 
     @Override
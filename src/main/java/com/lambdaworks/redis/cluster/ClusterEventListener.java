@@ -24,6 +24,13 @@ interface ClusterEventListener {
 
     void onMovedRedirection();
 
+    /**
+     * Called when a redirection does not carry a valid slot so the routing table cannot be updated from the redirection.
+     *
+     * @since 4.4
+     */
+    void onInvalidRedirection();
+
     void onReconnection(int attempt);
 
     static ClusterEventListener NO_OP = new ClusterEventListener() {
@@ -37,6 +44,11 @@ interface ClusterEventListener {
 
         }
 
+        @Override
+        public void onInvalidRedirection() {
+
+        }
+
         @Override
         public void onReconnection(int attempt) {
 
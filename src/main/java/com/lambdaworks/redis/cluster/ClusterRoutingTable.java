@@ -0,0 +1,301 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.util.*;
+
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.models.role.RedisNodeDescription;
+
+/**
+ * Immutable slot to {@link Route} mapping derived from a {@link Partitions} snapshot. Slots served by the same master share a
+ * single {@link Route} that caches the connections to the master and its read candidates.
+ * <p>
+ * A new routing table is derived from its predecessor by {@link #create(Partitions, ClusterRoutingTable)}. Routes of masters
+ * whose address and read candidates did not change are carried over along with their connections so only slots that moved
+ * between nodes or nodes that changed require a new connection lookup. Lookups do not require synchronization, routing tables
+ * are published through a {@code volatile} field.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+@SuppressWarnings({ "unchecked", "rawtypes" })
+class ClusterRoutingTable<K, V> {
+
+    private static final ClusterRoutingTable EMPTY = new ClusterRoutingTable(new Route[SlotHash.SLOT_COUNT],
+            Collections.emptyMap(), 0);
+
+    private final Route<K, V>[] slots;
+    private final Map<String, Route<K, V>> routes;
+    private final int changedSlots;
+
+    private ClusterRoutingTable(Route<K, V>[] slots, Map<String, Route<K, V>> routes, int changedSlots) {
+        this.slots = slots;
+        this.routes = routes;
+        this.changedSlots = changedSlots;
+    }
+
+    /**
+     * @return the empty {@link ClusterRoutingTable}.
+     */
+    static <K, V> ClusterRoutingTable<K, V> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a new {@link ClusterRoutingTable} from {@link Partitions}. {@link Route routes} of the {@code previous} routing
+     * table are retained if the master and its read candidates did not change.
+     *
+     * @param partitions the partitions, must not be {@literal null}.
+     * @param previous the previous routing table, may be {@literal null}.
+     * @return the new {@link ClusterRoutingTable}.
+     */
+    static <K, V> ClusterRoutingTable<K, V> create(Partitions partitions, ClusterRoutingTable<K, V> previous) {
+
+        LettuceAssert.notNull(partitions, "Partitions must not be null");
+
+        Map<String, Route<K, V>> routes = new HashMap<>();
+        Route<K, V>[] slots = new Route[SlotHash.SLOT_COUNT];
+        int changedSlots = 0;
+
+        for (int slot = 0; slot < SlotHash.SLOT_COUNT; slot++) {
+
+            RedisClusterNode master = partitions.getPartitionBySlot(slot);
+
+            if (master != null) {
+
+                Route<K, V> route = routes.get(master.getNodeId());
+                if (route == null) {
+                    route = createRoute(partitions, master, previous);
+                    routes.put(master.getNodeId(), route);
+                }
+
+                slots[slot] = route;
+            }
+
+            if (previous == null || previous.slots[slot] != slots[slot]) {
+                changedSlots++;
+            }
+        }
+
+        return new ClusterRoutingTable<>(slots, Collections.unmodifiableMap(routes), changedSlots);
+    }
+
+    private static <K, V> Route<K, V> createRoute(Partitions partitions, RedisClusterNode master,
+            ClusterRoutingTable<K, V> previous) {
+
+        List<RedisNodeDescription> readCandidates = new ArrayList<>();
+
+        for (RedisClusterNode partition : partitions) {
+            if (master.getNodeId().equals(partition.getNodeId()) || master.getNodeId().equals(partition.getSlaveOf())) {
+                readCandidates.add(partition);
+            }
+        }
+
+        Route<K, V> route = new Route<>(master.getNodeId(), master.getUri(), Collections.unmodifiableList(readCandidates));
+
+        if (previous != null) {
+
+            Route<K, V> previousRoute = previous.routes.get(master.getNodeId());
+            if (previousRoute != null && previousRoute.hasSameTopology(route)) {
+                return previousRoute;
+            }
+        }
+
+        return route;
+    }
+
+    /**
+     * Retrieve the {@link Route} for a {@code slot}.
+     *
+     * @param slot the slot.
+     * @return the {@link Route} or {@literal null} if the slot is not covered.
+     */
+    Route<K, V> getRoute(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * @return the distinct routes of this routing table.
+     */
+    Collection<Route<K, V>> getRoutes() {
+        return routes.values();
+    }
+
+    /**
+     * @return number of slots whose route changed in comparison to the previous routing table.
+     */
+    int getChangedSlots() {
+        return changedSlots;
+    }
+
+    /**
+     * Create a copy of this routing table that routes {@code slot} to the master identified by {@code host} and {@code port}.
+     *
+     * @param slot the slot.
+     * @param host host of the master.
+     * @param port port of the master.
+     * @return the new {@link ClusterRoutingTable} or this routing table if the master is unknown or serves {@code slot}
+     *         already.
+     */
+    ClusterRoutingTable<K, V> withRedirect(int slot, String host, int port) {
+
+        for (Route<K, V> route : routes.values()) {
+
+            RedisURI uri = route.getUri();
+            if (uri == null || uri.getPort() != port || !host.equals(uri.getHost())) {
+                continue;
+            }
+
+            if (slots[slot] == route) {
+                return this;
+            }
+
+            Route<K, V>[] slots = this.slots.clone();
+            slots[slot] = route;
+
+            return new ClusterRoutingTable<>(slots, routes, 1);
+        }
+
+        return this;
+    }
+
+    /**
+     * Create a copy of this routing table whose routes retain their write connection but do not cache read connections.
+     *
+     * @return the new {@link ClusterRoutingTable}.
+     */
+    ClusterRoutingTable<K, V> withoutReaders() {
+
+        Map<String, Route<K, V>> routes = new HashMap<>(this.routes.size());
+        Route<K, V>[] slots = new Route[SlotHash.SLOT_COUNT];
+
+        for (int slot = 0; slot < SlotHash.SLOT_COUNT; slot++) {
+
+            Route<K, V> route = this.slots[slot];
+            if (route != null) {
+                slots[slot] = routes.computeIfAbsent(route.nodeId, key -> route.withoutReaders());
+            }
+        }
+
+        return new ClusterRoutingTable<>(slots, Collections.unmodifiableMap(routes), 0);
+    }
+
+    /**
+     * Route to a master node and its read candidates. The topology of a route is immutable, connections are resolved on first
+     * use and cached.
+     *
+     * @param <K> Key type.
+     * @param <V> Value type.
+     */
+    static class Route<K, V> {
+
+        private final String nodeId;
+        private final RedisURI uri;
+        private final List<RedisNodeDescription> readCandidates;
+
+        private volatile StatefulRedisConnection<K, V> writer;
+        private volatile StatefulRedisConnection<K, V>[] readers;
+
+        Route(String nodeId, RedisURI uri, List<RedisNodeDescription> readCandidates) {
+            this.nodeId = nodeId;
+            this.uri = uri;
+            this.readCandidates = readCandidates;
+        }
+
+        String getNodeId() {
+            return nodeId;
+        }
+
+        RedisURI getUri() {
+            return uri;
+        }
+
+        List<RedisNodeDescription> getReadCandidates() {
+            return readCandidates;
+        }
+
+        StatefulRedisConnection<K, V> getWriter() {
+            return writer;
+        }
+
+        void setWriter(StatefulRedisConnection<K, V> writer) {
+            this.writer = writer;
+        }
+
+        StatefulRedisConnection<K, V>[] getReaders() {
+            return readers;
+        }
+
+        void setReaders(StatefulRedisConnection<K, V>[] readers) {
+            this.readers = readers;
+        }
+
+        Route<K, V> withoutReaders() {
+
+            Route<K, V> route = new Route<>(nodeId, uri, readCandidates);
+            route.writer = writer;
+            return route;
+        }
+
+        boolean hasSameTopology(Route<K, V> other) {
+
+            if (!nodeId.equals(other.nodeId) || !sameEndpoint(uri, other.uri)
+                    || readCandidates.size() != other.readCandidates.size()) {
+                return false;
+            }
+
+            for (int i = 0; i < readCandidates.size(); i++) {
+
+                RedisNodeDescription candidate = readCandidates.get(i);
+                RedisNodeDescription otherCandidate = other.readCandidates.get(i);
+
+                if (candidate.getRole() != otherCandidate.getRole()
+                        || !sameEndpoint(candidate.getUri(), otherCandidate.getUri())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static boolean sameEndpoint(RedisURI uri, RedisURI other) {
+
+            if (uri == null || other == null) {
+                return uri == other;
+            }
+
+            return uri.getPort() == other.getPort() && Objects.equals(uri.getHost(), other.getHost());
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            sb.append(getClass().getSimpleName());
+            sb.append(" [nodeId='").append(nodeId).append('\'');
+            sb.append(", uri=").append(uri);
+            sb.append(", readCandidates=").append(readCandidates.size());
+            sb.append(']');
+            return sb.toString();
+        }
+    }
+}
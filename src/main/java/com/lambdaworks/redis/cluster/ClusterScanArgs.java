@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import com.lambdaworks.redis.ScanArgs;
+import com.lambdaworks.redis.ScanCursor;
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Argument list builder for a cluster-wide {@code SCAN} that scans multiple nodes concurrently. Static import the methods from
+ * {@link Builder} and chain the method calls: {@code parallelism(4).limit(1000)}.
+ * <p>
+ * Passing {@link ClusterScanArgs} to a cluster {@code scan} method issues {@code SCAN} to up to {@link #parallelism(int)}
+ * nodes at once and merges their results into a single cursor. Nodes that finish their scan are replaced by the next node
+ * that was not scanned yet. The resulting cursor keeps the state of all nodes and is used to resume the scan. Its
+ * {@link ScanCursor#getCursor() cursor id} encodes the per-node state so a scan can be resumed from
+ * {@link ScanCursor#of(String)} as well. Keys from multiple nodes are emitted concurrently to a
+ * {@link com.lambdaworks.redis.output.KeyStreamingChannel}.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class ClusterScanArgs extends ScanArgs {
+
+    private int parallelism = 1;
+
+    /**
+     * Static builder methods.
+     */
+    public static class Builder {
+
+        /**
+         * Utility constructor.
+         */
+        private Builder() {
+
+        }
+
+        /**
+         * Create a new instance of {@link ClusterScanArgs} with parallelism.
+         *
+         * @param parallelism maximum number of nodes to scan concurrently
+         * @return a new instance of {@link ClusterScanArgs}
+         */
+        public static ClusterScanArgs parallelism(int parallelism) {
+            return new ClusterScanArgs().parallelism(parallelism);
+        }
+
+        /**
+         * Create a new instance of {@link ClusterScanArgs} with limit.
+         *
+         * @param count number of elements to scan per node
+         * @return a new instance of {@link ClusterScanArgs}
+         */
+        public static ClusterScanArgs limit(long count) {
+            return new ClusterScanArgs().limit(count);
+        }
+
+        /**
+         * Create a new instance of {@link ClusterScanArgs} with match filter.
+         *
+         * @param matches the filter
+         * @return a new instance of {@link ClusterScanArgs}
+         */
+        public static ClusterScanArgs matches(String matches) {
+            return new ClusterScanArgs().match(matches);
+        }
+    }
+
+    /**
+     * Limit the number of nodes that are scanned concurrently.
+     *
+     * @param parallelism maximum number of nodes to scan concurrently, must be greater {@literal 0}
+     * @return the current instance of {@link ClusterScanArgs}
+     */
+    public ClusterScanArgs parallelism(int parallelism) {
+
+        LettuceAssert.isTrue(parallelism > 0, "Parallelism must be greater 0");
+
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    @Override
+    public ClusterScanArgs match(String match) {
+        super.match(match);
+        return this;
+    }
+
+    /**
+     * Limit the scan by count. The count applies to each node.
+     *
+     * @param count number of elements to scan per node
+     * @return the current instance of {@link ClusterScanArgs}
+     */
+    @Override
+    public ClusterScanArgs limit(long count) {
+        super.limit(count);
+        return this;
+    }
+
+    /**
+     * @return the maximum number of nodes to scan concurrently.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -15,9 +15,7 @@
  */
 package com.lambdaworks.redis.cluster;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 import java.util.function.Function;
 
 import rx.Observable;
@@ -26,6 +24,7 @@ import rx.functions.Func1;
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.cluster.api.StatefulRedisClusterConnection;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
 
 /**
@@ -97,6 +96,38 @@ class ClusterScanSupport {
         }
     };
 
+    /**
+     * Merge {@link KeyScanCursor}s of a parallel scan step into a {@link ParallelClusterKeyScanCursor}.
+     */
+    static final ScanCursorMerger<KeyScanCursor<?>> keyScanCursorMerger = new ScanCursorMerger<KeyScanCursor<?>>() {
+        @Override
+        public KeyScanCursor<?> merge(ParallelScanState state, List<KeyScanCursor<?>> cursors) {
+
+            ParallelClusterKeyScanCursor<Object> result = new ParallelClusterKeyScanCursor<>(state);
+            for (KeyScanCursor<?> cursor : cursors) {
+                result.getKeys().addAll(cursor.getKeys());
+            }
+            return result;
+        }
+    };
+
+    /**
+     * Merge {@link StreamScanCursor}s of a parallel scan step into a {@link ParallelClusterStreamScanCursor}.
+     */
+    static final ScanCursorMerger<StreamScanCursor> streamScanCursorMerger = new ScanCursorMerger<StreamScanCursor>() {
+        @Override
+        public StreamScanCursor merge(ParallelScanState state, List<StreamScanCursor> cursors) {
+
+            ParallelClusterStreamScanCursor result = new ParallelClusterStreamScanCursor(state);
+            long count = 0;
+            for (StreamScanCursor cursor : cursors) {
+                count += cursor.getCount();
+            }
+            result.setCount(count);
+            return result;
+        }
+    };
+
     /**
      * Retrieve the cursor to continue the scan.
      * 
@@ -196,6 +227,60 @@ class ClusterScanSupport {
         return clusterKeyScanCursor.getCurrentNodeId();
     }
 
+    /**
+     * Check whether to perform a parallel scan. Scans are parallel if initiated with {@link ClusterScanArgs} or resumed from a
+     * parallel scan cursor.
+     *
+     * @param cursor the cursor.
+     * @param scanArgs the scan arguments, can be {@literal null}.
+     * @return {@literal true} if the scan should be performed in parallel.
+     */
+    static boolean isParallelScan(ScanCursor cursor, ScanArgs scanArgs) {
+        return cursor instanceof ParallelClusterScanCursor || scanArgs instanceof ClusterScanArgs;
+    }
+
+    /**
+     * Retrieve the state of a parallel scan. {@link ClusterScanArgs#getParallelism() Parallelism} of {@code scanArgs} takes
+     * precedence over the parallelism of a resumed scan.
+     *
+     * @param connection the connection.
+     * @param cursor the cursor.
+     * @param scanArgs the scan arguments, can be {@literal null}.
+     * @return the {@link ParallelScanState}.
+     */
+    static ParallelScanState getParallelScanState(StatefulRedisClusterConnection<?, ?> connection, ScanCursor cursor,
+            ScanArgs scanArgs) {
+
+        int parallelism = scanArgs instanceof ClusterScanArgs ? ((ClusterScanArgs) scanArgs).getParallelism() : 0;
+        ParallelScanState state;
+
+        if (cursor instanceof ParallelClusterScanCursor) {
+            state = ((ParallelClusterScanCursor) cursor).getScanState();
+            if (parallelism > 0) {
+                state = state.withParallelism(parallelism);
+            }
+        } else if (ScanCursor.INITIAL.equals(cursor) || (!cursor.isFinished() && "0".equals(cursor.getCursor()))) {
+
+            List<String> nodeIds = getNodeIds(connection);
+            assertHasNodes(nodeIds);
+
+            state = new ParallelScanState(nodeIds, Collections.emptyMap(), Math.max(1, parallelism));
+        } else {
+
+            if (cursor instanceof ClusterScanCursor) {
+                throw new IllegalArgumentException("Cannot resume a sequential cluster scan as parallel scan");
+            }
+
+            state = ParallelScanState.decode(cursor.getCursor(), Math.max(1, parallelism));
+        }
+
+        if (state.isFinished()) {
+            throw new IllegalStateException("Cluster scan is finished");
+        }
+
+        return state;
+    }
+
     private static void assertClusterScanCursor(ScanCursor cursor) {
         if (!(cursor instanceof ClusterScanCursor)) {
             throw new IllegalArgumentException(
@@ -225,6 +310,14 @@ class ClusterScanSupport {
         return reactiveStreamScanCursorMapper;
     }
 
+    static <K> ScanCursorMerger<KeyScanCursor<K>> clusterKeyScanCursorMerger() {
+        return (ScanCursorMerger) keyScanCursorMerger;
+    }
+
+    static ScanCursorMerger<StreamScanCursor> clusterStreamScanCursorMerger() {
+        return streamScanCursorMerger;
+    }
+
     /**
      * Mapper between the node operation cursor and the cluster scan cursor.
      *
@@ -234,6 +327,15 @@ class ClusterScanSupport {
         T map(List<String> nodeIds, String currentNodeId, T cursor);
     }
 
+    /**
+     * Merger for the node cursors of a parallel scan step.
+     *
+     * @param <T>
+     */
+    interface ScanCursorMerger<T extends ScanCursor> {
+        T merge(ParallelScanState state, List<T> cursors);
+    }
+
     /**
      * Marker for a cluster scan cursor.
      */
@@ -326,4 +428,193 @@ class ClusterScanSupport {
             return cursor.isFinished();
         }
     }
+
+    /**
+     * Marker for a parallel cluster scan cursor.
+     */
+    interface ParallelClusterScanCursor {
+        ParallelScanState getScanState();
+    }
+
+    /**
+     * State of a parallel cluster-wide SCAN. Holds the nodes that are not yet finished in scan order along with their node
+     * cursor. The first {@code parallelism} nodes are scanned in each step. Instances are immutable.
+     */
+    static class ParallelScanState {
+
+        private final List<String> nodeIds;
+        private final Map<String, String> cursors;
+        private final int parallelism;
+
+        ParallelScanState(List<String> nodeIds, Map<String, String> cursors, int parallelism) {
+            this.nodeIds = nodeIds;
+            this.cursors = cursors;
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * @return the nodes to scan in the next step.
+         */
+        List<String> getActiveNodeIds() {
+            return nodeIds.subList(0, Math.min(parallelism, nodeIds.size()));
+        }
+
+        /**
+         * @param nodeId the node Id.
+         * @return the cursor to continue the scan on {@code nodeId}.
+         */
+        ScanCursor getCursor(String nodeId) {
+
+            String cursor = cursors.get(nodeId);
+            return cursor != null ? ScanCursor.of(cursor) : ScanCursor.INITIAL;
+        }
+
+        int getParallelism() {
+            return parallelism;
+        }
+
+        boolean isFinished() {
+            return nodeIds.isEmpty();
+        }
+
+        ParallelScanState withParallelism(int parallelism) {
+            return new ParallelScanState(nodeIds, cursors, parallelism);
+        }
+
+        /**
+         * Create the state for the next step. Nodes that are not finished remain active, finished nodes are replaced by nodes
+         * that were not scanned yet.
+         *
+         * @param results node cursors in the order of {@link #getActiveNodeIds()}.
+         * @return the next {@link ParallelScanState}.
+         */
+        ParallelScanState next(List<? extends ScanCursor> results) {
+
+            List<String> activeNodeIds = getActiveNodeIds();
+            LettuceAssert.isTrue(results.size() == activeNodeIds.size(), "Results do not match the active nodes");
+
+            List<String> nodeIds = new ArrayList<>(this.nodeIds.size());
+            Map<String, String> cursors = new HashMap<>();
+
+            for (int i = 0; i < activeNodeIds.size(); i++) {
+
+                ScanCursor result = results.get(i);
+                if (!result.isFinished()) {
+                    nodeIds.add(activeNodeIds.get(i));
+                    cursors.put(activeNodeIds.get(i), result.getCursor());
+                }
+            }
+
+            for (String nodeId : this.nodeIds.subList(activeNodeIds.size(), this.nodeIds.size())) {
+
+                nodeIds.add(nodeId);
+                if (this.cursors.containsKey(nodeId)) {
+                    cursors.put(nodeId, this.cursors.get(nodeId));
+                }
+            }
+
+            return new ParallelScanState(nodeIds, cursors, parallelism);
+        }
+
+        /**
+         * Encode the state as {@code nodeId:cursor} pairs separated by comma. Nodes that were not scanned yet use cursor
+         * {@code 0}. A finished state is encoded as {@code 0}.
+         *
+         * @return the encoded state.
+         */
+        String encode() {
+
+            if (nodeIds.isEmpty()) {
+                return "0";
+            }
+
+            StringBuilder sb = new StringBuilder();
+            for (String nodeId : nodeIds) {
+
+                if (sb.length() != 0) {
+                    sb.append(',');
+                }
+
+                String cursor = cursors.get(nodeId);
+                sb.append(nodeId).append(':').append(cursor != null ? cursor : "0");
+            }
+
+            return sb.toString();
+        }
+
+        /**
+         * Decode a state created by {@link #encode()}.
+         *
+         * @param encoded the encoded state.
+         * @param parallelism the parallelism.
+         * @return the {@link ParallelScanState}.
+         */
+        static ParallelScanState decode(String encoded, int parallelism) {
+
+            if ("0".equals(encoded)) {
+                return new ParallelScanState(Collections.emptyList(), Collections.emptyMap(), parallelism);
+            }
+
+            List<String> nodeIds = new ArrayList<>();
+            Map<String, String> cursors = new HashMap<>();
+
+            for (String node : encoded.split(",")) {
+
+                int index = node.lastIndexOf(':');
+                if (index < 1 || index == node.length() - 1) {
+                    throw new IllegalArgumentException("Cannot resume a cluster scan from cursor " + encoded);
+                }
+
+                String nodeId = node.substring(0, index);
+                String cursor = node.substring(index + 1);
+
+                nodeIds.add(nodeId);
+                if (!"0".equals(cursor)) {
+                    cursors.put(nodeId, cursor);
+                }
+            }
+
+            return new ParallelScanState(nodeIds, cursors, parallelism);
+        }
+    }
+
+    /**
+     * Composite cursor of a parallel cluster-wide SCAN using Key results.
+     *
+     * @param <K>
+     */
+    private static class ParallelClusterKeyScanCursor<K> extends KeyScanCursor<K> implements ParallelClusterScanCursor {
+
+        final ParallelScanState scanState;
+
+        ParallelClusterKeyScanCursor(ParallelScanState scanState) {
+            this.scanState = scanState;
+            setCursor(scanState.encode());
+            setFinished(scanState.isFinished());
+        }
+
+        @Override
+        public ParallelScanState getScanState() {
+            return scanState;
+        }
+    }
+
+    /**
+     * Composite cursor of a parallel cluster-wide SCAN using streaming.
+     */
+    private static class ParallelClusterStreamScanCursor extends StreamScanCursor implements ParallelClusterScanCursor {
+
+        final ParallelScanState scanState;
+
+        ParallelClusterStreamScanCursor(ParallelScanState scanState) {
+            this.scanState = scanState;
+            setCursor(scanState.encode());
+            setFinished(scanState.isFinished());
+        }
+
+        @Override
+        public ParallelScanState getScanState() {
+            return scanState;
+        }
+    }
 }
@@ -129,6 +129,11 @@ class ClusterTopologyRefreshScheduler implements Runnable, ClusterEventListener
         }
     }
 
+    @Override
+    public void onInvalidRedirection() {
+        indicateTopologyRefreshSignal();
+    }
+
     @Override
     public void onReconnection(int attempt) {
 
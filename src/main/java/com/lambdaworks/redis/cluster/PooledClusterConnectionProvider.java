@@ -15,16 +15,19 @@
  */
 package com.lambdaworks.redis.cluster;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.api.StatefulConnection;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.cluster.ClusterNodeConnectionFactory.ConnectionKey;
+import com.lambdaworks.redis.cluster.ClusterRoutingTable.Route;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
@@ -32,12 +35,16 @@ import com.lambdaworks.redis.internal.HostAndPort;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.models.role.RedisInstance;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
+import com.lambdaworks.redis.protocol.CommandHandler;
 
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
- * Connection provider with built-in connection caching.
+ * Connection provider with built-in connection caching. Slot-based connection lookups use a {@link ClusterRoutingTable} that
+ * is replaced on topology and {@link ReadFrom} changes. Lookups do not synchronize, updates to the routing table synchronize
+ * on {@code stateLock}. If {@link ClusterClientOptions#isWarmUpConnections() warm-up} is enabled, routing tables of
+ * refreshed topologies are published once the connections to their nodes are established.
  *
  * @param <K> Key type.
  * @param <V> Value type.
@@ -52,17 +59,17 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     // Contains NodeId-identified and HostAndPort-identified connections.
     private final Object stateLock = new Object();
     private final boolean debugEnabled = logger.isDebugEnabled();
-    private final StatefulRedisConnection<K, V> writers[] = new StatefulRedisConnection[SlotHash.SLOT_COUNT];
-    private final StatefulRedisConnection<K, V> readers[][] = new StatefulRedisConnection[SlotHash.SLOT_COUNT][];
     private final RedisClusterClient redisClusterClient;
     private final ClusterNodeConnectionFactory<K, V> connectionFactory;
     private final RedisChannelWriter<K, V> clusterWriter;
     private final RedisCodec<K, V> redisCodec;
     private final SynchronizingClusterConnectionProvider<K, V> connectionProvider;
 
-    private Partitions partitions;
-    private boolean autoFlushCommands = true;
-    private ReadFrom readFrom;
+    private volatile Partitions partitions;
+    private volatile ClusterRoutingTable<K, V> routingTable = ClusterRoutingTable.empty();
+    private ClusterRoutingTable<K, V> pendingRoutingTable = ClusterRoutingTable.empty(); // guarded by stateLock
+    private volatile boolean autoFlushCommands = true;
+    private volatile ReadFrom readFrom;
 
     public PooledClusterConnectionProvider(RedisClusterClient redisClusterClient, RedisChannelWriter<K, V> clusterWriter,
             RedisCodec<K, V> redisCodec) {
@@ -82,8 +89,9 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         }
 
         try {
+            ReadFrom readFrom = this.readFrom;
             if (intent == Intent.READ && readFrom != null) {
-                return getReadConnection(slot);
+                return getReadConnection(slot, readFrom);
             }
             return getWriteConnection(slot);
         } catch (RedisException e) {
@@ -95,53 +103,27 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
 
     private StatefulRedisConnection<K, V> getWriteConnection(int slot) {
 
-        StatefulRedisConnection<K, V> writer;// avoid races when reconfiguring partitions.
-        synchronized (stateLock) {
-            writer = writers[slot];
-        }
-
-        if (writer == null) {
-            RedisClusterNode partition = partitions.getPartitionBySlot(slot);
-            if (partition == null) {
-                throw new RedisException("Cannot determine a partition for slot " + slot + " (Partitions: " + partitions + ")");
-            }
+        Route<K, V> route = getRoute(slot, "a partition");
+        StatefulRedisConnection<K, V> writer = route.getWriter();
 
-            // Use always host and port for slot-oriented operations. We don't want to get reconnected on a different
-            // host because the nodeId can be handled by a different host.
-            RedisURI uri = partition.getUri();
-            ConnectionKey key = new ConnectionKey(Intent.WRITE, uri.getHost(), uri.getPort());
-            return writers[slot] = connectionProvider.getConnection(key);
+        // routes outlive routing table updates, re-resolve connections that were closed since they were cached
+        if (writer == null || !writer.isOpen()) {
 
+            writer = connectionProvider.getConnection(getWriteKey(route));
+            route.setWriter(writer);
         }
+
         return writer;
     }
 
-    protected StatefulRedisConnection<K, V> getReadConnection(int slot) {
+    protected StatefulRedisConnection<K, V> getReadConnection(int slot, ReadFrom readFrom) {
 
-        StatefulRedisConnection<K, V> readerCandidates[];// avoid races when reconfiguring partitions.
-        synchronized (stateLock) {
-            readerCandidates = readers[slot];
-        }
-
-        if (readerCandidates == null) {
-            RedisClusterNode master = partitions.getPartitionBySlot(slot);
-            if (master == null) {
-                throw new RedisException("Cannot determine a partition to read for slot " + slot + " (Partitions: "
-                        + partitions + ")");
-            }
+        Route<K, V> route = getRoute(slot, "a partition to read");
+        StatefulRedisConnection<K, V> readerCandidates[] = route.getReaders();
 
-            List<RedisNodeDescription> candidates = getReadCandidates(master);
-            List<RedisNodeDescription> selection = readFrom.select(new ReadFrom.Nodes() {
-                @Override
-                public List<RedisNodeDescription> getNodes() {
-                    return candidates;
-                }
+        if (readerCandidates == null || !isAnyOpen(readerCandidates)) {
 
-                @Override
-                public Iterator<RedisNodeDescription> iterator() {
-                    return candidates.iterator();
-                }
-            });
+            List<RedisNodeDescription> selection = select(route, readFrom);
 
             if (selection.isEmpty()) {
                 throw new RedisException("Cannot determine a partition to read for slot " + slot + " (Partitions: "
@@ -149,7 +131,20 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
             }
 
             readerCandidates = getReadFromConnections(selection);
-            readers[slot] = readerCandidates;
+
+            if (readFrom.isAdaptive()) {
+                enableLatencyTracking(readerCandidates);
+            }
+
+            route.setReaders(readerCandidates);
+        }
+
+        if (readFrom.isAdaptive()) {
+
+            StatefulRedisConnection<K, V> selected = selectAdaptive(readerCandidates);
+            if (selected != null) {
+                return selected;
+            }
         }
 
         // try working connections at first
@@ -164,36 +159,219 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         return readerCandidates[0];
     }
 
-    private StatefulRedisConnection<K, V>[] getReadFromConnections(List<RedisNodeDescription> selection) {
+    private static boolean isAnyOpen(StatefulRedisConnection<?, ?>[] connections) {
 
-        StatefulRedisConnection<K, V>[] readerCandidates;
-        // Use always host and port for slot-oriented operations. We don't want to get reconnected on a different
-        // host because the nodeId can be handled by a different host.
+        for (StatefulRedisConnection<?, ?> connection : connections) {
+            if (connection.isOpen()) {
+                return true;
+            }
+        }
 
-        readerCandidates = new StatefulRedisConnection[selection.size()];
+        return false;
+    }
 
-        for (int i = 0; i < selection.size(); i++) {
-            RedisNodeDescription redisClusterNode = selection.get(i);
+    /**
+     * Select the less loaded of two randomly chosen open connections ("power of two choices").
+     *
+     * @return the selected connection or {@literal null} if neither of the chosen connections is open.
+     */
+    private static <K, V> StatefulRedisConnection<K, V> selectAdaptive(StatefulRedisConnection<K, V>[] readers) {
+
+        if (readers.length == 1) {
+            return readers[0].isOpen() ? readers[0] : null;
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(readers.length);
+        int second = random.nextInt(readers.length - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        StatefulRedisConnection<K, V> a = readers[first];
+        StatefulRedisConnection<K, V> b = readers[second];
+
+        if (a.isOpen() && b.isOpen()) {
+            return getLoad(a) <= getLoad(b) ? a : b;
+        }
+
+        if (a.isOpen()) {
+            return a;
+        }
+
+        return b.isOpen() ? b : null;
+    }
+
+    private static long getLoad(StatefulRedisConnection<?, ?> connection) {
+
+        CommandHandler<?, ?> commandHandler = getCommandHandler(connection);
+        if (commandHandler == null) {
+            return 0;
+        }
 
-            RedisURI uri = redisClusterNode.getUri();
-            ConnectionKey key = new ConnectionKey(redisClusterNode.getRole() == RedisInstance.Role.MASTER ? Intent.WRITE
-                    : Intent.READ, uri.getHost(), uri.getPort());
+        return (commandHandler.getCompletionLatencyAverage(TimeUnit.MICROSECONDS) + 1)
+                * (commandHandler.getInFlightCommands() + 1);
+    }
+
+    private static void enableLatencyTracking(StatefulRedisConnection<?, ?>[] connections) {
+
+        for (StatefulRedisConnection<?, ?> connection : connections) {
+
+            CommandHandler<?, ?> commandHandler = getCommandHandler(connection);
+            if (commandHandler != null) {
+                commandHandler.setLatencyTracking(true);
+            }
+        }
+    }
+
+    private static CommandHandler<?, ?> getCommandHandler(StatefulRedisConnection<?, ?> connection) {
+
+        if (connection instanceof RedisChannelHandler) {
+
+            RedisChannelWriter<?, ?> writer = ((RedisChannelHandler<?, ?>) connection).getChannelWriter();
+            if (writer instanceof CommandHandler) {
+                return (CommandHandler<?, ?>) writer;
+            }
+        }
+
+        return null;
+    }
+
+    private Route<K, V> getRoute(int slot, String target) {
+
+        Route<K, V> route = routingTable.getRoute(slot);
 
-            readerCandidates[i] = connectionProvider.getConnection(key);
+        if (route == null) {
+            throw new RedisException("Cannot determine " + target + " for slot " + slot + " (Partitions: " + partitions + ")");
+        }
+
+        return route;
+    }
+
+    private static List<RedisNodeDescription> select(Route<?, ?> route, ReadFrom readFrom) {
+
+        List<RedisNodeDescription> candidates = route.getReadCandidates();
+        return readFrom.select(new ReadFrom.Nodes() {
+            @Override
+            public List<RedisNodeDescription> getNodes() {
+                return candidates;
+            }
+
+            @Override
+            public Iterator<RedisNodeDescription> iterator() {
+                return candidates.iterator();
+            }
+        });
+    }
+
+    private StatefulRedisConnection<K, V>[] getReadFromConnections(List<RedisNodeDescription> selection) {
+
+        StatefulRedisConnection<K, V>[] readerCandidates = new StatefulRedisConnection[selection.size()];
+
+        for (int i = 0; i < selection.size(); i++) {
+            readerCandidates[i] = connectionProvider.getConnection(getReadKey(selection.get(i)));
         }
 
         return readerCandidates;
     }
 
-    private List<RedisNodeDescription> getReadCandidates(RedisClusterNode master) {
+    // Use always host and port for slot-oriented operations. We don't want to get reconnected on a different
+    // host because the nodeId can be handled by a different host.
+    private static ConnectionKey getWriteKey(Route<?, ?> route) {
 
-        return partitions.stream() //
-                .filter(partition -> isReadCandidate(master, partition)) //
-                .collect(Collectors.toList());
+        RedisURI uri = route.getUri();
+        return new ConnectionKey(Intent.WRITE, uri.getHost(), uri.getPort());
     }
 
-    private boolean isReadCandidate(RedisClusterNode master, RedisClusterNode partition) {
-        return master.getNodeId().equals(partition.getNodeId()) || master.getNodeId().equals(partition.getSlaveOf());
+    private static ConnectionKey getReadKey(RedisNodeDescription node) {
+
+        RedisURI uri = node.getUri();
+        return new ConnectionKey(node.getRole() == RedisInstance.Role.MASTER ? Intent.WRITE : Intent.READ, uri.getHost(),
+                uri.getPort());
+    }
+
+    /**
+     * Connect eagerly to all masters and the read candidates selected by the current {@link ReadFrom} setting of the most
+     * recent topology and publish its routing table.
+     *
+     * @return a future that is completed once all connections are established.
+     */
+    CompletableFuture<Void> warmUp() {
+
+        ClusterRoutingTable<K, V> routingTable;
+        synchronized (stateLock) {
+            routingTable = this.pendingRoutingTable;
+        }
+
+        return warmUp(routingTable).whenComplete((v, throwable) -> publish(routingTable));
+    }
+
+    private CompletableFuture<Void> warmUp(ClusterRoutingTable<K, V> routingTable) {
+
+        ReadFrom readFrom = this.readFrom;
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (Route<K, V> route : routingTable.getRoutes()) {
+
+            if (route.getWriter() == null) {
+                futures.add(connectionProvider.getConnectionAsync(getWriteKey(route)).thenAccept(route::setWriter));
+            }
+
+            if (readFrom != null && route.getReaders() == null) {
+                futures.add(warmUpReaders(route, readFrom));
+            }
+        }
+
+        if (debugEnabled) {
+            logger.debug("warmUp() Establishing {} connections for {} routes", futures.size(), routingTable.getRoutes().size());
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> warmUpReaders(Route<K, V> route, ReadFrom readFrom) {
+
+        List<RedisNodeDescription> selection = select(route, readFrom);
+        CompletableFuture<StatefulRedisConnection<K, V>>[] futures = new CompletableFuture[selection.size()];
+
+        for (int i = 0; i < selection.size(); i++) {
+            futures[i] = connectionProvider.getConnectionAsync(getReadKey(selection.get(i)));
+        }
+
+        return CompletableFuture.allOf(futures).thenRun(() -> {
+
+            if (futures.length == 0 || this.readFrom != readFrom) {
+                return;
+            }
+
+            StatefulRedisConnection<K, V>[] readers = new StatefulRedisConnection[futures.length];
+            for (int i = 0; i < futures.length; i++) {
+                readers[i] = futures[i].join();
+            }
+
+            if (readFrom.isAdaptive()) {
+                enableLatencyTracking(readers);
+            }
+
+            route.setReaders(readers);
+        });
+    }
+
+    /**
+     * Publish {@code routingTable} if it is still the most recent routing table.
+     *
+     * @return {@literal true} if {@code routingTable} was published.
+     */
+    private boolean publish(ClusterRoutingTable<K, V> routingTable) {
+
+        synchronized (stateLock) {
+            if (this.pendingRoutingTable == routingTable) {
+                this.routingTable = routingTable;
+                return true;
+            }
+        }
+
+        return false;
     }
 
     @Override
@@ -234,6 +412,48 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         }
     }
 
+    @Override
+    public CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync(Intent intent, String host, int port) {
+
+        if (debugEnabled) {
+            logger.debug("getConnectionAsync(" + intent + ", " + host + ", " + port + ")");
+        }
+
+        if (validateClusterNodeMembership() && getPartition(host, port) == null) {
+
+            CompletableFuture<StatefulRedisConnection<K, V>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RedisException(invalidConnectionPoint(HostAndPort.of(host, port).toString())));
+            return failed;
+        }
+
+        return connectionProvider.getConnectionAsync(new ConnectionKey(intent, host, port));
+    }
+
+    @Override
+    public void redirectSlot(int slot, String host, int port) {
+
+        synchronized (stateLock) {
+
+            ClusterRoutingTable<K, V> routingTable = this.routingTable.withRedirect(slot, host, port);
+
+            if (routingTable == this.routingTable) {
+                return;
+            }
+
+            if (debugEnabled) {
+                logger.debug("redirectSlot() Routing slot {} to {}:{}", slot, host, port);
+            }
+
+            if (this.pendingRoutingTable == this.routingTable) {
+                this.pendingRoutingTable = routingTable;
+            } else {
+                this.pendingRoutingTable = this.pendingRoutingTable.withRedirect(slot, host, port);
+            }
+
+            this.routingTable = routingTable;
+        }
+    }
+
     protected RedisClusterNode getPartition(String host, int port) {
 
         for (RedisClusterNode partition : partitions) {
@@ -259,7 +479,10 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     }
 
     /**
-     * Synchronize on {@code stateLock} to initiate a happens-before relation and clear the thread caches of other threads.
+     * Apply new {@link Partitions}. The routing table is updated incrementally: routes of masters whose address and read
+     * candidates did not change retain their connections, only moved slots and changed nodes require a new connection lookup.
+     * With warm-up enabled, the new routing table is published after connections to new routes are established. Lookups use
+     * the previous routing table in the meantime.
      *
      * @param partitions the new partitions.
      */
@@ -267,6 +490,7 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     public void setPartitions(Partitions partitions) {
 
         boolean reconfigurePartitions = false;
+        ClusterRoutingTable<K, V> toWarmUp = null;
 
         synchronized (stateLock) {
             if (this.partitions != null) {
@@ -274,9 +498,36 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
             }
             this.partitions = partitions;
             this.connectionFactory.setPartitions(partitions);
+
+            ClusterRoutingTable<K, V> routingTable = ClusterRoutingTable.create(partitions, this.pendingRoutingTable);
+            this.pendingRoutingTable = routingTable;
+
+            if (reconfigurePartitions && warmUpConnections()) {
+                toWarmUp = routingTable;
+            } else {
+                this.routingTable = routingTable;
+            }
+
+            if (debugEnabled) {
+                logger.debug("setPartitions() {} slots changed routes", routingTable.getChangedSlots());
+            }
         }
 
-        if (reconfigurePartitions) {
+        if (toWarmUp != null) {
+
+            ClusterRoutingTable<K, V> routingTable = toWarmUp;
+            warmUp(routingTable).whenComplete((v, throwable) -> {
+
+                if (throwable != null) {
+                    logger.warn("Cannot establish connections to cluster nodes: " + throwable.getMessage());
+                }
+
+                // close stale connections only after the routing table that no longer refers to them was published
+                if (publish(routingTable)) {
+                    reconfigurePartitions();
+                }
+            });
+        } else if (reconfigurePartitions) {
             reconfigurePartitions();
         }
     }
@@ -287,8 +538,6 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
 
     private void reconfigurePartitions() {
 
-        resetFastConnectionCache();
-
         if (redisClusterClient.expireStaleConnections()) {
             closeStaleConnections();
         }
@@ -325,17 +574,15 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     }
 
     /**
-     * Set auto-flush on all commands. Synchronize on {@code stateLock} to initiate a happens-before relation and clear the
-     * thread caches of other threads.
+     * Set auto-flush on all commands. The setting is applied to cached connections and to connections that are established
+     * afterwards.
      *
      * @param autoFlush state of autoFlush.
      */
     @Override
     public void setAutoFlushCommands(boolean autoFlush) {
 
-        synchronized (stateLock) {
-            this.autoFlushCommands = autoFlush;
-        }
+        this.autoFlushCommands = autoFlush;
 
         connectionProvider.forEach(connection -> connection.setAutoFlushCommands(autoFlush));
     }
@@ -348,9 +595,17 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     @Override
     public void setReadFrom(ReadFrom readFrom) {
 
+        ClusterRoutingTable<K, V> routingTable;
+
         synchronized (stateLock) {
             this.readFrom = readFrom;
-            Arrays.fill(readers, null);
+            routingTable = pendingRoutingTable.withoutReaders();
+            this.pendingRoutingTable = routingTable;
+            this.routingTable = routingTable;
+        }
+
+        if (readFrom != null && warmUpConnections()) {
+            warmUp(routingTable);
         }
     }
 
@@ -368,16 +623,15 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     }
 
     /**
-     * Reset the internal connection cache. This is necessary because the {@link Partitions} have no reference to the connection
-     * cache.
-     *
-     * Synchronize on {@code stateLock} to initiate a happens-before relation and clear the thread caches of other threads.
+     * Reset the internal connection cache by replacing the routing table with a routing table that does not reference any
+     * connections.
      */
     private void resetFastConnectionCache() {
 
         synchronized (stateLock) {
-            Arrays.fill(writers, null);
-            Arrays.fill(readers, null);
+            this.pendingRoutingTable = partitions != null ? ClusterRoutingTable.create(partitions, null) : ClusterRoutingTable
+                    .empty();
+            this.routingTable = pendingRoutingTable;
         }
     }
 
@@ -386,6 +640,11 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
                 + " not allowed. This connection point is not known in the cluster view");
     }
 
+    boolean warmUpConnections() {
+        return redisClusterClient.getClusterClientOptions() != null
+                && redisClusterClient.getClusterClientOptions().isWarmUpConnections();
+    }
+
     boolean validateClusterNodeMembership() {
         return redisClusterClient.getClusterClientOptions() == null
                 || redisClusterClient.getClusterClientOptions().isValidateClusterNodeMembership();
@@ -447,9 +706,7 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
             }
 
             connection = connection.thenApply(c -> {
-                synchronized (stateLock) {
-                    c.setAutoFlushCommands(autoFlushCommands);
-                }
+                c.setAutoFlushCommands(autoFlushCommands);
                 return c;
             });
 
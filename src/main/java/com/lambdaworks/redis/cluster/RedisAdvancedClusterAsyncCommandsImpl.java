@@ -17,6 +17,8 @@ package com.lambdaworks.redis.cluster;
 
 import static com.lambdaworks.redis.cluster.ClusterScanSupport.asyncClusterKeyScanCursorMapper;
 import static com.lambdaworks.redis.cluster.ClusterScanSupport.asyncClusterStreamScanCursorMapper;
+import static com.lambdaworks.redis.cluster.ClusterScanSupport.clusterKeyScanCursorMerger;
+import static com.lambdaworks.redis.cluster.ClusterScanSupport.clusterStreamScanCursorMerger;
 import static com.lambdaworks.redis.cluster.NodeSelectionInvocationHandler.ExecutionModel.ASYNC;
 import static com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode.NodeFlag.MASTER;
 
@@ -32,7 +34,9 @@ import com.lambdaworks.redis.api.async.RedisAsyncCommands;
 import com.lambdaworks.redis.api.async.RedisKeyAsyncCommands;
 import com.lambdaworks.redis.api.async.RedisScriptingAsyncCommands;
 import com.lambdaworks.redis.api.async.RedisServerAsyncCommands;
+import com.lambdaworks.redis.cluster.ClusterScanSupport.ParallelScanState;
 import com.lambdaworks.redis.cluster.ClusterScanSupport.ScanCursorMapper;
+import com.lambdaworks.redis.cluster.ClusterScanSupport.ScanCursorMerger;
 import com.lambdaworks.redis.cluster.api.NodeSelectionSupport;
 import com.lambdaworks.redis.cluster.api.StatefulRedisClusterConnection;
 import com.lambdaworks.redis.cluster.api.async.AsyncNodeSelection;
@@ -42,12 +46,14 @@ import com.lambdaworks.redis.cluster.api.async.RedisClusterAsyncCommands;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.internal.LettuceLists;
 import com.lambdaworks.redis.output.IntegerOutput;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
 import com.lambdaworks.redis.output.ValueStreamingChannel;
 import com.lambdaworks.redis.protocol.AsyncCommand;
 import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * An advanced asynchronous and thread-safe API for a Redis Cluster connection.
@@ -60,6 +66,7 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
         implements RedisAdvancedClusterAsyncConnection<K, V>, RedisAdvancedClusterAsyncCommands<K, V> {
 
     private final Random random = new Random();
+    private final ClusterCommandBuilder<K, V> clusterCommandBuilder;
 
     /**
      * Initialize a new connection.
@@ -69,6 +76,7 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
      */
     public RedisAdvancedClusterAsyncCommandsImpl(StatefulRedisClusterConnectionImpl<K, V> connection, RedisCodec<K, V> codec) {
         super(connection, codec);
+        this.clusterCommandBuilder = new ClusterCommandBuilder<>(codec);
     }
 
     @Override
@@ -84,12 +92,7 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.del(keys);
         }
 
-        Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
-
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> del = super.del(entry.getValue());
-            executions.put(entry.getKey(), del);
-        }
+        Map<Integer, RedisFuture<Long>> executions = executeBySlot(partitioned, clusterCommandBuilder::del);
 
         return MultiNodeExecution.aggregateAsync(executions);
     }
@@ -107,12 +110,7 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.unlink(keys);
         }
 
-        Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
-
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> unlink = super.unlink(entry.getValue());
-            executions.put(entry.getKey(), unlink);
-        }
+        Map<Integer, RedisFuture<Long>> executions = executeBySlot(partitioned, clusterCommandBuilder::unlink);
 
         return MultiNodeExecution.aggregateAsync(executions);
     }
@@ -129,12 +127,7 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.exists(keys);
         }
 
-        Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
-
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> exists = super.exists(entry.getValue());
-            executions.put(entry.getKey(), exists);
-        }
+        Map<Integer, RedisFuture<Long>> executions = executeBySlot(partitioned, clusterCommandBuilder::exists);
 
         return MultiNodeExecution.aggregateAsync(executions);
     }
@@ -146,29 +139,33 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
 
     @Override
     public RedisFuture<List<V>> mget(Iterable<K> keys) {
-        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, keys);
+
+        List<K> keyList = LettuceLists.newList(keys);
+        int[] slots = new int[keyList.size()];
+        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, keyList, slots);
 
         if (partitioned.size() < 2) {
-            return super.mget(keys);
+            return super.mget(keyList);
         }
 
-        Map<K, Integer> slots = SlotHash.getSlots(partitioned);
-        Map<Integer, RedisFuture<List<V>>> executions = new HashMap<>();
+        Map<Integer, RedisFuture<List<V>>> executions = executeBySlot(partitioned, clusterCommandBuilder::mget);
 
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<List<V>> mget = super.mget(entry.getValue());
-            executions.put(entry.getKey(), mget);
-        }
-
-        // restore order of key
+        // restore order of key, each slot result holds values in the order of the keys
         return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
-            List<V> result = new ArrayList<>();
-            for (K opKey : keys) {
-                int slot = slots.get(opKey);
 
-                int position = partitioned.get(slot).indexOf(opKey);
-                RedisFuture<List<V>> listRedisFuture = executions.get(slot);
-                result.add(MultiNodeExecution.execute(() -> listRedisFuture.get().get(position)));
+            Map<Integer, Iterator<V>> slotResults = new HashMap<>(executions.size());
+            List<V> result = new ArrayList<>(slots.length);
+
+            for (int slot : slots) {
+
+                Iterator<V> values = slotResults.get(slot);
+                if (values == null) {
+                    RedisFuture<List<V>> listRedisFuture = executions.get(slot);
+                    values = MultiNodeExecution.execute(listRedisFuture::get).iterator();
+                    slotResults.put(slot, values);
+                }
+
+                result.add(values.next());
             }
 
             return result;
@@ -188,12 +185,8 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.mget(channel, keys);
         }
 
-        Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
-
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> del = super.mget(channel, entry.getValue());
-            executions.put(entry.getKey(), del);
-        }
+        Map<Integer, RedisFuture<Long>> executions = executeBySlot(partitioned,
+                slotKeys -> clusterCommandBuilder.mget(channel, slotKeys));
 
         return MultiNodeExecution.aggregateAsync(executions);
     }
@@ -206,16 +199,13 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.mset(map);
         }
 
-        Map<Integer, RedisFuture<String>> executions = new HashMap<>();
-
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+        Map<Integer, RedisFuture<String>> executions = executeBySlot(partitioned, slotKeys -> {
 
-            Map<K, V> op = new HashMap<>();
-            entry.getValue().forEach(k -> op.put(k, map.get(k)));
+            Map<K, V> op = new LinkedHashMap<>();
+            slotKeys.forEach(k -> op.put(k, map.get(k)));
 
-            RedisFuture<String> mset = super.mset(op);
-            executions.put(entry.getKey(), mset);
-        }
+            return clusterCommandBuilder.mset(op);
+        });
 
         return MultiNodeExecution.firstOfAsync(executions);
     }
@@ -228,16 +218,13 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.msetnx(map);
         }
 
-        Map<Integer, RedisFuture<Boolean>> executions = new HashMap<>();
+        Map<Integer, RedisFuture<Boolean>> executions = executeBySlot(partitioned, slotKeys -> {
 
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            Map<K, V> op = new LinkedHashMap<>();
+            slotKeys.forEach(k -> op.put(k, map.get(k)));
 
-            Map<K, V> op = new HashMap<>();
-            entry.getValue().forEach(k -> op.put(k, map.get(k)));
-
-            RedisFuture<Boolean> msetnx = super.msetnx(op);
-            executions.put(entry.getKey(), msetnx);
-        }
+            return clusterCommandBuilder.msetnx(op);
+        });
 
         return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
 
@@ -380,14 +367,36 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
             return super.touch(keys);
         }
 
-        Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
+        Map<Integer, RedisFuture<Long>> executions = executeBySlot(partitioned, clusterCommandBuilder::touch);
+
+        return MultiNodeExecution.aggregateAsync(executions);
+    }
+
+    /**
+     * Create one command per slot and dispatch all commands with a single write. Commands are grouped by node in the channel
+     * writer so each node receives its commands as one pipelined batch.
+     *
+     * @param partitioned keys partitioned by slot
+     * @param commandFactory function producing the command for the keys of a slot
+     * @param <T> result type
+     * @return map of slot and command futures.
+     */
+    private <T> Map<Integer, RedisFuture<T>> executeBySlot(Map<Integer, List<K>> partitioned,
+            Function<List<K>, RedisCommand<K, V, T>> commandFactory) {
+
+        Map<Integer, RedisFuture<T>> executions = new HashMap<>(partitioned.size());
+        List<RedisCommand<K, V, ?>> commands = new ArrayList<>(partitioned.size());
 
         for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> touch = super.touch(entry.getValue());
-            executions.put(entry.getKey(), touch);
+
+            AsyncCommand<K, V, T> command = new AsyncCommand<>(commandFactory.apply(entry.getValue()));
+            executions.put(entry.getKey(), command);
+            commands.add(command);
         }
 
-        return MultiNodeExecution.aggregateAsync(executions);
+        connection.dispatch(commands);
+
+        return executions;
     }
 
     /**
@@ -491,53 +500,59 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
 
     @Override
     public RedisFuture<KeyScanCursor<K>> scan() {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(), asyncClusterKeyScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, null, (connection, cursor) -> connection.scan(),
+                asyncClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public RedisFuture<KeyScanCursor<K>> scan(ScanArgs scanArgs) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(scanArgs),
-                asyncClusterKeyScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, scanArgs, (connection, cursor) -> connection.scan(scanArgs),
+                asyncClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public RedisFuture<KeyScanCursor<K>> scan(ScanCursor scanCursor, ScanArgs scanArgs) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(cursor, scanArgs),
-                asyncClusterKeyScanCursorMapper());
+        return clusterScan(scanCursor, scanArgs, (connection, cursor) -> connection.scan(cursor, scanArgs),
+                asyncClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public RedisFuture<KeyScanCursor<K>> scan(ScanCursor scanCursor) {
-        return clusterScan(scanCursor, RedisKeyAsyncCommands::scan, asyncClusterKeyScanCursorMapper());
+        return clusterScan(scanCursor, null, RedisKeyAsyncCommands::scan, asyncClusterKeyScanCursorMapper(),
+                clusterKeyScanCursorMerger());
     }
 
     @Override
     public RedisFuture<StreamScanCursor> scan(KeyStreamingChannel<K> channel) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(channel),
-                asyncClusterStreamScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, null, (connection, cursor) -> connection.scan(channel),
+                asyncClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public RedisFuture<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanArgs scanArgs) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(channel, scanArgs),
-                asyncClusterStreamScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, scanArgs, (connection, cursor) -> connection.scan(channel, scanArgs),
+                asyncClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public RedisFuture<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor, ScanArgs scanArgs) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(channel, cursor, scanArgs),
-                asyncClusterStreamScanCursorMapper());
+        return clusterScan(scanCursor, scanArgs, (connection, cursor) -> connection.scan(channel, cursor, scanArgs),
+                asyncClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public RedisFuture<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(channel, cursor),
-                asyncClusterStreamScanCursorMapper());
+        return clusterScan(scanCursor, null, (connection, cursor) -> connection.scan(channel, cursor),
+                asyncClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
-    private <T extends ScanCursor> RedisFuture<T> clusterScan(ScanCursor cursor,
+    private <T extends ScanCursor> RedisFuture<T> clusterScan(ScanCursor cursor, ScanArgs scanArgs,
             BiFunction<RedisKeyAsyncCommands<K, V>, ScanCursor, RedisFuture<T>> scanFunction,
-            ScanCursorMapper<RedisFuture<T>> resultMapper) {
+            ScanCursorMapper<RedisFuture<T>> resultMapper, ScanCursorMerger<T> resultMerger) {
+
+        if (ClusterScanSupport.isParallelScan(cursor, scanArgs)) {
+            return parallelClusterScan(getStatefulConnection(), cursor, scanArgs, scanFunction, resultMerger);
+        }
 
         return clusterScan(getStatefulConnection(), cursor, scanFunction, resultMapper);
     }
@@ -557,4 +572,30 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
         RedisFuture<T> scanCursor = scanFunction.apply(connection.getConnection(currentNodeId).async(), continuationCursor);
         return mapper.map(nodeIds, currentNodeId, scanCursor);
     }
+
+    /**
+     * Perform a SCAN on multiple cluster nodes concurrently and merge the node cursors into a composite cursor.
+     *
+     */
+    static <T extends ScanCursor, K, V> RedisFuture<T> parallelClusterScan(StatefulRedisClusterConnection<K, V> connection,
+            ScanCursor cursor, ScanArgs scanArgs,
+            BiFunction<RedisKeyAsyncCommands<K, V>, ScanCursor, RedisFuture<T>> scanFunction, ScanCursorMerger<T> merger) {
+
+        ParallelScanState state = ClusterScanSupport.getParallelScanState(connection, cursor, scanArgs);
+        Map<String, RedisFuture<T>> executions = new LinkedHashMap<>();
+
+        for (String nodeId : state.getActiveNodeIds()) {
+            executions.put(nodeId, scanFunction.apply(connection.getConnection(nodeId).async(), state.getCursor(nodeId)));
+        }
+
+        return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
+
+            List<T> results = new ArrayList<>(executions.size());
+            for (RedisFuture<T> future : executions.values()) {
+                results.add(MultiNodeExecution.execute(future::get));
+            }
+
+            return merger.merge(state.next(results), results);
+        });
+    }
 }
@@ -15,6 +15,8 @@
  */
 package com.lambdaworks.redis.cluster;
 
+import static com.lambdaworks.redis.cluster.ClusterScanSupport.clusterKeyScanCursorMerger;
+import static com.lambdaworks.redis.cluster.ClusterScanSupport.clusterStreamScanCursorMerger;
 import static com.lambdaworks.redis.cluster.ClusterScanSupport.reactiveClusterKeyScanCursorMapper;
 import static com.lambdaworks.redis.cluster.ClusterScanSupport.reactiveClusterStreamScanCursorMapper;
 import static com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode.NodeFlag.MASTER;
@@ -403,53 +405,60 @@ public class RedisAdvancedClusterReactiveCommandsImpl<K, V> extends AbstractRedi
 
     @Override
     public Observable<KeyScanCursor<K>> scan() {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(), reactiveClusterKeyScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, null, (connection, cursor) -> connection.scan(),
+                reactiveClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public Observable<KeyScanCursor<K>> scan(ScanArgs scanArgs) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(scanArgs),
-                reactiveClusterKeyScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, scanArgs, (connection, cursor) -> connection.scan(scanArgs),
+                reactiveClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public Observable<KeyScanCursor<K>> scan(ScanCursor scanCursor, ScanArgs scanArgs) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(cursor, scanArgs),
-                reactiveClusterKeyScanCursorMapper());
+        return clusterScan(scanCursor, scanArgs, (connection, cursor) -> connection.scan(cursor, scanArgs),
+                reactiveClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public Observable<KeyScanCursor<K>> scan(ScanCursor scanCursor) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(cursor), reactiveClusterKeyScanCursorMapper());
+        return clusterScan(scanCursor, null, (connection, cursor) -> connection.scan(cursor),
+                reactiveClusterKeyScanCursorMapper(), clusterKeyScanCursorMerger());
     }
 
     @Override
     public Observable<StreamScanCursor> scan(KeyStreamingChannel<K> channel) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(channel),
-                reactiveClusterStreamScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, null, (connection, cursor) -> connection.scan(channel),
+                reactiveClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public Observable<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanArgs scanArgs) {
-        return clusterScan(ScanCursor.INITIAL, (connection, cursor) -> connection.scan(channel, scanArgs),
-                reactiveClusterStreamScanCursorMapper());
+        return clusterScan(ScanCursor.INITIAL, scanArgs, (connection, cursor) -> connection.scan(channel, scanArgs),
+                reactiveClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public Observable<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor, ScanArgs scanArgs) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(channel, cursor, scanArgs),
-                reactiveClusterStreamScanCursorMapper());
+        return clusterScan(scanCursor, scanArgs, (connection, cursor) -> connection.scan(channel, cursor, scanArgs),
+                reactiveClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
     @Override
     public Observable<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor) {
-        return clusterScan(scanCursor, (connection, cursor) -> connection.scan(channel, cursor),
-                reactiveClusterStreamScanCursorMapper());
+        return clusterScan(scanCursor, null, (connection, cursor) -> connection.scan(channel, cursor),
+                reactiveClusterStreamScanCursorMapper(), clusterStreamScanCursorMerger());
     }
 
-    private <T extends ScanCursor> Observable<T> clusterScan(ScanCursor cursor,
+    private <T extends ScanCursor> Observable<T> clusterScan(ScanCursor cursor, ScanArgs scanArgs,
             BiFunction<RedisKeyReactiveCommands<K, V>, ScanCursor, Observable<T>> scanFunction,
-            ClusterScanSupport.ScanCursorMapper<Observable<T>> resultMapper) {
+            ClusterScanSupport.ScanCursorMapper<Observable<T>> resultMapper,
+            ClusterScanSupport.ScanCursorMerger<T> resultMerger) {
+
+        if (ClusterScanSupport.isParallelScan(cursor, scanArgs)) {
+            return parallelClusterScan(getStatefulConnection(), cursor, scanArgs, scanFunction, resultMerger);
+        }
 
         return clusterScan(getStatefulConnection(), cursor, scanFunction, (ClusterScanSupport.ScanCursorMapper) resultMapper);
     }
@@ -470,6 +479,33 @@ public class RedisAdvancedClusterReactiveCommandsImpl<K, V> extends AbstractRedi
         return mapper.map(nodeIds, currentNodeId, scanCursor);
     }
 
+    /**
+     * Perform a SCAN on multiple cluster nodes concurrently and merge the node cursors into a composite cursor.
+     *
+     */
+    static <T extends ScanCursor, K, V> Observable<T> parallelClusterScan(StatefulRedisClusterConnection<K, V> connection,
+            ScanCursor cursor, ScanArgs scanArgs,
+            BiFunction<RedisKeyReactiveCommands<K, V>, ScanCursor, Observable<T>> scanFunction,
+            ClusterScanSupport.ScanCursorMerger<T> merger) {
+
+        ClusterScanSupport.ParallelScanState state = ClusterScanSupport.getParallelScanState(connection, cursor, scanArgs);
+        List<Observable<T>> executions = new ArrayList<>();
+
+        for (String nodeId : state.getActiveNodeIds()) {
+            executions.add(scanFunction.apply(connection.getConnection(nodeId).reactive(), state.getCursor(nodeId)));
+        }
+
+        return Observable.zip(executions, args -> {
+
+            List<T> results = new ArrayList<>(args.length);
+            for (Object result : args) {
+                results.add((T) result);
+            }
+
+            return merger.merge(state.next(results), results);
+        });
+    }
+
     private <T> Observable<T> pipeliningWithMap(Map<K, V> map, Function<Map<K, V>, Observable<T>> function,
             Function<Observable<T>, Observable<T>> resultFunction) {
 
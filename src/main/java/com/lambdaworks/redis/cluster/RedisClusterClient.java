@@ -19,6 +19,7 @@ import java.io.Closeable;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -585,7 +586,7 @@ public class RedisClusterClient extends AbstractRedisClient {
         CommandHandler<K, V> handler = new CommandHandler<>(clientOptions, clientResources, queue);
 
         ClusterDistributionChannelWriter<K, V> clusterWriter = new ClusterDistributionChannelWriter<>(clientOptions, handler,
-                clusterTopologyRefreshScheduler, getResources().eventExecutorGroup());
+                clusterTopologyRefreshScheduler);
         PooledClusterConnectionProvider<K, V> pooledClusterConnectionProvider = new PooledClusterConnectionProvider<>(this,
                 clusterWriter, codec);
 
@@ -621,6 +622,14 @@ public class RedisClusterClient extends AbstractRedisClient {
 
         connection.registerCloseables(closeableResources, clusterWriter, pooledClusterConnectionProvider);
 
+        if (getClusterClientOptions() != null && getClusterClientOptions().isWarmUpConnections()) {
+            try {
+                pooledClusterConnectionProvider.warmUp().join();
+            } catch (CompletionException e) {
+                logger.warn("Cannot establish connections to cluster nodes: " + e.getCause().getMessage());
+            }
+        }
+
         return connection;
     }
 
@@ -648,7 +657,7 @@ public class RedisClusterClient extends AbstractRedisClient {
         PubSubCommandHandler<K, V> handler = new PubSubCommandHandler<>(clientOptions, clientResources, queue, codec);
 
         ClusterDistributionChannelWriter<K, V> clusterWriter = new ClusterDistributionChannelWriter<>(clientOptions, handler,
-                clusterTopologyRefreshScheduler, getResources().eventExecutorGroup());
+                clusterTopologyRefreshScheduler);
 
         StatefulRedisClusterPubSubConnectionImpl<K, V> connection = new StatefulRedisClusterPubSubConnectionImpl<>(
                 clusterWriter, codec, timeout, unit);
@@ -801,10 +810,8 @@ public class RedisClusterClient extends AbstractRedisClient {
 
                 logger.debug("Using a new cluster topology");
 
-                List<RedisClusterNode> before = new ArrayList<>(getPartitions());
-                List<RedisClusterNode> after = new ArrayList<>(loadedPartitions);
-
-                getResources().eventBus().publish(new ClusterTopologyChangedEvent(before, after));
+                getResources().eventBus().publish(() -> new ClusterTopologyChangedEvent(new ArrayList<>(getPartitions()),
+                        new ArrayList<>(loadedPartitions)));
             }
 
             this.partitions.reload(loadedPartitions.getPartitions());
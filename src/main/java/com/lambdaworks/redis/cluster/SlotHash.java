@@ -20,6 +20,9 @@ import java.util.*;
 
 import com.lambdaworks.codec.CRC16;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.protocol.CommandArgs;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * Utility to calculate the slot from a key.
@@ -65,41 +68,96 @@ public class SlotHash {
      * @return slot
      */
     public static final int getSlot(byte[] key) {
-        return getSlot(ByteBuffer.wrap(key));
+        return getSlot(key, 0, key.length);
     }
 
     /**
-     * Calculate the slot from the given key.
+     * Calculate the slot from the given key. The slot is calculated from the remaining bytes without copying them, the
+     * position of {@code key} is not changed.
      *
      * @param key the key
      * @return slot
      */
     public static final int getSlot(ByteBuffer key) {
 
-        byte[] input = new byte[key.remaining()];
-        key.duplicate().get(input);
+        if (key.hasArray()) {
+            return getSlot(key.array(), key.arrayOffset() + key.position(), key.remaining());
+        }
 
-        byte[] finalKey = input;
+        int from = key.position();
+        int to = key.limit();
 
-        int start = indexOf(input, SUBKEY_START);
+        int start = indexOf(key, from, to, SUBKEY_START);
         if (start != -1) {
-            int end = indexOf(input, start + 1, SUBKEY_END);
+            int end = indexOf(key, start + 1, to, SUBKEY_END);
             if (end != -1 && end != start + 1) {
+                from = start + 1;
+                to = end;
+            }
+        }
+
+        return CRC16.crc16(key, from, to - from) % SLOT_COUNT;
+    }
+
+    /**
+     * Calculate the slot from the given key. The slot is calculated from the readable bytes without copying them, the reader
+     * index of {@code key} is not changed.
+     *
+     * @param key the key
+     * @return slot
+     * @since 4.4
+     */
+    public static final int getSlot(ByteBuf key) {
+
+        if (key.hasArray()) {
+            return getSlot(key.array(), key.arrayOffset() + key.readerIndex(), key.readableBytes());
+        }
 
-                finalKey = new byte[end - (start + 1)];
-                System.arraycopy(input, start + 1, finalKey, 0, finalKey.length);
+        int from = key.readerIndex();
+        int to = key.writerIndex();
+
+        int start = key.indexOf(from, to, SUBKEY_START);
+        if (start != -1) {
+            int end = key.indexOf(start + 1, to, SUBKEY_END);
+            if (end != -1 && end != start + 1) {
+                from = start + 1;
+                to = end;
             }
         }
-        return CRC16.crc16(finalKey) % SLOT_COUNT;
+
+        return CRC16.crc16(key, from, to - from) % SLOT_COUNT;
     }
 
-    private static int indexOf(byte[] haystack, byte needle) {
-        return indexOf(haystack, 0, needle);
+    /**
+     * Calculate the slot of the first key of {@link CommandArgs}.
+     *
+     * @param args the command arguments
+     * @return slot or {@literal -1} if {@code args} do not contain a key.
+     */
+    static int getSlot(CommandArgs<?, ?> args) {
+        return args.hashFirstKey(SlotHash::getSlot, SlotHash::getSlot);
     }
 
-    private static int indexOf(byte[] haystack, int start, byte needle) {
+    private static int getSlot(byte[] key, int offset, int length) {
 
-        for (int i = start; i < haystack.length; i++) {
+        int from = offset;
+        int to = offset + length;
+
+        int start = indexOf(key, from, to, SUBKEY_START);
+        if (start != -1) {
+            int end = indexOf(key, start + 1, to, SUBKEY_END);
+            if (end != -1 && end != start + 1) {
+                from = start + 1;
+                to = end;
+            }
+        }
+
+        return CRC16.crc16(key, from, to - from) % SLOT_COUNT;
+    }
+
+    private static int indexOf(byte[] haystack, int start, int end, byte needle) {
+
+        for (int i = start; i < end; i++) {
 
             if (haystack[i] == needle) {
                 return i;
@@ -109,6 +167,18 @@ public class SlotHash {
         return -1;
     }
 
+    private static int indexOf(ByteBuffer haystack, int start, int end, byte needle) {
+
+        for (int i = start; i < end; i++) {
+
+            if (haystack.get(i) == needle) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * Partition keys by slot-hash. The resulting map honors order of the keys.
      * 
@@ -133,6 +203,31 @@ public class SlotHash {
         return partitioned;
     }
 
+    /**
+     * Partition keys by slot-hash and record the slot of each key by its position. The resulting map honors order of the keys.
+     *
+     * @param codec codec to encode the key
+     * @param keys list of keys
+     * @param slots array receiving the slot-hash of each key, must provide at least {@code keys.size()} elements
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return map between slot-hash and an ordered list of keys.
+     */
+    static <K, V> Map<Integer, List<K>> partition(RedisCodec<K, V> codec, List<K> keys, int[] slots) {
+
+        Map<Integer, List<K>> partitioned = new HashMap<>();
+        int index = 0;
+
+        for (K key : keys) {
+
+            int slot = getSlot(codec.encodeKey(key));
+            slots[index++] = slot;
+            partitioned.computeIfAbsent(slot, k -> new ArrayList<>()).add(key);
+        }
+
+        return partitioned;
+    }
+
     /**
      * Create mapping between the Key and hash slot.
      *
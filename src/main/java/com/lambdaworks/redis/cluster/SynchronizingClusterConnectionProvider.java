@@ -16,6 +16,7 @@
 package com.lambdaworks.redis.cluster;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -68,12 +69,35 @@ class SynchronizingClusterConnectionProvider<K, V> {
      * @throws CompletionException
      */
     public StatefulRedisConnection<K, V> getConnection(ConnectionKey key) {
+        return getSync(key).getConnection();
+    }
+
+    /**
+     * Obtain a {@link StatefulRedisConnection} to a cluster node given {@link ConnectionKey} without blocking. Connection
+     * failures complete the returned future exceptionally with a {@link RedisConnectionException}.
+     *
+     * @param key the {@link ConnectionKey}.
+     * @return a future that is completed with the connection.
+     * @since 4.4
+     */
+    public CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync(ConnectionKey key) {
+
+        try {
+            return getSync(key).getConnectionAsync();
+        } catch (RuntimeException e) {
+            CompletableFuture<StatefulRedisConnection<K, V>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private Sync<K, V> getSync(ConnectionKey key) {
 
         if (closed) {
             throw new IllegalStateException("AsyncClusterConnectionProvider is already closed");
         }
 
-        Sync<K, V> sync = connections.computeIfAbsent(key, connectionKey -> {
+        return connections.computeIfAbsent(key, connectionKey -> {
 
             InProgress<K, V> createdSync = new InProgress<>(key, connectionFactory.apply(key), connections);
 
@@ -84,8 +108,6 @@ class SynchronizingClusterConnectionProvider<K, V> {
 
             return createdSync;
         });
-
-        return sync.getConnection();
     }
 
     /**
@@ -161,6 +183,13 @@ class SynchronizingClusterConnectionProvider<K, V> {
          */
         StatefulRedisConnection<K, V> getConnection();
 
+        /**
+         * Return the {@link StatefulRedisConnection} without blocking.
+         *
+         * @return
+         */
+        CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync();
+
         /**
          * Apply a {@link Consumer} callback to the {@link StatefulConnection}.
          *
@@ -191,6 +220,11 @@ class SynchronizingClusterConnectionProvider<K, V> {
             return connection;
         }
 
+        @Override
+        public CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync() {
+            return CompletableFuture.completedFuture(connection);
+        }
+
         @Override
         public void doWithSync(Consumer<? super StatefulRedisConnection<K, V>> action) {
             action.accept(connection);
@@ -229,24 +263,47 @@ class SynchronizingClusterConnectionProvider<K, V> {
         public StatefulRedisConnection<K, V> getConnection() {
 
             try {
-                return future.whenComplete((connection, throwable) -> {
+                return future.whenComplete(this::onComplete).join();
+            } catch (CompletionException e) {
+                throw connectionFailed(e.getCause());
+            }
+        }
+
+        @Override
+        public CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync() {
 
-                    if (REMOVE.compareAndSet(this, 0, ST_FINISHED)) {
+            CompletableFuture<StatefulRedisConnection<K, V>> result = new CompletableFuture<>();
 
-                        if (throwable == null) {
-                            connections.replace(key, this, new Finished<>(key, connection));
-                        } else {
-                            connections.remove(key);
-                        }
-                    }
+            future.whenComplete(this::onComplete).whenComplete((connection, throwable) -> {
 
-                }).join();
-            } catch (CompletionException e) {
-                String msg = String.format("Unable to connect to %s", future.getRemoteAddress());
-                throw new RedisConnectionException(msg, e.getCause());
+                if (throwable != null) {
+                    result.completeExceptionally(connectionFailed(
+                            throwable instanceof CompletionException ? throwable.getCause() : throwable));
+                } else {
+                    result.complete(connection);
+                }
+            });
+
+            return result;
+        }
+
+        private void onComplete(StatefulRedisConnection<K, V> connection, Throwable throwable) {
+
+            if (REMOVE.compareAndSet(this, 0, ST_FINISHED)) {
+
+                if (throwable == null) {
+                    connections.replace(key, this, new Finished<>(key, connection));
+                } else {
+                    connections.remove(key);
+                }
             }
         }
 
+        private RedisConnectionException connectionFailed(Throwable cause) {
+            String msg = String.format("Unable to connect to %s", future.getRemoteAddress());
+            return new RedisConnectionException(msg, cause);
+        }
+
         @Override
         public void doWithSync(Consumer<? super StatefulRedisConnection<K, V>> action) {
             future.thenAccept(action);
@@ -287,7 +287,7 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
     /**
      * Incrementally iterate the keys space over the whole Cluster.
      *
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return KeyScanCursor&lt;K&gt; scan cursor.
      * @see RedisKeyAsyncCommands#scan(ScanArgs)
      */
@@ -298,7 +298,7 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      *
      * @param scanCursor cursor to resume the scan. It's required to reuse the {@code scanCursor} instance from the previous
      *        {@link #scan()} call.
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return KeyScanCursor&lt;K&gt; scan cursor.
      * @see RedisKeyAsyncCommands#scan(ScanCursor, ScanArgs)
      */
@@ -327,7 +327,7 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      * Incrementally iterate the keys space over the whole Cluster.
      *
      * @param channel streaming channel that receives a call for every key
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return StreamScanCursor scan cursor.
      * @see RedisKeyAsyncCommands#scan(KeyStreamingChannel, ScanArgs)
      */
@@ -339,7 +339,7 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      * @param channel streaming channel that receives a call for every key
      * @param scanCursor cursor to resume the scan. It's required to reuse the {@code scanCursor} instance from the previous
      *        {@link #scan()} call.
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return StreamScanCursor scan cursor.
      * @see RedisKeyAsyncCommands#scan(KeyStreamingChannel, ScanCursor, ScanArgs)
      */
@@ -217,7 +217,7 @@ public interface RedisAdvancedClusterReactiveCommands<K, V> extends RedisCluster
     /**
      * Incrementally iterate the keys space over the whole Cluster.
      *
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return KeyScanCursor&lt;K&gt; scan cursor.
      * @see RedisKeyReactiveCommands#scan(ScanArgs)
      */
@@ -228,7 +228,7 @@ public interface RedisAdvancedClusterReactiveCommands<K, V> extends RedisCluster
      *
      * @param scanCursor cursor to resume the scan. It's required to reuse the {@code scanCursor} instance from the previous
      *        {@link #scan()} call.
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return KeyScanCursor&lt;K&gt; scan cursor.
      * @see RedisKeyReactiveCommands#scan(ScanCursor, ScanArgs)
      */
@@ -257,7 +257,7 @@ public interface RedisAdvancedClusterReactiveCommands<K, V> extends RedisCluster
      * Incrementally iterate the keys space over the whole Cluster.
      *
      * @param channel streaming channel that receives a call for every key
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return StreamScanCursor scan cursor.
      * @see RedisKeyReactiveCommands#scan(KeyStreamingChannel, ScanArgs)
      */
@@ -269,7 +269,7 @@ public interface RedisAdvancedClusterReactiveCommands<K, V> extends RedisCluster
      * @param channel streaming channel that receives a call for every key
      * @param scanCursor cursor to resume the scan. It's required to reuse the {@code scanCursor} instance from the previous
      *        {@link #scan()} call.
-     * @param scanArgs scan arguments
+     * @param scanArgs scan arguments, use {@link com.lambdaworks.redis.cluster.ClusterScanArgs} to scan nodes in parallel
      * @return StreamScanCursor scan cursor.
      * @see RedisKeyReactiveCommands#scan(KeyStreamingChannel, ScanCursor, ScanArgs)
      */
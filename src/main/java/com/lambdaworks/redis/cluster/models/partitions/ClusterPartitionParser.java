@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 import com.lambdaworks.redis.LettuceStrings;
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.cluster.SlotHash;
 import com.lambdaworks.redis.internal.HostAndPort;
 import com.lambdaworks.redis.internal.LettuceLists;
 
@@ -39,7 +40,6 @@ public class ClusterPartitionParser {
     private static final char TOKEN_NODE_SEPARATOR = '\n';
     private static final Pattern TOKEN_PATTERN = Pattern.compile(Character.toString(TOKEN_NODE_SEPARATOR));
     private static final Pattern SPACE_PATTERN = Pattern.compile(" ");
-    private static final Pattern DASH_PATTERN = Pattern.compile("\\-");
     private static final Map<String, RedisClusterNode.NodeFlag> FLAG_MAPPING;
 
     static {
@@ -122,7 +122,7 @@ public class ClusterPartitionParser {
         }
 
         List<String> slotStrings = LettuceLists.newList(iterator); // slot, from-to [slot->-nodeID] [slot-<-nodeID]
-        List<Integer> slots = readSlots(slotStrings);
+        BitSet slots = readSlots(slotStrings);
 
         RedisClusterNode partition = new RedisClusterNode(uri, nodeId, connected, slaveOf, pingSentTs, pongReceivedTs,
                 configEpoch, slots, nodeFlags);
@@ -142,9 +142,9 @@ public class ClusterPartitionParser {
         return Collections.unmodifiableSet(flags);
     }
 
-    private static List<Integer> readSlots(List<String> slotStrings) {
+    private static BitSet readSlots(List<String> slotStrings) {
 
-        List<Integer> slots = new ArrayList<>();
+        BitSet slots = new BitSet(SlotHash.SLOT_COUNT);
         for (String slotString : slotStrings) {
 
             if (slotString.startsWith(TOKEN_SLOT_IN_TRANSITION)) {
@@ -153,23 +153,20 @@ public class ClusterPartitionParser {
 
             }
 
-            if (slotString.contains("-")) {
+            int dash = slotString.indexOf('-');
+            if (dash != -1) {
                 // slot range
-                Iterator<String> it = DASH_PATTERN.splitAsStream(slotString).iterator();
-                int from = Integer.parseInt(it.next());
-                int to = Integer.parseInt(it.next());
+                int from = Integer.parseInt(slotString.substring(0, dash));
+                int to = Integer.parseInt(slotString.substring(dash + 1));
 
-                for (int slot = from; slot <= to; slot++) {
-                    slots.add(slot);
-
-                }
+                slots.set(from, to + 1);
                 continue;
             }
 
-            slots.add(Integer.parseInt(slotString));
+            slots.set(Integer.parseInt(slotString));
         }
 
-        return Collections.unmodifiableList(slots);
+        return slots;
     }
 
     private static long getLongFromIterator(Iterator<?> iterator, long defaultValue) {
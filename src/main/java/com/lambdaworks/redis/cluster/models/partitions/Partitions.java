@@ -103,8 +103,10 @@ public class Partitions implements Collection<RedisClusterNode> {
             for (RedisClusterNode partition : partitions) {
 
                 readView.add(partition);
-                for (Integer integer : partition.getSlots()) {
-                    slotCache[integer.intValue()] = partition;
+
+                BitSet slots = partition.getSlotBits();
+                for (int slot = slots.nextSetBit(0); slot != -1; slot = slots.nextSetBit(slot + 1)) {
+                    slotCache[slot] = partition;
                 }
             }
 
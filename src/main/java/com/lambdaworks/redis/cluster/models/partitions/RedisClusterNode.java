@@ -16,11 +16,10 @@
 package com.lambdaworks.redis.cluster.models.partitions;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.cluster.SlotHash;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.internal.LettuceSets;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
@@ -30,6 +29,9 @@ import com.lambdaworks.redis.models.role.RedisNodeDescription;
  * {@link RedisClusterNode} can be a {@link #getRole() responsible master} for zero to
  * {@link com.lambdaworks.redis.cluster.SlotHash#SLOT_COUNT 16384} slots, a slave of one {@link #getSlaveOf() master} of carry
  * different {@link com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode.NodeFlag flags}.
+ * <p>
+ * Slot ownership is stored as bitmap. {@link #getSlots()} provides a {@link List} view on the slot bitmap for compatibility.
+ * </p>
  * 
  * @author Mark Paluch
  * @since 3.0
@@ -45,9 +47,11 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
     private long pongReceivedTimestamp;
     private long configEpoch;
 
-    private List<Integer> slots;
+    private BitSet slots = new BitSet();
     private Set<NodeFlag> flags;
 
+    private transient List<Integer> slotView;
+
     public RedisClusterNode() {
 
     }
@@ -61,6 +65,19 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         this.pingSentTimestamp = pingSentTimestamp;
         this.pongReceivedTimestamp = pongReceivedTimestamp;
         this.configEpoch = configEpoch;
+        this.slots = toBitSet(slots);
+        this.flags = flags;
+    }
+
+    RedisClusterNode(RedisURI uri, String nodeId, boolean connected, String slaveOf, long pingSentTimestamp,
+            long pongReceivedTimestamp, long configEpoch, BitSet slots, Set<NodeFlag> flags) {
+        this.uri = uri;
+        this.nodeId = nodeId;
+        this.connected = connected;
+        this.slaveOf = slaveOf;
+        this.pingSentTimestamp = pingSentTimestamp;
+        this.pongReceivedTimestamp = pongReceivedTimestamp;
+        this.configEpoch = configEpoch;
         this.slots = slots;
         this.flags = flags;
     }
@@ -73,7 +90,7 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         this.pingSentTimestamp = redisClusterNode.pingSentTimestamp;
         this.pongReceivedTimestamp = redisClusterNode.pongReceivedTimestamp;
         this.configEpoch = redisClusterNode.configEpoch;
-        this.slots = new ArrayList<>(redisClusterNode.slots);
+        this.slots = (BitSet) redisClusterNode.slots.clone();
         this.flags = LettuceSets.newHashSet(redisClusterNode.flags);
     }
 
@@ -183,8 +200,20 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         this.configEpoch = configEpoch;
     }
 
+    /**
+     * Returns a {@link List} view of the slots for which this {@link RedisClusterNode} is responsible. The view is backed by the
+     * slot bitmap, slots are returned in ascending order and each slot is contained at most once. Adding a slot to the view
+     * assigns the slot to this node. Prefer {@link #hasSlot(int)} over {@link List#contains(Object)} for slot lookups.
+     * 
+     * @return list view of the slots.
+     */
     public List<Integer> getSlots() {
-        return slots;
+
+        if (slotView == null) {
+            slotView = new SlotView();
+        }
+
+        return slotView;
     }
 
     /**
@@ -197,7 +226,52 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
     public void setSlots(List<Integer> slots) {
         LettuceAssert.notNull(slots, "Slots must not be null");
 
-        this.slots = slots;
+        this.slots = toBitSet(slots);
+    }
+
+    /**
+     * 
+     * @return the number of slots for which this {@link RedisClusterNode} is responsible.
+     * @since 4.4
+     */
+    public int getSlotCount() {
+        return slots.cardinality();
+    }
+
+    /**
+     * 
+     * @param other the other node, must not be {@literal null}
+     * @return {@literal true} if this node and {@code other} are responsible for the same slots.
+     * @since 4.4
+     */
+    public boolean hasSameSlotsAs(RedisClusterNode other) {
+
+        LettuceAssert.notNull(other, "RedisClusterNode must not be null");
+
+        return slots.equals(other.slots);
+    }
+
+    /**
+     * Returns the slot bitmap. The bitmap must not be modified.
+     *
+     * @return the slot bitmap.
+     */
+    BitSet getSlotBits() {
+        return slots;
+    }
+
+    private static BitSet toBitSet(List<Integer> slots) {
+
+        BitSet bits = new BitSet(SlotHash.SLOT_COUNT);
+
+        if (slots == null) {
+            return bits;
+        }
+
+        for (Integer slot : slots) {
+            bits.set(slot);
+        }
+        return bits;
     }
 
     public Set<NodeFlag> getFlags() {
@@ -249,9 +323,7 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         sb.append(", pongReceivedTimestamp=").append(pongReceivedTimestamp);
         sb.append(", configEpoch=").append(configEpoch);
         sb.append(", flags=").append(flags);
-        if (slots != null) {
-            sb.append(", slot count=").append(slots.size());
-        }
+        sb.append(", slot count=").append(getSlotCount());
         sb.append(']');
         return sb.toString();
     }
@@ -271,7 +343,7 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
      * @return true if the slot is contained within the handled slots.
      */
     public boolean hasSlot(int slot) {
-        return getSlots().contains(slot);
+        return slot >= 0 && slot < SlotHash.SLOT_COUNT && slots.get(slot);
     }
 
     /**
@@ -285,6 +357,148 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         return is(NodeFlag.MASTER) ? Role.MASTER : Role.SLAVE;
     }
 
+    /**
+     * {@link List} view on the slot bitmap. Indexed access uses an array snapshot of the slots that is discarded when the
+     * slots are modified through the view or replaced using {@link #setSlots(List)}.
+     */
+    private class SlotView extends AbstractList<Integer> {
+
+        private Snapshot snapshot;
+
+        @Override
+        public Integer get(int index) {
+
+            int[] snapshot = snapshot();
+
+            if (index < 0 || index >= snapshot.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + snapshot.length);
+            }
+
+            return snapshot[index];
+        }
+
+        private int[] snapshot() {
+
+            BitSet slots = RedisClusterNode.this.slots;
+            Snapshot snapshot = this.snapshot;
+
+            if (snapshot == null || snapshot.source != slots) {
+                this.snapshot = snapshot = new Snapshot(slots);
+            }
+
+            return snapshot.slots;
+        }
+
+        private void invalidate() {
+            snapshot = null;
+        }
+
+        @Override
+        public int size() {
+            return slots.cardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return slots.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && hasSlot((Integer) o);
+        }
+
+        @Override
+        public boolean add(Integer slot) {
+
+            LettuceAssert.isTrue(slot >= 0 && slot < SlotHash.SLOT_COUNT, "Slot must be between 0 and 16383");
+
+            slots.set(slot);
+            invalidate();
+            return true;
+        }
+
+        @Override
+        public Integer remove(int index) {
+
+            Integer slot = get(index);
+            slots.clear(slot);
+            invalidate();
+            return slot;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+
+            if (!contains(o)) {
+                return false;
+            }
+
+            slots.clear((Integer) o);
+            invalidate();
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            slots.clear();
+            invalidate();
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+
+            return new Iterator<Integer>() {
+
+                private int next = slots.nextSetBit(0);
+                private int last = -1;
+
+                @Override
+                public boolean hasNext() {
+                    return next != -1;
+                }
+
+                @Override
+                public Integer next() {
+
+                    if (next == -1) {
+                        throw new NoSuchElementException();
+                    }
+
+                    last = next;
+                    next = slots.nextSetBit(next + 1);
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+
+                    if (last == -1) {
+                        throw new IllegalStateException();
+                    }
+
+                    slots.clear(last);
+                    invalidate();
+                    last = -1;
+                }
+            };
+        }
+    }
+
+    /**
+     * Ascending slots of a slot bitmap.
+     */
+    private static class Snapshot {
+
+        final BitSet source;
+        final int[] slots;
+
+        Snapshot(BitSet source) {
+            this.source = source;
+            this.slots = source.stream().toArray();
+        }
+    }
+
     /**
      * Redis Cluster node flags.
      */
@@ -83,9 +83,7 @@ public class ClusterSlotsParser {
             master = getRedisClusterNode(iterator, nodeCache);
             if(master != null) {
                 master.setFlags(Collections.singleton(RedisClusterNode.NodeFlag.MASTER));
-                Set<Integer> slots = new TreeSet<>(master.getSlots());
-                slots.addAll(createSlots(from, to));
-                master.setSlots(new ArrayList<>(slots));
+                master.getSlots().addAll(createSlots(from, to));
             }
         }
 
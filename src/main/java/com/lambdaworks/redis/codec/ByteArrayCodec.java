@@ -17,13 +17,16 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
+
 /**
- * A {@link RedisCodec} that uses plain byte arrays.
+ * A {@link RedisCodec} that uses plain byte arrays. Keys and values are written directly to the outbound buffer without
+ * wrapping them in a {@link ByteBuffer}.
  * 
  * @author Mark Paluch
  * @since 3.3
  */
-public class ByteArrayCodec implements RedisCodec<byte[], byte[]> {
+public class ByteArrayCodec implements RedisCodec<byte[], byte[]>, ToByteBufEncoder<byte[], byte[]> {
 
     public static final ByteArrayCodec INSTANCE = new ByteArrayCodec();
     private static final byte[] EMPTY = new byte[0];
@@ -58,6 +61,33 @@ public class ByteArrayCodec implements RedisCodec<byte[], byte[]> {
         return ByteBuffer.wrap(value);
     }
 
+    @Override
+    public void encodeKey(byte[] key, ByteBuf target) {
+
+        if (key != null) {
+            target.writeBytes(key);
+        }
+    }
+
+    @Override
+    public void encodeValue(byte[] value, ByteBuf target) {
+        encodeKey(value, target);
+    }
+
+    @Override
+    public int estimateSize(Object keyOrValue) {
+
+        if (keyOrValue instanceof byte[]) {
+            return ((byte[]) keyOrValue).length;
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEstimateExact() {
+        return true;
+    }
+
     private static byte[] getBytes(ByteBuffer buffer) {
         byte[] b = new byte[buffer.remaining()];
         buffer.get(b);
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * A {@link RedisCodec} that uses reference-counted {@link ByteBuf}s for keys and values. Decoded keys and values are retained
+ * slices of the received data whenever possible so replies can be forwarded without copying them to the heap.
+ * <p>
+ * Keys and values returned by this codec are owned by the application and must be released with {@link ByteBuf#release()}
+ * once they are no longer used. Keys and values passed as command arguments remain owned by the caller, encoding reads them
+ * without changing their reader index. Arguments must not be released before the command is completed.
+ * </p>
+ * <p>
+ * Enable {@link com.lambdaworks.redis.ClientOptions.Builder#zeroCopyDecoding(boolean) zero-copy decoding} to receive slices
+ * of the network buffers. Without zero-copy decoding, bulk strings are copied once into a pooled buffer.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class ByteBufCodec implements RedisCodec<ByteBuf, ByteBuf>, ToByteBufEncoder<ByteBuf, ByteBuf>,
+        FromByteBufDecoder<ByteBuf, ByteBuf> {
+
+    public static final ByteBufCodec INSTANCE = new ByteBufCodec();
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    @Override
+    public ByteBuf decodeKey(ByteBuf bytes) {
+        return bytes.retain();
+    }
+
+    @Override
+    public ByteBuf decodeValue(ByteBuf bytes) {
+        return bytes.retain();
+    }
+
+    @Override
+    public ByteBuf decodeKey(ByteBuffer bytes) {
+        return Unpooled.copiedBuffer(bytes);
+    }
+
+    @Override
+    public ByteBuf decodeValue(ByteBuffer bytes) {
+        return Unpooled.copiedBuffer(bytes);
+    }
+
+    @Override
+    public ByteBuffer encodeKey(ByteBuf key) {
+
+        if (key == null) {
+            return EMPTY.duplicate();
+        }
+
+        return key.nioBuffer();
+    }
+
+    @Override
+    public ByteBuffer encodeValue(ByteBuf value) {
+        return encodeKey(value);
+    }
+
+    @Override
+    public void encodeKey(ByteBuf key, ByteBuf target) {
+
+        if (key != null) {
+            target.writeBytes(key, key.readerIndex(), key.readableBytes());
+        }
+    }
+
+    @Override
+    public void encodeValue(ByteBuf value, ByteBuf target) {
+        encodeKey(value, target);
+    }
+
+    @Override
+    public int estimateSize(Object keyOrValue) {
+
+        if (keyOrValue instanceof ByteBuf) {
+            return ((ByteBuf) keyOrValue).readableBytes();
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEstimateExact() {
+        return true;
+    }
+}
@@ -1,42 +0,0 @@
-/*
- * Copyright 2011-2016 the original author or authors.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package com.lambdaworks.redis.codec;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.ByteBuffer;
-
-class ByteBufferInputStream extends InputStream {
-
-    private final ByteBuffer buffer;
-
-    public ByteBufferInputStream(ByteBuffer b) {
-        this.buffer = b;
-    }
-
-    @Override
-    public int available() throws IOException {
-        return buffer.remaining();
-    }
-
-    @Override
-    public int read() throws IOException {
-        if (buffer.remaining() > 0) {
-            return (buffer.get() & 0xFF);
-        }
-        return -1;
-    }
-}
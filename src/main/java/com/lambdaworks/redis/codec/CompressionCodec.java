@@ -15,26 +15,44 @@
  */
 package com.lambdaworks.redis.codec;
 
-import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-import java.util.zip.InflaterInputStream;
+import java.util.zip.*;
 
 import com.lambdaworks.redis.internal.LettuceAssert;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.compression.DecompressionException;
+import io.netty.handler.codec.compression.Snappy;
+import io.netty.util.concurrent.FastThreadLocal;
+
 /**
- * A compressing/decompressing {@link RedisCodec} that wraps a typed {@link RedisCodec codec} and compresses values using GZIP
- * or Deflate. See {@link com.lambdaworks.redis.codec.CompressionCodec.CompressionType} for supported compression types.
+ * A compressing/decompressing {@link RedisCodec} that wraps a typed {@link RedisCodec codec} and compresses values using GZIP,
+ * Deflate or Snappy. See {@link com.lambdaworks.redis.codec.CompressionCodec.CompressionType} for supported compression types.
+ * Custom compression algorithms can be plugged in by implementing {@link Compressor}.
+ * <p>
+ * Compressing codecs implement {@link ToByteBufEncoder} and compress values into pooled buffers. Codecs created with a
+ * compression threshold store values smaller than the threshold uncompressed. Such values are prefixed with a one-byte header
+ * that indicates whether the value is compressed. Values written with a threshold can only be read by codecs using a
+ * threshold and vice versa.
  * 
  * @author Mark Paluch
  */
 public class CompressionCodec {
 
+    private static final byte UNCOMPRESSED = 0;
+    private static final byte COMPRESSED = 1;
+
+    private static final FastThreadLocal<byte[]> CHUNK = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() throws Exception {
+            return new byte[8192];
+        }
+    };
+
     /**
      * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec}.
      * 
@@ -44,21 +62,114 @@ public class CompressionCodec {
      * @param <V> Value type.
      * @return Value-compressing codec.
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public static <K, V> RedisCodec<K, V> valueCompressor(RedisCodec<K, V> delegate, CompressionType compressionType) {
-        LettuceAssert.notNull(delegate, "RedisCodec must not be null");
+
         LettuceAssert.notNull(compressionType, "CompressionType must not be null");
-        return (RedisCodec) new CompressingValueCodecWrapper((RedisCodec) delegate, compressionType);
+
+        return valueCompressor(delegate, (Compressor) compressionType);
     }
 
-    private static class CompressingValueCodecWrapper implements RedisCodec<Object, Object> {
+    /**
+     * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec} using a {@link Compressor}.
+     *
+     * @param delegate codec used for key-value encoding/decoding, must not be {@literal null}.
+     * @param compressor the compressor, must not be {@literal null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return Value-compressing codec.
+     * @since 4.4
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static <K, V> RedisCodec<K, V> valueCompressor(RedisCodec<K, V> delegate, Compressor compressor) {
+
+        LettuceAssert.notNull(delegate, "RedisCodec must not be null");
+        LettuceAssert.notNull(compressor, "Compressor must not be null");
 
-        private RedisCodec<Object, Object> delegate;
-        private CompressionType compressionType;
+        return (RedisCodec) new CompressingValueCodecWrapper((RedisCodec) delegate, compressor, -1);
+    }
 
-        public CompressingValueCodecWrapper(RedisCodec<Object, Object> delegate, CompressionType compressionType) {
+    /**
+     * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec} using a {@link Compressor}. Values
+     * smaller than {@code threshold} bytes are stored uncompressed. Each value is prefixed with a one-byte header.
+     *
+     * @param delegate codec used for key-value encoding/decoding, must not be {@literal null}.
+     * @param compressor the compressor, must not be {@literal null}.
+     * @param threshold minimal size in bytes of values to compress, must be greater or equal to zero.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return Value-compressing codec.
+     * @since 4.4
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static <K, V> RedisCodec<K, V> valueCompressor(RedisCodec<K, V> delegate, Compressor compressor, int threshold) {
+
+        LettuceAssert.notNull(delegate, "RedisCodec must not be null");
+        LettuceAssert.notNull(compressor, "Compressor must not be null");
+        LettuceAssert.isTrue(threshold >= 0, "Threshold must be greater or equal to 0");
+
+        return (RedisCodec) new CompressingValueCodecWrapper((RedisCodec) delegate, compressor, threshold);
+    }
+
+    /**
+     * Create a GZIP {@link Compressor} using the given compression level.
+     *
+     * @param level the compression level (0-9), or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @return the {@link Compressor}.
+     * @since 4.4
+     */
+    public static Compressor gzip(int level) {
+
+        assertLevel(level);
+
+        return new DeflateCompressor(level, true, null);
+    }
+
+    /**
+     * Create a Deflate {@link Compressor} using the given compression level.
+     *
+     * @param level the compression level (0-9), or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @return the {@link Compressor}.
+     * @since 4.4
+     */
+    public static Compressor deflate(int level) {
+
+        assertLevel(level);
+
+        return new DeflateCompressor(level, false, null);
+    }
+
+    /**
+     * Create a Deflate {@link Compressor} using the given compression level and a preset dictionary. Dictionaries improve the
+     * compression ratio of small values that share common content. Values must be decompressed with the same dictionary.
+     *
+     * @param level the compression level (0-9), or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param dictionary the preset dictionary, must not be {@literal null}.
+     * @return the {@link Compressor}.
+     * @since 4.4
+     */
+    public static Compressor deflate(int level, byte[] dictionary) {
+
+        assertLevel(level);
+        LettuceAssert.notNull(dictionary, "Dictionary must not be null");
+
+        return new DeflateCompressor(level, false, dictionary.clone());
+    }
+
+    private static void assertLevel(int level) {
+        LettuceAssert.isTrue(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+                "Compression level must be between -1 and 9");
+    }
+
+    private static class CompressingValueCodecWrapper implements RedisCodec<Object, Object>, ToByteBufEncoder<Object, Object> {
+
+        private final RedisCodec<Object, Object> delegate;
+        private final Compressor compressor;
+        private final int threshold;
+
+        public CompressingValueCodecWrapper(RedisCodec<Object, Object> delegate, Compressor compressor, int threshold) {
             this.delegate = delegate;
-            this.compressionType = compressionType;
+            this.compressor = compressor;
+            this.threshold = threshold;
         }
 
         @Override
@@ -68,10 +179,31 @@ public class CompressionCodec {
 
         @Override
         public Object decodeValue(ByteBuffer bytes) {
+
+            if (bytes.remaining() == 0) {
+                return delegate.decodeValue(bytes);
+            }
+
+            if (threshold >= 0 && bytes.get(bytes.position()) == UNCOMPRESSED) {
+                bytes.position(bytes.position() + 1);
+                return delegate.decodeValue(bytes);
+            }
+
+            ByteBuf source = Unpooled.wrappedBuffer(bytes);
+            ByteBuf target = ByteBufAllocator.DEFAULT.buffer(bytes.remaining() * 2);
+
             try {
-                return delegate.decodeValue(decompress(bytes));
+
+                if (threshold >= 0) {
+                    source.skipBytes(1);
+                }
+
+                compressor.decompress(source, target);
+                return delegate.decodeValue(target.nioBuffer());
             } catch (IOException e) {
                 throw new IllegalStateException(e);
+            } finally {
+                target.release();
             }
         }
 
@@ -82,91 +214,467 @@ public class CompressionCodec {
 
         @Override
         public ByteBuffer encodeValue(Object value) {
+
+            ByteBuf target = ByteBufAllocator.DEFAULT.buffer();
+
+            try {
+                encodeValue(value, target);
+
+                byte[] bytes = new byte[target.readableBytes()];
+                target.readBytes(bytes);
+                return ByteBuffer.wrap(bytes);
+            } finally {
+                target.release();
+            }
+        }
+
+        @Override
+        public void encodeKey(Object key, ByteBuf target) {
+
+            if (delegate instanceof ToByteBufEncoder) {
+                ((ToByteBufEncoder<Object, Object>) delegate).encodeKey(key, target);
+                return;
+            }
+
+            target.writeBytes(delegate.encodeKey(key));
+        }
+
+        @Override
+        public void encodeValue(Object value, ByteBuf target) {
+
+            ByteBuf source = encodeDelegateValue(value, target.alloc());
+
             try {
-                return compress(delegate.encodeValue(value));
+
+                if (!source.isReadable()) {
+                    return;
+                }
+
+                if (threshold >= 0) {
+
+                    if (source.readableBytes() < threshold) {
+                        target.writeByte(UNCOMPRESSED);
+                        target.writeBytes(source);
+                        return;
+                    }
+
+                    target.writeByte(COMPRESSED);
+                }
+
+                compressor.compress(source, target);
             } catch (IOException e) {
                 throw new IllegalStateException(e);
+            } finally {
+                source.release();
             }
         }
 
-        private ByteBuffer compress(ByteBuffer source) throws IOException {
-            if (source.remaining() == 0) {
-                return source;
+        @Override
+        public int estimateSize(Object keyOrValue) {
+
+            if (delegate instanceof ToByteBufEncoder) {
+                return ((ToByteBufEncoder<Object, Object>) delegate).estimateSize(keyOrValue);
             }
 
-            ByteBufferInputStream sourceStream = new ByteBufferInputStream(source);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(source.remaining() / 2);
-            OutputStream compressor = null;
-            if (compressionType == CompressionType.GZIP) {
-                compressor = new GZIPOutputStream(outputStream);
+            return 0;
+        }
+
+        private ByteBuf encodeDelegateValue(Object value, ByteBufAllocator allocator) {
+
+            if (delegate instanceof ToByteBufEncoder) {
+
+                ToByteBufEncoder<Object, Object> encoder = (ToByteBufEncoder<Object, Object>) delegate;
+                ByteBuf buffer = allocator.buffer(encoder.estimateSize(value));
+                encoder.encodeValue(value, buffer);
+
+                return buffer;
             }
 
-            if (compressionType == CompressionType.DEFLATE) {
-                compressor = new DeflaterOutputStream(outputStream);
+            return Unpooled.wrappedBuffer(delegate.encodeValue(value));
+        }
+    }
+
+    /**
+     * Compression algorithm used by {@link CompressionCodec}. Implementations must be thread-safe.
+     *
+     * @since 4.4
+     */
+    public interface Compressor {
+
+        /**
+         * Compress the readable bytes of {@code source} and write the compressed representation to {@code target}.
+         *
+         * @param source the uncompressed data, must not be {@literal null}.
+         * @param target the target buffer, must not be {@literal null}.
+         * @throws IOException if the data cannot be compressed.
+         */
+        void compress(ByteBuf source, ByteBuf target) throws IOException;
+
+        /**
+         * Decompress the readable bytes of {@code source} and write the uncompressed representation to {@code target}.
+         *
+         * @param source the compressed data, must not be {@literal null}.
+         * @param target the target buffer, must not be {@literal null}.
+         * @throws IOException if the data is corrupt or was compressed using a different algorithm.
+         */
+        void decompress(ByteBuf source, ByteBuf target) throws IOException;
+    }
+
+    /**
+     * Built-in compression types.
+     */
+    public enum CompressionType implements Compressor {
+
+        GZIP(gzip(Deflater.DEFAULT_COMPRESSION)),
+
+        DEFLATE(deflate(Deflater.DEFAULT_COMPRESSION)),
+
+        /**
+         * Snappy block compression. Favors throughput over compression ratio.
+         *
+         * @since 4.4
+         */
+        SNAPPY(new SnappyCompressor());
+
+        private final Compressor compressor;
+
+        CompressionType(Compressor compressor) {
+            this.compressor = compressor;
+        }
+
+        @Override
+        public void compress(ByteBuf source, ByteBuf target) throws IOException {
+            compressor.compress(source, target);
+        }
+
+        @Override
+        public void decompress(ByteBuf source, ByteBuf target) throws IOException {
+            compressor.decompress(source, target);
+        }
+    }
+
+    /**
+     * {@link Compressor} using {@link Deflater} and {@link Inflater}. Deflater and inflater instances are thread-confined and
+     * shared by all {@link DeflateCompressor} instances using the same mode and compression level so creating compressors does
+     * not allocate native memory. Instances are {@link Deflater#end() ended} when the thread-local is removed. Produces the
+     * same output as {@link GZIPOutputStream} respective {@link DeflaterOutputStream}.
+     */
+    private static class DeflateCompressor implements Compressor {
+
+        private static final int GZIP_MAGIC = 0x8b1f;
+        private static final int GZIP_HEADER_SIZE = 10;
+        private static final int GZIP_TRAILER_SIZE = 8;
+
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private static final int LEVELS = Deflater.BEST_COMPRESSION - Deflater.DEFAULT_COMPRESSION + 1;
+
+        // deflaters indexed by mode and compression level
+        private static final FastThreadLocal<Deflater[]> DEFLATERS = new FastThreadLocal<Deflater[]>() {
+
+            @Override
+            protected Deflater[] initialValue() throws Exception {
+                return new Deflater[LEVELS * 2];
             }
 
-            try {
-                copy(sourceStream, compressor);
-            } finally {
-                compressor.close();
+            @Override
+            protected void onRemoval(Deflater[] value) throws Exception {
+                for (Deflater deflater : value) {
+                    if (deflater != null) {
+                        deflater.end();
+                    }
+                }
+            }
+        };
+
+        // inflaters indexed by mode
+        private static final FastThreadLocal<Inflater[]> INFLATERS = new FastThreadLocal<Inflater[]>() {
+
+            @Override
+            protected Inflater[] initialValue() throws Exception {
+                return new Inflater[2];
+            }
+
+            @Override
+            protected void onRemoval(Inflater[] value) throws Exception {
+                for (Inflater inflater : value) {
+                    if (inflater != null) {
+                        inflater.end();
+                    }
+                }
             }
+        };
 
-            return ByteBuffer.wrap(outputStream.toByteArray());
+        private final int level;
+        private final boolean gzip;
+        private final byte[] dictionary;
+
+        DeflateCompressor(int level, boolean gzip, byte[] dictionary) {
+
+            this.level = level;
+            this.gzip = gzip;
+            this.dictionary = dictionary;
         }
 
-        private ByteBuffer decompress(ByteBuffer source) throws IOException {
-            if (source.remaining() == 0) {
-                return source;
+        private Deflater deflater() {
+
+            Deflater[] deflaters = DEFLATERS.get();
+            int index = (gzip ? LEVELS : 0) + level - Deflater.DEFAULT_COMPRESSION;
+
+            if (deflaters[index] == null) {
+                deflaters[index] = new Deflater(level, gzip);
             }
 
-            ByteBufferInputStream sourceStream = new ByteBufferInputStream(source);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(source.remaining() * 2);
-            InputStream decompressor = null;
-            if (compressionType == CompressionType.GZIP) {
-                decompressor = new GZIPInputStream(sourceStream);
+            return deflaters[index];
+        }
+
+        private Inflater inflater() {
+
+            Inflater[] inflaters = INFLATERS.get();
+            int index = gzip ? 1 : 0;
+
+            if (inflaters[index] == null) {
+                inflaters[index] = new Inflater(gzip);
             }
 
-            if (compressionType == CompressionType.DEFLATE) {
-                decompressor = new InflaterInputStream(sourceStream);
+            return inflaters[index];
+        }
+
+        @Override
+        public void compress(ByteBuf source, ByteBuf target) throws IOException {
+
+            int length = source.readableBytes();
+            byte[] input = array(source);
+            int offset = arrayOffset(source);
+
+            Deflater deflater = deflater();
+            deflater.reset();
+
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+
+            if (gzip) {
+                target.writeShort(Short.reverseBytes((short) GZIP_MAGIC));
+                target.writeByte(Deflater.DEFLATED);
+                target.writeZero(GZIP_HEADER_SIZE - 3);
             }
 
+            deflater.setInput(input, offset, length);
+            deflater.finish();
+
+            while (!deflater.finished()) {
+
+                target.ensureWritable(Math.max(64, length / 2));
+
+                if (target.hasArray()) {
+                    int written = deflater.deflate(target.array(), target.arrayOffset() + target.writerIndex(),
+                            target.writableBytes());
+                    target.writerIndex(target.writerIndex() + written);
+                } else {
+                    byte[] chunk = CHUNK.get();
+                    target.writeBytes(chunk, 0, deflater.deflate(chunk));
+                }
+            }
+
+            if (gzip) {
+
+                CRC32 crc = new CRC32();
+                crc.update(input, offset, length);
+
+                target.writeInt(Integer.reverseBytes((int) crc.getValue()));
+                target.writeInt(Integer.reverseBytes(length));
+            }
+
+            source.skipBytes(length);
+        }
+
+        @Override
+        public void decompress(ByteBuf source, ByteBuf target) throws IOException {
+
+            if (gzip) {
+                skipGzipHeader(source);
+            }
+
+            int length = source.readableBytes();
+            byte[] input = array(source);
+            int offset = arrayOffset(source);
+            int targetStart = target.writerIndex();
+
+            Inflater inflater = inflater();
+            inflater.reset();
+            inflater.setInput(input, offset, length);
+
             try {
-                copy(decompressor, outputStream);
-            } finally {
-                decompressor.close();
+                while (!inflater.finished()) {
+
+                    target.ensureWritable(Math.max(64, length));
+
+                    int written;
+                    if (target.hasArray()) {
+                        written = inflater.inflate(target.array(), target.arrayOffset() + target.writerIndex(),
+                                target.writableBytes());
+                        target.writerIndex(target.writerIndex() + written);
+                    } else {
+                        byte[] chunk = CHUNK.get();
+                        written = inflater.inflate(chunk);
+                        target.writeBytes(chunk, 0, written);
+                    }
+
+                    if (written == 0) {
+
+                        if (inflater.needsDictionary()) {
+
+                            if (dictionary == null) {
+                                throw new ZipException("Compressed data requires a dictionary");
+                            }
+
+                            inflater.setDictionary(dictionary);
+                        } else if (inflater.needsInput()) {
+                            throw new EOFException("Unexpected end of compressed data");
+                        }
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage());
             }
 
-            return ByteBuffer.wrap(outputStream.toByteArray());
+            source.skipBytes(length - inflater.getRemaining());
+
+            if (gzip) {
+                verifyGzipTrailer(source, target, targetStart);
+            }
+        }
+
+        private static void skipGzipHeader(ByteBuf source) throws IOException {
+
+            if (source.readableBytes() < GZIP_HEADER_SIZE
+                    || Short.reverseBytes(source.readShort()) != (short) GZIP_MAGIC) {
+                throw new ZipException("Not in GZIP format");
+            }
+
+            if (source.readUnsignedByte() != Deflater.DEFLATED) {
+                throw new ZipException("Unsupported compression method");
+            }
+
+            int flags = source.readUnsignedByte();
+            source.skipBytes(6);
+
+            if ((flags & FEXTRA) == FEXTRA) {
+                source.skipBytes(Short.reverseBytes(source.readShort()) & 0xFFFF);
+            }
+
+            if ((flags & FNAME) == FNAME) {
+                skipZeroTerminated(source);
+            }
+
+            if ((flags & FCOMMENT) == FCOMMENT) {
+                skipZeroTerminated(source);
+            }
+
+            if ((flags & FHCRC) == FHCRC) {
+                source.skipBytes(2);
+            }
+        }
+
+        private static void skipZeroTerminated(ByteBuf source) throws IOException {
+
+            int index = source.bytesBefore((byte) 0);
+            if (index == -1) {
+                throw new EOFException("Unexpected end of GZIP header");
+            }
+
+            source.skipBytes(index + 1);
+        }
+
+        private static void verifyGzipTrailer(ByteBuf source, ByteBuf target, int targetStart) throws IOException {
+
+            if (source.readableBytes() < GZIP_TRAILER_SIZE) {
+                throw new EOFException("Unexpected end of GZIP trailer");
+            }
+
+            int written = target.writerIndex() - targetStart;
+            CRC32 crc = new CRC32();
+            crc.update(target.nioBuffer(targetStart, written));
+
+            int expectedCrc = Integer.reverseBytes(source.readInt());
+            int expectedSize = Integer.reverseBytes(source.readInt());
+
+            if (expectedCrc != (int) crc.getValue() || expectedSize != written) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+        }
+
+        private static byte[] array(ByteBuf buffer) {
+
+            if (buffer.hasArray()) {
+                return buffer.array();
+            }
+
+            byte[] bytes = new byte[buffer.readableBytes()];
+            buffer.getBytes(buffer.readerIndex(), bytes);
+            return bytes;
         }
 
+        private static int arrayOffset(ByteBuf buffer) {
+            return buffer.hasArray() ? buffer.arrayOffset() + buffer.readerIndex() : 0;
+        }
     }
 
     /**
-     * Copies all bytes from the input stream to the output stream. Does not close or flush either stream.
-     *
-     * @param from the input stream to read from
-     * @param to the output stream to write to
-     * @return the number of bytes copied
-     * @throws IOException if an I/O error occurs
+     * {@link Compressor} using Netty's {@link Snappy} block compression. {@link Snappy} compresses a single block of up to
+     * {@value #BLOCK_SIZE} bytes so larger values are split into blocks. Each block is prefixed with its compressed length.
      */
-    private static long copy(InputStream from, OutputStream to) throws IOException {
-        LettuceAssert.notNull(from, "From must not be null");
-        LettuceAssert.notNull(to, "From must not be null");
-        byte[] buf = new byte[4096];
-        long total = 0;
-        while (true) {
-            int r = from.read(buf);
-            if (r == -1) {
-                break;
-            }
-            to.write(buf, 0, r);
-            total += r;
-        }
-        return total;
-    }
+    private static class SnappyCompressor implements Compressor {
 
-    public enum CompressionType {
-        GZIP, DEFLATE;
-    }
+        private static final int BLOCK_SIZE = 32 * 1024;
+
+        @Override
+        public void compress(ByteBuf source, ByteBuf target) throws IOException {
+
+            Snappy snappy = new Snappy();
+
+            while (source.isReadable()) {
+
+                int lengthIndex = target.writerIndex();
+                target.writeInt(0);
 
+                // encode a slice, Snappy does not support sources with a reader index greater zero
+                int length = Math.min(source.readableBytes(), BLOCK_SIZE);
+                snappy.encode(source.readSlice(length), target, length);
+                target.setInt(lengthIndex, target.writerIndex() - lengthIndex - 4);
+                snappy.reset();
+            }
+        }
+
+        @Override
+        public void decompress(ByteBuf source, ByteBuf target) throws IOException {
+
+            Snappy snappy = new Snappy();
+
+            while (source.isReadable()) {
+
+                if (source.readableBytes() < 4) {
+                    throw new EOFException("Unexpected end of Snappy block header");
+                }
+
+                int length = source.readInt();
+
+                if (length < 0 || length > source.readableBytes()) {
+                    throw new IOException("Corrupt Snappy block length: " + length);
+                }
+
+                try {
+                    snappy.decode(source.readSlice(length), target);
+                } catch (DecompressionException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+
+                snappy.reset();
+            }
+        }
+    }
 }
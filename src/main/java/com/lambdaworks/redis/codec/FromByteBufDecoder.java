@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Optimized decoder that decodes keys and values directly from a {@link ByteBuf} holding the received data. Bulk string replies
+ * are passed to {@link FromByteBufDecoder} as {@link ByteBuf} instead of being copied into a {@link java.nio.ByteBuffer}
+ * first.
+ * <p>
+ * The {@link ByteBuf} passed to {@link #decodeKey(ByteBuf)} and {@link #decodeValue(ByteBuf)} is released after the method
+ * returns. Implementations that keep a reference to the buffer (or a slice of it) must call {@link ByteBuf#retain()}. Classes
+ * implementing {@link FromByteBufDecoder} are required to implement {@link RedisCodec} as well. The
+ * {@link RedisCodec#decodeKey(java.nio.ByteBuffer)} and {@link RedisCodec#decodeValue(java.nio.ByteBuffer)} methods are used by
+ * outputs that do not support {@link ByteBuf} decoding.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public interface FromByteBufDecoder<K, V> {
+
+    /**
+     * Decode the key output by redis.
+     *
+     * @param bytes the key bytes, must not be {@literal null}. The buffer is released after this method returns.
+     * @return The decoded key, may be {@literal null}.
+     */
+    K decodeKey(ByteBuf bytes);
+
+    /**
+     * Decode the value output by redis.
+     *
+     * @param bytes the value bytes, must not be {@literal null}. The buffer is released after this method returns.
+     * @return The decoded value, may be {@literal null}.
+     */
+    V decodeValue(ByteBuf bytes);
+}
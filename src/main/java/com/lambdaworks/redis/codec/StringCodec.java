@@ -124,12 +124,28 @@ public class StringCodec implements RedisCodec<String, String>, ToByteBufEncoder
     public int estimateSize(Object keyOrValue) {
 
         if (keyOrValue instanceof String) {
+
+            String str = (String) keyOrValue;
+
+            if (utf8) {
+                return utf8Length(str);
+            }
+
+            if (ascii) {
+                return str.length();
+            }
+
             CharsetEncoder encoder = CharsetUtil.encoder(charset);
-            return (int) (encoder.averageBytesPerChar() * ((String) keyOrValue).length());
+            return (int) (encoder.averageBytesPerChar() * str.length());
         }
         return 0;
     }
 
+    @Override
+    public boolean isEstimateExact() {
+        return utf8 || ascii;
+    }
+
     @Override
     public void encodeValue(String value, ByteBuf target) {
         encode(value, target);
@@ -155,6 +171,42 @@ public class StringCodec implements RedisCodec<String, String>, ToByteBufEncoder
         return encodeAndAllocateBuffer(value);
     }
 
+    /**
+     * Calculate the number of bytes required to represent {@code sequence} in UTF-8. Unpaired surrogates are counted as a
+     * single replacement byte.
+     *
+     * @param sequence the character sequence.
+     * @return the number of bytes of the UTF-8 representation.
+     */
+    static int utf8Length(CharSequence sequence) {
+
+        int length = sequence.length();
+        int bytes = 0;
+
+        for (int i = 0; i < length; i++) {
+
+            char c = sequence.charAt(i);
+
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isSurrogate(c)) {
+
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(sequence.charAt(i + 1))) {
+                    bytes += 4;
+                    i++;
+                } else {
+                    bytes++;
+                }
+            } else {
+                bytes += 3;
+            }
+        }
+
+        return bytes;
+    }
+
     /**
      * Compatibility implementation.
      * 
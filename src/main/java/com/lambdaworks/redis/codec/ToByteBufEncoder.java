@@ -49,10 +49,24 @@ public interface ToByteBufEncoder<K, V> {
 
     /**
      * Estimates the size of the resulting byte stream. This method is called for keys and values to estimate the size for the
-     * temporary buffer to allocate.
+     * temporary buffer to allocate. If {@link #isEstimateExact()} returns {@literal true}, the estimate is used as the length
+     * of the bulk string and the key or value is encoded directly into the outbound buffer.
      *
      * @param keyOrValue the key or value, may be {@link null}.
      * @return the estimated number of bytes in the encoded representation.
      */
     int estimateSize(Object keyOrValue);
+
+    /**
+     * Returns {@literal true} if {@link #estimateSize(Object)} returns the exact number of bytes that are written by
+     * {@link #encodeKey(Object, ByteBuf)} and {@link #encodeValue(Object, ByteBuf)}. Exact estimates allow encoding keys and
+     * values directly into the outbound buffer without an intermediate buffer. Encoding falls back to an intermediate buffer
+     * if the encoded size does not match the estimate.
+     *
+     * @return {@literal true} if the estimated size is exact. Defaults to {@literal false}.
+     * @since 4.4
+     */
+    default boolean isEstimateExact() {
+        return false;
+    }
 }
@@ -24,27 +24,36 @@ import java.nio.charset.CharsetDecoder;
 
 import com.lambdaworks.redis.protocol.LettuceCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+
 /**
- * A {@link RedisCodec} that handles UTF-8 encoded keys and values.
+ * A {@link RedisCodec} that handles UTF-8 encoded keys and values. Decoding is lock-free: ASCII-only data is decoded without a
+ * {@link CharsetDecoder}, other data is decoded using thread-confined decoder state so a single codec instance can be shared
+ * across connections and event loops without contention.
  * 
  * @author Will Glozer
+ * @author Mark Paluch
  */
-public class Utf8StringCodec implements RedisCodec<String, String> {
+public class Utf8StringCodec implements RedisCodec<String, String>, ToByteBufEncoder<String, String> {
 
     private static final byte[] EMPTY = new byte[0];
 
-    private Charset charset;
-    private CharsetDecoder decoder;
-    private CharBuffer chars;
+    private static final FastThreadLocal<DecoderState> DECODER_STATE = new FastThreadLocal<DecoderState>() {
+        @Override
+        protected DecoderState initialValue() throws Exception {
+            return new DecoderState();
+        }
+    };
 
+    private final Charset charset;
 
     /**
      * Initialize a new instance that encodes and decodes strings using the UTF-8 charset;
      */
     public Utf8StringCodec() {
         charset = LettuceCharsets.UTF8;
-        decoder = charset.newDecoder();
-        chars = CharBuffer.allocate(1024);
     }
 
     @Override
@@ -62,22 +71,94 @@ public class Utf8StringCodec implements RedisCodec<String, String> {
         return encode(key);
     }
 
+    @Override
+    public void encodeKey(String key, ByteBuf target) {
+        encode(key, target);
+    }
+
+    @Override
+    public void encodeValue(String value, ByteBuf target) {
+        encode(value, target);
+    }
+
+    @Override
+    public int estimateSize(Object keyOrValue) {
+
+        if (keyOrValue instanceof String) {
+            return StringCodec.utf8Length((String) keyOrValue);
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEstimateExact() {
+        return true;
+    }
+
     @Override
     public ByteBuffer encodeValue(String value) {
         return encode(value);
     }
 
-    private synchronized String decode(ByteBuffer bytes) {
-        chars.clear();
-        bytes.mark();
+    private String decode(ByteBuffer bytes) {
+
+        String ascii = decodeAscii(bytes);
 
-        decoder.reset();
-        while (decoder.decode(bytes, chars, true) == OVERFLOW || decoder.flush(chars) == OVERFLOW) {
-            chars = CharBuffer.allocate(chars.capacity() * 2);
-            bytes.reset();
+        if (ascii != null) {
+            return ascii;
         }
 
-        return chars.flip().toString();
+        return DECODER_STATE.get().decode(bytes);
+    }
+
+    /**
+     * Decode {@code bytes} if they consist of ASCII characters only. The position of {@code bytes} is only advanced if the
+     * bytes were decoded.
+     *
+     * @param bytes the bytes to decode.
+     * @return the decoded {@link String} or {@literal null} if {@code bytes} contain non-ASCII characters.
+     */
+    private static String decodeAscii(ByteBuffer bytes) {
+
+        int position = bytes.position();
+        int length = bytes.remaining();
+
+        if (bytes.hasArray()) {
+
+            byte[] array = bytes.array();
+            int offset = bytes.arrayOffset() + position;
+
+            for (int i = 0; i < length; i++) {
+                if (array[offset + i] < 0) {
+                    return null;
+                }
+            }
+
+            bytes.position(position + length);
+            return new String(array, offset, length, LettuceCharsets.ASCII);
+        }
+
+        char[] chars = new char[length];
+
+        for (int i = 0; i < length; i++) {
+
+            byte b = bytes.get(position + i);
+            if (b < 0) {
+                return null;
+            }
+
+            chars[i] = (char) b;
+        }
+
+        bytes.position(position + length);
+        return new String(chars);
+    }
+
+    private static void encode(String string, ByteBuf target) {
+
+        if (string != null) {
+            ByteBufUtil.writeUtf8(target, string);
+        }
     }
 
     private ByteBuffer encode(String string) {
@@ -87,4 +168,27 @@ public class Utf8StringCodec implements RedisCodec<String, String> {
 
         return charset.encode(string);
     }
+
+    /**
+     * Thread-confined UTF-8 decoder state.
+     */
+    static class DecoderState {
+
+        private final CharsetDecoder decoder = LettuceCharsets.UTF8.newDecoder();
+        private CharBuffer chars = CharBuffer.allocate(1024);
+
+        String decode(ByteBuffer bytes) {
+
+            chars.clear();
+            bytes.mark();
+
+            decoder.reset();
+            while (decoder.decode(bytes, chars, true) == OVERFLOW || decoder.flush(chars) == OVERFLOW) {
+                chars = CharBuffer.allocate(chars.capacity() * 2);
+                bytes.reset();
+            }
+
+            return chars.flip().toString();
+        }
+    }
 }
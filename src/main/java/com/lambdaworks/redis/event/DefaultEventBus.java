@@ -15,36 +15,315 @@
  */
 package com.lambdaworks.redis.event;
 
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.internal.LettuceFactories;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
 import rx.Observable;
+import rx.Producer;
 import rx.Scheduler;
-import rx.subjects.PublishSubject;
-import rx.subjects.Subject;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
 
 /**
  * Default implementation for an {@link EventBus}. Events are published using a {@link Scheduler}.
- * 
+ * <p>
+ * Each subscriber buffers published events in its own bounded queue that is drained by a {@link Scheduler.Worker} of the
+ * subscriber. A slow subscriber therefore does not delay event delivery to other subscribers. Events are dropped if the
+ * queue of a subscriber is full or if the subscriber did not request more events. Dropped events are counted and can be
+ * obtained from {@link #getDroppedEvents()}. Publishing does not allocate if nobody subscribed to the bus.
+ *
  * @author Mark Paluch
  * @since 3.4
  */
 public class DefaultEventBus implements EventBus {
 
-    private final Subject<Event, Event> bus;
+    /**
+     * Default number of events that can be buffered per subscriber.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(DefaultEventBus.class);
+
+    private static final EventSubscription[] EMPTY = new EventSubscription[0];
+
+    private static final int CHUNK_SIZE = 256;
+
+    private static final AtomicReferenceFieldUpdater<DefaultEventBus, EventSubscription[]> SUBSCRIPTIONS = AtomicReferenceFieldUpdater
+            .newUpdater(DefaultEventBus.class, EventSubscription[].class, "subscriptions");
+
     private final Scheduler scheduler;
+    private final int capacity;
+    private final LongAdder droppedEvents = new LongAdder();
 
+    private volatile EventSubscription[] subscriptions = EMPTY;
+    private volatile boolean shutdown;
+
+    /**
+     * Create a new {@link DefaultEventBus} buffering up to {@link #DEFAULT_CAPACITY} events per subscriber.
+     *
+     * @param scheduler the scheduler to deliver events, must not be {@literal null}.
+     */
     public DefaultEventBus(Scheduler scheduler) {
-        this.bus = PublishSubject.<Event> create().toSerialized();
+        this(scheduler, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a new {@link DefaultEventBus}.
+     *
+     * @param scheduler the scheduler to deliver events, must not be {@literal null}.
+     * @param capacity maximum number of buffered events per subscriber, must be greater {@literal 0}.
+     * @since 4.4
+     */
+    public DefaultEventBus(Scheduler scheduler, int capacity) {
+
+        LettuceAssert.notNull(scheduler, "Scheduler must not be null");
+        LettuceAssert.isTrue(capacity > 0, "Capacity must be greater 0");
+
         this.scheduler = scheduler;
+        this.capacity = capacity;
     }
 
     @Override
     public Observable<Event> get() {
-        return bus.onBackpressureDrop().observeOn(scheduler);
+
+        return Observable.create(subscriber -> {
+
+            if (shutdown) {
+                return;
+            }
+
+            EventSubscription subscription = new EventSubscription(subscriber);
+
+            subscriber.add(Subscriptions.create(() -> remove(subscription)));
+            subscriber.setProducer(subscription);
+
+            if (!subscriber.isUnsubscribed()) {
+                add(subscription);
+            }
+
+            if (shutdown) {
+                remove(subscription);
+            }
+        });
     }
 
     @Override
     public void publish(Event event) {
-        if (bus.hasObservers()) {
-            bus.onNext(event);
+
+        for (EventSubscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    @Override
+    public boolean hasSubscribers() {
+        return subscriptions.length != 0;
+    }
+
+    /**
+     * Returns the number of events that were dropped because the buffer of a subscriber was full or because a subscriber did
+     * not request events. An event that could not be delivered to multiple subscribers is counted for each subscriber.
+     *
+     * @return the number of dropped events.
+     * @since 4.4
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Shut down the event bus. Releases the {@link Scheduler.Worker}s of all subscribers and discards buffered events. Events
+     * published after shutdown are not delivered.
+     *
+     * @since 4.4
+     */
+    public void shutdown() {
+
+        shutdown = true;
+
+        for (EventSubscription subscription : SUBSCRIPTIONS.getAndSet(this, EMPTY)) {
+            subscription.dispose();
+        }
+    }
+
+    private void add(EventSubscription subscription) {
+
+        for (;;) {
+
+            EventSubscription[] current = subscriptions;
+            EventSubscription[] next = new EventSubscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = subscription;
+
+            if (SUBSCRIPTIONS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private void remove(EventSubscription subscription) {
+
+        subscription.dispose();
+
+        for (;;) {
+
+            EventSubscription[] current = subscriptions;
+
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == subscription) {
+                    index = i;
+                    break;
+                }
+            }
+
+            if (index == -1) {
+                return;
+            }
+
+            EventSubscription[] next;
+            if (current.length == 1) {
+                next = EMPTY;
+            } else {
+                next = new EventSubscription[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            }
+
+            if (SUBSCRIPTIONS.compareAndSet(this, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Subscription of a single {@link Subscriber} that buffers events in a bounded queue and tracks the subscriber demand.
+     */
+    private class EventSubscription implements Producer {
+
+        private final Subscriber<? super Event> subscriber;
+        private final Queue<Event> queue = LettuceFactories.newMpscQueue(Math.max(2, Math.min(capacity, CHUNK_SIZE)),
+                capacity);
+        private final Scheduler.Worker worker = scheduler.createWorker();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private final Action0 drainTask = this::drain;
+
+        EventSubscription(Subscriber<? super Event> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+
+            LettuceAssert.isTrue(n >= 0, "Request must be greater or equal 0");
+
+            for (;;) {
+
+                long current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    return;
+                }
+
+                long next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+
+                if (requested.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Buffer {@code event} and schedule delivery if the subscriber is not draining events yet.
+         *
+         * @param event the event.
+         */
+        void offer(Event event) {
+
+            if (worker.isUnsubscribed()) {
+                return;
+            }
+
+            if (!queue.offer(event)) {
+                droppedEvents.increment();
+                return;
+            }
+
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(drainTask);
+            }
+        }
+
+        /**
+         * Release the {@link Scheduler.Worker} and discard buffered events.
+         */
+        void dispose() {
+
+            worker.unsubscribe();
+            queue.clear();
+        }
+
+        private void drain() {
+
+            int missed = 1;
+
+            do {
+
+                Event event;
+                while ((event = queue.poll()) != null) {
+                    if (!onNext(event)) {
+                        droppedEvents.increment();
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Deliver {@code event} to the subscriber if the subscriber requested events.
+         *
+         * @param event the event.
+         * @return {@literal true} if the event was delivered.
+         */
+        private boolean onNext(Event event) {
+
+            if (subscriber.isUnsubscribed()) {
+                return true;
+            }
+
+            long current = requested.get();
+            if (current == 0) {
+                return false;
+            }
+
+            if (current != Long.MAX_VALUE) {
+                requested.decrementAndGet();
+            }
+
+            try {
+                subscriber.onNext(event);
+            } catch (Throwable e) {
+
+                Exceptions.throwIfFatal(e);
+                logger.warn("Cannot deliver event " + event, e);
+                subscriber.unsubscribe();
+            }
+
+            return true;
         }
     }
 }
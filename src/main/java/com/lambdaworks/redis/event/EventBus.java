@@ -15,6 +15,8 @@
  */
 package com.lambdaworks.redis.event;
 
+import java.util.function.Supplier;
+
 import rx.Observable;
 
 /**
@@ -38,4 +40,29 @@ public interface EventBus {
      * @param event the event to publish
      */
     void publish(Event event);
+
+    /**
+     * Publish an {@link Event} to the bus if the bus has subscribers. The {@link Supplier} is not called if nobody is
+     * subscribed so events that are expensive to create are only created if they are delivered.
+     *
+     * @param eventSupplier supplier of the event to publish
+     * @since 4.4
+     */
+    default void publish(Supplier<? extends Event> eventSupplier) {
+
+        if (hasSubscribers()) {
+            publish(eventSupplier.get());
+        }
+    }
+
+    /**
+     * Returns whether the bus has subscribers. Implementations that cannot determine their subscribers return
+     * {@literal true}.
+     *
+     * @return {@literal true} if events published to the bus are delivered to at least one subscriber.
+     * @since 4.4
+     */
+    default boolean hasSubscribers() {
+        return true;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.event.metrics;
+
+import java.util.List;
+
+import com.lambdaworks.redis.event.Event;
+import com.lambdaworks.redis.metrics.ConnectionMetrics;
+
+/**
+ * Event that transports per-connection load metrics. This event carries metrics for all connections of the client resources.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class ConnectionMetricsEvent implements Event {
+
+    private final List<ConnectionMetrics> metrics;
+
+    public ConnectionMetricsEvent(List<ConnectionMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the {@link ConnectionMetrics metrics} of each connection.
+     *
+     * @return the connection metrics.
+     */
+    public List<ConnectionMetrics> getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(metrics);
+        return sb.toString();
+    }
+}
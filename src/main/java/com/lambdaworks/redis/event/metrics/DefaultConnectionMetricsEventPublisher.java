@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.event.metrics;
+
+import com.lambdaworks.redis.event.EventBus;
+import com.lambdaworks.redis.event.EventPublisherOptions;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Default implementation of a {@link MetricEventPublisher} for {@link ConnectionMetricsEvent connection metrics}.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class DefaultConnectionMetricsEventPublisher implements MetricEventPublisher {
+
+    private final EventPublisherOptions options;
+    private final EventBus eventBus;
+    private final ConnectionMetricsCollector connectionMetricsCollector;
+
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    public DefaultConnectionMetricsEventPublisher(EventExecutorGroup eventExecutorGroup, EventPublisherOptions options,
+            EventBus eventBus, ConnectionMetricsCollector connectionMetricsCollector) {
+
+        this.options = options;
+        this.eventBus = eventBus;
+        this.connectionMetricsCollector = connectionMetricsCollector;
+
+        if (options.eventEmitInterval() > 0) {
+            scheduledFuture = eventExecutorGroup.scheduleAtFixedRate(this::emitMetricsEvent, options.eventEmitInterval(),
+                    options.eventEmitInterval(), options.eventEmitIntervalUnit());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return options.eventEmitInterval() > 0 && scheduledFuture != null;
+    }
+
+    @Override
+    public void shutdown() {
+
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+            scheduledFuture = null;
+        }
+    }
+
+    @Override
+    public void emitMetricsEvent() {
+
+        if (!isEnabled() || !connectionMetricsCollector.isEnabled()) {
+            return;
+        }
+
+        eventBus.publish(() -> new ConnectionMetricsEvent(connectionMetricsCollector.retrieveMetrics()));
+    }
+}
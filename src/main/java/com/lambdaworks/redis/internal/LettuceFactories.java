@@ -40,6 +40,33 @@ public class LettuceFactories {
         return new ConcurrentLinkedDeque<>();
     }
 
+    /**
+     * Creates a new unbounded {@link Queue} for multiple producers and a single consumer. Elements are stored in array chunks
+     * of {@code chunkSize} elements so the queue does not allocate per element and reports its size in constant time.
+     *
+     * @param chunkSize number of elements per chunk.
+     * @param <T>
+     * @return a new, empty {@link MpscChunkedArrayQueue}.
+     * @since 4.4
+     */
+    public static <T> Queue<T> newMpscQueue(int chunkSize) {
+        return new MpscChunkedArrayQueue<>(chunkSize);
+    }
+
+    /**
+     * Creates a new bounded {@link Queue} for multiple producers and a single consumer. {@link Queue#offer(Object)} returns
+     * {@literal false} once the queue holds {@code capacity} elements.
+     *
+     * @param chunkSize number of elements per chunk.
+     * @param capacity maximum number of elements.
+     * @param <T>
+     * @return a new, empty {@link MpscChunkedArrayQueue}.
+     * @since 4.4
+     */
+    public static <T> Queue<T> newMpscQueue(int chunkSize, long capacity) {
+        return new MpscChunkedArrayQueue<>(chunkSize, capacity);
+    }
+
     /**
      * Creates a new {@link Queue} for single producer/single consumer.
      *
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.internal;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Multi-producer/single-consumer {@link java.util.Queue} backed by linked array chunks. Producers claim slots with a single
+ * atomic operation and never allocate per element, chunks are allocated once per {@code chunkSize} elements. The queue is
+ * optionally bounded by a {@code capacity}.
+ * <p>
+ * {@link #offer(Object)} is lock-free and safe to call from any thread. Consuming methods ({@link #poll()}, {@link #peek()},
+ * {@link #remove(Object)}, {@link #clear()}) are expected to be called from a single consumer at a time and synchronize on the
+ * queue to remain safe if consumers occasionally overlap. {@link #size()} is a constant-time operation.
+ * {@link #remove(Object)} replaces the element by a marker. Markers at the head of the queue are skipped right away so
+ * out-of-order removal releases drained chunks. Markers do not count against the capacity.
+ * <p>
+ * This class is part of the internal API and may change without further notice.
+ *
+ * @param <E> element type.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class MpscChunkedArrayQueue<E> extends AbstractQueue<E> {
+
+    private static final Object REMOVED = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MpscChunkedArrayQueue> CONSUMER_INDEX = AtomicLongFieldUpdater
+            .newUpdater(MpscChunkedArrayQueue.class, "consumerIndex");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<MpscChunkedArrayQueue> REMOVED_COUNT = AtomicLongFieldUpdater
+            .newUpdater(MpscChunkedArrayQueue.class, "removedCount");
+
+    private final int chunkSize;
+    private final long mask;
+    private final long capacity;
+    private final AtomicLong producerIndex = new AtomicLong();
+
+    private volatile Chunk producerChunk;
+    volatile Chunk consumerChunk;
+    private volatile long consumerIndex;
+    private volatile long removedCount;
+
+    /**
+     * Create a new unbounded {@link MpscChunkedArrayQueue}.
+     *
+     * @param chunkSize number of elements per chunk, is rounded up to the next power of two.
+     */
+    public MpscChunkedArrayQueue(int chunkSize) {
+        this(chunkSize, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new {@link MpscChunkedArrayQueue}.
+     *
+     * @param chunkSize number of elements per chunk, is rounded up to the next power of two.
+     * @param capacity maximum number of elements, {@link #offer(Object)} returns {@literal false} if the queue is full.
+     */
+    public MpscChunkedArrayQueue(int chunkSize, long capacity) {
+
+        LettuceAssert.isTrue(chunkSize > 1 && chunkSize <= (1 << 30), "Chunk size must be between 2 and 2^30");
+        LettuceAssert.isTrue(capacity > 0, "Capacity must be greater 0");
+
+        this.chunkSize = 1 << (32 - Integer.numberOfLeadingZeros(chunkSize - 1));
+        this.mask = this.chunkSize - 1;
+        this.capacity = capacity;
+        this.producerChunk = this.consumerChunk = new Chunk(0, this.chunkSize);
+    }
+
+    @Override
+    public boolean offer(E e) {
+
+        LettuceAssert.notNull(e, "Element must not be null");
+
+        long index;
+        if (capacity == Long.MAX_VALUE) {
+            index = producerIndex.getAndIncrement();
+        } else {
+            do {
+                index = producerIndex.get();
+                if (index - consumerIndex - removedCount >= capacity) {
+                    return false;
+                }
+            } while (!producerIndex.compareAndSet(index, index + 1));
+        }
+
+        producerChunk(index).slots.lazySet((int) (index & mask), e);
+        return true;
+    }
+
+    private Chunk producerChunk(long index) {
+
+        Chunk hint = producerChunk;
+        Chunk chunk = hint;
+
+        if (chunk.base > index) {
+            // other producers moved on, the consumer cannot pass a claimed slot so its chunk precedes ours
+            chunk = consumerChunk;
+        }
+
+        while (index >= chunk.base + chunkSize) {
+
+            Chunk next = chunk.next;
+            if (next == null) {
+                Chunk newChunk = new Chunk(chunk.base + chunkSize, chunkSize);
+                next = Chunk.NEXT.compareAndSet(chunk, null, newChunk) ? newChunk : chunk.next;
+            }
+            chunk = next;
+        }
+
+        if (chunk != hint) {
+            producerChunk = chunk;
+        }
+
+        return chunk;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E poll() {
+
+        for (;;) {
+
+            long index = consumerIndex;
+            if (index >= producerIndex.get()) {
+                return null;
+            }
+
+            Chunk chunk = consumerChunk(index);
+            if (chunk == null) {
+                // a producer claimed a slot of the next chunk and has not linked the chunk yet
+                continue;
+            }
+
+            int offset = (int) (index & mask);
+            Object e = chunk.slots.get(offset);
+            if (e == null) {
+                // slot is claimed but the element is not yet visible
+                continue;
+            }
+
+            chunk.slots.lazySet(offset, null);
+            CONSUMER_INDEX.lazySet(this, index + 1);
+
+            if (e == REMOVED) {
+                REMOVED_COUNT.lazySet(this, removedCount - 1);
+                continue;
+            }
+
+            return (E) e;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E peek() {
+
+        for (;;) {
+
+            long index = consumerIndex;
+            if (index >= producerIndex.get()) {
+                return null;
+            }
+
+            Chunk chunk = consumerChunk(index);
+            if (chunk == null) {
+                continue;
+            }
+
+            int offset = (int) (index & mask);
+            Object e = chunk.slots.get(offset);
+            if (e == null) {
+                continue;
+            }
+
+            if (e == REMOVED) {
+                chunk.slots.lazySet(offset, null);
+                CONSUMER_INDEX.lazySet(this, index + 1);
+                REMOVED_COUNT.lazySet(this, removedCount - 1);
+                continue;
+            }
+
+            return (E) e;
+        }
+    }
+
+    private Chunk consumerChunk(long index) {
+
+        Chunk chunk = consumerChunk;
+        if (index < chunk.base + chunkSize) {
+            return chunk;
+        }
+
+        Chunk next = chunk.next;
+        if (next != null) {
+            consumerChunk = next;
+        }
+
+        return next;
+    }
+
+    /**
+     * Remove a single instance of {@code o} from this queue. The element is replaced by a marker, leading markers are consumed
+     * afterwards so the head of the queue advances past removed elements.
+     *
+     * @param o the element to remove.
+     * @return {@literal true} if the queue contained {@code o}.
+     */
+    @Override
+    public synchronized boolean remove(Object o) {
+
+        if (o == null) {
+            return false;
+        }
+
+        long index = consumerIndex;
+        long limit = producerIndex.get();
+        Chunk chunk = consumerChunk;
+
+        for (; index < limit; index++) {
+
+            if (index >= chunk.base + chunkSize) {
+                chunk = chunk.next;
+                if (chunk == null) {
+                    return false;
+                }
+            }
+
+            int offset = (int) (index & mask);
+            Object e = chunk.slots.get(offset);
+
+            if (e == null || e == REMOVED || !(e == o || o.equals(e))) {
+                continue;
+            }
+
+            chunk.slots.lazySet(offset, REMOVED);
+            REMOVED_COUNT.lazySet(this, removedCount + 1);
+            skipRemoved();
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Advance the consumer past removed elements at the head of the queue. Moving the consumer to the next chunk releases the
+     * drained chunk.
+     */
+    private void skipRemoved() {
+
+        for (;;) {
+
+            long index = consumerIndex;
+            if (index >= producerIndex.get()) {
+                return;
+            }
+
+            Chunk chunk = consumerChunk(index);
+            if (chunk == null) {
+                return;
+            }
+
+            int offset = (int) (index & mask);
+            if (chunk.slots.get(offset) != REMOVED) {
+                return;
+            }
+
+            chunk.slots.lazySet(offset, null);
+            CONSUMER_INDEX.lazySet(this, index + 1);
+            REMOVED_COUNT.lazySet(this, removedCount - 1);
+        }
+    }
+
+    @Override
+    public int size() {
+
+        long removed = removedCount;
+        long consumer = consumerIndex;
+        long size = producerIndex.get() - consumer - removed;
+
+        return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over a snapshot of the elements. {@link Iterator#remove()} delegates to
+     * {@link #remove(Object)}.
+     *
+     * @return the iterator.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr(snapshot());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+
+        long index = consumerIndex;
+        long limit = producerIndex.get();
+        Chunk chunk = consumerChunk;
+
+        List<E> elements = new ArrayList<>((int) Math.min(Math.max(0, limit - index), 1024));
+
+        for (; index < limit; index++) {
+
+            if (index >= chunk.base + chunkSize) {
+                chunk = chunk.next;
+                if (chunk == null) {
+                    break;
+                }
+            }
+
+            Object e = chunk.slots.get((int) (index & mask));
+            if (e != null && e != REMOVED) {
+                elements.add((E) e);
+            }
+        }
+
+        return elements;
+    }
+
+    private class Itr implements Iterator<E> {
+
+        private final Iterator<E> delegate;
+        private E last;
+
+        Itr(List<E> elements) {
+            this.delegate = elements.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public E next() {
+
+            if (!delegate.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return last = delegate.next();
+        }
+
+        @Override
+        public void remove() {
+
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+
+            MpscChunkedArrayQueue.this.remove(last);
+            last = null;
+        }
+    }
+
+    static class Chunk {
+
+        static final AtomicReferenceFieldUpdater<Chunk, Chunk> NEXT = AtomicReferenceFieldUpdater.newUpdater(Chunk.class,
+                Chunk.class, "next");
+
+        final long base;
+        final AtomicReferenceArray<Object> slots;
+        volatile Chunk next;
+
+        Chunk(long base, int size) {
+            this.base = base;
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+    }
+}
@@ -46,4 +46,17 @@ public interface CommandLatencyCollector extends MetricCollector<Map<CommandLate
     void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
             long firstResponseLatency, long completionLatency);
 
+    /**
+     * Record a command timeout per {@code connectionPoint} and {@code commandType}. Timeouts of the command at the head of the
+     * queue are reported separately as they indicate a stalled connection rather than a slow command.
+     *
+     * @param local the local address
+     * @param remote the remote address
+     * @param commandType the command type
+     * @param headOfQueue {@literal true} if the timed out command was the oldest command awaiting a response
+     * @since 4.4
+     */
+    default void recordCommandTimeout(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+            boolean headOfQueue) {
+    }
 }
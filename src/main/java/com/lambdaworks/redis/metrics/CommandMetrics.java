@@ -29,12 +29,21 @@ public class CommandMetrics {
 
     private final CommandLatency firstResponse;
     private final CommandLatency completion;
+    private final long timeouts;
+    private final long headOfQueueTimeouts;
 
     public CommandMetrics(long count, TimeUnit timeUnit, CommandLatency firstResponse, CommandLatency completion) {
+        this(count, timeUnit, firstResponse, completion, 0, 0);
+    }
+
+    public CommandMetrics(long count, TimeUnit timeUnit, CommandLatency firstResponse, CommandLatency completion,
+            long timeouts, long headOfQueueTimeouts) {
         this.count = count;
         this.timeUnit = timeUnit;
         this.firstResponse = firstResponse;
         this.completion = completion;
+        this.timeouts = timeouts;
+        this.headOfQueueTimeouts = headOfQueueTimeouts;
     }
 
     /**
@@ -69,6 +78,22 @@ public class CommandMetrics {
         return completion;
     }
 
+    /**
+     *
+     * @return the number of commands that timed out, including {@link #getHeadOfQueueTimeouts() head-of-queue timeouts}
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     *
+     * @return the number of commands that timed out while being the oldest command awaiting a response
+     */
+    public long getHeadOfQueueTimeouts() {
+        return headOfQueueTimeouts;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -76,6 +101,8 @@ public class CommandMetrics {
         sb.append(", timeUnit=").append(timeUnit);
         sb.append(", firstResponse=").append(firstResponse);
         sb.append(", completion=").append(completion);
+        sb.append(", timeouts=").append(timeouts);
+        sb.append(", headOfQueueTimeouts=").append(headOfQueueTimeouts);
         sb.append(']');
         return sb.toString();
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.net.SocketAddress;
+
+/**
+ * Load indicators of a single connection. Gauges reflect the state at the time the metrics were taken, counters are totals
+ * since the connection was created and span reconnects.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class ConnectionMetrics {
+
+    private final SocketAddress localAddress;
+    private final SocketAddress remoteAddress;
+    private final int inFlightCommands;
+    private final int bufferedCommands;
+    private final long bytesWritten;
+    private final long bytesRead;
+    private final long flushes;
+    private final long reconnects;
+
+    public ConnectionMetrics(SocketAddress localAddress, SocketAddress remoteAddress, int inFlightCommands,
+            int bufferedCommands, long bytesWritten, long bytesRead, long flushes, long reconnects) {
+        this.localAddress = localAddress;
+        this.remoteAddress = remoteAddress;
+        this.inFlightCommands = inFlightCommands;
+        this.bufferedCommands = bufferedCommands;
+        this.bytesWritten = bytesWritten;
+        this.bytesRead = bytesRead;
+        this.flushes = flushes;
+        this.reconnects = reconnects;
+    }
+
+    /**
+     *
+     * @return the local address of the connection, may be {@literal null} if the connection is not connected
+     */
+    public SocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    /**
+     *
+     * @return the remote address of the connection, may be {@literal null} if the connection is not connected
+     */
+    public SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     *
+     * @return the number of commands that were written to the transport and await a response (queue depth)
+     */
+    public int getInFlightCommands() {
+        return inFlightCommands;
+    }
+
+    /**
+     *
+     * @return the number of commands buffered while the connection is disconnected or auto-flush is disabled
+     */
+    public int getBufferedCommands() {
+        return bufferedCommands;
+    }
+
+    /**
+     *
+     * @return the number of bytes written to the transport
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     *
+     * @return the number of bytes read from the transport
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     *
+     * @return the number of transport flushes
+     */
+    public long getFlushes() {
+        return flushes;
+    }
+
+    /**
+     *
+     * @return the number of reconnects
+     */
+    public long getReconnects() {
+        return reconnects;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("[").append(localAddress);
+        sb.append(" -> ").append(remoteAddress);
+        sb.append(", inFlightCommands=").append(inFlightCommands);
+        sb.append(", bufferedCommands=").append(bufferedCommands);
+        sb.append(", bytesWritten=").append(bytesWritten);
+        sb.append(", bytesRead=").append(bytesRead);
+        sb.append(", flushes=").append(flushes);
+        sb.append(", reconnects=").append(reconnects);
+        sb.append(']');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.util.List;
+
+/**
+ * {@link MetricCollector} for per-connection load indicators such as in-flight commands, buffered commands, transferred
+ * bytes, flushes and reconnects. Connections register themselves as {@link ConnectionMetricsSource} and maintain their
+ * counters on the I/O path. The collector takes a snapshot of all registered connections on {@link #retrieveMetrics()}.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public interface ConnectionMetricsCollector extends MetricCollector<List<ConnectionMetrics>> {
+
+    /**
+     * Register a {@link ConnectionMetricsSource}.
+     *
+     * @param source the source, must not be {@literal null}.
+     */
+    void register(ConnectionMetricsSource source);
+
+    /**
+     * Unregister a {@link ConnectionMetricsSource}.
+     *
+     * @param source the source, must not be {@literal null}.
+     */
+    void unregister(ConnectionMetricsSource source);
+}
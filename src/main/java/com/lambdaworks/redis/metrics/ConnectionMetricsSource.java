@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+/**
+ * Source of {@link ConnectionMetrics} that is registered with a {@link ConnectionMetricsCollector}. Sources maintain their
+ * counters themselves, a {@link ConnectionMetricsCollector} takes snapshots when metrics are retrieved.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public interface ConnectionMetricsSource {
+
+    /**
+     * Take a snapshot of the current connection metrics.
+     *
+     * @return the {@link ConnectionMetrics}.
+     */
+    ConnectionMetrics getConnectionMetrics();
+}
@@ -19,46 +19,46 @@ import static com.lambdaworks.redis.internal.LettuceClassUtils.isPresent;
 
 import java.net.SocketAddress;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.HdrHistogram.Histogram;
-import org.LatencyUtils.LatencyStats;
-import org.LatencyUtils.PauseDetector;
-import org.LatencyUtils.SimplePauseDetector;
+import org.HdrHistogram.Recorder;
 
 import com.lambdaworks.redis.metrics.CommandMetrics.CommandLatency;
 import com.lambdaworks.redis.protocol.CommandType;
 import com.lambdaworks.redis.protocol.ProtocolKeyword;
 
 import io.netty.channel.local.LocalAddress;
-import io.netty.util.internal.logging.InternalLogger;
-import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
  * Default implementation of a {@link CommandLatencyCollector} for command latencies.
+ * <p>
+ * Latencies are recorded into {@link Recorder HdrHistogram recorders} whose recording path is wait-free and does not
+ * allocate. Recorders are looked up by remote address, local address and command type from nested maps so recording does not
+ * create a {@link CommandLatencyId} per command. The {@link CommandLatencyId} is created once per recorder.
+ * {@link #retrieveMetrics()} swaps the active histograms of each recorder with interval histograms that are recycled on the
+ * next retrieval.
  *
  * @author Mark Paluch
  */
 public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
 
-    private static final AtomicReference<PauseDetectorWrapper> PAUSE_DETECTOR = new AtomicReference<>();
-    private static final boolean LATENCY_UTILS_AVAILABLE = isPresent("org.LatencyUtils.PauseDetector");
     private static final boolean HDR_UTILS_AVAILABLE = isPresent("org.HdrHistogram.Histogram");
 
     private static final long MIN_LATENCY = 1000;
     private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_VALUE_DIGITS = 2;
 
     private final CommandLatencyCollectorOptions options;
-    private Map<CommandLatencyId, Latencies> latencyMetrics = new ConcurrentHashMap<>(CommandType.values().length);
+    private volatile Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics;
 
     public DefaultCommandLatencyCollector(CommandLatencyCollectorOptions options) {
         this.options = options;
+        this.latencyMetrics = new ConcurrentHashMap<>();
     }
 
     /**
@@ -73,33 +73,63 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
     public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
             long firstResponseLatency, long completionLatency) {
 
-        if (!isEnabled()) {
+        Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics = this.latencyMetrics;
+
+        if (latencyMetrics == null || !options.isEnabled()) {
             return;
         }
 
-        Latencies latencies = latencyMetrics.computeIfAbsent(createId(local, remote, commandType), id -> {
+        Latencies latencies = getLatencies(latencyMetrics, local, remote, commandType);
 
-            PauseDetectorWrapper wrapper = PAUSE_DETECTOR.get();
-            if (wrapper == null) {
-                wrapper = new PauseDetectorWrapper();
+        latencies.firstResponse.recordValue(rangify(firstResponseLatency));
+        latencies.completion.recordValue(rangify(completionLatency));
+    }
 
-                if (PAUSE_DETECTOR.compareAndSet(null, wrapper)) {
-                    wrapper.initialize();
-                }
-            }
+    @Override
+    public void recordCommandTimeout(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+            boolean headOfQueue) {
+
+        Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics = this.latencyMetrics;
+
+        if (latencyMetrics == null || !options.isEnabled()) {
+            return;
+        }
+
+        Latencies latencies = getLatencies(latencyMetrics, local, remote, commandType);
+
+        latencies.timeouts.increment();
+        if (headOfQueue) {
+            latencies.headOfQueueTimeouts.increment();
+        }
+    }
 
-            if (options.resetLatenciesAfterEvent()) {
-                return new Latencies(PAUSE_DETECTOR.get().pauseDetector);
+    private Latencies getLatencies(Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics,
+            SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
+
+        SocketAddress localAddress = options.localDistinction() ? local : LocalAddress.ANY;
+
+        Map<SocketAddress, Map<ProtocolKeyword, Latencies>> byLocalAddress = latencyMetrics.get(remote);
+        if (byLocalAddress != null) {
+
+            Map<ProtocolKeyword, Latencies> byCommandType = byLocalAddress.get(localAddress);
+            if (byCommandType != null) {
+
+                Latencies latencies = byCommandType.get(commandType);
+                if (latencies != null) {
+                    return latencies;
+                }
             }
-            return new CummulativeLatencies(PAUSE_DETECTOR.get().pauseDetector);
-        });
+        }
 
-        latencies.firstResponse.recordLatency(rangify(firstResponseLatency));
-        latencies.completion.recordLatency(rangify(completionLatency));
+        return createLatencies(latencyMetrics, CommandLatencyId.create(localAddress, remote, commandType));
     }
 
-    private CommandLatencyId createId(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
-        return CommandLatencyId.create(options.localDistinction() ? local : LocalAddress.ANY, remote, commandType);
+    private Latencies createLatencies(Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics,
+            CommandLatencyId id) {
+
+        return latencyMetrics.computeIfAbsent(id.remoteAddress(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(id.localAddress(), key -> new ConcurrentHashMap<>(CommandType.values().length))
+                .computeIfAbsent(id.commandType(), key -> new Latencies(id));
     }
 
     private long rangify(long latency) {
@@ -114,49 +144,77 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
     @Override
     public void shutdown() {
 
+        Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics = this.latencyMetrics;
+
         if (latencyMetrics != null) {
+            this.latencyMetrics = null;
             latencyMetrics.clear();
-            latencyMetrics = null;
         }
     }
 
     @Override
-    public Map<CommandLatencyId, CommandMetrics> retrieveMetrics() {
+    public synchronized Map<CommandLatencyId, CommandMetrics> retrieveMetrics() {
 
-        Map<CommandLatencyId, Latencies> copy = new HashMap<>(latencyMetrics);
+        Map<SocketAddress, Map<SocketAddress, Map<ProtocolKeyword, Latencies>>> latencyMetrics = this.latencyMetrics;
+        Map<CommandLatencyId, CommandMetrics> result = new TreeMap<>();
 
-        if (options.resetLatenciesAfterEvent()) {
-            latencyMetrics.clear();
+        if (latencyMetrics == null) {
+            return result;
         }
 
-        return getMetrics(copy);
-    }
+        for (Map<SocketAddress, Map<ProtocolKeyword, Latencies>> byLocalAddress : latencyMetrics.values()) {
+            for (Map<ProtocolKeyword, Latencies> byCommandType : byLocalAddress.values()) {
 
-    private Map<CommandLatencyId, CommandMetrics> getMetrics(Map<CommandLatencyId, Latencies> latencyMetrics) {
+                for (Map.Entry<ProtocolKeyword, Latencies> entry : byCommandType.entrySet()) {
 
-        Map<CommandLatencyId, CommandMetrics> result = new TreeMap<>();
+                    Latencies latencies = entry.getValue();
+                    CommandMetrics metrics = getMetrics(latencies);
 
-        for (Map.Entry<CommandLatencyId, Latencies> entry : latencyMetrics.entrySet()) {
+                    if (metrics == null && options.resetLatenciesAfterEvent()
+                            && byCommandType.remove(entry.getKey(), latencies)) {
 
-            Latencies latencies = entry.getValue();
+                        // drop idle entries, e.g. of closed connections. Report latencies that were recorded between the
+                        // emptiness check and the removal, recorders obtain a new entry after the removal.
+                        metrics = getMetrics(latencies);
+                    }
 
-            Histogram firstResponse = latencies.getFirstResponseHistogram();
-            Histogram completion = latencies.getCompletionHistogram();
-
-            if (firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0) {
-                continue;
+                    if (metrics != null) {
+                        result.put(latencies.id, metrics);
+                    }
+                }
             }
+        }
 
-            CommandLatency firstResponseLatency = getMetric(firstResponse);
-            CommandLatency completionLatency = getMetric(completion);
+        return result;
+    }
+
+    private CommandMetrics getMetrics(Latencies latencies) {
 
-            CommandMetrics metrics = new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(),
-                    firstResponseLatency, completionLatency);
+        long timeouts;
+        long headOfQueueTimeouts;
+        Histogram firstResponse;
+        Histogram completion;
 
-            result.put(entry.getKey(), metrics);
+        if (options.resetLatenciesAfterEvent()) {
+
+            timeouts = latencies.timeouts.sumThenReset();
+            headOfQueueTimeouts = latencies.headOfQueueTimeouts.sumThenReset();
+            firstResponse = latencies.getFirstResponseInterval();
+            completion = latencies.getCompletionInterval();
+        } else {
+
+            timeouts = latencies.timeouts.sum();
+            headOfQueueTimeouts = latencies.headOfQueueTimeouts.sum();
+            firstResponse = latencies.getFirstResponseCummulative();
+            completion = latencies.getCompletionCummulative();
         }
 
-        return result;
+        if (firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0 && timeouts == 0) {
+            return null;
+        }
+
+        return new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(), getMetric(firstResponse),
+                getMetric(completion), timeouts, headOfQueueTimeouts);
     }
 
     private CommandLatency getMetric(Histogram histogram) {
@@ -180,12 +238,12 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
     }
 
     /**
-     * Returns {@literal true} if HdrUtils and LatencyUtils are available on the class path.
+     * Returns {@literal true} if HdrHistogram is available on the class path.
      *
      * @return
      */
     public static boolean isAvailable() {
-        return LATENCY_UTILS_AVAILABLE && HDR_UTILS_AVAILABLE;
+        return HDR_UTILS_AVAILABLE;
     }
 
     /**
@@ -217,72 +275,57 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
         };
     }
 
+    /**
+     * Recorders and counters for a single {@link CommandLatencyId}. Interval histograms are accessed by
+     * {@link #retrieveMetrics()} only and recycled on the next retrieval.
+     */
     private static class Latencies {
 
-        private final LatencyStats firstResponse;
-        private final LatencyStats completion;
+        private final CommandLatencyId id;
+        private final Recorder firstResponse = new Recorder(MIN_LATENCY, MAX_LATENCY, SIGNIFICANT_VALUE_DIGITS);
+        private final Recorder completion = new Recorder(MIN_LATENCY, MAX_LATENCY, SIGNIFICANT_VALUE_DIGITS);
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder headOfQueueTimeouts = new LongAdder();
 
-        Latencies(PauseDetector pauseDetector) {
-            firstResponse = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
-            completion = LatencyStats.Builder.create().pauseDetector(pauseDetector).build();
-        }
+        private Histogram firstResponseInterval;
+        private Histogram completionInterval;
+        private Histogram firstResponseCummulative;
+        private Histogram completionCummulative;
 
-        public Histogram getFirstResponseHistogram() {
-            return firstResponse.getIntervalHistogram();
+        Latencies(CommandLatencyId id) {
+            this.id = id;
         }
 
-        public Histogram getCompletionHistogram() {
-            return completion.getIntervalHistogram();
+        Histogram getFirstResponseInterval() {
+            return firstResponseInterval = firstResponse.getIntervalHistogram(firstResponseInterval);
         }
-    }
-
-    private static class CummulativeLatencies extends Latencies {
-
-        private final Histogram firstResponse;
-        private final Histogram completion;
-
-        CummulativeLatencies(PauseDetector pauseDetector) {
-            super(pauseDetector);
 
-            firstResponse = super.firstResponse.getIntervalHistogram();
-            completion = super.completion.getIntervalHistogram();
+        Histogram getCompletionInterval() {
+            return completionInterval = completion.getIntervalHistogram(completionInterval);
         }
 
-        @Override
-        public Histogram getFirstResponseHistogram() {
+        Histogram getFirstResponseCummulative() {
 
-            firstResponse.add(super.getFirstResponseHistogram());
-            return firstResponse;
-        }
+            Histogram interval = getFirstResponseInterval();
 
-        @Override
-        public Histogram getCompletionHistogram() {
+            if (firstResponseCummulative == null) {
+                firstResponseCummulative = new Histogram(MIN_LATENCY, MAX_LATENCY, SIGNIFICANT_VALUE_DIGITS);
+            }
 
-            completion.add(super.getFirstResponseHistogram());
-            return completion;
+            firstResponseCummulative.add(interval);
+            return firstResponseCummulative;
         }
-    }
 
-    private static class PauseDetectorWrapper {
+        Histogram getCompletionCummulative() {
 
-        private static final AtomicLong counter = new AtomicLong();
+            Histogram interval = getCompletionInterval();
 
-        PauseDetector pauseDetector;
-
-        public void initialize() {
-
-            if (counter.getAndIncrement() > 0) {
-                InternalLogger instance = InternalLoggerFactory.getInstance(getClass());
-                instance.info("Initialized PauseDetectorWrapper more than once.");
+            if (completionCummulative == null) {
+                completionCummulative = new Histogram(MIN_LATENCY, MAX_LATENCY, SIGNIFICANT_VALUE_DIGITS);
             }
 
-            pauseDetector = new SimplePauseDetector(TimeUnit.MILLISECONDS.toNanos(10), TimeUnit.MILLISECONDS.toNanos(10), 3);
-            Runtime.getRuntime().addShutdownHook(new Thread("ShutdownHook for SimplePauseDetector") {
-                @Override
-                public void run() {
-                    pauseDetector.shutdown();
-                }
-            });
+            completionCummulative.add(interval);
+            return completionCummulative;
         }
     }
 }
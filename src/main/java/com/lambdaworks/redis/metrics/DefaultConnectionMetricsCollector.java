@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Default implementation of a {@link ConnectionMetricsCollector}.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class DefaultConnectionMetricsCollector implements ConnectionMetricsCollector {
+
+    private volatile Set<ConnectionMetricsSource> sources = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void register(ConnectionMetricsSource source) {
+
+        LettuceAssert.notNull(source, "ConnectionMetricsSource must not be null");
+
+        Set<ConnectionMetricsSource> sources = this.sources;
+        if (sources != null) {
+            sources.add(source);
+        }
+    }
+
+    @Override
+    public void unregister(ConnectionMetricsSource source) {
+
+        LettuceAssert.notNull(source, "ConnectionMetricsSource must not be null");
+
+        Set<ConnectionMetricsSource> sources = this.sources;
+        if (sources != null) {
+            sources.remove(source);
+        }
+    }
+
+    @Override
+    public List<ConnectionMetrics> retrieveMetrics() {
+
+        Set<ConnectionMetricsSource> sources = this.sources;
+
+        if (sources == null) {
+            return Collections.emptyList();
+        }
+
+        List<ConnectionMetrics> result = new ArrayList<>(sources.size());
+        for (ConnectionMetricsSource source : sources) {
+            result.add(source.getConnectionMetrics());
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return sources != null;
+    }
+
+    @Override
+    public void shutdown() {
+
+        Set<ConnectionMetricsSource> sources = this.sources;
+
+        if (sources != null) {
+            this.sources = null;
+            sources.clear();
+        }
+    }
+
+    /**
+     * Returns a disabled no-op {@link ConnectionMetricsCollector}.
+     *
+     * @return
+     */
+    public static ConnectionMetricsCollector disabled() {
+
+        return new ConnectionMetricsCollector() {
+
+            @Override
+            public void register(ConnectionMetricsSource source) {
+            }
+
+            @Override
+            public void unregister(ConnectionMetricsSource source) {
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public List<ConnectionMetrics> retrieveMetrics() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        };
+    }
+}
@@ -17,9 +17,12 @@ package com.lambdaworks.redis.output;
 
 import java.nio.ByteBuffer;
 
+import com.lambdaworks.redis.codec.FromByteBufDecoder;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.internal.LettuceAssert;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Abstract representation of the output of a redis command.
  * 
@@ -65,6 +68,18 @@ public abstract class CommandOutput<K, V, T> {
         throw new IllegalStateException();
     }
 
+    /**
+     * Set the command output to a sequence of bytes. This method is called instead of {@link #set(ByteBuffer)} for bulk
+     * strings if the codec implements {@link FromByteBufDecoder}, see {@link #isByteBufDecoding()}. {@code bytes} is released
+     * after this method returns. Defaults to {@link #set(ByteBuffer)}.
+     *
+     * @param bytes The command output.
+     * @since 4.4
+     */
+    public void set(ByteBuf bytes) {
+        set(bytes.nioBuffer());
+    }
+
     /**
      * Set the command output to a 64-bit signed integer. Concrete {@link CommandOutput} implementations must override this
      * method unless they only receive a byte array value.
@@ -121,6 +136,40 @@ public abstract class CommandOutput<K, V, T> {
         // nothing to do by default
     }
 
+    /**
+     * Returns {@literal true} if bulk strings are passed as {@link ByteBuf} to {@link #set(ByteBuf)}.
+     *
+     * @return {@literal true} if the codec implements {@link FromByteBufDecoder}.
+     * @since 4.4
+     */
+    public boolean isByteBufDecoding() {
+        return codec instanceof FromByteBufDecoder;
+    }
+
+    /**
+     * Decode a key using {@link FromByteBufDecoder}. Requires {@link #isByteBufDecoding()}.
+     *
+     * @param bytes the key bytes.
+     * @return the decoded key.
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked")
+    protected K decodeKey(ByteBuf bytes) {
+        return ((FromByteBufDecoder<K, V>) codec).decodeKey(bytes);
+    }
+
+    /**
+     * Decode a value using {@link FromByteBufDecoder}. Requires {@link #isByteBufDecoding()}.
+     *
+     * @param bytes the value bytes.
+     * @return the decoded value.
+     * @since 4.4
+     */
+    @SuppressWarnings("unchecked")
+    protected V decodeValue(ByteBuf bytes) {
+        return ((FromByteBufDecoder<K, V>) codec).decodeValue(bytes);
+    }
+
     protected String decodeAscii(ByteBuffer bytes) {
         if(bytes == null) {
             return null;
@@ -22,6 +22,8 @@ import java.util.List;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.internal.LettuceAssert;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link List} of keys output.
  *
@@ -44,6 +46,11 @@ public class KeyListOutput<K, V> extends CommandOutput<K, V, List<K>> implements
         subscriber.onNext(codec.decodeKey(bytes));
     }
 
+    @Override
+    public void set(ByteBuf bytes) {
+        subscriber.onNext(decodeKey(bytes));
+    }
+
     @Override
     public void setSubscriber(Subscriber<K> subscriber) {
         LettuceAssert.notNull(subscriber, "Subscriber must not be null");
@@ -19,6 +19,8 @@ import java.nio.ByteBuffer;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Key output.
  * 
@@ -36,4 +38,9 @@ public class KeyOutput<K, V> extends CommandOutput<K, V, K> {
     public void set(ByteBuffer bytes) {
         output = (bytes == null) ? null : codec.decodeKey(bytes);
     }
+
+    @Override
+    public void set(ByteBuf bytes) {
+        output = decodeKey(bytes);
+    }
 }
@@ -20,6 +20,8 @@ import java.nio.ByteBuffer;
 import com.lambdaworks.redis.KeyValue;
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * Key-value pair output.
  *
@@ -46,4 +48,14 @@ public class KeyValueOutput<K, V> extends CommandOutput<K, V, KeyValue<K, V>> {
             }
         }
     }
+
+    @Override
+    public void set(ByteBuf bytes) {
+
+        if (key == null) {
+            key = decodeKey(bytes);
+        } else {
+            output = new KeyValue<>(key, decodeValue(bytes));
+        }
+    }
 }
@@ -23,6 +23,8 @@ import java.util.Map;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link java.util.List} of maps output.
  * 
@@ -46,6 +48,11 @@ public class ListOfMapsOutput<K, V> extends CommandOutput<K, V, List<Map<K, V>>>
         nested.set(bytes);
     }
 
+    @Override
+    public void set(ByteBuf bytes) {
+        nested.set(bytes);
+    }
+
     @Override
     public void complete(int depth) {
 
@@ -21,6 +21,8 @@ import java.util.Map;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link Map} of keys and values output.
  *
@@ -48,6 +50,18 @@ public class MapOutput<K, V> extends CommandOutput<K, V, Map<K, V>> {
         key = null;
     }
 
+    @Override
+    public void set(ByteBuf bytes) {
+
+        if (key == null) {
+            key = decodeKey(bytes);
+            return;
+        }
+
+        output.put(key, decodeValue(bytes));
+        key = null;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void set(long integer) {
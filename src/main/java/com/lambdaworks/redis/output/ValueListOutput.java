@@ -22,6 +22,8 @@ import java.util.List;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.internal.LettuceAssert;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * {@link List} of values output.
  *
@@ -44,6 +46,11 @@ public class ValueListOutput<K, V> extends CommandOutput<K, V, List<V>> implemen
         subscriber.onNext(bytes == null ? null : codec.decodeValue(bytes));
     }
 
+    @Override
+    public void set(ByteBuf bytes) {
+        subscriber.onNext(decodeValue(bytes));
+    }
+
     @Override
     public void setSubscriber(Subscriber<V> subscriber) {
         LettuceAssert.notNull(subscriber, "Subscriber must not be null");
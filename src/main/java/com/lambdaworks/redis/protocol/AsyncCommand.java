@@ -160,6 +160,11 @@ public class AsyncCommand<K, V, T> extends CompletableFuture<T> implements Redis
         command.encode(buf);
     }
 
+    @Override
+    public int estimateEncodedSize() {
+        return command.estimateEncodedSize();
+    }
+
     @Override
     public void setOutput(CommandOutput<K, V, T> output) {
         command.setOutput(output);
@@ -15,6 +15,8 @@
  */
 package com.lambdaworks.redis.protocol;
 
+import java.util.concurrent.TimeUnit;
+
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.ScriptOutputType;
 import com.lambdaworks.redis.codec.RedisCodec;
@@ -52,7 +54,20 @@ public class BaseRedisCommandBuilder<K, V> {
     }
 
     protected <T> Command<K, V, T> createCommand(CommandType type, CommandOutput<K, V, T> output, CommandArgs<K, V> args) {
-        return new Command<>(type, output, args);
+
+        Command<K, V, T> command = new Command<>(type, output, args);
+
+        if (isBlocking(type)) {
+            // blocking commands wait server-side, the connection-wide command timeout does not apply to them
+            command.setTimeout(0, TimeUnit.NANOSECONDS);
+        }
+
+        return command;
+    }
+
+    private static boolean isBlocking(CommandType type) {
+        return type == CommandType.BLPOP || type == CommandType.BRPOP || type == CommandType.BRPOPLPUSH
+                || type == CommandType.WAIT;
     }
 
     @SuppressWarnings("unchecked")
@@ -15,10 +15,14 @@
  */
 package com.lambdaworks.redis.protocol;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.output.CommandOutput;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.Timeout;
 
 /**
  * A Redis command with a {@link ProtocolKeyword command type}, {@link CommandArgs arguments} and an optional {@link CommandOutput
@@ -31,7 +35,7 @@ import io.netty.buffer.ByteBuf;
  * @author Will Glozer
  * @author Mark Paluch
  */
-public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
+public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency, WithTimeout {
 
     private final ProtocolKeyword type;
 
@@ -43,6 +47,8 @@ public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
     protected long sentNs = -1;
     protected long firstResponseNs = -1;
     protected long completedNs = -1;
+    protected long timeoutNs = -1;
+    private volatile Timeout expiration;
 
     /**
      * Create a new command with the supplied type.
@@ -85,6 +91,7 @@ public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
         }
 
         exception = throwable;
+        cancelExpiration();
         return true;
     }
 
@@ -94,11 +101,21 @@ public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
     @Override
     public void complete() {
         completed = true;
+        cancelExpiration();
     }
 
     @Override
     public void cancel() {
         cancelled = true;
+        cancelExpiration();
+    }
+
+    private void cancelExpiration() {
+
+        Timeout expiration = this.expiration;
+        if (expiration != null) {
+            expiration.cancel();
+        }
     }
 
     /**
@@ -109,16 +126,51 @@ public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
      */
     public void encode(ByteBuf buf) {
 
+        encodeHeader(buf);
+
+        if (args != null) {
+            args.encode(buf);
+        }
+    }
+
+    /**
+     * Encode this command into a list of buffers. Large values are added as separate buffers, see
+     * {@link CommandArgs#encode(List, int)}.
+     *
+     * @param segments the encoded buffers, must contain at least one buffer.
+     * @param largeValueThreshold payload size in bytes from which values are added as separate buffer.
+     */
+    void encode(List<ByteBuf> segments, int largeValueThreshold) {
+
+        encodeHeader(segments.get(segments.size() - 1));
+
+        if (args != null) {
+            args.encode(segments, largeValueThreshold);
+        }
+    }
+
+    private void encodeHeader(ByteBuf buf) {
+
         buf.writeByte('*');
         CommandArgs.IntegerArgument.writeInteger(buf, 1 + (args != null ? args.count() : 0));
 
         buf.writeBytes(CommandArgs.CRLF);
 
         CommandArgs.BytesArgument.writeBytes(buf, type.getBytes());
+    }
+
+    @Override
+    public int estimateEncodedSize() {
+
+        int count = 1 + (args != null ? args.count() : 0);
+        long size = 1 + CommandArgs.IntegerArgument.sizeOf(count) + CommandArgs.CRLF.length
+                + CommandArgs.ByteBufferArgument.sizeOf(type.getBytes().length);
 
         if (args != null) {
-            args.encode(buf);
+            size += args.estimateEncodedSize();
         }
+
+        return (int) Math.min(size, Integer.MAX_VALUE);
     }
 
     public String getError() {
@@ -173,6 +225,37 @@ public class Command<K, V, T> implements RedisCommand<K, V, T>, WithLatency {
         return completed;
     }
 
+    /**
+     * Set the timeout for this command. The timeout overrides the
+     * {@link com.lambdaworks.redis.ClientOptions#getCommandTimeout() command timeout} of the connection and must be set
+     * before the command is written. A timeout of {@literal 0} disables the timeout for this command.
+     *
+     * @param timeout the timeout, must not be negative.
+     * @param unit the unit of the timeout, must not be {@literal null}.
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+
+        LettuceAssert.isTrue(timeout >= 0, "Timeout must be greater or equal to 0");
+        LettuceAssert.notNull(unit, "TimeUnit must not be null");
+
+        this.timeoutNs = unit.toNanos(timeout);
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeoutNs;
+    }
+
+    @Override
+    public void expiration(Timeout expiration) {
+        this.expiration = expiration;
+    }
+
+    @Override
+    public Timeout getExpiration() {
+        return expiration;
+    }
+
     @Override
     public void sent(long timeNs) {
         sentNs = timeNs;
@@ -19,13 +19,16 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 
 import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.codec.ByteBufCodec;
 import com.lambdaworks.redis.codec.ToByteBufEncoder;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.internal.LettuceAssert;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 
 /**
@@ -333,6 +336,56 @@ public class CommandArgs<K, V> {
         return firstEncodedKey.duplicate();
     }
 
+    /**
+     * Calculate a hash over the first key argument in its byte-encoded representation without copying it. {@code byte[]} keys
+     * of {@link ByteArrayCodec} are hashed as-is, other keys are encoded once and the encoded key is retained for subsequent
+     * calls and {@link #getFirstEncodedKey()}. Hash functions must not change the position or limit of the
+     * {@link ByteBuffer}.
+     *
+     * @param arrayHashFunction function calculating the hash of a {@code byte[]} key, must not be {@literal null}.
+     * @param bufferHashFunction function calculating the hash from the remaining bytes of the encoded key, must not be
+     *        {@literal null}.
+     * @return the hash or {@literal -1} if there is no key argument.
+     * @since 4.4
+     */
+    public int hashFirstKey(ToIntFunction<byte[]> arrayHashFunction, ToIntFunction<ByteBuffer> bufferHashFunction) {
+
+        LettuceAssert.notNull(arrayHashFunction, "Array hash function must not be null");
+        LettuceAssert.notNull(bufferHashFunction, "Buffer hash function must not be null");
+
+        if (firstKey == null) {
+            return -1;
+        }
+
+        if (codec instanceof ByteArrayCodec && firstKey instanceof byte[]) {
+            return arrayHashFunction.applyAsInt((byte[]) firstKey);
+        }
+
+        if (firstEncodedKey == null) {
+            firstEncodedKey = codec.encodeKey(firstKey);
+        }
+
+        return bufferHashFunction.applyAsInt(firstEncodedKey);
+    }
+
+    /**
+     * Returns the number of bytes required to encode all arguments. The size is exact for keys and values encoded by a
+     * {@link ToByteBufEncoder} with {@link ToByteBufEncoder#isEstimateExact() exact estimates} and an upper bound for other
+     * non-key/value arguments. Keys and values of codecs without size estimates are accounted with a fixed size.
+     *
+     * @return the estimated number of bytes to encode all arguments.
+     * @since 4.4
+     */
+    public int estimateEncodedSize() {
+
+        long size = 0;
+        for (SingularArgument singularArgument : singularArguments) {
+            size += singularArgument.estimateSize();
+        }
+
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
     /**
      * Encode the {@link CommandArgs} and write the arguments to the {@link ByteBuf}.
      * 
@@ -345,6 +398,43 @@ public class CommandArgs<K, V> {
         }
     }
 
+    /**
+     * Encode the {@link CommandArgs} into a list of buffers. Arguments are written to the last buffer of {@code segments}.
+     * Values with a payload of at least {@code largeValueThreshold} bytes are not copied but added as separate buffer to
+     * {@code segments}, followed by a new buffer that receives the remaining arguments.
+     *
+     * @param segments the encoded buffers, must contain at least one buffer.
+     * @param largeValueThreshold payload size in bytes from which values are added as separate buffer, must be greater
+     *        {@literal 0}.
+     */
+    void encode(List<ByteBuf> segments, int largeValueThreshold) {
+
+        // estimated size of the arguments following the current argument
+        long remaining = 0;
+        for (SingularArgument singularArgument : singularArguments) {
+            remaining += singularArgument.estimateSize();
+        }
+
+        for (SingularArgument singularArgument : singularArguments) {
+
+            remaining -= singularArgument.estimateSize();
+
+            ByteBuf target = segments.get(segments.size() - 1);
+            ByteBuf payload = singularArgument.encode(target, largeValueThreshold);
+
+            if (payload == null) {
+                continue;
+            }
+
+            segments.add(payload);
+
+            int size = (int) Math.min(CRLF.length + remaining, Integer.MAX_VALUE);
+            ByteBuf next = target.isDirect() ? target.alloc().ioBuffer(size) : target.alloc().heapBuffer(size);
+            segments.add(next);
+            next.writeBytes(CRLF);
+        }
+    }
+
     /**
      * Single argument wrapper that can be encoded.
      */
@@ -356,6 +446,26 @@ public class CommandArgs<K, V> {
          * @param buffer
          */
         abstract void encode(ByteBuf buffer);
+
+        /**
+         * Encode the argument and write it to the {@code buffer}. Arguments that support large payloads write the bulk string
+         * header to {@code buffer} and return the payload as separate buffer if the payload size reaches
+         * {@code largeValueThreshold}. The trailing {@link #CRLF} is not written in that case.
+         *
+         * @param buffer
+         * @param largeValueThreshold
+         * @return the payload buffer or {@literal null} if the argument was written completely to {@code buffer}.
+         */
+        ByteBuf encode(ByteBuf buffer, int largeValueThreshold) {
+
+            encode(buffer);
+            return null;
+        }
+
+        /**
+         * @return the number of bytes required to encode this argument, an upper bound or an estimate.
+         */
+        abstract int estimateSize();
     }
 
     static class BytesArgument extends SingularArgument {
@@ -375,6 +485,22 @@ public class CommandArgs<K, V> {
             writeBytes(buffer, val);
         }
 
+        @Override
+        ByteBuf encode(ByteBuf buffer, int largeValueThreshold) {
+
+            if (val.length < largeValueThreshold) {
+                return super.encode(buffer, largeValueThreshold);
+            }
+
+            ByteBufferArgument.writeHeader(buffer, val.length);
+            return Unpooled.wrappedBuffer(val);
+        }
+
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(val.length);
+        }
+
         static void writeBytes(ByteBuf buffer, byte[] value) {
 
             buffer.writeByte('$');
@@ -389,6 +515,49 @@ public class CommandArgs<K, V> {
 
     static class ByteBufferArgument {
 
+        static final int UNKNOWN_SIZE_ESTIMATE = 16;
+
+        /**
+         * Size of a bulk string with a payload of {@code length} bytes.
+         *
+         * @param length
+         * @return the encoded size of the bulk string.
+         */
+        static int sizeOf(int length) {
+            return 1 + IntegerArgument.sizeOf(length) + CRLF.length + length + CRLF.length;
+        }
+
+        /**
+         * Estimated size of a key or value bulk string. Uses {@link ToByteBufEncoder#estimateSize(Object)} if the codec
+         * provides size estimates and {@link #UNKNOWN_SIZE_ESTIMATE} otherwise to avoid encoding the argument twice.
+         *
+         * @param codec
+         * @param keyOrValue
+         * @return the estimated encoded size of the bulk string.
+         */
+        static int sizeOf(RedisCodec<?, ?> codec, Object keyOrValue) {
+
+            if (codec instanceof ToByteBufEncoder) {
+                return sizeOf(((ToByteBufEncoder<?, ?>) codec).estimateSize(keyOrValue));
+            }
+
+            return sizeOf(UNKNOWN_SIZE_ESTIMATE);
+        }
+
+        /**
+         * Write a bulk string header for a bulk string of {@code length} bytes.
+         *
+         * @param target
+         * @param length
+         */
+        static void writeHeader(ByteBuf target, int length) {
+
+            target.writeByte('$');
+
+            IntegerArgument.writeInteger(target, length);
+            target.writeBytes(CRLF);
+        }
+
         static void writeByteBuffer(ByteBuf target, ByteBuffer value) {
 
             target.writeByte('$');
@@ -400,6 +569,29 @@ public class CommandArgs<K, V> {
             target.writeBytes(CRLF);
         }
 
+        /**
+         * Complete a bulk string that was encoded directly into {@code target} after its header was written with the expected
+         * length. If the number of bytes written since {@code payloadStart} does not match {@code expectedLength}, the writer
+         * index is reset to {@code headerStart} so the argument can be encoded again.
+         *
+         * @param target
+         * @param headerStart writer index before writing the bulk string header.
+         * @param payloadStart writer index before writing the payload.
+         * @param expectedLength the length announced in the header.
+         * @return {@literal true} if the bulk string was completed, {@literal false} if the payload length did not match the
+         *         header and the encoded data was discarded.
+         */
+        static boolean completeDirect(ByteBuf target, int headerStart, int payloadStart, int expectedLength) {
+
+            if (target.writerIndex() - payloadStart != expectedLength) {
+                target.writerIndex(headerStart);
+                return false;
+            }
+
+            target.writeBytes(CRLF);
+            return true;
+        }
+
         static void writeByteBuf(ByteBuf target, ByteBuf value) {
 
             target.writeByte('$');
@@ -434,6 +626,39 @@ public class CommandArgs<K, V> {
             StringArgument.writeString(target, Long.toString(val));
         }
 
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(sizeOf(val));
+        }
+
+        /**
+         * Number of characters of the decimal representation of {@code value}.
+         *
+         * @param value
+         * @return the number of characters including the sign.
+         */
+        static int sizeOf(long value) {
+
+            if (value == Long.MIN_VALUE) {
+                return 20;
+            }
+
+            int size = 1;
+            long magnitude = value;
+
+            if (magnitude < 0) {
+                size++;
+                magnitude = -magnitude;
+            }
+
+            while (magnitude >= 10) {
+                magnitude /= 10;
+                size++;
+            }
+
+            return size;
+        }
+
         static void writeInteger(ByteBuf target, long value) {
 
             if (value < 10) {
@@ -464,6 +689,9 @@ public class CommandArgs<K, V> {
 
     static class DoubleArgument extends SingularArgument {
 
+        // longest Double.toString(…) representation, e.g. -2.2250738585072014E-308
+        static final int MAX_DOUBLE_LENGTH = 24;
+
         final double val;
 
         private DoubleArgument(double val) {
@@ -478,6 +706,11 @@ public class CommandArgs<K, V> {
         void encode(ByteBuf target) {
             StringArgument.writeString(target, Double.toString(val));
         }
+
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(MAX_DOUBLE_LENGTH);
+        }
     }
 
     static class StringArgument extends SingularArgument {
@@ -497,6 +730,11 @@ public class CommandArgs<K, V> {
             writeString(target, val);
         }
 
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(val.length());
+        }
+
         static void writeString(ByteBuf target, String value) {
 
             target.writeByte('$');
@@ -528,14 +766,24 @@ public class CommandArgs<K, V> {
         @Override
         void encode(ByteBuf target) {
 
-            if (codec == ExperimentalByteArrayCodec.INSTANCE) {
-                ((ExperimentalByteArrayCodec) codec).encodeKey(target, (byte[]) key);
-                return;
-            }
-
             if (codec instanceof ToByteBufEncoder) {
 
                 ToByteBufEncoder<K, V> toByteBufEncoder = (ToByteBufEncoder<K, V>) codec;
+
+                if (toByteBufEncoder.isEstimateExact()) {
+
+                    int headerStart = target.writerIndex();
+                    int length = toByteBufEncoder.estimateSize(key);
+
+                    ByteBufferArgument.writeHeader(target, length);
+                    int payloadStart = target.writerIndex();
+                    toByteBufEncoder.encodeKey(key, target);
+
+                    if (ByteBufferArgument.completeDirect(target, headerStart, payloadStart, length)) {
+                        return;
+                    }
+                }
+
                 ByteBuf temporaryBuffer = target.alloc().buffer(toByteBufEncoder.estimateSize(key));
                 toByteBufEncoder.encodeKey(key, temporaryBuffer);
 
@@ -547,6 +795,11 @@ public class CommandArgs<K, V> {
 
             ByteBufferArgument.writeByteBuffer(target, codec.encodeKey(key));
         }
+
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(codec, key);
+        }
     }
 
     static class ValueArgument<K, V> extends SingularArgument {
@@ -566,14 +819,24 @@ public class CommandArgs<K, V> {
         @Override
         void encode(ByteBuf target) {
 
-            if (codec == ExperimentalByteArrayCodec.INSTANCE) {
-                ((ExperimentalByteArrayCodec) codec).encodeValue(target, (byte[]) val);
-                return;
-            }
-
             if (codec instanceof ToByteBufEncoder) {
 
                 ToByteBufEncoder<K, V> toByteBufEncoder = (ToByteBufEncoder<K, V>) codec;
+
+                if (toByteBufEncoder.isEstimateExact()) {
+
+                    int headerStart = target.writerIndex();
+                    int length = toByteBufEncoder.estimateSize(val);
+
+                    ByteBufferArgument.writeHeader(target, length);
+                    int payloadStart = target.writerIndex();
+                    toByteBufEncoder.encodeValue(val, target);
+
+                    if (ByteBufferArgument.completeDirect(target, headerStart, payloadStart, length)) {
+                        return;
+                    }
+                }
+
                 ByteBuf temporaryBuffer = target.alloc().buffer(toByteBufEncoder.estimateSize(val));
                 toByteBufEncoder.encodeValue(val, temporaryBuffer);
 
@@ -585,12 +848,65 @@ public class CommandArgs<K, V> {
 
             ByteBufferArgument.writeByteBuffer(target, codec.encodeValue(val));
         }
+
+        @Override
+        ByteBuf encode(ByteBuf target, int largeValueThreshold) {
+
+            ByteBuf payload;
+
+            if (codec instanceof ToByteBufEncoder) {
+
+                ToByteBufEncoder<K, V> toByteBufEncoder = (ToByteBufEncoder<K, V>) codec;
+                int size = toByteBufEncoder.estimateSize(val);
+
+                if (size < largeValueThreshold) {
+                    return super.encode(target, largeValueThreshold);
+                }
+
+                if (codec instanceof ByteArrayCodec && val instanceof byte[]) {
+                    payload = Unpooled.wrappedBuffer((byte[]) val);
+                } else if (codec instanceof ByteBufCodec && val instanceof ByteBuf) {
+                    payload = ((ByteBuf) val).duplicate().retain();
+                } else {
+                    payload = target.isDirect() ? target.alloc().ioBuffer(size) : target.alloc().heapBuffer(size);
+
+                    try {
+                        toByteBufEncoder.encodeValue(val, payload);
+                    } catch (RuntimeException e) {
+                        payload.release();
+                        throw e;
+                    }
+                }
+            } else {
+
+                ByteBuffer encoded = codec.encodeValue(val);
+
+                if (encoded.remaining() < largeValueThreshold) {
+                    ByteBufferArgument.writeByteBuffer(target, encoded);
+                    return null;
+                }
+
+                payload = Unpooled.wrappedBuffer(encoded);
+            }
+
+            ByteBufferArgument.writeHeader(target, payload.readableBytes());
+            return payload;
+        }
+
+        @Override
+        int estimateSize() {
+            return ByteBufferArgument.sizeOf(codec, val);
+        }
     }
 
     /**
      * This codec writes directly {@code byte[]} to the target buffer without wrapping it in a {@link ByteBuffer} to reduce GC
      * pressure.
+     *
+     * @deprecated since 4.4, {@link ByteArrayCodec} implements {@link ToByteBufEncoder} and writes {@code byte[]} directly to
+     *             the target buffer. Use {@link ByteArrayCodec} instead.
      */
+    @Deprecated
     public static final class ExperimentalByteArrayCodec extends ByteArrayCodec {
 
         public static final ExperimentalByteArrayCodec INSTANCE = new ExperimentalByteArrayCodec();
@@ -16,19 +16,28 @@
 package com.lambdaworks.redis.protocol;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.EncoderException;
 import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.concurrent.PromiseCombiner;
 import io.netty.util.internal.logging.InternalLogger;
 import io.netty.util.internal.logging.InternalLoggerFactory;
 
 /**
- * A netty {@link ChannelHandler} responsible for encoding commands.
+ * A netty {@link ChannelHandler} responsible for encoding commands. The outbound buffer is allocated once using
+ * {@link RedisCommand#estimateEncodedSize()}. If a {@code largeValueThreshold} is configured, values of at least
+ * {@code largeValueThreshold} bytes are written as separate buffers instead of being copied into the outbound buffer.
  * 
  * @author Mark Paluch
  */
@@ -37,26 +46,78 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(CommandEncoder.class);
 
+    /**
+     * Fallback size for commands that do not provide an encoded size estimate.
+     */
+    private static final int DEFAULT_COMMAND_SIZE = 16;
+
+    private static final AtomicLongFieldUpdater<CommandEncoder> BYTES_WRITTEN = AtomicLongFieldUpdater.newUpdater(
+            CommandEncoder.class, "bytesWritten");
+
+    /**
+     * Command types that encode themselves using {@link Command#encode(ByteBuf)} or delegate encoding to their decorated
+     * command. Other {@link RedisCommand} implementations might perform additional work in
+     * {@link RedisCommand#encode(ByteBuf)} and are encoded as a whole.
+     */
+    private static final ClassValue<Boolean> SEGMENTABLE = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+
+            try {
+                Class<?> declaringClass = type.getMethod("encode", ByteBuf.class).getDeclaringClass();
+                return declaringClass == Command.class || declaringClass == CommandWrapper.class
+                        || declaringClass == AsyncCommand.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     private final boolean traceEnabled = logger.isTraceEnabled();
     private final boolean debugEnabled = logger.isDebugEnabled();
+    private final boolean preferDirect;
+    private final int largeValueThreshold;
+
+    // updated from the event loop only
+    private volatile long bytesWritten;
 
     public CommandEncoder() {
         this(true);
     }
 
     public CommandEncoder(boolean preferDirect) {
+        this(preferDirect, 0);
+    }
+
+    /**
+     * Create a new {@link CommandEncoder}.
+     *
+     * @param preferDirect {@literal true} to prefer direct buffers.
+     * @param largeValueThreshold size in bytes from which values are written as separate buffers, {@literal 0} to disable.
+     * @since 4.4
+     */
+    public CommandEncoder(boolean preferDirect, int largeValueThreshold) {
+
         super(preferDirect);
+
+        LettuceAssert.isTrue(largeValueThreshold >= 0, "Large value threshold must be greater or equal 0");
+
+        this.preferDirect = preferDirect;
+        this.largeValueThreshold = largeValueThreshold;
     }
 
     @Override
     protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
 
-        if (msg instanceof Collection) {
+        int size = estimateSize(msg);
+
+        if (size > 0) {
 
             if (preferDirect) {
-                return ctx.alloc().ioBuffer(((Collection) msg).size() * 16);
+                return ctx.alloc().ioBuffer(size);
             } else {
-                return ctx.alloc().heapBuffer(((Collection) msg).size() * 16);
+                return ctx.alloc().heapBuffer(size);
             }
         }
 
@@ -67,10 +128,98 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static int estimateSize(Object msg) {
+
+        if (msg instanceof RedisCommand) {
+            return ((RedisCommand<?, ?, ?>) msg).estimateEncodedSize();
+        }
+
+        if (msg instanceof Collection) {
+
+            long size = 0;
+            for (RedisCommand<?, ?, ?> command : (Collection<RedisCommand<?, ?, ?>>) msg) {
+
+                int commandSize = command.estimateEncodedSize();
+                size += commandSize > 0 ? commandSize : DEFAULT_COMMAND_SIZE;
+            }
+
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+
+        return 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+
+        if (largeValueThreshold == 0 || !(msg instanceof RedisCommand || msg instanceof Collection)) {
+            super.write(ctx, msg, promise);
+            return;
+        }
+
+        List<ByteBuf> segments = new ArrayList<>(4);
+
+        try {
+
+            segments.add(allocateBuffer(ctx, msg, preferDirect));
+
+            if (msg instanceof RedisCommand) {
+                encode(ctx, segments, (RedisCommand<?, ?, ?>) msg);
+            } else {
+                for (RedisCommand<?, ?, ?> command : (Collection<RedisCommand<?, ?, ?>>) msg) {
+                    encode(ctx, segments, command);
+                }
+            }
+        } catch (RuntimeException e) {
+
+            for (ByteBuf segment : segments) {
+                segment.release();
+            }
+
+            throw new EncoderException(e);
+        }
+
+        ByteBuf last = segments.get(segments.size() - 1);
+        if (!last.isReadable() && segments.size() > 1) {
+            segments.remove(segments.size() - 1).release();
+        }
+
+        long written = 0;
+        for (ByteBuf segment : segments) {
+            written += segment.readableBytes();
+        }
+        BYTES_WRITTEN.lazySet(this, bytesWritten + written);
+
+        if (segments.size() == 1) {
+            ctx.write(segments.get(0), promise);
+            return;
+        }
+
+        if (promise.isVoid()) {
+
+            // write failures are propagated through the pipeline
+            for (ByteBuf segment : segments) {
+                ctx.write(segment, promise);
+            }
+            return;
+        }
+
+        // complete the promise once all segments are written, fail it if any segment fails
+        PromiseCombiner combiner = new PromiseCombiner();
+        for (ByteBuf segment : segments) {
+            combiner.add(ctx.write(segment));
+        }
+        combiner.finish(promise);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
 
+        int writerIndex = out.writerIndex();
+
         if (msg instanceof RedisCommand) {
             RedisCommand<?, ?, ?> command = (RedisCommand<?, ?, ?>) msg;
             encode(ctx, out, command);
@@ -82,6 +231,19 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
                 encode(ctx, out, command);
             }
         }
+
+        BYTES_WRITTEN.lazySet(this, bytesWritten + out.writerIndex() - writerIndex);
+    }
+
+    /**
+     * Returns the number of bytes this encoder has written to the transport. The value is maintained by the I/O thread and is
+     * approximate when read from other threads.
+     *
+     * @return the number of written bytes.
+     * @since 4.4
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
     }
 
     private void encode(ChannelHandlerContext ctx, ByteBuf out, RedisCommand<?, ?, ?> command) {
@@ -104,6 +266,67 @@ public class CommandEncoder extends MessageToByteEncoder<Object> {
         }
     }
 
+    private void encode(ChannelHandlerContext ctx, List<ByteBuf> segments, RedisCommand<?, ?, ?> command) {
+
+        Command<?, ?, ?> segmentable = getSegmentableCommand(command);
+
+        if (segmentable == null) {
+            encode(ctx, segments.get(segments.size() - 1), command);
+            return;
+        }
+
+        int segmentIndex = segments.size() - 1;
+        ByteBuf out = segments.get(segmentIndex);
+        int writerIndex = out.writerIndex();
+
+        try {
+            segmentable.encode(segments, largeValueThreshold);
+        } catch (RuntimeException e) {
+
+            while (segments.size() - 1 > segmentIndex) {
+                segments.remove(segments.size() - 1).release();
+            }
+
+            out.writerIndex(writerIndex);
+            command.completeExceptionally(new EncoderException(
+                    "Cannot encode command. Please close the connection as the connection state may be out of sync.",
+                    e));
+        }
+
+        if (debugEnabled) {
+            logger.debug("{} writing command {} using {} buffer(s)", logPrefix(ctx.channel()), command,
+                    segments.size() - segmentIndex);
+        }
+    }
+
+    /**
+     * Unwrap {@code command} to its {@link Command} if the command and all its decorators encode using
+     * {@link Command#encode(ByteBuf)}.
+     *
+     * @param command
+     * @return the {@link Command} or {@literal null} if the command cannot be encoded into segments.
+     */
+    @SuppressWarnings("unchecked")
+    private static Command<?, ?, ?> getSegmentableCommand(RedisCommand<?, ?, ?> command) {
+
+        RedisCommand<?, ?, ?> current = command;
+
+        while (SEGMENTABLE.get(current.getClass())) {
+
+            if (current instanceof Command) {
+                return (Command<?, ?, ?>) current;
+            }
+
+            if (!(current instanceof DecoratedCommand)) {
+                return null;
+            }
+
+            current = ((DecoratedCommand<?, ?, ?>) current).getDelegate();
+        }
+
+        return null;
+    }
+
     private String logPrefix(Channel channel) {
         StringBuffer buffer = new StringBuffer(64);
         buffer.append('[').append(ChannelLogDescriptor.logDescriptor(channel)).append(']');
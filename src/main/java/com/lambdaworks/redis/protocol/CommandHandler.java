@@ -21,19 +21,31 @@ import java.net.SocketAddress;
 import java.nio.channels.ClosedChannelException;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.internal.LettuceFactories;
 import com.lambdaworks.redis.internal.LettuceLists;
 import com.lambdaworks.redis.internal.LettuceSets;
+import com.lambdaworks.redis.metrics.ConnectionMetrics;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
+import com.lambdaworks.redis.metrics.ConnectionMetricsSource;
 import com.lambdaworks.redis.resource.ClientResources;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.*;
 import io.netty.channel.local.LocalAddress;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.internal.logging.InternalLogLevel;
@@ -49,12 +61,55 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
  * @author Mark Paluch
  */
 @ChannelHandler.Sharable
-public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisChannelWriter<K, V> {
+public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisChannelWriter<K, V>, ConnectionMetricsSource {
 
     private static final InternalLogger logger = InternalLoggerFactory.getInstance(CommandHandler.class);
     private static final WriteLogListener WRITE_LOG_LISTENER = new WriteLogListener();
     private static final AtomicLong CHANNEL_COUNTER = new AtomicLong();
 
+    /**
+     * Maximum number of received buffers aggregated by reference before the aggregation buffer consolidates its components.
+     */
+    private static final int MAX_AGGREGATED_COMPONENTS = 128;
+
+    /**
+     * Number of commands per chunk of the command and transport buffers.
+     */
+    private static final int BUFFER_CHUNK_SIZE = 256;
+
+    /**
+     * Period after which the completion latency average of an idle connection is halved.
+     */
+    private static final long LATENCY_HALF_LIFE_NS = TimeUnit.SECONDS.toNanos(1);
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<CommandHandler> IN_FLIGHT = AtomicIntegerFieldUpdater.newUpdater(
+            CommandHandler.class, "inFlight");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> LATENCY_AVERAGE = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "latencyAverageNs");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> LATENCY_UPDATED = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "latencyUpdatedNs");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> BYTES_READ = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "bytesRead");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> BYTES_WRITTEN = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "bytesWritten");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> FLUSHES = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "flushes");
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<CommandHandler> ACTIVATIONS = AtomicLongFieldUpdater.newUpdater(
+            CommandHandler.class, "activations");
+
     /**
      * When we encounter an unexpected IOException we look for these {@link Throwable#getMessage() messages} (because we have no
      * better way to distinguish) and log them at DEBUG rather than WARN, since they are generally caused by unclean client
@@ -70,13 +125,17 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     protected final AtomicLong writers = new AtomicLong();
     protected final Object stateLock = new Object();
 
-    // all access to the commandBuffer is synchronized
-    protected final Deque<RedisCommand<K, V, ?>> commandBuffer = LettuceFactories.newConcurrentQueue();
-    protected final Deque<RedisCommand<K, V, ?>> transportBuffer = LettuceFactories.newConcurrentQueue();
-    protected final ByteBuf buffer = ByteBufAllocator.DEFAULT.directBuffer(8192 * 8);
+    // commands are buffered by concurrent writers and consumed while holding the exclusive writers lock
+    protected final Queue<RedisCommand<K, V, ?>> commandBuffer = LettuceFactories.newMpscQueue(BUFFER_CHUNK_SIZE);
+
+    // commands are added by concurrent writers and consumed by the event loop
+    protected final Queue<RedisCommand<K, V, ?>> transportBuffer = LettuceFactories.newMpscQueue(BUFFER_CHUNK_SIZE);
+    protected final ByteBuf buffer;
     protected final RedisStateMachine<K, V> rsm = new RedisStateMachine<>();
     protected volatile Channel channel;
     private volatile ConnectionWatchdog connectionWatchdog;
+    private volatile CommandEncoder commandEncoder;
+    private final AtomicBoolean metricsRegistered = new AtomicBoolean();
 
     // If TRACE level logging has been enabled at startup.
     private final boolean traceEnabled;
@@ -84,8 +143,25 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     // If DEBUG level logging has been enabled at startup.
     private final boolean debugEnabled;
     private final Reliability reliability;
+    private final boolean zeroCopyDecoding;
+    private final long commandTimeoutNs;
+    private final boolean writeCoalescing;
+    private final int maxCommandsPerFlush;
+    private final AtomicReference<WriteCoalescer> coalescer = new AtomicReference<>();
 
     private volatile LifecycleState lifecycleState = LifecycleState.NOT_CONNECTED;
+    private volatile boolean latencyTracking;
+
+    // updated from the event loop only
+    private volatile int inFlight;
+    private volatile long latencyAverageNs;
+    private volatile long latencyUpdatedNs;
+    private volatile long bytesRead;
+    // bytes written by encoders of previous channels
+    private volatile long bytesWritten;
+    private volatile long flushes;
+    private volatile long activations;
+
     private Thread exclusiveLockOwner;
     private RedisChannelHandler<K, V> redisChannelHandler;
     private Throwable connectionError;
@@ -111,6 +187,16 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         this.traceEnabled = logger.isTraceEnabled();
         this.debugEnabled = logger.isDebugEnabled();
         this.reliability = clientOptions.isAutoReconnect() ? Reliability.AT_LEAST_ONCE : Reliability.AT_MOST_ONCE;
+        this.zeroCopyDecoding = clientOptions.isZeroCopyDecoding();
+        this.commandTimeoutNs = clientOptions.getCommandTimeoutUnit().toNanos(clientOptions.getCommandTimeout());
+        this.writeCoalescing = clientOptions.isWriteCoalescing();
+        this.maxCommandsPerFlush = clientOptions.getMaxCommandsPerFlush();
+
+        if (zeroCopyDecoding) {
+            this.buffer = ByteBufAllocator.DEFAULT.compositeDirectBuffer(MAX_AGGREGATED_COMPONENTS);
+        } else {
+            this.buffer = ByteBufAllocator.DEFAULT.directBuffer(8192 * 8);
+        }
     }
 
     /**
@@ -134,7 +220,12 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
         setState(LifecycleState.REGISTERED);
 
-        buffer.clear();
+        ConnectionMetricsCollector connectionMetricsCollector = clientResources.connectionMetricsCollector();
+        if (connectionMetricsCollector != null && !isClosed() && metricsRegistered.compareAndSet(false, true)) {
+            connectionMetricsCollector.register(this);
+        }
+
+        clearBuffer();
         ctx.fireChannelRegistered();
     }
 
@@ -175,6 +266,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             return;
         }
 
+        BYTES_READ.lazySet(this, bytesRead + input.readableBytes());
+
         if (debugEnabled) {
             logger.debug("{} Received: {} bytes, {} queued commands", logPrefix(), input.readableBytes(), queue.size());
         }
@@ -194,9 +287,23 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 logger.trace("{} Buffer: {}", logPrefix(), input.toString(Charset.defaultCharset()).trim());
             }
 
-            buffer.writeBytes(input);
+            if (zeroCopyDecoding) {
 
-            decode(ctx, buffer);
+                CompositeByteBuf aggregate = (CompositeByteBuf) buffer;
+                aggregate.addComponent(input.retain());
+                aggregate.writerIndex(aggregate.writerIndex() + input.readableBytes());
+
+                decode(ctx, buffer);
+
+                if (aggregate.refCnt() != 0) {
+                    aggregate.discardReadComponents();
+                }
+            } else {
+
+                buffer.writeBytes(input);
+
+                decode(ctx, buffer);
+            }
         } finally {
             input.release();
         }
@@ -220,6 +327,11 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             recordLatency(withLatency, command.getType());
 
             queue.poll();
+            IN_FLIGHT.lazySet(this, Math.max(0, inFlight - 1));
+
+            if (latencyTracking) {
+                recordLatencyAverage(command);
+            }
 
             try {
                 command.complete();
@@ -227,10 +339,13 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 logger.warn("{} Unexpected exception during command completion: {}", logPrefix, e.toString(), e);
             }
 
-            if (buffer.refCnt() != 0) {
+            if (!zeroCopyDecoding && buffer.refCnt() != 0) {
                 buffer.discardReadBytes();
             }
         }
+
+        // resynchronize with commands that were removed from the queue without a response
+        IN_FLIGHT.lazySet(this, 0);
     }
 
     private WithLatency getWithLatency(RedisCommand<K, V, ?> command) {
@@ -248,6 +363,33 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return withLatency;
     }
 
+    private void recordLatencyAverage(RedisCommand<K, V, ?> command) {
+
+        RedisCommand<K, V, ?> unwrappedCommand = CommandWrapper.unwrap(command);
+        if (!(unwrappedCommand instanceof WithLatency) || ((WithLatency) unwrappedCommand).getSent() == -1) {
+            return;
+        }
+
+        long now = nanoTime();
+        long latency = now - ((WithLatency) unwrappedCommand).getSent();
+        long average = getCompletionLatencyAverage(now);
+
+        // exponentially weighted moving average with alpha = 1/8
+        LATENCY_AVERAGE.lazySet(this, average == 0 ? latency : average + ((latency - average) >> 3));
+        LATENCY_UPDATED.lazySet(this, now);
+    }
+
+    private long getCompletionLatencyAverage(long now) {
+
+        long average = latencyAverageNs;
+        if (average == 0) {
+            return 0;
+        }
+
+        long halfLives = (now - latencyUpdatedNs) / LATENCY_HALF_LIFE_NS;
+        return halfLives >= 63 ? 0 : average >> halfLives;
+    }
+
     private void recordLatency(WithLatency withLatency, ProtocolKeyword commandType) {
 
         if (withLatency != null && clientResources.commandLatencyCollector().isEnabled() && channel != null
@@ -320,6 +462,60 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return command;
     }
 
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        List<RedisCommand<K, V, ?>> toWrite = new ArrayList<>(commands);
+        if (toWrite.isEmpty()) {
+            return toWrite;
+        }
+
+        try {
+            incrementWriters();
+
+            if (lifecycleState == LifecycleState.CLOSED) {
+                throw new RedisException("Connection is closed");
+            }
+
+            if (clientOptions.getRequestQueueSize() != Integer.MAX_VALUE
+                    && commandBuffer.size() + queue.size() + toWrite.size() > clientOptions.getRequestQueueSize()) {
+                throw new RedisException("Request queue size exceeded: " + clientOptions.getRequestQueueSize()
+                        + ". Commands are not accepted until the queue size drops.");
+            }
+
+            if ((channel == null || !isConnected()) && isRejectCommand()) {
+                throw new RedisException("Currently not connected. Commands are rejected.");
+            }
+
+            Channel channel = this.channel;
+            if (autoFlushCommands) {
+
+                if (channel != null && isConnected() && channel.isActive()) {
+                    writeToChannel(toWrite, channel);
+                } else {
+                    for (RedisCommand<K, V, ?> command : toWrite) {
+                        writeToBuffer((RedisCommand) command);
+                    }
+                }
+
+            } else {
+                for (RedisCommand<K, V, ?> command : toWrite) {
+                    bufferCommand(command);
+                }
+            }
+        } finally {
+            decrementWriters();
+            if (debugEnabled) {
+                logger.debug("{} write() done", logPrefix());
+            }
+        }
+
+        return toWrite;
+    }
+
     protected <C extends RedisCommand<K, V, T>, T> void writeToBuffer(C command) {
 
         if (commandBuffer.contains(command) || queue.contains(command)) {
@@ -340,6 +536,11 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
     protected <C extends RedisCommand<K, V, T>, T> void writeToChannel(C command, Channel channel) {
 
+        if (writeCoalescing && !channel.eventLoop().inEventLoop()) {
+            getCoalescer(channel).write(command);
+            return;
+        }
+
         if (reliability == Reliability.AT_MOST_ONCE) {
             // cancel on exceptions and remove from queue, because there is no housekeeping
             writeAndFlush(command).addListener(new AtMostOnceWriteListener(command, queue));
@@ -351,6 +552,53 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * Write a batch of commands with a single flush. Commands written from outside of the event loop are handed to the
+     * {@link WriteCoalescer} if write coalescing is enabled.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected void writeToChannel(List<RedisCommand<K, V, ?>> commands, Channel channel) {
+
+        if (writeCoalescing && !channel.eventLoop().inEventLoop()) {
+
+            WriteCoalescer writeCoalescer = getCoalescer(channel);
+            for (RedisCommand<K, V, ?> command : commands) {
+                writeCoalescer.write(command);
+            }
+            return;
+        }
+
+        if (reliability == Reliability.AT_MOST_ONCE) {
+            // cancel on exceptions and remove from queue, because there is no housekeeping
+            writeAndFlush(commands).addListener(new AtMostOnceWriteListener((Collection) commands, queue));
+        }
+
+        if (reliability == Reliability.AT_LEAST_ONCE) {
+            // commands are ok to stay within the queue, reconnect will retrigger them
+            writeAndFlush(commands).addListener(WRITE_LOG_LISTENER);
+        }
+    }
+
+    /**
+     * Obtain the {@link WriteCoalescer} for {@code channel}. A new coalescer is created once per channel, commands pending in
+     * the coalescer of a previous channel are written to that channel like any other in-flight write.
+     */
+    private WriteCoalescer getCoalescer(Channel channel) {
+
+        for (;;) {
+
+            WriteCoalescer current = coalescer.get();
+            if (current != null && current.channel == channel) {
+                return current;
+            }
+
+            WriteCoalescer newCoalescer = new WriteCoalescer(channel);
+            if (coalescer.compareAndSet(current, newCoalescer)) {
+                return newCoalescer;
+            }
+        }
+    }
+
     protected void bufferCommand(RedisCommand<K, V, ?> command) {
 
         if (debugEnabled) {
@@ -519,6 +767,16 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return channel.writeAndFlush(command);
     }
 
+    /**
+     * @see io.netty.channel.ChannelDuplexHandler#flush(io.netty.channel.ChannelHandlerContext)
+     */
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+
+        FLUSHES.lazySet(this, flushes + 1);
+        ctx.flush();
+    }
+
     /**
      * @see io.netty.channel.ChannelDuplexHandler#write(io.netty.channel.ChannelHandlerContext, java.lang.Object,
      *      io.netty.channel.ChannelPromise)
@@ -549,7 +807,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             return;
         }
 
-        queueCommand(command, promise);
+        queueCommand(ctx, command, promise);
         ctx.write(command, promise);
     }
 
@@ -579,12 +837,12 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 }
 
                 toWrite.add(command);
-                queueCommand(command, promise);
+                queueCommand(ctx, command, promise);
             }
         } else {
 
             for (RedisCommand<K, V, ?> command : toWrite) {
-                queueCommand(command, promise);
+                queueCommand(ctx, command, promise);
             }
         }
 
@@ -593,7 +851,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
-    private void queueCommand(RedisCommand<K, V, ?> command, ChannelPromise promise) throws Exception {
+    private void queueCommand(ChannelHandlerContext ctx, RedisCommand<K, V, ?> command, ChannelPromise promise)
+            throws Exception {
 
         try {
 
@@ -603,8 +862,9 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             } else {
 
                 queue.add(command);
+                IN_FLIGHT.lazySet(this, inFlight + 1);
 
-                if (clientResources.commandLatencyCollector().isEnabled()) {
+                if (latencyTracking || clientResources.commandLatencyCollector().isEnabled()) {
                     RedisCommand<K, V, ?> unwrappedCommand = CommandWrapper.unwrap(command);
                     if (unwrappedCommand instanceof WithLatency) {
                         WithLatency withLatency = (WithLatency) unwrappedCommand;
@@ -612,6 +872,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                         withLatency.sent(nanoTime());
                     }
                 }
+
+                scheduleExpiration(ctx, command);
             }
             transportBuffer.remove(command);
         } catch (Exception e) {
@@ -621,6 +883,58 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * Schedule the expiration of a queued command on the {@link ClientResources#timer() timer}. The expiration is scheduled
+     * only once per command so commands that are re-sent after a reconnect retain their initial deadline.
+     */
+    private void scheduleExpiration(ChannelHandlerContext ctx, RedisCommand<K, V, ?> command) {
+
+        RedisCommand<K, V, ?> unwrappedCommand = CommandWrapper.unwrap(command);
+        if (!(unwrappedCommand instanceof WithTimeout)) {
+            return;
+        }
+
+        WithTimeout withTimeout = (WithTimeout) unwrappedCommand;
+        long timeoutNs = withTimeout.getTimeout() == -1 ? commandTimeoutNs : withTimeout.getTimeout();
+
+        if (timeoutNs <= 0 || withTimeout.getExpiration() != null) {
+            return;
+        }
+
+        CommandExpiration expiration = new CommandExpiration(ctx.executor(), command, timeoutNs);
+        Timeout timeout = clientResources.timer().newTimeout(expiration, timeoutNs, TimeUnit.NANOSECONDS);
+        withTimeout.expiration(timeout);
+
+        // the command cancels its expiration on completion, cover completion before the expiration was set
+        if (command.isDone() || command.isCancelled()) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Complete an expired command with a {@link RedisCommandTimeoutException}. Expired commands remain in the queue until their
+     * response arrives to keep the protocol in sync.
+     */
+    private void expire(RedisCommand<K, V, ?> command, long timeoutNs) {
+
+        if (command.isDone() || command.isCancelled()) {
+            return;
+        }
+
+        boolean headOfQueue = queue.peek() == command;
+
+        if (debugEnabled) {
+            logger.debug("{} Command {} timed out, head of queue: {}", logPrefix(), command, headOfQueue);
+        }
+
+        command.completeExceptionally(new RedisCommandTimeoutException(String.format("Command timed out after %d ms",
+                TimeUnit.NANOSECONDS.toMillis(timeoutNs))));
+
+        if (clientResources.commandLatencyCollector().isEnabled() && channel != null && remote() != null) {
+            clientResources.commandLatencyCollector().recordCommandTimeout(local(), remote(), command.getType(), headOfQueue);
+        }
+    }
+
     private long nanoTime() {
         return System.nanoTime();
     }
@@ -630,6 +944,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
         logPrefix = null;
         connectionWatchdog = null;
+        commandEncoder = null;
+        ACTIVATIONS.lazySet(this, activations + 1);
 
         if (debugEnabled) {
             logger.debug("{} channelActive()", logPrefix());
@@ -643,6 +959,10 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 if (handler instanceof ConnectionWatchdog) {
                     connectionWatchdog = (ConnectionWatchdog) handler;
                 }
+
+                if (handler instanceof CommandEncoder) {
+                    commandEncoder = (CommandEncoder) handler;
+                }
             }
         }
 
@@ -692,25 +1012,28 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     private void moveQueuedCommandsToCommandBuffer() {
 
         List<RedisCommand<K, V, ?>> queuedCommands = drainCommands(queue);
-        Collections.reverse(queuedCommands);
-
         List<RedisCommand<K, V, ?>> transportBufferCommands = drainCommands(transportBuffer);
-        Collections.reverse(transportBufferCommands);
+        List<RedisCommand<K, V, ?>> bufferedCommands = drainCommands(commandBuffer);
 
-        // Queued commands first because they reached the queue before commands that are still in the transport buffer.
-        queuedCommands.addAll(transportBufferCommands);
+        logger.debug("{} moveQueuedCommandsToCommandBuffer {} command(s) added to buffer", logPrefix(),
+                queuedCommands.size() + transportBufferCommands.size());
 
-        logger.debug("{} moveQueuedCommandsToCommandBuffer {} command(s) added to buffer", logPrefix(), queuedCommands.size());
-        for (RedisCommand<K, V, ?> command : queuedCommands) {
-            commandBuffer.addFirst(command);
-        }
+        // Prepend transport buffer and queued commands to the buffered commands. The command buffer is not accessed by
+        // writers while holding the exclusive lock so we can rebuild it in the desired order.
+        commandBuffer.addAll(transportBufferCommands);
+        commandBuffer.addAll(queuedCommands);
+        commandBuffer.addAll(bufferedCommands);
     }
 
-    private List<RedisCommand<K, V, ?>> drainCommands(Collection<RedisCommand<K, V, ?>> source) {
+    private List<RedisCommand<K, V, ?>> drainCommands(Queue<RedisCommand<K, V, ?>> source) {
 
         List<RedisCommand<K, V, ?>> target = new ArrayList<>(source.size());
-        target.addAll(source);
-        source.removeAll(target);
+
+        RedisCommand<K, V, ?> cmd;
+        while ((cmd = source.poll()) != null) {
+            target.add(cmd);
+        }
+
         return target;
     }
 
@@ -755,6 +1078,12 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             return;
         }
 
+        CommandEncoder commandEncoder = this.commandEncoder;
+        if (commandEncoder != null) {
+            this.commandEncoder = null;
+            BYTES_WRITTEN.lazySet(this, bytesWritten + commandEncoder.getBytesWritten());
+        }
+
         synchronized (stateLock) {
             try {
                 lockWritersExclusive();
@@ -774,8 +1103,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
                 // Shift all commands to the commandBuffer so the queue is empty.
                 // Allows to run onConnect commands before executing buffered commands
-                commandBuffer.addAll(queue);
-                queue.removeAll(commandBuffer);
+                commandBuffer.addAll(drainCommands(queue));
 
             } finally {
                 unlockWritersExclusive();
@@ -846,8 +1174,10 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
 
         if (commandBuffer != null) {
-            toCancel.addAll(commandBuffer);
-            commandBuffer.clear();
+            RedisCommand<K, V, ?> cmd;
+            while ((cmd = commandBuffer.poll()) != null) {
+                toCancel.add(cmd);
+            }
         }
         return toCancel;
     }
@@ -899,6 +1229,12 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
 
         setState(LifecycleState.CLOSED);
+
+        ConnectionMetricsCollector connectionMetricsCollector = clientResources.connectionMetricsCollector();
+        if (connectionMetricsCollector != null && metricsRegistered.compareAndSet(true, false)) {
+            connectionMetricsCollector.unregister(this);
+        }
+
         Channel currentChannel = this.channel;
         if (currentChannel != null) {
             currentChannel.pipeline().fireUserEventTriggered(new ConnectionEvents.PrepareClose());
@@ -935,8 +1271,21 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         rsm.reset();
 
         if (buffer.refCnt() > 0) {
-            buffer.clear();
+            clearBuffer();
+        }
+    }
+
+    /**
+     * Clear the response buffer. Buffers aggregated by reference are released.
+     */
+    private void clearBuffer() {
+
+        if (zeroCopyDecoding && buffer.refCnt() > 0) {
+            CompositeByteBuf aggregate = (CompositeByteBuf) buffer;
+            aggregate.removeComponents(0, aggregate.numComponents());
         }
+
+        buffer.clear();
     }
 
     /**
@@ -945,8 +1294,17 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     public void initialState() {
 
         setState(LifecycleState.NOT_CONNECTED);
-        queue.clear();
-        commandBuffer.clear();
+
+        // the command buffer is consumed while holding the exclusive writers lock
+        synchronized (stateLock) {
+            try {
+                lockWritersExclusive();
+                queue.clear();
+                commandBuffer.clear();
+            } finally {
+                unlockWritersExclusive();
+            }
+        }
 
         Channel currentChannel = this.channel;
         if (currentChannel != null) {
@@ -956,6 +1314,53 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * Enable or disable tracking of the {@link #getCompletionLatencyAverage(TimeUnit) completion latency average}. Tracking
+     * records the time each command is sent.
+     *
+     * @param latencyTracking {@literal true} to track the completion latency average.
+     * @since 4.4
+     */
+    public void setLatencyTracking(boolean latencyTracking) {
+        this.latencyTracking = latencyTracking;
+    }
+
+    /**
+     * Returns the number of commands that were written to the transport and await a response. The value is maintained by the
+     * I/O thread and is approximate when read from other threads.
+     *
+     * @return the number of in-flight commands.
+     * @since 4.4
+     */
+    public int getInFlightCommands() {
+        return inFlight;
+    }
+
+    @Override
+    public ConnectionMetrics getConnectionMetrics() {
+
+        Channel channel = this.channel;
+        CommandEncoder commandEncoder = this.commandEncoder;
+
+        return new ConnectionMetrics(channel != null ? channel.localAddress() : null,
+                channel != null ? channel.remoteAddress() : null, inFlight, commandBuffer.size() + transportBuffer.size(),
+                bytesWritten + (commandEncoder != null ? commandEncoder.getBytesWritten() : 0), bytesRead, flushes,
+                Math.max(0, activations - 1));
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of the time between sending a command and its completion. The
+     * average is halved for each second without completions so a connection that is no longer used does not retain a
+     * stale average. Requires {@link #setLatencyTracking(boolean) latency tracking}.
+     *
+     * @param unit the time unit.
+     * @return the average completion latency or {@literal 0} if no latency was recorded.
+     * @since 4.4
+     */
+    public long getCompletionLatencyAverage(TimeUnit unit) {
+        return unit.convert(getCompletionLatencyAverage(nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public void setRedisChannelHandler(RedisChannelHandler<K, V> redisChannelHandler) {
         this.redisChannelHandler = redisChannelHandler;
@@ -1017,6 +1422,113 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * Timer task expiring a command. Expiration is handed over to the channel's event loop so the expired command is completed
+     * outside of the timer thread.
+     */
+    private class CommandExpiration implements TimerTask, Runnable {
+
+        private final EventExecutor executor;
+        private final RedisCommand<K, V, ?> command;
+        private final long timeoutNs;
+
+        CommandExpiration(EventExecutor executor, RedisCommand<K, V, ?> command, long timeoutNs) {
+            this.executor = executor;
+            this.command = command;
+            this.timeoutNs = timeoutNs;
+        }
+
+        @Override
+        public void run(Timeout timeout) throws Exception {
+
+            if (command.isDone() || executor.isShuttingDown()) {
+                return;
+            }
+
+            executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            expire(command, timeoutNs);
+        }
+    }
+
+    /**
+     * Collects commands written from outside of the event loop and writes them from a single event loop task. The task flushes
+     * once per {@link ClientOptions#getMaxCommandsPerFlush()} commands, when the channel becomes non-writable and after writing
+     * all commands that were pending when the task started.
+     */
+    private class WriteCoalescer implements Runnable {
+
+        private final Channel channel;
+        private final Queue<RedisCommand<K, V, ?>> pending = LettuceFactories.newMpscQueue(BUFFER_CHUNK_SIZE);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        WriteCoalescer(Channel channel) {
+            this.channel = channel;
+        }
+
+        void write(RedisCommand<K, V, ?> command) {
+
+            if (debugEnabled) {
+                logger.debug("{} write() coalescing command {}", logPrefix(), command);
+            }
+
+            transportBuffer.add(command);
+            pending.add(command);
+
+            if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+                channel.eventLoop().execute(this);
+            }
+        }
+
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public void run() {
+
+            int remaining = pending.size();
+            int unflushed = 0;
+
+            RedisCommand<K, V, ?> command;
+            while (remaining-- > 0 && (command = pending.poll()) != null) {
+
+                ChannelFuture future = channel.write(command);
+
+                if (reliability == Reliability.AT_MOST_ONCE) {
+                    // cancel on exceptions and remove from queue, because there is no housekeeping
+                    future.addListener(new AtMostOnceWriteListener(command, queue));
+                }
+
+                if (reliability == Reliability.AT_LEAST_ONCE) {
+                    // commands are ok to stay within the queue, reconnect will retrigger them
+                    future.addListener(WRITE_LOG_LISTENER);
+                }
+
+                if (++unflushed == maxCommandsPerFlush || !channel.isWritable()) {
+                    channel.flush();
+                    unflushed = 0;
+                }
+            }
+
+            if (unflushed > 0) {
+                channel.flush();
+            }
+
+            if (!pending.isEmpty()) {
+                channel.eventLoop().execute(this);
+                return;
+            }
+
+            scheduled.set(false);
+
+            // commands added after the emptiness check but before resetting the flag did not schedule the task
+            if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+                channel.eventLoop().execute(this);
+            }
+        }
+    }
+
     /**
      * A generic future listener which logs unsuccessful writes.
      */
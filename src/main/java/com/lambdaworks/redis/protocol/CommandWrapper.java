@@ -80,6 +80,11 @@ public class CommandWrapper<K, V, T> implements RedisCommand<K, V, T>, Completea
         command.encode(buf);
     }
 
+    @Override
+    public int estimateEncodedSize() {
+        return command.estimateEncodedSize();
+    }
+
     @Override
     public boolean isCancelled() {
         return command.isCancelled();
@@ -76,6 +76,16 @@ public interface RedisCommand<K, V, T> {
      */
     void encode(ByteBuf buf);
 
+    /**
+     * Returns the number of bytes that {@link #encode(ByteBuf)} is expected to write. Used to size the outbound buffer.
+     *
+     * @return the estimated encoded size in bytes or {@literal 0} if unknown.
+     * @since 4.4
+     */
+    default int estimateEncodedSize() {
+        return 0;
+    }
+
     /**
      *
      * @return true if the command is cancelled.
@@ -27,6 +27,7 @@ import com.lambdaworks.redis.output.CommandOutput;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufProcessor;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.util.Version;
 import io.netty.util.internal.logging.InternalLogger;
@@ -74,9 +75,19 @@ public class RedisStateMachine<K, V> {
 
         Type type = null;
         int count = -1;
+
+        /**
+         * Reset this state so it can be reused for the next element.
+         */
+        void reset() {
+            type = null;
+            count = -1;
+        }
     }
 
-    private final State[] stack = new State[32];
+    private static final int INITIAL_STACK_SIZE = 32;
+
+    private State[] stack = newStates(INITIAL_STACK_SIZE);
     private final boolean debugEnabled = logger.isDebugEnabled();
     private final LongProcessor longProcessor;
     private final ByteBuf responseElementBuffer = PooledByteBufAllocator.DEFAULT.directBuffer(1024);
@@ -132,7 +143,7 @@ public class RedisStateMachine<K, V> {
         }
 
         if (isEmpty(stack)) {
-            add(stack, new State());
+            push(stack);
         }
 
         if (output == null) {
@@ -181,7 +192,7 @@ public class RedisStateMachine<K, V> {
                     }
                     length = (int) readLong(buffer, buffer.readerIndex(), end);
                     if (length == -1) {
-                        safeSet(output, null, command);
+                        safeSet(output, (ByteBuffer) null, command);
                     } else {
                         state.type = BYTES;
                         state.count = length + 2;
@@ -205,10 +216,17 @@ public class RedisStateMachine<K, V> {
                     }
 
                     state.count--;
-                    addFirst(stack, new State());
+                    push(stack);
 
                     continue loop;
                 case BYTES:
+                    if (output.isByteBufDecoding()) {
+                        if (!readBytes(buffer, state.count, output, command)) {
+                            break loop;
+                        }
+                        break;
+                    }
+
                     if ((bytes = readBytes(buffer, state.count)) == null) {
                         break loop;
                     }
@@ -235,7 +253,11 @@ public class RedisStateMachine<K, V> {
      * Reset the state machine.
      */
     public void reset() {
-        Arrays.fill(stack, null);
+
+        for (State state : stack) {
+            state.reset();
+        }
+
         stackElements = 0;
     }
 
@@ -306,65 +328,199 @@ public class RedisStateMachine<K, V> {
         ByteBuffer bytes = null;
 
         if (buffer.readableBytes() >= count) {
-            responseElementBuffer.clear();
 
             int size = count - 2;
+            bytes = viewBytes(buffer, buffer.readerIndex(), size);
 
-            if (responseElementBuffer.capacity() < size) {
-                responseElementBuffer.capacity(size);
+            if (bytes != null) {
+                buffer.skipBytes(size);
+            } else {
+
+                responseElementBuffer.clear();
+
+                if (responseElementBuffer.capacity() < size) {
+                    responseElementBuffer.capacity(size);
+                }
+                buffer.readBytes(responseElementBuffer, size);
+
+                bytes = responseElementBuffer.internalNioBuffer(0, size);
             }
-            buffer.readBytes(responseElementBuffer, size);
 
-            bytes = responseElementBuffer.internalNioBuffer(0, size);
             buffer.readerIndex(buffer.readerIndex() + 2);
         }
         return bytes;
     }
 
     /**
-     * Remove the head element from the stack.
+     * Read a bulk string of {@code count} bytes (including the trailing CRLF) and pass it as {@link ByteBuf} to
+     * {@link CommandOutput#set(ByteBuf)}. Bulk strings within a single component of a {@link CompositeByteBuf} are passed as
+     * slice of that component so outputs can retain them without copying. Other bulk strings are copied once into a buffer
+     * obtained from the allocator of {@code buffer}. The passed buffer is released after the output was set.
+     *
+     * @param buffer the buffer.
+     * @param count number of bytes including CRLF.
+     * @param output the output.
+     * @param command the command.
+     * @return {@literal true} if the bulk string was read, {@literal false} if {@code buffer} does not contain enough data.
+     */
+    private boolean readBytes(ByteBuf buffer, int count, CommandOutput<K, V, ?> output, RedisCommand<K, V, ?> command) {
+
+        if (buffer.readableBytes() < count) {
+            return false;
+        }
+
+        int size = count - 2;
+        ByteBuf bytes = sliceBytes(buffer, buffer.readerIndex(), size);
+
+        if (bytes == null) {
+            bytes = buffer.alloc().buffer(size);
+            buffer.getBytes(buffer.readerIndex(), bytes, size);
+        }
+
+        try {
+            safeSet(output, bytes, command);
+        } finally {
+            bytes.release();
+        }
+
+        buffer.skipBytes(count);
+        return true;
+    }
+
+    /**
+     * Obtain a retained slice of {@code length} bytes starting at {@code index} from a single component of a
+     * {@link CompositeByteBuf}. Components hold received data that is not modified and remains valid as long as the slice is
+     * retained.
+     *
+     * @param buffer the buffer.
+     * @param index start index.
+     * @param length number of bytes.
+     * @return the retained slice or {@literal null} if {@code buffer} is not a {@link CompositeByteBuf} or the range spans
+     *         multiple components.
+     */
+    private static ByteBuf sliceBytes(ByteBuf buffer, int index, int length) {
+
+        if (length == 0 || !(buffer instanceof CompositeByteBuf)) {
+            return null;
+        }
+
+        CompositeByteBuf composite = (CompositeByteBuf) buffer;
+        int componentIndex = composite.toComponentIndex(index);
+
+        if (componentIndex != composite.toComponentIndex(index + length - 1)) {
+            return null;
+        }
+
+        ByteBuf component = composite.internalComponent(componentIndex);
+        return component.slice(index - composite.toByteIndex(componentIndex), length).retain();
+    }
+
+    /**
+     * Obtain a {@link ByteBuffer} view of {@code length} bytes starting at {@code index} without copying the data. Views are
+     * only available if the requested range is backed by a single memory region, either because {@code buffer} exposes a
+     * single NIO buffer or because the range lies entirely within one component of a {@link CompositeByteBuf}.
+     *
+     * @param buffer the buffer.
+     * @param index start index.
+     * @param length number of bytes.
+     * @return the {@link ByteBuffer} view or {@literal null} if the range cannot be represented without copying.
+     */
+    private static ByteBuffer viewBytes(ByteBuf buffer, int index, int length) {
+
+        if (length == 0) {
+            return null;
+        }
+
+        if (buffer.nioBufferCount() == 1) {
+            return buffer.internalNioBuffer(index, length);
+        }
+
+        if (buffer instanceof CompositeByteBuf) {
+
+            CompositeByteBuf composite = (CompositeByteBuf) buffer;
+            int componentIndex = composite.toComponentIndex(index);
+
+            if (componentIndex != composite.toComponentIndex(index + length - 1)) {
+                return null;
+            }
+
+            ByteBuf component = composite.internalComponent(componentIndex);
+
+            if (component.nioBufferCount() == 1) {
+                return component.internalNioBuffer(index - composite.toByteIndex(componentIndex), length);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove the head element from the stack. The {@link State} object remains in the stack array for reuse.
      *
      * @param stack
      */
     private void remove(State[] stack) {
-        stack[stackElements - 1] = null;
         stackElements--;
     }
 
     /**
-     * Add the element to the stack to be the new head element.
+     * Push a reset {@link State} to the stack to be the new head element. {@link State} objects are reused and the stack grows
+     * if the nesting depth exceeds its current capacity.
      *
      * @param stack
-     * @param state
      */
-    private void addFirst(State[] stack, State state) {
-        stack[stackElements++] = state;
+    private void push(State[] stack) {
+
+        if (stackElements == stack.length) {
+            stack = grow(stack);
+        }
+
+        stack[stackElements++].reset();
     }
 
     /**
-     * Returns the head element without removing it.
+     * Double the capacity of the stack and populate the new slots with {@link State} objects.
      *
      * @param stack
-     * @return
+     * @return the new stack.
      */
-    private State peek(State[] stack) {
-        return stack[stackElements - 1];
+    private State[] grow(State[] stack) {
+
+        State[] grown = Arrays.copyOf(stack, stack.length * 2);
+
+        for (int i = stack.length; i < grown.length; i++) {
+            grown[i] = new State();
+        }
+
+        this.stack = grown;
+        return grown;
     }
 
     /**
-     * Add a state as tail element. This method shifts the whole stack if the stack is not empty.
+     * Create a stack array populated with {@link State} objects.
      *
-     * @param stack
-     * @param state
+     * @param size
+     * @return the stack array.
      */
-    private void add(State[] stack, State state) {
+    private static State[] newStates(int size) {
 
-        if (stackElements != 0) {
-            System.arraycopy(stack, 0, stack, 1, stackElements);
+        State[] states = new State[size];
+
+        for (int i = 0; i < size; i++) {
+            states[i] = new State();
         }
 
-        stack[0] = state;
-        stackElements++;
+        return states;
+    }
+
+    /**
+     * Returns the head element without removing it.
+     *
+     * @param stack
+     * @return
+     */
+    private State peek(State[] stack) {
+        return stack[stackElements - 1];
     }
 
     /**
@@ -415,6 +571,22 @@ public class RedisStateMachine<K, V> {
         }
     }
 
+    /**
+     * Safely sets {@link CommandOutput#set(ByteBuf)}. Completes a command exceptionally in case an exception occurs.
+     *
+     * @param output
+     * @param bytes
+     * @param command
+     */
+    protected void safeSet(CommandOutput<K, V, ?> output, ByteBuf bytes, RedisCommand<K, V, ?> command) {
+
+        try {
+            output.set(bytes);
+        } catch (Exception e) {
+            command.completeExceptionally(e);
+        }
+    }
+
     /**
      * Safely sets {@link CommandOutput#multi(int)}. Completes a command exceptionally in case an exception occurs.
      *
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import io.netty.util.Timeout;
+
+/**
+ * Interface to items carrying a timeout. Timeout values are in {@link java.util.concurrent.TimeUnit#NANOSECONDS}.
+ *
+ * @author Mark Paluch
+ */
+interface WithTimeout {
+
+    /**
+     * @return the timeout of the item, {@literal -1} if the item uses the default timeout or {@literal 0} if the timeout is
+     *         disabled.
+     */
+    long getTimeout();
+
+    /**
+     * Sets the scheduled expiration of the item. The expiration is cancelled once the item is completed or cancelled.
+     *
+     * @param expiration the scheduled expiration.
+     */
+    void expiration(Timeout expiration);
+
+    /**
+     * @return the scheduled expiration, may be {@literal null} if the item was not scheduled yet.
+     */
+    Timeout getExpiration();
+}
@@ -16,6 +16,7 @@
 package com.lambdaworks.redis.pubsub;
 
 import java.nio.ByteBuffer;
+import java.util.function.ToIntFunction;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandArgs;
@@ -44,4 +45,13 @@ class PubSubCommandArgs<K, V> extends CommandArgs<K, V> {
     public ByteBuffer getFirstEncodedKey() {
         return null;
     }
+
+    /**
+     *
+     * @return always {@literal -1}.
+     */
+    @Override
+    public int hashFirstKey(ToIntFunction<byte[]> arrayHashFunction, ToIntFunction<ByteBuffer> bufferHashFunction) {
+        return -1;
+    }
 }
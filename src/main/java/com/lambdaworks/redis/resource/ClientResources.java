@@ -20,6 +20,8 @@ import java.util.concurrent.TimeUnit;
 import com.lambdaworks.redis.event.EventBus;
 import com.lambdaworks.redis.event.EventPublisherOptions;
 import com.lambdaworks.redis.metrics.CommandLatencyCollector;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
+import com.lambdaworks.redis.metrics.DefaultConnectionMetricsCollector;
 
 import io.netty.util.Timer;
 import io.netty.util.concurrent.EventExecutorGroup;
@@ -39,6 +41,7 @@ import io.netty.util.concurrent.Future;
  * <li>{@link EventBus} for client event dispatching</li>
  * <li>{@link EventPublisherOptions}</li>
  * <li>{@link CommandLatencyCollector} to collect latency details. Requires the {@literal HdrHistogram} library.</li>
+ * <li>{@link ConnectionMetricsCollector} to collect per-connection load indicators.</li>
  * <li>{@link DnsResolver} to collect latency details. Requires the {@literal LatencyUtils} library.</li>
  * <li>Reconnect {@link Delay}.</li>
  * </ul>
@@ -133,6 +136,17 @@ public interface ClientResources {
      */
     CommandLatencyCollector commandLatencyCollector();
 
+    /**
+     * Returns the {@link ConnectionMetricsCollector}. Returns a {@link DefaultConnectionMetricsCollector#disabled() disabled}
+     * collector by default.
+     *
+     * @return the connection metrics collector
+     * @since 4.4
+     */
+    default ConnectionMetricsCollector connectionMetricsCollector() {
+        return DefaultConnectionMetricsCollector.disabled();
+    }
+
     /**
      * Returns the {@link DnsResolver}.
      *
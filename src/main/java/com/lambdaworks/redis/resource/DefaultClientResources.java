@@ -25,13 +25,16 @@ import com.lambdaworks.redis.event.DefaultEventPublisherOptions;
 import com.lambdaworks.redis.event.EventBus;
 import com.lambdaworks.redis.event.EventPublisherOptions;
 import com.lambdaworks.redis.event.metrics.DefaultCommandLatencyEventPublisher;
+import com.lambdaworks.redis.event.metrics.DefaultConnectionMetricsEventPublisher;
 import com.lambdaworks.redis.event.metrics.MetricEventPublisher;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.internal.LettuceLists;
 import com.lambdaworks.redis.metrics.CommandLatencyCollector;
 import com.lambdaworks.redis.metrics.CommandLatencyCollectorOptions;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
 import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollector;
 import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollectorOptions;
+import com.lambdaworks.redis.metrics.DefaultConnectionMetricsCollector;
 import com.lambdaworks.redis.resource.Delay.StatefulDelay;
 
 import io.netty.util.HashedWheelTimer;
@@ -57,6 +60,8 @@ import io.netty.util.internal.logging.InternalLoggerFactory;
  * <li>an {@code eventBus} which is a provided instance of {@link EventBus}.</li>
  * <li>a {@code commandLatencyCollector} which is a provided instance of
  * {@link com.lambdaworks.redis.metrics.CommandLatencyCollector}.</li>
+ * <li>a {@code connectionMetricsCollector} which is a provided instance of
+ * {@link com.lambdaworks.redis.metrics.ConnectionMetricsCollector}. Connection metrics are disabled by default.</li>
  * <li>a {@code dnsResolver} which is a provided instance of {@link DnsResolver}.</li>
  * <li>a {@code timer} that is a provided instance of {@link io.netty.util.HashedWheelTimer}.</li>
  * </ul>
@@ -106,10 +111,14 @@ public class DefaultClientResources implements ClientResources {
     private final Timer timer;
     private final boolean sharedTimer;
     private final EventBus eventBus;
+    private final boolean sharedEventBus;
     private final CommandLatencyCollector commandLatencyCollector;
     private final boolean sharedCommandLatencyCollector;
     private final EventPublisherOptions commandLatencyPublisherOptions;
     private final MetricEventPublisher metricEventPublisher;
+    private final ConnectionMetricsCollector connectionMetricsCollector;
+    private final boolean sharedConnectionMetricsCollector;
+    private final MetricEventPublisher connectionMetricsEventPublisher;
     private final DnsResolver dnsResolver;
     private final Supplier<Delay> reconnectDelay;
 
@@ -161,8 +170,10 @@ public class DefaultClientResources implements ClientResources {
 
         if (builder.eventBus == null) {
             eventBus = new DefaultEventBus(new RxJavaEventExecutorGroupScheduler(eventExecutorGroup));
+            sharedEventBus = false;
         } else {
             eventBus = builder.eventBus;
+            sharedEventBus = true;
         }
 
         if (builder.commandLatencyCollector == null) {
@@ -173,7 +184,7 @@ public class DefaultClientResources implements ClientResources {
                     commandLatencyCollector = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
                 }
             } else {
-                logger.debug("LatencyUtils/HdrUtils are not available, metrics are disabled");
+                logger.debug("HdrHistogram is not available, metrics are disabled");
                 builder.commandLatencyCollectorOptions = DefaultCommandLatencyCollectorOptions.disabled();
                 commandLatencyCollector = DefaultCommandLatencyCollector.disabled();
             }
@@ -193,6 +204,21 @@ public class DefaultClientResources implements ClientResources {
             metricEventPublisher = null;
         }
 
+        if (builder.connectionMetricsCollector == null) {
+            connectionMetricsCollector = DefaultConnectionMetricsCollector.disabled();
+            sharedConnectionMetricsCollector = false;
+        } else {
+            connectionMetricsCollector = builder.connectionMetricsCollector;
+            sharedConnectionMetricsCollector = true;
+        }
+
+        if (connectionMetricsCollector.isEnabled() && commandLatencyPublisherOptions != null) {
+            connectionMetricsEventPublisher = new DefaultConnectionMetricsEventPublisher(eventExecutorGroup,
+                    commandLatencyPublisherOptions, eventBus, connectionMetricsCollector);
+        } else {
+            connectionMetricsEventPublisher = null;
+        }
+
         if (builder.dnsResolver == null) {
             dnsResolver = DnsResolvers.JVM_DEFAULT;
         } else {
@@ -233,6 +259,7 @@ public class DefaultClientResources implements ClientResources {
         private EventBus eventBus;
         private CommandLatencyCollectorOptions commandLatencyCollectorOptions = DefaultCommandLatencyCollectorOptions.create();
         private CommandLatencyCollector commandLatencyCollector;
+        private ConnectionMetricsCollector connectionMetricsCollector;
         private EventPublisherOptions commandLatencyPublisherOptions = DefaultEventPublisherOptions.create();
         private DnsResolver dnsResolver = DnsResolvers.JVM_DEFAULT;
         private Supplier<Delay> reconnectDelay = DEFAULT_RECONNECT_DELAY;
@@ -383,6 +410,24 @@ public class DefaultClientResources implements ClientResources {
             return this;
         }
 
+        /**
+         * Sets the {@link ConnectionMetricsCollector} that can that can be used across different instances of the
+         * RedisClient. Connection metrics are published along with command latency metrics using
+         * {@link #commandLatencyPublisherOptions(EventPublisherOptions)}. Connection metrics are disabled by default. An enabled
+         * collector retains a reference to each registered connection until the connection is closed.
+         *
+         * @param connectionMetricsCollector the connection metrics collector, must not be {@literal null}.
+         * @return this
+         * @since 4.4
+         */
+        public Builder connectionMetricsCollector(ConnectionMetricsCollector connectionMetricsCollector) {
+
+            LettuceAssert.notNull(connectionMetricsCollector, "ConnectionMetricsCollector must not be null");
+
+            this.connectionMetricsCollector = connectionMetricsCollector;
+            return this;
+        }
+
         /**
          * Sets the {@link DnsResolver} that can that is used to resolve hostnames to {@link java.net.InetAddress}. Defaults to
          * {@link DnsResolvers#JVM_DEFAULT}
@@ -489,6 +534,14 @@ public class DefaultClientResources implements ClientResources {
             metricEventPublisher.shutdown();
         }
 
+        if (connectionMetricsEventPublisher != null) {
+            connectionMetricsEventPublisher.shutdown();
+        }
+
+        if (!sharedEventBus) {
+            ((DefaultEventBus) eventBus).shutdown();
+        }
+
         if (!sharedTimer) {
             timer.stop();
         }
@@ -511,6 +564,10 @@ public class DefaultClientResources implements ClientResources {
             commandLatencyCollector.shutdown();
         }
 
+        if (!sharedConnectionMetricsCollector) {
+            connectionMetricsCollector.shutdown();
+        }
+
         aggregator.add(lastRelease);
         lastRelease.setSuccess(null);
 
@@ -552,6 +609,11 @@ public class DefaultClientResources implements ClientResources {
         return commandLatencyCollector;
     }
 
+    @Override
+    public ConnectionMetricsCollector connectionMetricsCollector() {
+        return connectionMetricsCollector;
+    }
+
     @Override
     public EventPublisherOptions commandLatencyPublisherOptions() {
         return commandLatencyPublisherOptions;
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Interface declaring non-blocking object pool methods allowing to {@link #acquire()} and {@link #release(Object)} objects.
+ * All activity of a pool task outcome is communicated through the returned {@link CompletionStage}.
+ *
+ * @param <T> Type of the object in the pool.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public interface AsyncPool<T> {
+
+    /**
+     * Acquire an object from this {@link AsyncPool}. The returned {@link CompletionStage} is notified once the acquire is
+     * successful and failed otherwise. Behavior upon acquiring objects from an exhausted pool depends on the actual pool
+     * implementation.
+     *
+     * @return the {@link CompletionStage} which is notified once the acquire is complete.
+     */
+    CompletionStage<T> acquire();
+
+    /**
+     * Release an object back to this {@link AsyncPool}. The returned {@link CompletionStage} is notified once the release is
+     * successful and failed otherwise. When failed the object will automatically be disposed.
+     *
+     * @param object the object to be released. The object must have been acquired from this pool.
+     * @return the {@link CompletionStage} which is notified once the release is complete.
+     */
+    CompletionStage<Void> release(T object);
+
+    /**
+     * Clear the pool by disposing all idle objects.
+     *
+     * @return the {@link CompletionStage} which is notified once all idle objects are disposed.
+     */
+    CompletionStage<Void> clear();
+
+    /**
+     * Close the pool. Idle objects are disposed and pending acquisitions are failed. Objects that are released after closing
+     * the pool are disposed.
+     *
+     * @return the {@link CompletionStage} which is notified once all idle objects are disposed.
+     */
+    CompletionStage<Void> close();
+}
@@ -0,0 +1,496 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.lambdaworks.redis.api.StatefulConnection;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.internal.LettuceFactories;
+
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.FastThreadLocalThread;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Bounded asynchronous connection pool. Connections are created using a {@link Supplier} of {@link CompletionStage} so
+ * connection creation does not block the caller. The pool allocates up to {@link BoundedPoolConfig#getMaxTotal()}
+ * connections and keeps at least {@link BoundedPoolConfig#getMinIdle()} idle connections by creating connections ahead of
+ * demand. Acquisitions from an exhausted pool are queued and completed once a connection is released.
+ * <p>
+ * {@link #acquire()} and {@link #release(StatefulConnection)} are lock-free. Idle connections are kept in a concurrent queue
+ * and claimed by a compare-and-set on the pooled connection state. With
+ * {@link BoundedPoolConfig#isEventLoopAffinity() event loop affinity} enabled, a connection released by a Netty event loop
+ * thread is preferred when the same thread acquires a connection again.
+ * <p>
+ * Connections are disposed by calling {@link StatefulConnection#close()} on a close {@link Executor} since closing a
+ * connection awaits the channel close. The pool uses {@link GlobalEventExecutor} unless a close {@link Executor} is
+ * provided.
+ *
+ * <h2>Example usage</h2>
+ *
+ * <pre>
+ * BoundedAsyncPool&lt;StatefulRedisConnection&lt;String, String&gt;&gt; pool = ConnectionPoolSupport.createBoundedObjectPool(
+ *         () -&gt; client.connectStandaloneAsync(new Utf8StringCodec(), uri), BoundedPoolConfig.create());
+ *
+ * CompletionStage&lt;String&gt; result = pool.acquire().thenCompose(connection -&gt; {
+ *     return connection.async().get("key").whenComplete((value, throwable) -&gt; pool.release(connection));
+ * });
+ * </pre>
+ *
+ * @param <T> connection type.
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class BoundedAsyncPool<T extends StatefulConnection<?, ?>> implements AsyncPool<T> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(BoundedAsyncPool.class);
+
+    private static final int IDLE = 0;
+    private static final int IN_USE = 1;
+    private static final int RELEASING = 2;
+    private static final int DISPOSED = 3;
+
+    private final Supplier<? extends CompletionStage<T>> connectionSupplier;
+    private final BoundedPoolConfig config;
+    private final Executor closeExecutor;
+    private final Queue<PooledConnection<T>> idle = LettuceFactories.newConcurrentQueue();
+    private final Queue<CompletableFuture<T>> pending = LettuceFactories.newConcurrentQueue();
+    private final Map<T, PooledConnection<T>> connections = new ConcurrentHashMap<>();
+    private final FastThreadLocal<PooledConnection<T>> affinity;
+
+    // number of allocated connections including connections in creation
+    private final AtomicInteger objectCount = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger creatingIdle = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    /**
+     * Create a new {@link BoundedAsyncPool}. The pool starts to create {@link BoundedPoolConfig#getMinIdle()} connections
+     * right away.
+     *
+     * @param connectionSupplier supplier of new connections, must not be {@literal null}.
+     * @param config the pool configuration, must not be {@literal null}.
+     */
+    public BoundedAsyncPool(Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config) {
+        this(connectionSupplier, config, GlobalEventExecutor.INSTANCE);
+    }
+
+    /**
+     * Create a new {@link BoundedAsyncPool}. The pool starts to create {@link BoundedPoolConfig#getMinIdle()} connections
+     * right away.
+     *
+     * @param connectionSupplier supplier of new connections, must not be {@literal null}.
+     * @param config the pool configuration, must not be {@literal null}.
+     * @param closeExecutor the {@link Executor} to close disposed connections, must not be {@literal null}. Closing a
+     *        connection blocks until the channel is closed so the executor must not run tasks on a Netty event loop.
+     */
+    public BoundedAsyncPool(Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config,
+            Executor closeExecutor) {
+
+        LettuceAssert.notNull(connectionSupplier, "Connection supplier must not be null");
+        LettuceAssert.notNull(config, "BoundedPoolConfig must not be null");
+        LettuceAssert.notNull(closeExecutor, "Close Executor must not be null");
+
+        this.connectionSupplier = connectionSupplier;
+        this.config = config;
+        this.closeExecutor = closeExecutor;
+        this.affinity = config.isEventLoopAffinity() ? new FastThreadLocal<>() : null;
+
+        createIdle();
+    }
+
+    @Override
+    public CompletionStage<T> acquire() {
+
+        for (;;) {
+
+            if (closed) {
+                return failed(new IllegalStateException("Pool is closed"));
+            }
+
+            PooledConnection<T> pooled = claimIdle();
+
+            if (pooled == null) {
+                break;
+            }
+
+            if (!isValid(pooled, config.isTestOnAcquire())) {
+                dispose(pooled);
+                continue;
+            }
+
+            createIdle();
+            return CompletableFuture.completedFuture(pooled.connection);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (reserve()) {
+            create(future);
+        } else {
+            pending.add(future);
+            drainPending();
+        }
+
+        createIdle();
+        return future;
+    }
+
+    @Override
+    public CompletionStage<Void> release(T connection) {
+
+        LettuceAssert.notNull(connection, "Connection must not be null");
+
+        PooledConnection<T> pooled = connections.get(connection);
+
+        // claim the release so concurrent or repeated releases of the same connection are rejected
+        if (pooled == null || !pooled.state.compareAndSet(IN_USE, RELEASING)) {
+            return failed(new IllegalStateException("Returned connection is not currently part of this pool"));
+        }
+
+        if (!isValid(pooled, config.isTestOnRelease())) {
+            return dispose(pooled);
+        }
+
+        returnToPool(pooled);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletionStage<Void> clear() {
+
+        List<CompletableFuture<Void>> disposals = new ArrayList<>();
+
+        PooledConnection<T> pooled;
+        while ((pooled = pollIdle()) != null) {
+            disposals.add(dispose(pooled));
+        }
+
+        return CompletableFuture.allOf(disposals.toArray(new CompletableFuture<?>[disposals.size()]));
+    }
+
+    @Override
+    public CompletionStage<Void> close() {
+
+        closed = true;
+
+        if (affinity != null) {
+            affinity.remove();
+        }
+
+        CompletableFuture<T> waiter;
+        while ((waiter = pending.poll()) != null) {
+            waiter.completeExceptionally(new IllegalStateException("Pool is closed"));
+        }
+
+        return clear();
+    }
+
+    /**
+     * @return the number of idle connections.
+     */
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return the number of allocated connections including connections that are currently created.
+     */
+    public int getObjectCount() {
+        return objectCount.get();
+    }
+
+    /**
+     * @return the number of acquisitions waiting for a connection.
+     */
+    public int getPendingAcquisitions() {
+        return pending.size();
+    }
+
+    /**
+     * @return the pool configuration.
+     */
+    public BoundedPoolConfig getConfig() {
+        return config;
+    }
+
+    private boolean reserve() {
+
+        for (;;) {
+
+            int current = objectCount.get();
+
+            if (current >= config.getMaxTotal()) {
+                return false;
+            }
+
+            if (objectCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Create connections ahead of demand until the pool holds at least {@link BoundedPoolConfig#getMinIdle()} idle
+     * connections. Eager creation stops on the first failure and is retried on the next acquisition or release.
+     */
+    private void createIdle() {
+
+        while (!closed && idleCount.get() + creatingIdle.get() < config.getMinIdle() && reserve()) {
+
+            creatingIdle.incrementAndGet();
+
+            // failed creations complete synchronously and free their slot, stop instead of retrying right away
+            if (create(null).isCompletedExceptionally()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Create a new connection. The connection is handed to {@code target} or returned to the pool if {@code target} is
+     * {@literal null} or cancelled. Requires a {@link #reserve() reserved} slot.
+     *
+     * @return a future that is completed once the creation has finished.
+     */
+    private CompletableFuture<T> create(CompletableFuture<T> target) {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        CompletionStage<T> stage;
+        try {
+            stage = connectionSupplier.get();
+        } catch (RuntimeException e) {
+            stage = failed(e);
+        }
+
+        stage.whenComplete((connection, throwable) -> {
+
+            if (target == null) {
+                creatingIdle.decrementAndGet();
+            }
+
+            if (throwable != null) {
+
+                objectCount.decrementAndGet();
+
+                if (target != null) {
+                    target.completeExceptionally(throwable);
+                } else {
+                    logger.warn("Cannot create pooled connection", throwable);
+                }
+
+                result.completeExceptionally(throwable);
+                return;
+            }
+
+            PooledConnection<T> pooled = new PooledConnection<>(connection);
+            connections.put(connection, pooled);
+
+            if (target == null || !target.complete(connection)) {
+                returnToPool(pooled);
+            }
+
+            result.complete(connection);
+        });
+
+        return result;
+    }
+
+    private void returnToPool(PooledConnection<T> pooled) {
+
+        if (closed) {
+            dispose(pooled);
+            return;
+        }
+
+        CompletableFuture<T> waiter;
+        while ((waiter = pending.poll()) != null) {
+
+            pooled.state.set(IN_USE);
+
+            if (waiter.complete(pooled.connection)) {
+                return;
+            }
+        }
+
+        if (idleCount.get() >= config.getMaxIdle()) {
+            dispose(pooled);
+            return;
+        }
+
+        makeIdle(pooled);
+        drainPending();
+
+        if (closed) {
+            clear();
+        }
+    }
+
+    /**
+     * Hand idle connections to pending acquisitions. Called after a connection became idle or an acquisition was queued so
+     * either side observes the other.
+     */
+    private void drainPending() {
+
+        while (!pending.isEmpty() && idleCount.get() > 0) {
+
+            PooledConnection<T> pooled = claimIdle();
+
+            if (pooled == null) {
+                return;
+            }
+
+            if (!isValid(pooled, config.isTestOnAcquire())) {
+                dispose(pooled);
+                continue;
+            }
+
+            CompletableFuture<T> waiter = pending.poll();
+
+            if (waiter == null || !waiter.complete(pooled.connection)) {
+                makeIdle(pooled);
+            }
+        }
+    }
+
+    private void makeIdle(PooledConnection<T> pooled) {
+
+        pooled.state.set(IDLE);
+        idleCount.incrementAndGet();
+
+        if (affinity != null && Thread.currentThread() instanceof FastThreadLocalThread) {
+            affinity.set(pooled);
+        }
+
+        if (pooled.queued.compareAndSet(false, true)) {
+            idle.offer(pooled);
+        }
+    }
+
+    private PooledConnection<T> claimIdle() {
+
+        if (affinity != null && Thread.currentThread() instanceof FastThreadLocalThread) {
+
+            PooledConnection<T> pooled = affinity.get();
+
+            if (pooled != null && pooled.claim()) {
+                idleCount.decrementAndGet();
+                return pooled;
+            }
+
+            if (pooled != null && pooled.state.get() == DISPOSED) {
+                affinity.remove();
+            }
+        }
+
+        return pollIdle();
+    }
+
+    private PooledConnection<T> pollIdle() {
+
+        PooledConnection<T> pooled;
+        while ((pooled = idle.poll()) != null) {
+
+            pooled.queued.set(false);
+
+            if (pooled.claim()) {
+                idleCount.decrementAndGet();
+                return pooled;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean isValid(PooledConnection<T> pooled, boolean test) {
+        return !test || pooled.connection.isOpen();
+    }
+
+    private CompletableFuture<Void> dispose(PooledConnection<T> pooled) {
+
+        pooled.state.set(DISPOSED);
+        connections.remove(pooled.connection);
+        objectCount.decrementAndGet();
+
+        // entries held by other threads are dropped once these threads acquire a connection again
+        if (affinity != null && affinity.get() == pooled) {
+            affinity.remove();
+        }
+
+        CompletableFuture<Void> disposal = CompletableFuture.runAsync(pooled.connection::close, closeExecutor);
+
+        if (!closed) {
+
+            // replace the connection for a waiting acquisition, a creation failure fails the acquisition
+            if (!pending.isEmpty() && reserve()) {
+
+                CompletableFuture<T> waiter = pending.poll();
+
+                if (waiter != null) {
+                    create(waiter);
+                } else {
+                    objectCount.decrementAndGet();
+                }
+            }
+
+            createIdle();
+        }
+
+        return disposal;
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable throwable) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Pool entry holding a connection and its state.
+     */
+    private static class PooledConnection<T> {
+
+        final T connection;
+        final AtomicInteger state = new AtomicInteger(IN_USE);
+
+        // whether the entry is contained in the idle queue
+        final AtomicBoolean queued = new AtomicBoolean();
+
+        PooledConnection(T connection) {
+            this.connection = connection;
+        }
+
+        boolean claim() {
+            return state.compareAndSet(IDLE, IN_USE);
+        }
+    }
+}
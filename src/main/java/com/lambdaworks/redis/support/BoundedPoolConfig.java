@@ -0,0 +1,226 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Configuration for a {@link BoundedAsyncPool}. Use {@link #builder()} to create a configuration or {@link #create()} for
+ * defaults.
+ *
+ * @author Mark Paluch
+ * @since 4.4
+ */
+public class BoundedPoolConfig {
+
+    public static final int DEFAULT_MAX_TOTAL = 8;
+    public static final int DEFAULT_MAX_IDLE = 8;
+    public static final int DEFAULT_MIN_IDLE = 0;
+    public static final boolean DEFAULT_TEST_ON_ACQUIRE = false;
+    public static final boolean DEFAULT_TEST_ON_RELEASE = false;
+    public static final boolean DEFAULT_EVENT_LOOP_AFFINITY = false;
+
+    private final int maxTotal;
+    private final int maxIdle;
+    private final int minIdle;
+    private final boolean testOnAcquire;
+    private final boolean testOnRelease;
+    private final boolean eventLoopAffinity;
+
+    protected BoundedPoolConfig(Builder builder) {
+
+        this.maxTotal = builder.maxTotal;
+        this.maxIdle = builder.maxIdle;
+        this.minIdle = builder.minIdle;
+        this.testOnAcquire = builder.testOnAcquire;
+        this.testOnRelease = builder.testOnRelease;
+        this.eventLoopAffinity = builder.eventLoopAffinity;
+    }
+
+    /**
+     * Create a new {@link BoundedPoolConfig} using default settings.
+     *
+     * @return a new instance of default {@link BoundedPoolConfig}.
+     */
+    public static BoundedPoolConfig create() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a new {@link BoundedPoolConfig.Builder} to construct {@link BoundedPoolConfig}.
+     *
+     * @return a new {@link BoundedPoolConfig.Builder} to construct {@link BoundedPoolConfig}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link BoundedPoolConfig}.
+     */
+    public static class Builder {
+
+        private int maxTotal = DEFAULT_MAX_TOTAL;
+        private int maxIdle = DEFAULT_MAX_IDLE;
+        private int minIdle = DEFAULT_MIN_IDLE;
+        private boolean testOnAcquire = DEFAULT_TEST_ON_ACQUIRE;
+        private boolean testOnRelease = DEFAULT_TEST_ON_RELEASE;
+        private boolean eventLoopAffinity = DEFAULT_EVENT_LOOP_AFFINITY;
+
+        protected Builder() {
+        }
+
+        /**
+         * Maximum number of objects that can be allocated by the pool (idle and in use). Defaults to
+         * {@link BoundedPoolConfig#DEFAULT_MAX_TOTAL}.
+         *
+         * @param maxTotal maximum number of objects, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maxTotal(int maxTotal) {
+
+            LettuceAssert.isTrue(maxTotal > 0, "Max total must be greater 0");
+
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * Maximum number of idle objects in the pool. Objects released to a pool that holds {@code maxIdle} idle objects are
+         * disposed. Defaults to {@link BoundedPoolConfig#DEFAULT_MAX_IDLE}.
+         *
+         * @param maxIdle maximum number of idle objects, must be greater or equal {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maxIdle(int maxIdle) {
+
+            LettuceAssert.isTrue(maxIdle >= 0, "Max idle must be greater or equal 0");
+
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * Minimum number of idle objects. The pool creates objects ahead of demand in the background to keep at least
+         * {@code minIdle} idle objects. Defaults to {@link BoundedPoolConfig#DEFAULT_MIN_IDLE}.
+         *
+         * @param minIdle minimum number of idle objects, must be greater or equal {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder minIdle(int minIdle) {
+
+            LettuceAssert.isTrue(minIdle >= 0, "Min idle must be greater or equal 0");
+
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * Enables validation of objects before they are handed out by the pool. Defaults to
+         * {@link BoundedPoolConfig#DEFAULT_TEST_ON_ACQUIRE}.
+         *
+         * @param testOnAcquire {@literal true} to validate objects on acquire.
+         * @return {@code this}
+         */
+        public Builder testOnAcquire(boolean testOnAcquire) {
+
+            this.testOnAcquire = testOnAcquire;
+            return this;
+        }
+
+        /**
+         * Enables validation of objects when they are returned to the pool. Defaults to
+         * {@link BoundedPoolConfig#DEFAULT_TEST_ON_RELEASE}.
+         *
+         * @param testOnRelease {@literal true} to validate objects on release.
+         * @return {@code this}
+         */
+        public Builder testOnRelease(boolean testOnRelease) {
+
+            this.testOnRelease = testOnRelease;
+            return this;
+        }
+
+        /**
+         * Prefer the object that was last released by a Netty event loop thread when the same thread acquires an object.
+         * Objects released from a response callback are released on the event loop of their connection so subsequent
+         * acquisitions from that event loop keep using a connection that is served by the same thread. Defaults to
+         * {@link BoundedPoolConfig#DEFAULT_EVENT_LOOP_AFFINITY}.
+         *
+         * @param eventLoopAffinity {@literal true} to enable event loop affinity.
+         * @return {@code this}
+         */
+        public Builder eventLoopAffinity(boolean eventLoopAffinity) {
+
+            this.eventLoopAffinity = eventLoopAffinity;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link BoundedPoolConfig}.
+         *
+         * @return new instance of {@link BoundedPoolConfig}
+         */
+        public BoundedPoolConfig build() {
+
+            LettuceAssert.isTrue(minIdle <= maxTotal, "Min idle must be less or equal to max total");
+
+            return new BoundedPoolConfig(this);
+        }
+    }
+
+    /**
+     * @return the maximum number of objects that can be allocated by the pool.
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * @return the maximum number of idle objects.
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return the minimum number of idle objects.
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * @return {@literal true} if objects are validated on acquire.
+     */
+    public boolean isTestOnAcquire() {
+        return testOnAcquire;
+    }
+
+    /**
+     * @return {@literal true} if objects are validated on release.
+     */
+    public boolean isTestOnRelease() {
+        return testOnRelease;
+    }
+
+    /**
+     * @return {@literal true} if event loop affinity is enabled.
+     */
+    public boolean isEventLoopAffinity() {
+        return eventLoopAffinity;
+    }
+}
@@ -19,7 +19,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -32,14 +34,17 @@ import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.commons.pool2.impl.SoftReferenceObjectPool;
 
 import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.PooledStatefulRedisConnection;
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.StatefulRedisConnectionImpl;
 import com.lambdaworks.redis.api.StatefulConnection;
 import com.lambdaworks.redis.internal.AbstractInvocationHandler;
 import com.lambdaworks.redis.internal.LettuceAssert;
 
 /**
- * Connection pool support for {@link GenericObjectPool} and {@link SoftReferenceObjectPool}. Connection pool creation requires
- * a {@link Supplier} that creates Redis connections. The pool can allocate either wrapped or direct connections.
+ * Connection pool support for {@link GenericObjectPool}, {@link SoftReferenceObjectPool} and {@link BoundedAsyncPool}.
+ * Connection pool creation requires a {@link Supplier} that creates Redis connections. The pool can allocate either wrapped or
+ * direct connections.
  * <ul>
  * <li>Wrapped instances will return the connection back to the pool when called {@link StatefulConnection#close()}.</li>
  * <li>Regular connections need to be returned to the pool with {@link GenericObjectPool#returnObject(Object)}</li>
@@ -131,6 +136,12 @@ public abstract class ConnectionPoolSupport {
                     super.returnObject((T) ((HasTargetConnection) obj).getTargetConnection());
                     return;
                 }
+
+                if (wrapConnections && obj instanceof PooledStatefulRedisConnection) {
+                    ((PooledStatefulRedisConnection<?, ?>) obj).close();
+                    return;
+                }
+
                 super.returnObject(obj);
             }
         };
@@ -184,6 +195,12 @@ public abstract class ConnectionPoolSupport {
                     super.returnObject((T) ((HasTargetConnection) obj).getTargetConnection());
                     return;
                 }
+
+                if (wrapConnections && obj instanceof PooledStatefulRedisConnection) {
+                    ((PooledStatefulRedisConnection<?, ?>) obj).close();
+                    return;
+                }
+
                 super.returnObject(obj);
             }
         };
@@ -192,9 +209,45 @@ public abstract class ConnectionPoolSupport {
         return pool;
     }
 
+    /**
+     * Creates a new {@link BoundedAsyncPool} using the {@link Supplier}. Connections are created asynchronously and must be
+     * returned to the pool with {@link AsyncPool#release(Object)}.
+     *
+     * @param connectionSupplier must not be {@literal null}.
+     * @param config must not be {@literal null}.
+     * @param <T> connection type.
+     * @return the connection pool.
+     * @since 4.4
+     */
+    public static <T extends StatefulConnection<?, ?>> BoundedAsyncPool<T> createBoundedObjectPool(
+            Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config) {
+        return new BoundedAsyncPool<>(connectionSupplier, config);
+    }
+
+    /**
+     * Creates a new {@link BoundedAsyncPool} using the {@link Supplier}. Connections are created asynchronously and must be
+     * returned to the pool with {@link AsyncPool#release(Object)}. Disposed connections are closed using {@code closeExecutor}.
+     *
+     * @param connectionSupplier must not be {@literal null}.
+     * @param config must not be {@literal null}.
+     * @param closeExecutor must not be {@literal null}.
+     * @param <T> connection type.
+     * @return the connection pool.
+     * @since 4.4
+     */
+    public static <T extends StatefulConnection<?, ?>> BoundedAsyncPool<T> createBoundedObjectPool(
+            Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config, Executor closeExecutor) {
+        return new BoundedAsyncPool<>(connectionSupplier, config, closeExecutor);
+    }
+
     @SuppressWarnings("unchecked")
     private static <T> T wrapConnection(T connection, ObjectPool<T> pool) {
 
+        if (connection.getClass() == StatefulRedisConnectionImpl.class) {
+            return (T) new PooledStatefulRedisConnection<>((StatefulRedisConnectionImpl<?, ?>) connection,
+                    target -> returnObject(pool, (T) target));
+        }
+
         ReturnObjectOnCloseInvocationHandler<T> handler = new ReturnObjectOnCloseInvocationHandler<>(connection, pool);
 
         Class<?>[] implementedInterfaces = connection.getClass().getInterfaces();
@@ -208,6 +261,17 @@ public abstract class ConnectionPoolSupport {
         return proxiedConnection;
     }
 
+    private static <T> void returnObject(ObjectPool<T> pool, T connection) {
+
+        try {
+            pool.returnObject(connection);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RedisException(e.getMessage(), e);
+        }
+    }
+
     /**
      * @author Mark Paluch
      * @since 4.3
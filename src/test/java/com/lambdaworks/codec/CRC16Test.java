@@ -17,13 +17,18 @@ package com.lambdaworks.codec;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 @RunWith(Parameterized.class)
 public class CRC16Test {
 
@@ -47,9 +52,36 @@ public class CRC16Test {
         params(parameters, "AAAAAAAAAAAAAAAAAAAAAA".getBytes(), 0x92cd);
         params(parameters, "Hello, World!".getBytes(), 0x4FD6);
 
+        Random random = new Random(42);
+        for (int length : new int[] { 7, 8, 9, 15, 16, 17, 64, 100, 512 }) {
+
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            params(parameters, bytes, bitwiseCrc16(bytes));
+        }
+
         return parameters;
     }
 
+    /**
+     * Reference implementation calculating the CRC bit by bit without lookup tables.
+     */
+    private static int bitwiseCrc16(byte[] bytes) {
+
+        int crc = 0x0000;
+
+        for (byte b : bytes) {
+
+            crc ^= (b & 0xFF) << 8;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            crc &= 0xFFFF;
+        }
+
+        return crc;
+    }
+
     private static void params(List<Object[]> parameters, byte[] bytes, int expectation) {
         parameters.add(new Object[] { bytes, expectation, "0x" + Integer.toHexString(expectation).toUpperCase() });
     }
@@ -61,4 +93,42 @@ public class CRC16Test {
         assertThat(result).describedAs("Expects " + Integer.toHexString(expected)).isEqualTo(expected);
 
     }
+
+    @Test
+    public void testCRC16Range() throws Exception {
+
+        byte[] padded = new byte[bytes.length + 6];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+
+        assertThat(CRC16.crc16(padded, 3, bytes.length)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testCRC16ByteBuffer() throws Exception {
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        assertThat(CRC16.crc16(heap)).isEqualTo(expected);
+        assertThat(CRC16.crc16(direct)).isEqualTo(expected);
+        assertThat(CRC16.crc16(heap.asReadOnlyBuffer())).isEqualTo(expected);
+        assertThat(direct.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCRC16ByteBuf() throws Exception {
+
+        ByteBuf heap = Unpooled.wrappedBuffer(bytes);
+        ByteBuf direct = Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+
+        try {
+            assertThat(CRC16.crc16(heap)).isEqualTo(expected);
+            assertThat(CRC16.crc16(direct)).isEqualTo(expected);
+            assertThat(direct.readerIndex()).isEqualTo(0);
+        } finally {
+            heap.release();
+            direct.release();
+        }
+    }
 }
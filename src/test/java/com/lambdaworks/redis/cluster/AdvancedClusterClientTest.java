@@ -555,6 +555,49 @@ public class AdvancedClusterClientTest extends AbstractClusterTest {
 
     }
 
+    @Test
+    public void parallelClusterScan() throws Exception {
+
+        RedisAdvancedClusterCommands<String, String> sync = commands.getStatefulConnection().sync();
+        sync.mset(KeysAndValues.MAP);
+
+        Set<String> allKeys = new HashSet<>();
+
+        KeyScanCursor<String> scanCursor = null;
+
+        do {
+            if (scanCursor == null) {
+                scanCursor = sync.scan(ClusterScanArgs.Builder.parallelism(2).limit(50));
+            } else {
+                scanCursor = sync.scan(scanCursor);
+            }
+            allKeys.addAll(scanCursor.getKeys());
+        } while (!scanCursor.isFinished());
+
+        assertThat(allKeys).containsAll(KeysAndValues.KEYS);
+    }
+
+    @Test
+    public void parallelClusterScanResumedFromCursorId() throws Exception {
+
+        RedisAdvancedClusterCommands<String, String> sync = commands.getStatefulConnection().sync();
+        sync.mset(KeysAndValues.MAP);
+
+        ListStreamingAdapter<String> adapter = new ListStreamingAdapter<>();
+        ClusterScanArgs scanArgs = ClusterScanArgs.Builder.parallelism(4);
+
+        StreamScanCursor scanCursor = null;
+        do {
+            if (scanCursor == null) {
+                scanCursor = sync.scan(adapter, scanArgs);
+            } else {
+                scanCursor = sync.scan(adapter, ScanCursor.of(scanCursor.getCursor()), scanArgs);
+            }
+        } while (!scanCursor.isFinished());
+
+        assertThat(adapter.getList()).containsAll(KeysAndValues.KEYS);
+    }
+
     @Test
     public void clusterScanStreaming() throws Exception {
 
@@ -31,7 +31,7 @@ public class ClusterClientOptionsTest {
 
         ClusterClientOptions options = ClusterClientOptions.builder().closeStaleConnections(true).refreshClusterView(true)
                 .autoReconnect(false).requestQueueSize(100).suspendReconnectOnProtocolFailure(true).maxRedirects(1234)
-                .validateClusterNodeMembership(false).build();
+                .validateClusterNodeMembership(false).warmUpConnections(true).build();
 
         ClusterClientOptions copy = ClusterClientOptions.copyOf(options);
 
@@ -45,6 +45,7 @@ public class ClusterClientOptionsTest {
         assertThat(copy.isCancelCommandsOnReconnectFailure()).isEqualTo(options.isCancelCommandsOnReconnectFailure());
         assertThat(copy.isSuspendReconnectOnProtocolFailure()).isEqualTo(options.isSuspendReconnectOnProtocolFailure());
         assertThat(copy.getMaxRedirects()).isEqualTo(options.getMaxRedirects());
+        assertThat(copy.isWarmUpConnections()).isEqualTo(options.isWarmUpConnections());
     }
 
     @Test
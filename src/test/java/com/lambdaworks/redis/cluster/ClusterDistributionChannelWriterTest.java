@@ -16,16 +16,59 @@
 package com.lambdaworks.redis.cluster;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
-import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.RedisChannelWriter;
+import com.lambdaworks.redis.StatefulRedisConnectionImpl;
+import com.lambdaworks.redis.codec.StringCodec;
 import com.lambdaworks.redis.internal.HostAndPort;
+import com.lambdaworks.redis.output.IntegerOutput;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandArgs;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * @author Mark Paluch
  */
+@RunWith(MockitoJUnitRunner.class)
 public class ClusterDistributionChannelWriterTest {
 
+    @Mock
+    private RedisChannelWriter<String, String> defaultWriter;
+
+    @Mock
+    private RedisChannelWriter<String, String> nodeWriter1;
+
+    @Mock
+    private RedisChannelWriter<String, String> nodeWriter2;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection1;
+
+    @Mock
+    private StatefulRedisConnectionImpl<String, String> connection2;
+
+    @Mock
+    private ClusterConnectionProvider clusterConnectionProvider;
+
+    @Mock
+    private ClusterEventListener clusterEventListener;
+
     @Test
     public void shouldParseAskTargetCorrectly() throws Exception {
 
@@ -61,4 +104,113 @@ public class ClusterDistributionChannelWriterTest {
         assertThat(moveTarget.getHostText()).isEqualTo("1:2:3:4::6");
         assertThat(moveTarget.getPort()).isEqualTo(6381);
     }
+
+    @Test
+    public void shouldParseRedirectSlot() throws Exception {
+
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED 1234 127.0.0.1:6381")).isEqualTo(1234);
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("ASK 0 127.0.0.1:6381")).isEqualTo(0);
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED 16383 127.0.0.1:6381")).isEqualTo(16383);
+    }
+
+    @Test
+    public void shouldRejectInvalidRedirectSlot() throws Exception {
+
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED 16384 127.0.0.1:6381")).isEqualTo(-1);
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED 99999999999 127.0.0.1:6381")).isEqualTo(-1);
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED -1 127.0.0.1:6381")).isEqualTo(-1);
+        assertThat(ClusterDistributionChannelWriter.getRedirectSlot("MOVED  127.0.0.1:6381")).isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldRedirectMovedCommandAndUpdateSlot() {
+
+        ClusterDistributionChannelWriter<String, String> sut = new ClusterDistributionChannelWriter<>(ClientOptions.create(),
+                defaultWriter, ClusterEventListener.NO_OP);
+        sut.setClusterConnectionProvider(clusterConnectionProvider);
+
+        doReturn(CompletableFuture.completedFuture(connection2)).when(clusterConnectionProvider).getConnectionAsync(
+                ClusterConnectionProvider.Intent.WRITE, "127.0.0.1", 6381);
+        when(connection2.getChannelWriter()).thenReturn(nodeWriter2);
+
+        ClusterCommand<String, String, Long> command = new ClusterCommand<>(del("a"), sut, 5);
+        command.getOutput().setError("MOVED 1234 127.0.0.1:6381");
+
+        sut.write(command);
+
+        verify(clusterConnectionProvider).redirectSlot(1234, "127.0.0.1", 6381);
+        verify(nodeWriter2).write(command);
+        verify(defaultWriter, never()).write(any(RedisCommand.class));
+        assertThat(command.getError()).isNull();
+    }
+
+    @Test
+    public void shouldRefreshTopologyOnMovedCommandWithInvalidSlot() {
+
+        ClusterDistributionChannelWriter<String, String> sut = new ClusterDistributionChannelWriter<>(ClientOptions.create(),
+                defaultWriter, clusterEventListener);
+        sut.setClusterConnectionProvider(clusterConnectionProvider);
+
+        doReturn(CompletableFuture.completedFuture(connection2)).when(clusterConnectionProvider).getConnectionAsync(
+                ClusterConnectionProvider.Intent.WRITE, "127.0.0.1", 6381);
+        when(connection2.getChannelWriter()).thenReturn(nodeWriter2);
+
+        ClusterCommand<String, String, Long> command = new ClusterCommand<>(del("a"), sut, 5);
+        command.getOutput().setError("MOVED 16384 127.0.0.1:6381");
+
+        sut.write(command);
+
+        verify(clusterConnectionProvider, never()).redirectSlot(anyInt(), anyString(), anyInt());
+        verify(clusterEventListener).onInvalidRedirection();
+        verify(nodeWriter2).write(command);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void shouldWriteBatchGroupedByNode() {
+
+        ClusterDistributionChannelWriter<String, String> sut = new ClusterDistributionChannelWriter<>(ClientOptions.create(),
+                defaultWriter, ClusterEventListener.NO_OP);
+        sut.setClusterConnectionProvider(clusterConnectionProvider);
+
+        doReturn(connection1).when(clusterConnectionProvider).getConnection(ClusterConnectionProvider.Intent.WRITE,
+                SlotHash.getSlot("a"));
+        doReturn(connection2).when(clusterConnectionProvider).getConnection(ClusterConnectionProvider.Intent.WRITE,
+                SlotHash.getSlot("b"));
+        doReturn(connection1).when(clusterConnectionProvider).getConnection(ClusterConnectionProvider.Intent.WRITE,
+                SlotHash.getSlot("c"));
+        when(connection1.getChannelWriter()).thenReturn(nodeWriter1);
+        when(connection2.getChannelWriter()).thenReturn(nodeWriter2);
+
+        Command<String, String, Long> a = del("a");
+        Command<String, String, Long> b = del("b");
+        Command<String, String, Long> c = del("c");
+
+        Collection<RedisCommand<String, String, ?>> written = sut.write(Arrays.asList(a, b, c));
+
+        ArgumentCaptor<Collection> node1Batch = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Collection> node2Batch = ArgumentCaptor.forClass(Collection.class);
+
+        verify(nodeWriter1).write(node1Batch.capture());
+        verify(nodeWriter2).write(node2Batch.capture());
+        verify(defaultWriter, never()).write(any(RedisCommand.class));
+
+        assertThat(written).hasSize(3).allMatch(ClusterCommand.class::isInstance);
+        assertThat(unwrap(node1Batch.getValue())).containsExactly(a, c);
+        assertThat(unwrap(node2Batch.getValue())).containsExactly(b);
+    }
+
+    private static Command<String, String, Long> del(String key) {
+        return new Command<>(CommandType.DEL, new IntegerOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey(key));
+    }
+
+    private static List<Object> unwrap(Collection<RedisCommand<String, String, ?>> commands) {
+
+        List<Object> result = new ArrayList<>();
+        for (RedisCommand<String, String, ?> command : commands) {
+            result.add(((ClusterCommand<String, String, ?>) command).getDelegate());
+        }
+        return result;
+    }
 }
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.when;
 import java.util.Queue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -69,6 +70,7 @@ new Command<>(CommandType.APPEND,
     @Before
     public void before() throws Exception {
 
+        when(clientOptions.getCommandTimeoutUnit()).thenReturn(TimeUnit.SECONDS);
         sut = new ClusterNodeCommandHandler(clientOptions, clientResources, queue, clusterChannelWriter);
     }
 
@@ -107,7 +109,7 @@ new Command<>(CommandType.APPEND,
 
         when(clientOptions.isAutoReconnect()).thenReturn(true);
         queue.add(command);
-        when(clusterChannelWriter.write(any())).thenThrow(new RedisException("meh"));
+        when(clusterChannelWriter.write(any(RedisCommand.class))).thenThrow(new RedisException("meh"));
 
         sut.close();
 
@@ -156,7 +158,7 @@ new Command<>(CommandType.APPEND,
         when(clientOptions.getRequestQueueSize()).thenReturn(1000);
         when(clientOptions.getDisconnectedBehavior()).thenReturn(ClientOptions.DisconnectedBehavior.ACCEPT_COMMANDS);
         sut.write(command);
-        when(clusterChannelWriter.write(any())).thenThrow(new RedisException(""));
+        when(clusterChannelWriter.write(any(RedisCommand.class))).thenThrow(new RedisException(""));
 
         sut.close();
 
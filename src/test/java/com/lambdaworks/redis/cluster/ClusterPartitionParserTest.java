@@ -72,6 +72,8 @@ public class ClusterPartitionParserTest {
         assertThat(p1.getSlots(), hasItem(12002));
         assertThat(p1.getSlots(), hasItem(12003));
         assertThat(p1.getSlots(), hasItem(16383));
+        assertThat(p1.getSlotCount()).isEqualTo(4384);
+        assertThat(p1.hasSlot(12001)).isFalse();
 
         RedisClusterNode p3 = result.getPartitions().get(2);
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.cluster.ClusterRoutingTable.Route;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+
+/**
+ * @author Mark Paluch
+ */
+@SuppressWarnings("unchecked")
+public class ClusterRoutingTableTest {
+
+    @Test
+    public void shouldRouteSlotsToMasters() {
+
+        Partitions partitions = partitions(8192, 6380);
+
+        ClusterRoutingTable<String, String> table = ClusterRoutingTable.create(partitions, null);
+
+        assertThat(table.getRoute(0).getNodeId()).isEqualTo("a");
+        assertThat(table.getRoute(8191).getNodeId()).isEqualTo("a");
+        assertThat(table.getRoute(8192).getNodeId()).isEqualTo("b");
+        assertThat(table.getRoute(0)).isSameAs(table.getRoute(1));
+        assertThat(table.getRoute(0).getReadCandidates()).extracting("nodeId").containsExactly("a", "a-slave");
+        assertThat(table.getRoutes()).hasSize(2);
+        assertThat(table.getChangedSlots()).isEqualTo(SlotHash.SLOT_COUNT);
+    }
+
+    @Test
+    public void shouldRetainRoutesOfUnchangedMasters() {
+
+        ClusterRoutingTable<String, String> previous = ClusterRoutingTable.create(partitions(8192, 6380), null);
+        StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+        previous.getRoute(0).setWriter(connection);
+
+        ClusterRoutingTable<String, String> table = ClusterRoutingTable.create(partitions(8000, 6380), previous);
+
+        assertThat(table.getRoute(0)).isSameAs(previous.getRoute(0));
+        assertThat(table.getRoute(0).getWriter()).isSameAs(connection);
+        assertThat(table.getRoute(8000)).isSameAs(previous.getRoute(8192));
+        assertThat(table.getChangedSlots()).isEqualTo(192);
+    }
+
+    @Test
+    public void shouldReplaceRoutesOfChangedMasters() {
+
+        ClusterRoutingTable<String, String> previous = ClusterRoutingTable.create(partitions(8192, 6380), null);
+
+        ClusterRoutingTable<String, String> table = ClusterRoutingTable.create(partitions(8192, 6390), previous);
+
+        assertThat(table.getRoute(0)).isSameAs(previous.getRoute(0));
+        assertThat(table.getRoute(8192)).isNotSameAs(previous.getRoute(8192));
+        assertThat(table.getRoute(8192).getUri().getPort()).isEqualTo(6390);
+        assertThat(table.getChangedSlots()).isEqualTo(8192);
+    }
+
+    @Test
+    public void withoutReadersShouldRetainWriters() {
+
+        ClusterRoutingTable<String, String> previous = ClusterRoutingTable.create(partitions(8192, 6380), null);
+        StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+        Route<String, String> route = previous.getRoute(0);
+        route.setWriter(connection);
+        route.setReaders(new StatefulRedisConnection[] { connection });
+
+        ClusterRoutingTable<String, String> table = previous.withoutReaders();
+
+        assertThat(table.getRoute(0)).isNotSameAs(route).isSameAs(table.getRoute(1));
+        assertThat(table.getRoute(0).getWriter()).isSameAs(connection);
+        assertThat(table.getRoute(0).getReaders()).isNull();
+        assertThat(table.getRoutes()).hasSize(2);
+    }
+
+    @Test
+    public void shouldRedirectSingleSlot() {
+
+        ClusterRoutingTable<String, String> previous = ClusterRoutingTable.create(partitions(8192, 6380), null);
+
+        ClusterRoutingTable<String, String> table = previous.withRedirect(100, "localhost", 6380);
+
+        assertThat(table.getRoute(100)).isSameAs(previous.getRoute(8192));
+        assertThat(table.getRoute(99)).isSameAs(previous.getRoute(99));
+        assertThat(previous.getRoute(100).getNodeId()).isEqualTo("a");
+        assertThat(table.withRedirect(100, "localhost", 6380)).isSameAs(table);
+        assertThat(table.withRedirect(100, "localhost", 7000)).isSameAs(table);
+    }
+
+    private static Partitions partitions(int splitSlot, int portB) {
+
+        Partitions partitions = new Partitions();
+        partitions.addAll(Arrays.asList(node("a", 6379, null, slots(0, splitSlot)),
+                node("b", portB, null, slots(splitSlot, SlotHash.SLOT_COUNT)),
+                node("a-slave", 6381, "a", Collections.emptyList())));
+
+        return partitions;
+    }
+
+    private static RedisClusterNode node(String nodeId, int port, String slaveOf, List<Integer> slots) {
+        return new RedisClusterNode(RedisURI.create("localhost", port), nodeId, true, slaveOf, 0, 0, 0, slots,
+                Collections.singleton(slaveOf == null ? RedisClusterNode.NodeFlag.MASTER : RedisClusterNode.NodeFlag.SLAVE));
+    }
+
+    private static List<Integer> slots(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(Collectors.toList());
+    }
+}
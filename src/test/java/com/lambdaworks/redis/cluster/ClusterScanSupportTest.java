@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.KeyScanCursor;
+import com.lambdaworks.redis.ScanCursor;
+import com.lambdaworks.redis.cluster.ClusterScanSupport.ParallelScanState;
+
+/**
+ * @author Mark Paluch
+ */
+public class ClusterScanSupportTest {
+
+    @Test
+    public void shouldScanActiveNodes() {
+
+        ParallelScanState state = new ParallelScanState(Arrays.asList("a", "b", "c"), Collections.emptyMap(), 2);
+
+        assertThat(state.getActiveNodeIds()).containsExactly("a", "b");
+        assertThat(state.getCursor("a")).isSameAs(ScanCursor.INITIAL);
+        assertThat(state.encode()).isEqualTo("a:0,b:0,c:0");
+    }
+
+    @Test
+    public void shouldReplaceFinishedNodes() {
+
+        ParallelScanState state = new ParallelScanState(Arrays.asList("a", "b", "c"), Collections.emptyMap(), 2);
+
+        ParallelScanState next = state.next(Arrays.asList(new ScanCursor("0", true), new ScanCursor("17", false)));
+
+        assertThat(next.getActiveNodeIds()).containsExactly("b", "c");
+        assertThat(next.getCursor("b").getCursor()).isEqualTo("17");
+        assertThat(next.getCursor("c")).isSameAs(ScanCursor.INITIAL);
+        assertThat(next.isFinished()).isFalse();
+
+        ParallelScanState last = next.next(Arrays.asList(new ScanCursor("0", true), new ScanCursor("0", true)));
+
+        assertThat(last.isFinished()).isTrue();
+        assertThat(last.encode()).isEqualTo("0");
+    }
+
+    @Test
+    public void shouldDecodeEncodedState() {
+
+        ParallelScanState state = ParallelScanState.decode("a:0,b:42", 4);
+
+        assertThat(state.getActiveNodeIds()).containsExactly("a", "b");
+        assertThat(state.getCursor("a")).isSameAs(ScanCursor.INITIAL);
+        assertThat(state.getCursor("b").getCursor()).isEqualTo("42");
+        assertThat(state.getParallelism()).isEqualTo(4);
+        assertThat(ParallelScanState.decode(state.encode(), 4).encode()).isEqualTo("a:0,b:42");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMalformedState() {
+        ParallelScanState.decode("a", 1);
+    }
+
+    @Test
+    public void shouldMergeKeys() {
+
+        KeyScanCursor<String> first = new KeyScanCursor<>();
+        first.getKeys().add("key1");
+        KeyScanCursor<String> second = new KeyScanCursor<>();
+        second.getKeys().add("key2");
+
+        ParallelScanState state = new ParallelScanState(Collections.singletonList("a"), Collections.singletonMap("a", "5"), 2);
+        KeyScanCursor<String> merged = ClusterScanSupport.<String> clusterKeyScanCursorMerger().merge(state,
+                Arrays.asList(first, second));
+
+        assertThat(merged.getKeys()).containsExactly("key1", "key2");
+        assertThat(merged.getCursor()).isEqualTo("a:5");
+        assertThat(merged.isFinished()).isFalse();
+        assertThat(ClusterScanSupport.isParallelScan(merged, null)).isTrue();
+    }
+}
@@ -163,6 +163,18 @@ public class ClusterTopologyRefreshSchedulerTest {
         verify(eventExecutors).submit(any(Runnable.class));
     }
 
+    @Test
+    public void shouldTriggerRefreshOnInvalidRedirection() throws Exception {
+
+        ClusterClientOptions clusterClientOptions = ClusterClientOptions.builder()
+                .topologyRefreshOptions(ClusterTopologyRefreshOptions.create()).build();
+
+        when(clusterClient.getClusterClientOptions()).thenReturn(clusterClientOptions);
+
+        sut.onInvalidRedirection();
+        verify(eventExecutors).submit(any(Runnable.class));
+    }
+
     @Test
     public void shouldTriggerRefreshOnReconnect() throws Exception {
 
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -49,6 +50,7 @@ import com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.internal.LettuceLists;
 import com.lambdaworks.redis.protocol.AsyncCommand;
 import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandType;
@@ -76,6 +78,9 @@ public class PooledClusterConnectionProviderTest {
     @Mock
     StatefulRedisConnection<String, String> nodeConnectionMock;
 
+    @Mock
+    StatefulRedisConnection<String, String> nodeConnectionMock2;
+
     @Mock
     RedisCommands<String, String> commandsMock;
 
@@ -197,6 +202,90 @@ public class PooledClusterConnectionProviderTest {
         verify(clientMock, times(2)).connectToNodeAsync(eq(CODEC), eq("localhost:2"), any(), any());
     }
 
+    @Test
+    public void shouldRetainConnectionsOfUnchangedRoutes() {
+
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)));
+
+        StatefulRedisConnection<String, String> connection = sut.getConnection(Intent.WRITE, 1);
+
+        partitions.reload(LettuceLists.newList(partitions));
+        sut.setPartitions(partitions);
+
+        assertThat(sut.getConnection(Intent.WRITE, 2)).isSameAs(connection);
+        verify(clientMock).connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any());
+    }
+
+    @Test
+    public void shouldReplaceClosedConnectionOfRetainedRoute() {
+
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)),
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock2)));
+        when(nodeConnectionMock2.isOpen()).thenReturn(true);
+
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock);
+
+        RedisClusterNode node = partitions.getPartitionByNodeId("1");
+        node.setUri(RedisURI.create("localhost", 3));
+        sut.closeStaleConnections();
+        node.setUri(RedisURI.create("localhost", 1));
+
+        verify(nodeConnectionMock).close();
+
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock2);
+        assertThat(sut.getConnection(Intent.WRITE, 2)).isSameAs(nodeConnectionMock2);
+        verify(clientMock, times(2)).connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any());
+    }
+
+    @Test
+    public void shouldWarmUpConnections() {
+
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)));
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:2"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)));
+
+        sut.warmUp().join();
+
+        verify(clientMock).connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any());
+        verify(clientMock).connectToNodeAsync(eq(CODEC), eq("localhost:2"), any(), any());
+
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock);
+        verify(clientMock).connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any());
+    }
+
+    @Test
+    public void shouldCloseStaleConnectionsAfterWarmUp() {
+
+        CompletableFuture<StatefulRedisConnection<String, String>> warmUp = new CompletableFuture<>();
+
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(nodeConnectionMock)));
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:3"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, warmUp));
+        when(clientMock.getClusterClientOptions()).thenReturn(ClusterClientOptions.builder().warmUpConnections(true).build());
+        when(clientMock.expireStaleConnections()).thenReturn(true);
+
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock);
+
+        Partitions partitions = new Partitions();
+        partitions.add(new RedisClusterNode(RedisURI.create("localhost", 3), "3", true, null, 0, 0, 0, IntStream
+                .range(0, SlotHash.SLOT_COUNT).boxed().collect(Collectors.toList()), Collections
+                .singleton(RedisClusterNode.NodeFlag.MASTER)));
+
+        sut.setPartitions(partitions);
+
+        verify(nodeConnectionMock, never()).close();
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock);
+
+        warmUp.complete(nodeConnectionMock2);
+
+        verify(nodeConnectionMock).close();
+        assertThat(sut.getConnection(Intent.WRITE, 1)).isSameAs(nodeConnectionMock2);
+    }
+
     @Test
     public void shouldCloseConnections() {
 
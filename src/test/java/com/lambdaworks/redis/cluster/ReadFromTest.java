@@ -81,6 +81,15 @@ public class ReadFromTest {
         assertThat(result).hasSize(3).containsExactly(nearest, master, slave);
     }
 
+    @Test
+    public void adaptive() throws Exception {
+
+        List<RedisNodeDescription> result = ReadFrom.ADAPTIVE.select(getNodes());
+        assertThat(result).hasSize(2).containsExactly(nearest, slave);
+        assertThat(ReadFrom.ADAPTIVE.isAdaptive()).isTrue();
+        assertThat(ReadFrom.SLAVE.isAdaptive()).isFalse();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void valueOfNull() throws Exception {
         ReadFrom.valueOf(null);
@@ -111,6 +120,11 @@ public class ReadFromTest {
         assertThat(ReadFrom.valueOf("slave")).isEqualTo(ReadFrom.SLAVE);
     }
 
+    @Test
+    public void valueOfAdaptive() throws Exception {
+        assertThat(ReadFrom.valueOf("adaptive")).isEqualTo(ReadFrom.ADAPTIVE);
+    }
+
     private ReadFrom.Nodes getNodes() {
         return new ReadFrom.Nodes() {
             @Override
@@ -17,8 +17,21 @@ package com.lambdaworks.redis.cluster;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Test;
 
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.protocol.CommandArgs;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author Mark Paluch
  * @since 3.0
@@ -38,4 +51,69 @@ public class SlotHashTest {
         assertThat(result).isEqualTo(0x31C3);
 
     }
+
+    @Test
+    public void shouldPartitionKeysAndRecordSlots() throws Exception {
+
+        List<String> keys = Arrays.asList("a", "b", "{a}1", "a");
+        int[] slots = new int[keys.size()];
+
+        Map<Integer, List<String>> partitioned = SlotHash.partition(StringCodec.UTF8, keys, slots);
+
+        int slotA = SlotHash.getSlot("a");
+        int slotB = SlotHash.getSlot("b");
+
+        assertThat(slots).containsExactly(slotA, slotB, slotA, slotA);
+        assertThat(partitioned).hasSize(2);
+        assertThat(partitioned.get(slotA)).containsExactly("a", "{a}1", "a");
+        assertThat(partitioned.get(slotB)).containsExactly("b");
+    }
+
+    @Test
+    public void shouldHashBuffersWithoutChangingTheirPosition() throws Exception {
+
+        ByteBuffer heap = ByteBuffer.wrap("xxkey{123456789}a".getBytes());
+        heap.position(2);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(20);
+        direct.put("xxkey{123456789}a".getBytes()).flip();
+        direct.position(2);
+
+        assertThat(SlotHash.getSlot(heap)).isEqualTo(0x31C3);
+        assertThat(SlotHash.getSlot(direct)).isEqualTo(0x31C3);
+        assertThat(SlotHash.getSlot(ByteBuffer.wrap("123456789".getBytes()).asReadOnlyBuffer())).isEqualTo(0x31C3);
+        assertThat(heap.position()).isEqualTo(2);
+        assertThat(direct.position()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldHashByteBuf() throws Exception {
+
+        ByteBuf heap = Unpooled.copiedBuffer("xxkey{123456789}a".getBytes());
+        heap.readerIndex(2);
+
+        ByteBuf direct = Unpooled.directBuffer().writeBytes("123456789".getBytes());
+
+        try {
+            assertThat(SlotHash.getSlot(heap)).isEqualTo(0x31C3);
+            assertThat(SlotHash.getSlot(direct)).isEqualTo(0x31C3);
+            assertThat(heap.readerIndex()).isEqualTo(2);
+        } finally {
+            heap.release();
+            direct.release();
+        }
+    }
+
+    @Test
+    public void shouldHashFirstKeyOfCommandArgs() throws Exception {
+
+        int expected = SlotHash.getSlot("key{123456789}a");
+
+        assertThat(SlotHash.getSlot(new CommandArgs<>(StringCodec.UTF8).addKey("key{123456789}a").addKey("b")))
+                .isEqualTo(expected);
+        assertThat(SlotHash.getSlot(new CommandArgs<>(new Utf8StringCodec()).addKey("key{123456789}a"))).isEqualTo(expected);
+        assertThat(SlotHash.getSlot(new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey("key{123456789}a".getBytes())))
+                .isEqualTo(expected);
+        assertThat(SlotHash.getSlot(new CommandArgs<>(StringCodec.UTF8).add("value"))).isEqualTo(-1);
+    }
 }
@@ -17,6 +17,10 @@ package com.lambdaworks.redis.cluster.models.partitions;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Test;
 
 import com.lambdaworks.redis.RedisURI;
@@ -40,4 +44,77 @@ public class RedisClusterNodeTest {
 
         assertThat(node.toString()).contains(RedisClusterNode.class.getSimpleName());
     }
+
+    @Test
+    public void shouldLookupSlots() throws Exception {
+
+        RedisClusterNode node = new RedisClusterNode();
+        node.setSlots(Arrays.asList(1, 2, 16383));
+
+        assertThat(node.hasSlot(1)).isTrue();
+        assertThat(node.hasSlot(16383)).isTrue();
+        assertThat(node.hasSlot(3)).isFalse();
+        assertThat(node.hasSlot(-1)).isFalse();
+        assertThat(node.hasSlot(16384)).isFalse();
+        assertThat(node.getSlotCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void slotViewShouldReflectBitmap() throws Exception {
+
+        RedisClusterNode node = new RedisClusterNode();
+        node.setSlots(Arrays.asList(5, 1, 5, 3));
+
+        List<Integer> slots = node.getSlots();
+
+        assertThat(slots).containsExactly(1, 3, 5);
+        assertThat(slots.get(2)).isEqualTo(5);
+
+        slots.add(4);
+        slots.remove(Integer.valueOf(1));
+
+        assertThat(node.getSlots()).containsExactly(3, 4, 5);
+        assertThat(node.hasSlot(4)).isTrue();
+        assertThat(node.hasSlot(1)).isFalse();
+
+        slots.clear();
+
+        assertThat(node.getSlots()).isEmpty();
+        assertThat(node.getSlotCount()).isZero();
+    }
+
+    @Test
+    public void copyShouldNotShareSlots() throws Exception {
+
+        RedisClusterNode node = new RedisClusterNode();
+        node.setFlags(Collections.singleton(RedisClusterNode.NodeFlag.MASTER));
+        node.setSlots(Arrays.asList(1, 2));
+
+        RedisClusterNode copy = new RedisClusterNode(node);
+
+        assertThat(copy.hasSameSlotsAs(node)).isTrue();
+
+        copy.getSlots().add(3);
+
+        assertThat(node.hasSlot(3)).isFalse();
+        assertThat(copy.hasSameSlotsAs(node)).isFalse();
+    }
+
+    @Test
+    public void slotViewShouldReflectModifications() throws Exception {
+
+        RedisClusterNode node = new RedisClusterNode();
+        node.setSlots(Arrays.asList(5, 1, 3));
+
+        List<Integer> slots = node.getSlots();
+
+        assertThat(slots.get(1)).isEqualTo(3);
+
+        slots.add(2);
+        assertThat(slots.get(1)).isEqualTo(2);
+
+        node.setSlots(Arrays.asList(7, 8));
+        assertThat(slots.get(1)).isEqualTo(8);
+        assertThat(slots).containsExactly(7, 8);
+    }
 }
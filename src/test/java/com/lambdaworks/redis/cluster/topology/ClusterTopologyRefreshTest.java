@@ -47,6 +47,7 @@ import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
 import com.lambdaworks.redis.resource.ClientResources;
 import com.lambdaworks.redis.resource.DnsResolvers;
 
@@ -96,7 +97,7 @@ public class ClusterTopologyRefreshTest {
         when(connection1.async()).thenReturn(asyncCommands1);
         when(connection2.async()).thenReturn(asyncCommands2);
 
-        when(connection1.dispatch(any())).thenAnswer(invocation -> {
+        when(connection1.dispatch(any(RedisCommand.class))).thenAnswer(invocation -> {
 
             TimedAsyncCommand command = (TimedAsyncCommand) invocation.getArguments()[0];
             if (command.getType() == CommandType.CLUSTER) {
@@ -115,7 +116,7 @@ public class ClusterTopologyRefreshTest {
             return command;
         });
 
-        when(connection2.dispatch(any())).thenAnswer(invocation -> {
+        when(connection2.dispatch(any(RedisCommand.class))).thenAnswer(invocation -> {
 
             TimedAsyncCommand command = (TimedAsyncCommand) invocation.getArguments()[0];
             if (command.getType() == CommandType.CLUSTER) {
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.protocol.LettuceCharsets;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Mark Paluch
+ */
+public class ByteBufCodecTest {
+
+    private ByteBufCodec codec = ByteBufCodec.INSTANCE;
+
+    @Test
+    public void shouldEncodeWithoutConsumingArgument() {
+
+        ByteBuf value = Unpooled.copiedBuffer("value", LettuceCharsets.ASCII);
+        ByteBuf target = Unpooled.buffer();
+
+        assertThat(codec.estimateSize(value)).isEqualTo(5);
+        codec.encodeValue(value, target);
+
+        assertThat(target.toString(LettuceCharsets.ASCII)).isEqualTo("value");
+        assertThat(value.readableBytes()).isEqualTo(5);
+        assertThat(codec.encodeKey(value)).isEqualTo(ByteBuffer.wrap("value".getBytes()));
+    }
+
+    @Test
+    public void shouldRetainDecodedBuffer() {
+
+        ByteBuf bytes = Unpooled.copiedBuffer("value", LettuceCharsets.ASCII);
+
+        ByteBuf decoded = codec.decodeValue(bytes);
+        bytes.release();
+
+        assertThat(decoded.refCnt()).isEqualTo(1);
+        assertThat(decoded.toString(LettuceCharsets.ASCII)).isEqualTo("value");
+        assertThat(decoded.release()).isTrue();
+    }
+
+    @Test
+    public void shouldCopyDecodedByteBuffer() {
+
+        ByteBuf decoded = codec.decodeKey(ByteBuffer.wrap("key".getBytes()));
+
+        assertThat(decoded.toString(LettuceCharsets.ASCII)).isEqualTo("key");
+        assertThat(decoded.release()).isTrue();
+    }
+}
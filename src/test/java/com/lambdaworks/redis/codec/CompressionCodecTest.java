@@ -17,11 +17,18 @@ package com.lambdaworks.redis.codec;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Test;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author Mark Paluch
  */
@@ -74,6 +81,159 @@ public class CompressionCodecTest {
         sut.decodeValue(ByteBuffer.wrap(keyGzipBytes));
     }
 
+    @Test
+    public void snappyValueTest() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.SNAPPY);
+        String value = repeat("snappy-", 100);
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(byteBuffer.remaining()).isLessThan(value.length());
+
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test
+    public void snappyLargeValueTest() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.SNAPPY);
+
+        StringBuilder builder = new StringBuilder();
+        Random random = new Random(42);
+        while (builder.length() < 100 * 1024) {
+            builder.append("snappy-").append(random.nextInt(1000));
+        }
+        String value = builder.toString();
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(byteBuffer.remaining()).isLessThan(value.length());
+
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test
+    public void gzipDecodesStreamWithOptionalHeaderFields() throws Exception {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GZIPOutputStream stream = new GZIPOutputStream(bytes);
+        stream.write(value.getBytes("UTF-8"));
+        stream.close();
+
+        byte[] compressed = bytes.toByteArray();
+        byte[] withName = new byte[compressed.length + 4];
+        System.arraycopy(compressed, 0, withName, 0, 10);
+        withName[3] = 8; // FNAME
+        withName[10] = 'f';
+        withName[11] = 'o';
+        withName[12] = 'o';
+        withName[13] = 0;
+        System.arraycopy(compressed, 10, withName, 14, compressed.length - 10);
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.GZIP);
+
+        assertThat(sut.decodeValue(ByteBuffer.wrap(compressed))).isEqualTo(value);
+        assertThat(sut.decodeValue(ByteBuffer.wrap(withName))).isEqualTo(value);
+    }
+
+    @Test
+    public void deflateWithDictionaryValueTest() throws Exception {
+
+        byte[] dictionary = "{\"firstName\":\"\",\"lastName\":\"\"}".getBytes("UTF-8");
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.deflate(Deflater.BEST_COMPRESSION, dictionary));
+        RedisCodec<String, String> withoutDictionary = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.DEFLATE);
+
+        String value = "{\"firstName\":\"Walter\",\"lastName\":\"White\"}";
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+
+        assertThat(byteBuffer.remaining()).isLessThan(withoutDictionary.encodeValue(value).remaining());
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void deflateWithDictionaryRequiresDictionaryOnDecode() throws Exception {
+
+        byte[] dictionary = "dictionary".getBytes("UTF-8");
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.deflate(Deflater.DEFAULT_COMPRESSION, dictionary));
+        RedisCodec<String, String> withoutDictionary = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.DEFLATE);
+
+        withoutDictionary.decodeValue(sut.encodeValue("dictionary value"));
+    }
+
+    @Test
+    public void compressorsWithSameLevelDoNotShareDictionary() throws Exception {
+
+        byte[] dictionary = "dictionary".getBytes("UTF-8");
+        RedisCodec<String, String> withDictionary = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.deflate(Deflater.DEFAULT_COMPRESSION, dictionary));
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.deflate(Deflater.DEFAULT_COMPRESSION));
+
+        withDictionary.decodeValue(withDictionary.encodeValue("dictionary value"));
+
+        assertThat(toBytes(sut.encodeValue(key))).isEqualTo(keyDeflateBytes);
+        assertThat(sut.decodeValue(ByteBuffer.wrap(keyDeflateBytes))).isEqualTo(key);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidCompressionLevel() throws Exception {
+        CompressionCodec.gzip(10);
+    }
+
+    @Test
+    public void thresholdStoresSmallValuesUncompressed() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.GZIP, 64);
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(toBytes(byteBuffer.duplicate())).isEqualTo(new byte[] { 0, 'v', 'a', 'l', 'u', 'e' });
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test
+    public void thresholdCompressesLargeValues() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.GZIP, 64);
+        String value = repeat("value", 100);
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(byteBuffer.get(0)).isEqualTo((byte) 1);
+        assertThat(byteBuffer.remaining()).isLessThan(value.length());
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test
+    public void shouldEncodeToByteBuf() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(),
+                CompressionCodec.CompressionType.GZIP);
+
+        ByteBuf target = Unpooled.buffer();
+        ((ToByteBufEncoder<String, String>) sut).encodeValue(key, target);
+
+        byte[] bytes = new byte[target.readableBytes()];
+        target.readBytes(bytes);
+
+        assertThat(bytes).isEqualTo(keyGzipBytes);
+    }
+
+    private static String repeat(String value, int times) {
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
     private String toString(ByteBuffer buffer) throws IOException {
         byte[] bytes = toBytes(buffer);
         return new String(bytes, "UTF-8");
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.protocol.LettuceCharsets;
+
+/**
+ * @author Mark Paluch
+ */
+public class Utf8StringCodecTest {
+
+    String teststring = "hello üäü~∑†®†ª€∂‚¶¢ Wørld";
+    String teststringPlain = "hello uufadsfasdfadssdfadfs";
+
+    Utf8StringCodec codec = new Utf8StringCodec();
+
+    @Test
+    public void decodeAsciiHeapBuffer() throws Exception {
+
+        ByteBuffer buffer = ByteBuffer.wrap(teststringPlain.getBytes(LettuceCharsets.ASCII));
+
+        assertThat(codec.decodeKey(buffer)).isEqualTo(teststringPlain);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void decodeAsciiDirectBuffer() throws Exception {
+
+        ByteBuffer buffer = direct(teststringPlain.getBytes(LettuceCharsets.ASCII));
+
+        assertThat(codec.decodeValue(buffer)).isEqualTo(teststringPlain);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void decodeUtf8HeapBuffer() throws Exception {
+        assertThat(codec.decodeValue(ByteBuffer.wrap(teststring.getBytes(LettuceCharsets.UTF8)))).isEqualTo(teststring);
+    }
+
+    @Test
+    public void decodeUtf8DirectBuffer() throws Exception {
+        assertThat(codec.decodeValue(direct(teststring.getBytes(LettuceCharsets.UTF8)))).isEqualTo(teststring);
+    }
+
+    @Test
+    public void decodeSlicedBuffer() throws Exception {
+
+        ByteBuffer buffer = ByteBuffer.wrap(("xx" + teststringPlain + "yy").getBytes(LettuceCharsets.ASCII));
+        buffer.position(2).limit(buffer.limit() - 2);
+
+        assertThat(codec.decodeKey(buffer.slice())).isEqualTo(teststringPlain);
+        assertThat(codec.decodeKey(buffer)).isEqualTo(teststringPlain);
+    }
+
+    @Test
+    public void decodeHugeUtf8Buffer() throws Exception {
+
+        char[] huge = new char[8192];
+        Arrays.fill(huge, 'ü');
+        String value = new String(huge);
+
+        assertThat(codec.decodeValue(ByteBuffer.wrap(value.getBytes(LettuceCharsets.UTF8)))).isEqualTo(value);
+    }
+
+    @Test
+    public void decodeConcurrently() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Callable<Boolean> task = () -> {
+                for (int i = 0; i < 1000; i++) {
+                    String expected = (i % 2 == 0 ? teststring : teststringPlain) + i;
+                    if (!expected.equals(codec.decodeValue(ByteBuffer.wrap(expected.getBytes(LettuceCharsets.UTF8))))) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+
+            for (Future<Boolean> future : executor.invokeAll(Arrays.asList(task, task, task, task))) {
+                assertThat(future.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
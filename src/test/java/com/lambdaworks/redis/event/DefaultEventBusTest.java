@@ -17,13 +17,17 @@ package com.lambdaworks.redis.event;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import rx.Subscriber;
+import rx.Subscription;
 import rx.observers.TestSubscriber;
 import rx.schedulers.Schedulers;
 import rx.schedulers.TestScheduler;
@@ -51,4 +55,150 @@ public class DefaultEventBusTest {
 
         assertThat(subscriber.getOnNextEvents()).hasSize(1).contains(event);
     }
+
+    @Test
+    public void publishToMultipleSubscribers() throws Exception {
+
+        TestScheduler testScheduler = Schedulers.test();
+        EventBus sut = new DefaultEventBus(testScheduler);
+
+        TestSubscriber<Event> first = new TestSubscriber<>();
+        TestSubscriber<Event> second = new TestSubscriber<>();
+        sut.get().subscribe(first);
+        Subscription subscription = sut.get().subscribe(second);
+
+        sut.publish(event);
+        testScheduler.triggerActions();
+
+        subscription.unsubscribe();
+
+        sut.publish(event);
+        testScheduler.triggerActions();
+
+        assertThat(first.getOnNextEvents()).hasSize(2);
+        assertThat(second.getOnNextEvents()).hasSize(1);
+    }
+
+    @Test
+    public void shouldNotCreateEventWithoutSubscribers() throws Exception {
+
+        EventBus sut = new DefaultEventBus(Schedulers.immediate());
+        AtomicBoolean created = new AtomicBoolean();
+
+        sut.publish(() -> {
+            created.set(true);
+            return event;
+        });
+
+        assertThat(sut.hasSubscribers()).isFalse();
+        assertThat(created.get()).isFalse();
+
+        TestSubscriber<Event> subscriber = new TestSubscriber<>();
+        sut.get().subscribe(subscriber);
+
+        sut.publish(() -> {
+            created.set(true);
+            return event;
+        });
+
+        assertThat(created.get()).isTrue();
+        assertThat(subscriber.getOnNextEvents()).hasSize(1);
+    }
+
+    @Test
+    public void shouldDropEventsIfBufferIsFull() throws Exception {
+
+        TestScheduler testScheduler = Schedulers.test();
+        DefaultEventBus sut = new DefaultEventBus(testScheduler, 2);
+
+        TestSubscriber<Event> subscriber = new TestSubscriber<>();
+        sut.get().subscribe(subscriber);
+
+        sut.publish(event);
+        sut.publish(event);
+        sut.publish(event);
+
+        testScheduler.triggerActions();
+
+        assertThat(subscriber.getOnNextEvents()).hasSize(2);
+        assertThat(sut.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldDropEventsWithoutDemand() throws Exception {
+
+        DefaultEventBus sut = new DefaultEventBus(Schedulers.immediate());
+
+        TestSubscriber<Event> subscriber = new TestSubscriber<>(1);
+        sut.get().subscribe(subscriber);
+
+        sut.publish(event);
+        sut.publish(event);
+
+        assertThat(subscriber.getOnNextEvents()).hasSize(1);
+        assertThat(sut.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void shutdownShouldReleaseWorker() throws Exception {
+
+        TestScheduler testScheduler = Schedulers.test();
+        DefaultEventBus sut = new DefaultEventBus(testScheduler);
+
+        TestSubscriber<Event> subscriber = new TestSubscriber<>();
+        sut.get().subscribe(subscriber);
+
+        sut.publish(event);
+        sut.shutdown();
+        sut.publish(event);
+
+        testScheduler.triggerActions();
+
+        assertThat(subscriber.getOnNextEvents()).isEmpty();
+    }
+
+    @Test
+    public void slowSubscriberShouldNotDelayOtherSubscribers() throws Exception {
+
+        DefaultEventBus sut = new DefaultEventBus(Schedulers.newThread());
+
+        CountDownLatch slowSubscriberBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastSubscriberReceived = new CountDownLatch(2);
+
+        sut.get().subscribe(new Subscriber<Event>() {
+
+            @Override
+            public void onCompleted() {
+            }
+
+            @Override
+            public void onError(Throwable e) {
+            }
+
+            @Override
+            public void onNext(Event event) {
+
+                slowSubscriberBlocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        sut.get().subscribe(event -> fastSubscriberReceived.countDown());
+
+        try {
+
+            sut.publish(event);
+            assertThat(slowSubscriberBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            sut.publish(event);
+            assertThat(fastSubscriberReceived.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+            sut.shutdown();
+        }
+    }
 }
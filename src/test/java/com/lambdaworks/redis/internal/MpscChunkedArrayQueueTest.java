@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Paluch
+ */
+public class MpscChunkedArrayQueueTest {
+
+    @Test
+    public void shouldOfferAndPollAcrossChunks() {
+
+        MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+
+        assertThat(queue).hasSize(10).containsSequence(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(queue.peek()).isEqualTo(0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+
+        assertThat(queue.poll()).isNull();
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectOffersWhenFull() {
+
+        MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(2, 3);
+
+        assertThat(queue.offer(1)).isTrue();
+        assertThat(queue.offer(2)).isTrue();
+        assertThat(queue.offer(3)).isTrue();
+        assertThat(queue.offer(4)).isFalse();
+
+        queue.poll();
+
+        assertThat(queue.offer(4)).isTrue();
+        assertThat(queue).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    public void shouldRemoveElements() {
+
+        MpscChunkedArrayQueue<String> queue = new MpscChunkedArrayQueue<>(2);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+        queue.add("d");
+
+        assertThat(queue.remove("c")).isTrue();
+        assertThat(queue.remove("c")).isFalse();
+        assertThat(queue.remove("a")).isTrue();
+        assertThat(queue).hasSize(2).containsExactly("b", "d");
+
+        assertThat(queue.poll()).isEqualTo("b");
+        assertThat(queue.poll()).isEqualTo("d");
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    public void shouldReclaimSlotsOnOutOfOrderRemoval() {
+
+        MpscChunkedArrayQueue<String> queue = new MpscChunkedArrayQueue<>(2, 4);
+
+        for (int i = 0; i < 10000; i++) {
+
+            assertThat(queue.offer("a")).isTrue();
+            assertThat(queue.offer("b")).isTrue();
+            assertThat(queue.offer("c")).isTrue();
+
+            assertThat(queue.remove("c")).isTrue();
+            assertThat(queue.remove("b")).isTrue();
+            assertThat(queue.remove("a")).isTrue();
+        }
+
+        assertThat(queue).isEmpty();
+        assertThat(queue.consumerChunk.next).isNull();
+
+        assertThat(queue.offer("d")).isTrue();
+        assertThat(queue.offer("e")).isTrue();
+        assertThat(queue.remove("e")).isTrue();
+        assertThat(queue.offer("f")).isTrue();
+        assertThat(queue.offer("g")).isTrue();
+        assertThat(queue.offer("h")).isTrue();
+        assertThat(queue).containsExactly("d", "f", "g", "h");
+    }
+
+    @Test
+    public void shouldClearQueue() {
+
+        MpscChunkedArrayQueue<String> queue = new MpscChunkedArrayQueue<>(2);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+
+        queue.clear();
+
+        assertThat(queue).isEmpty();
+
+        queue.add("d");
+        assertThat(queue).containsExactly("d");
+    }
+
+    @Test
+    public void shouldRetainOrderPerProducer() throws Exception {
+
+        int producers = 4;
+        int elementsPerProducer = 50000;
+
+        MpscChunkedArrayQueue<Long> queue = new MpscChunkedArrayQueue<>(16);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch latch = new CountDownLatch(producers);
+
+        for (int producer = 0; producer < producers; producer++) {
+
+            long id = producer;
+            executor.submit(() -> {
+                for (long i = 0; i < elementsPerProducer; i++) {
+                    queue.offer((id << 32) | i);
+                }
+                latch.countDown();
+            });
+        }
+
+        List<Long> outOfOrder = new ArrayList<>();
+        long[] expected = new long[producers];
+        int received = 0;
+
+        while (received < producers * elementsPerProducer) {
+
+            Long element = queue.poll();
+            if (element == null) {
+                continue;
+            }
+
+            int producer = (int) (element >>> 32);
+            long sequence = element & 0xFFFFFFFFL;
+
+            if (sequence != expected[producer]) {
+                outOfOrder.add(element);
+            }
+
+            expected[producer] = sequence + 1;
+            received++;
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(outOfOrder).isEmpty();
+        assertThat(queue).isEmpty();
+    }
+}
@@ -79,6 +79,23 @@ public class DefaultCommandLatencyCollectorTest {
         assertThat(sut.retrieveMetrics()).isEmpty();
     }
 
+    @Test
+    public void shouldRecordAfterDroppingIdleEntries() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        setupData();
+
+        assertThat(sut.retrieveMetrics()).hasSize(1);
+        assertThat(sut.retrieveMetrics()).isEmpty();
+
+        setupData();
+
+        Map<CommandLatencyId, CommandMetrics> latencies = sut.retrieveMetrics();
+        assertThat(latencies).hasSize(1);
+        assertThat(latencies.values().iterator().next().getCount()).isEqualTo(3);
+    }
+
     @Test
     public void verifyCummulativeMetrics() {
 
@@ -91,6 +108,72 @@ public class DefaultCommandLatencyCollectorTest {
         assertThat(sut.retrieveMetrics()).hasSize(1);
     }
 
+    @Test
+    public void verifyCummulativeMetricsAccumulateIntervals() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.builder()
+                .resetLatenciesAfterEvent(false).build());
+
+        setupData();
+        sut.retrieveMetrics();
+        setupData();
+
+        CommandMetrics metrics = sut.retrieveMetrics().values().iterator().next();
+
+        assertThat(metrics.getCount()).isEqualTo(6);
+        assertThat(metrics.getFirstResponse().getMax()).isBetween(290000L, 310000L);
+        assertThat(metrics.getCompletion().getMin()).isBetween(990000L, 1100000L);
+    }
+
+    @Test
+    public void verifyLocalDistinction() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.builder().localDistinction(true)
+                .build());
+
+        sut.recordCommandLatency(new LocalAddress("a"), LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(1));
+        sut.recordCommandLatency(new LocalAddress("b"), LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(1));
+        sut.recordCommandLatency(new LocalAddress("b"), LocalAddress.ANY, CommandType.GET, MILLISECONDS.toNanos(1),
+                MILLISECONDS.toNanos(1));
+
+        Map<CommandLatencyId, CommandMetrics> latencies = sut.retrieveMetrics();
+
+        assertThat(latencies).hasSize(2);
+        assertThat(latencies.get(CommandLatencyId.create(new LocalAddress("b"), LocalAddress.ANY, CommandType.GET)).getCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void verifyTimeouts() {
+
+        sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        setupData();
+        sut.recordCommandTimeout(LocalAddress.ANY, LocalAddress.ANY, CommandType.BGSAVE, true);
+        sut.recordCommandTimeout(LocalAddress.ANY, LocalAddress.ANY, CommandType.BGSAVE, false);
+        sut.recordCommandTimeout(LocalAddress.ANY, LocalAddress.ANY, CommandType.GET, false);
+
+        Map<CommandLatencyId, CommandMetrics> latencies = sut.retrieveMetrics();
+        assertThat(latencies).hasSize(2);
+
+        for (Map.Entry<CommandLatencyId, CommandMetrics> entry : latencies.entrySet()) {
+
+            CommandMetrics metrics = entry.getValue();
+
+            if (entry.getKey().commandType() == CommandType.BGSAVE) {
+                assertThat(metrics.getCount()).isEqualTo(3);
+                assertThat(metrics.getTimeouts()).isEqualTo(2);
+                assertThat(metrics.getHeadOfQueueTimeouts()).isEqualTo(1);
+            } else {
+                assertThat(metrics.getCount()).isZero();
+                assertThat(metrics.getTimeouts()).isEqualTo(1);
+                assertThat(metrics.getHeadOfQueueTimeouts()).isZero();
+            }
+        }
+    }
+
     private void setupData() {
         sut.recordCommandLatency(LocalAddress.ANY, LocalAddress.ANY, CommandType.BGSAVE, MILLISECONDS.toNanos(100),
                 MILLISECONDS.toNanos(1000));
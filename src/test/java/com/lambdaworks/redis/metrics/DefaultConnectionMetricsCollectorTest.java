@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import io.netty.channel.local.LocalAddress;
+
+/**
+ * @author Mark Paluch
+ */
+public class DefaultConnectionMetricsCollectorTest {
+
+    private DefaultConnectionMetricsCollector sut = new DefaultConnectionMetricsCollector();
+
+    @Test
+    public void shouldRetrieveMetricsOfRegisteredSources() {
+
+        ConnectionMetricsSource first = () -> new ConnectionMetrics(LocalAddress.ANY, LocalAddress.ANY, 1, 2, 3, 4, 5, 6);
+        ConnectionMetricsSource second = () -> new ConnectionMetrics(null, null, 0, 0, 0, 0, 0, 0);
+
+        sut.register(first);
+        sut.register(second);
+        sut.register(first);
+
+        assertThat(sut.retrieveMetrics()).hasSize(2).extracting(ConnectionMetrics::getInFlightCommands).containsOnly(0, 1);
+
+        sut.unregister(first);
+
+        assertThat(sut.retrieveMetrics()).hasSize(1);
+        assertThat(sut.retrieveMetrics().get(0).getRemoteAddress()).isNull();
+    }
+
+    @Test
+    public void shouldSampleMetricsOnRetrieval() {
+
+        int[] inFlight = new int[1];
+        sut.register(() -> new ConnectionMetrics(null, null, inFlight[0], 0, 0, 0, 0, 0));
+
+        assertThat(sut.retrieveMetrics().get(0).getInFlightCommands()).isZero();
+
+        inFlight[0] = 42;
+
+        assertThat(sut.retrieveMetrics().get(0).getInFlightCommands()).isEqualTo(42);
+    }
+
+    @Test
+    public void shutdown() {
+
+        sut.register(() -> new ConnectionMetrics(null, null, 0, 0, 0, 0, 0, 0));
+        sut.shutdown();
+
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    @Test
+    public void disabled() {
+
+        ConnectionMetricsCollector disabled = DefaultConnectionMetricsCollector.disabled();
+        disabled.register(() -> new ConnectionMetrics(null, null, 0, 0, 0, 0, 0, 0));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.retrieveMetrics()).isEmpty();
+    }
+}
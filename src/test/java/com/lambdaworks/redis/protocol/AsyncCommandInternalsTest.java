@@ -18,6 +18,7 @@ package com.lambdaworks.redis.protocol;
 import static com.lambdaworks.redis.protocol.LettuceCharsets.buffer;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -183,7 +184,7 @@ new Command<String, String, String>(MyKeywords.DUMMY, null, new CommandArgs<>(co
                 return null;
             }
         };
-        output.set(null);
+        output.set((ByteBuffer) null);
     }
 
     @Test(expected = IllegalStateException.class)
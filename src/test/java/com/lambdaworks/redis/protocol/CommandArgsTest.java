@@ -18,11 +18,14 @@ package com.lambdaworks.redis.protocol;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
-import com.lambdaworks.redis.codec.ByteArrayCodec;
 import org.junit.Test;
 
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.codec.StringCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 
 import io.netty.buffer.ByteBuf;
@@ -83,6 +86,51 @@ public class CommandArgsTest {
         assertThat(args.getFirstEncodedKey()).isEqualTo(ByteBuffer.wrap("one".getBytes()));
     }
 
+    @Test
+    public void hashFirstKeyShouldPassByteArrayKeyAsIs() throws Exception {
+
+        byte[] key = "one".getBytes();
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(key);
+
+        List<byte[]> hashed = new ArrayList<>();
+
+        assertThat(args.hashFirstKey(bytes -> {
+            hashed.add(bytes);
+            return 1;
+        }, buffer -> 2)).isEqualTo(1);
+        assertThat(hashed).hasSize(1);
+        assertThat(hashed.get(0)).isSameAs(key);
+    }
+
+    @Test
+    public void hashFirstKeyShouldEncodeKeyOnce() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKey("one").addKey("two");
+
+        List<ByteBuffer> hashed = new ArrayList<>();
+
+        args.hashFirstKey(bytes -> 1, buffer -> {
+            hashed.add(buffer);
+            return 2;
+        });
+        args.hashFirstKey(bytes -> 1, buffer -> {
+            hashed.add(buffer);
+            return 2;
+        });
+
+        assertThat(hashed).hasSize(2);
+        assertThat(hashed.get(0)).isSameAs(hashed.get(1)).isEqualTo(ByteBuffer.wrap("one".getBytes()));
+        assertThat(args.getFirstEncodedKey()).isEqualTo(ByteBuffer.wrap("one".getBytes()));
+    }
+
+    @Test
+    public void hashFirstKeyShouldReturnMinusOneWithoutKey() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(codec).add("one");
+
+        assertThat(args.hashFirstKey(bytes -> 1, buffer -> 2)).isEqualTo(-1);
+    }
+
     @Test
     public void addValues() throws Exception {
 
@@ -200,4 +248,115 @@ public class CommandArgsTest {
 
         assertThat(buffer.toString(LettuceCharsets.ASCII)).isEqualTo(expected.toString(LettuceCharsets.ASCII));
     }
+
+    @Test
+    public void addMultiByteValueUsingUtf8StringCodec() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(codec).addKey("key").addValue("üäö€");
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(buffer.toString(LettuceCharsets.UTF8)).isEqualTo("$3\r\nkey\r\n$9\r\nüäö€\r\n");
+    }
+
+    @Test
+    public void addMultiByteValueUsingStringCodec() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).addKey("key").addValue("üäö\uD83D\uDE00");
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(buffer.toString(LettuceCharsets.UTF8)).isEqualTo("$3\r\nkey\r\n$10\r\nüäö\uD83D\uDE00\r\n");
+    }
+
+    @Test
+    public void addNullValueUsingByteCodec() throws Exception {
+
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).addValue(null);
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(buffer.toString(LettuceCharsets.ASCII)).isEqualTo("$0\r\n\r\n");
+    }
+
+    @Test
+    public void shouldFallBackToIntermediateBufferOnInexactEstimate() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(new MisestimatingCodec()).addKey("key").addValue("value");
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(buffer.toString(LettuceCharsets.ASCII)).isEqualTo("$3\r\nkey\r\n$5\r\nvalue\r\n");
+    }
+
+    @Test
+    public void estimateEncodedSizeShouldMatchExactEncoding() throws Exception {
+
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey("key".getBytes())
+                .addValue(new byte[1234]).add("string").add(CommandKeyword.COUNT).add(0).add(-12345).add(Long.MIN_VALUE);
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(args.estimateEncodedSize()).isEqualTo(buffer.readableBytes());
+    }
+
+    @Test
+    public void estimateEncodedSizeShouldBeUpperBoundForDoubles() throws Exception {
+
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).add(-Double.MIN_NORMAL).add(1.5)
+                .add(-Double.MAX_VALUE);
+
+        ByteBuf buffer = Unpooled.buffer();
+        args.encode(buffer);
+
+        assertThat(args.estimateEncodedSize()).isGreaterThanOrEqualTo(buffer.readableBytes());
+    }
+
+    @Test
+    public void shouldEncodeLargeValuesAsSeparateBuffers() throws Exception {
+
+        byte[] value = "large-value".getBytes();
+        CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey("key".getBytes())
+                .addValue(value).add("small");
+
+        List<ByteBuf> segments = new ArrayList<>();
+        segments.add(Unpooled.buffer());
+        args.encode(segments, 8);
+
+        assertThat(segments).hasSize(3);
+        assertThat(segments.get(0).toString(LettuceCharsets.ASCII)).isEqualTo("$3\r\nkey\r\n$11\r\n");
+        assertThat(segments.get(1).array()).isSameAs(value);
+        assertThat(segments.get(2).toString(LettuceCharsets.ASCII)).isEqualTo("\r\n$5\r\nsmall\r\n");
+    }
+
+    @Test
+    public void shouldEncodeLargeValuesUsingIntermediateBuffer() throws Exception {
+
+        CommandArgs<String, String> args = new CommandArgs<>(codec).addValue("large-value").addValue("small");
+
+        List<ByteBuf> segments = new ArrayList<>();
+        segments.add(Unpooled.buffer());
+        args.encode(segments, 8);
+
+        assertThat(segments).hasSize(3);
+        assertThat(Unpooled.wrappedBuffer(segments.toArray(new ByteBuf[0])).toString(LettuceCharsets.ASCII))
+                .isEqualTo("$11\r\nlarge-value\r\n$5\r\nsmall\r\n");
+    }
+
+    static class MisestimatingCodec extends StringCodec {
+
+        MisestimatingCodec() {
+            super(LettuceCharsets.ASCII);
+        }
+
+        @Override
+        public int estimateSize(Object keyOrValue) {
+            return 1;
+        }
+    }
 }
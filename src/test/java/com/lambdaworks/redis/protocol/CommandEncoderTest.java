@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * @author Mark Paluch
+ */
+public class CommandEncoderTest {
+
+    private static final byte[] KEY = "key".getBytes();
+
+    private EmbeddedChannel channel;
+
+    @After
+    public void tearDown() {
+
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    public void shouldAllocateBufferUsingEstimatedSize() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false));
+        Command<byte[], byte[], String> command = set(new byte[1000]);
+
+        channel.writeOutbound(command);
+
+        ByteBuf buffer = channel.readOutbound();
+        assertThat(buffer.readableBytes()).isEqualTo(command.estimateEncodedSize());
+        assertThat(buffer.capacity()).isEqualTo(command.estimateEncodedSize());
+        buffer.release();
+    }
+
+    @Test
+    public void shouldAllocateBufferForBatchUsingEstimatedSize() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false));
+        Command<byte[], byte[], String> first = set(new byte[100]);
+        Command<byte[], byte[], String> second = set(new byte[200]);
+
+        channel.writeOutbound(Arrays.asList(first, second));
+
+        ByteBuf buffer = channel.readOutbound();
+        assertThat(buffer.readableBytes()).isEqualTo(first.estimateEncodedSize() + second.estimateEncodedSize());
+        assertThat(buffer.capacity()).isEqualTo(buffer.readableBytes());
+        buffer.release();
+    }
+
+    @Test
+    public void shouldWriteLargeValuesAsSeparateBuffers() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false, 64));
+        byte[] value = new byte[128];
+
+        channel.writeOutbound(new AsyncCommand<>(set(value)));
+
+        ByteBuf header = channel.readOutbound();
+        ByteBuf payload = channel.readOutbound();
+        ByteBuf trailer = channel.readOutbound();
+
+        assertThat(header.toString(LettuceCharsets.ASCII)).isEqualTo("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$128\r\n");
+        assertThat(payload.array()).isSameAs(value);
+        assertThat(trailer.toString(LettuceCharsets.ASCII)).isEqualTo("\r\n");
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        header.release();
+        payload.release();
+        trailer.release();
+    }
+
+    @Test
+    public void shouldFailPromiseIfSegmentWriteFails() {
+
+        ChannelOutboundHandlerAdapter failFirstWrite = new ChannelOutboundHandlerAdapter() {
+
+            private boolean failed;
+
+            @Override
+            public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+
+                if (failed) {
+                    ctx.write(msg, promise);
+                    return;
+                }
+
+                failed = true;
+                ReferenceCountUtil.release(msg);
+                promise.setFailure(new IOException("Write failed"));
+            }
+        };
+
+        channel = new EmbeddedChannel(failFirstWrite, new CommandEncoder(false, 64));
+
+        ChannelFuture future = channel.writeAndFlush(new AsyncCommand<>(set(new byte[128])));
+
+        assertThat(future.isDone()).isTrue();
+        assertThat(future.cause()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void shouldCopySmallValuesIntoSingleBuffer() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false, 64));
+
+        channel.writeOutbound(set("value".getBytes()));
+
+        ByteBuf buffer = channel.readOutbound();
+        assertThat(buffer.toString(LettuceCharsets.ASCII)).isEqualTo("*3\r\n$3\r\nSET\r\n$3\r\nkey\r\n$5\r\nvalue\r\n");
+        assertThat((Object) channel.readOutbound()).isNull();
+        buffer.release();
+    }
+
+    @Test
+    public void shouldSizeBuffersBetweenLargeValuesFromRemainingArguments() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false, 64));
+        byte[] first = new byte[128];
+        byte[] second = new byte[256];
+
+        channel.writeOutbound(new AsyncCommand<>(new Command<>(CommandType.MSET, new StatusOutput<>(ByteArrayCodec.INSTANCE),
+                new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(KEY).addValue(first).addKey(KEY).addValue(second))));
+
+        ByteBuf header = channel.readOutbound();
+        ByteBuf firstPayload = channel.readOutbound();
+        ByteBuf middle = channel.readOutbound();
+        ByteBuf secondPayload = channel.readOutbound();
+        ByteBuf trailer = channel.readOutbound();
+
+        assertThat(firstPayload.array()).isSameAs(first);
+        assertThat(middle.toString(LettuceCharsets.ASCII)).isEqualTo("\r\n$3\r\nkey\r\n$256\r\n");
+        assertThat(secondPayload.array()).isSameAs(second);
+        assertThat(trailer.toString(LettuceCharsets.ASCII)).isEqualTo("\r\n");
+        assertThat(trailer.capacity()).isEqualTo(2);
+
+        header.release();
+        firstPayload.release();
+        middle.release();
+        secondPayload.release();
+        trailer.release();
+    }
+
+    @Test
+    public void shouldEncodeCustomCommandsAsWhole() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(false, 64));
+        byte[] value = new byte[128];
+
+        channel.writeOutbound(new AsyncCommand<byte[], byte[], String>(set(value)) {
+            @Override
+            public void encode(ByteBuf buf) {
+                super.encode(buf);
+            }
+        });
+
+        ByteBuf buffer = channel.readOutbound();
+        assertThat(buffer.readableBytes()).isEqualTo(28 + 128 + 2);
+        assertThat((Object) channel.readOutbound()).isNull();
+        buffer.release();
+    }
+
+    private static Command<byte[], byte[], String> set(byte[] value) {
+        return new Command<>(CommandType.SET, new StatusOutput<>(ByteArrayCodec.INSTANCE),
+                new CommandArgs<>(ByteArrayCodec.INSTANCE).addKey(KEY).addValue(value));
+    }
+}
@@ -22,6 +22,7 @@ import static org.mockito.Mockito.*;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.Level;
@@ -35,6 +36,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -44,17 +46,26 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.lambdaworks.redis.ClientOptions;
 import com.lambdaworks.redis.ConnectionEvents;
 import com.lambdaworks.redis.RedisChannelHandler;
+import com.lambdaworks.redis.RedisCommandTimeoutException;
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.metrics.ConnectionMetrics;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
 import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollector;
 import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollectorOptions;
+import com.lambdaworks.redis.metrics.DefaultConnectionMetricsCollector;
 import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.output.ValueOutput;
 import com.lambdaworks.redis.resource.ClientResources;
 
 import edu.umd.cs.mtc.MultithreadedTestCase;
 import edu.umd.cs.mtc.TestFramework;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -86,6 +97,12 @@ public class CommandHandlerTest {
     @Mock
     private RedisChannelHandler channelHandler;
 
+    @Mock
+    private Timer timer;
+
+    @Mock
+    private Timeout timeout;
+
     @BeforeClass
     public static void beforeClass() {
         LoggerContext ctx = (LoggerContext) LogManager.getContext();
@@ -540,6 +557,291 @@ public class CommandHandlerTest {
         verify(byteBufMock, never()).release();
     }
 
+    @Test
+    public void shouldDecodeAggregatedBuffersWithZeroCopyDecoding() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().zeroCopyDecoding(true).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+        sut.channelRegistered(context);
+
+        Command<String, String, String> get = new Command<>(CommandType.GET, new ValueOutput<>(new Utf8StringCodec()), null);
+        q.add(get);
+
+        ByteBuf first = Unpooled.copiedBuffer("$6\r\nfoo", LettuceCharsets.UTF8);
+        ByteBuf second = Unpooled.copiedBuffer("bar\r\n", LettuceCharsets.UTF8);
+
+        sut.channelRead(context, first);
+
+        assertThat(get.isDone()).isFalse();
+        assertThat(first.refCnt()).isEqualTo(1);
+
+        sut.channelRead(context, second);
+
+        assertThat(get.isDone()).isTrue();
+        assertThat(get.get()).isEqualTo("foobar");
+        assertThat(first.refCnt()).isZero();
+        assertThat(second.refCnt()).isZero();
+    }
+
+    @Test
+    public void shouldExpireCommandAfterCommandTimeout() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().commandTimeout(1, TimeUnit.SECONDS).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+
+        when(clientResources.timer()).thenReturn(timer);
+        when(context.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        when(timer.newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class))).thenReturn(timeout);
+
+        AsyncCommand<String, String, String> asyncCommand = new AsyncCommand<>(command);
+        sut.write(context, asyncCommand, null);
+
+        ArgumentCaptor<TimerTask> captor = ArgumentCaptor.forClass(TimerTask.class);
+        verify(timer).newTimeout(captor.capture(), eq(TimeUnit.SECONDS.toNanos(1)), eq(TimeUnit.NANOSECONDS));
+
+        captor.getValue().run(timeout);
+
+        assertThat(asyncCommand.isCompletedExceptionally()).isTrue();
+        try {
+            asyncCommand.get();
+            fail("Missing RedisCommandTimeoutException");
+        } catch (Exception e) {
+            assertThat(e).hasCauseInstanceOf(RedisCommandTimeoutException.class);
+        }
+
+        // expired commands remain queued until their response arrives
+        assertThat(q).containsOnly(asyncCommand);
+    }
+
+    @Test
+    public void shouldCancelExpirationOnCompletion() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().commandTimeout(1, TimeUnit.SECONDS).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+        sut.channelRegistered(context);
+
+        when(clientResources.timer()).thenReturn(timer);
+        when(context.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        when(timer.newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class))).thenReturn(timeout);
+
+        sut.write(context, command, null);
+        sut.channelRead(context, Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.UTF8));
+
+        assertThat(command.isDone()).isTrue();
+        verify(timeout).cancel();
+    }
+
+    @Test
+    public void shouldBufferCommandOnceWhenWrittenTwiceWhileDisconnected() throws Exception {
+
+        sut.write(command);
+        sut.write(command);
+
+        Collection buffer = (Collection) ReflectionTestUtils.getField(sut, "commandBuffer");
+        assertThat(buffer).containsOnly(command).hasSize(1);
+    }
+
+    @Test
+    public void initialStateShouldClearBuffers() throws Exception {
+
+        sut.write(command);
+        sut.initialState();
+
+        Collection buffer = (Collection) ReflectionTestUtils.getField(sut, "commandBuffer");
+        assertThat(buffer).isEmpty();
+        assertThat(sut.writers.get()).isZero();
+    }
+
+    @Test
+    public void shouldCancelExpirationOnCancel() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().commandTimeout(1, TimeUnit.SECONDS).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+
+        when(clientResources.timer()).thenReturn(timer);
+        when(context.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+        when(timer.newTimeout(any(TimerTask.class), anyLong(), any(TimeUnit.class))).thenReturn(timeout);
+
+        AsyncCommand<String, String, String> asyncCommand = new AsyncCommand<>(command);
+        sut.write(context, asyncCommand, null);
+
+        asyncCommand.cancel(true);
+
+        verify(timeout).cancel();
+    }
+
+    @Test
+    public void shouldTrackInFlightCommandsAndCompletionLatency() throws Exception {
+
+        sut.setLatencyTracking(true);
+        sut.channelRegistered(context);
+
+        sut.write(context, command, null);
+
+        assertThat(sut.getInFlightCommands()).isEqualTo(1);
+        assertThat(sut.getCompletionLatencyAverage(TimeUnit.NANOSECONDS)).isZero();
+
+        sut.channelRead(context, Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.UTF8));
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(sut.getInFlightCommands()).isZero();
+        assertThat(sut.getCompletionLatencyAverage(TimeUnit.NANOSECONDS)).isGreaterThan(0);
+    }
+
+    @Test
+    public void shouldProvideConnectionMetrics() throws Exception {
+
+        ConnectionMetricsCollector collector = new DefaultConnectionMetricsCollector();
+        when(clientResources.connectionMetricsCollector()).thenReturn(collector);
+
+        sut.channelRegistered(context);
+
+        assertThat(collector.retrieveMetrics()).hasSize(1);
+
+        sut.write(context, command, null);
+        sut.flush(context);
+
+        assertThat(collector.retrieveMetrics().get(0).getInFlightCommands()).isEqualTo(1);
+
+        sut.channelRead(context, Unpooled.copiedBuffer("+OK\r\n", LettuceCharsets.UTF8));
+
+        ConnectionMetrics metrics = collector.retrieveMetrics().get(0);
+        assertThat(metrics.getInFlightCommands()).isZero();
+        assertThat(metrics.getBufferedCommands()).isZero();
+        assertThat(metrics.getBytesRead()).isEqualTo(5);
+        assertThat(metrics.getFlushes()).isEqualTo(1);
+        assertThat(metrics.getReconnects()).isZero();
+
+        sut.close();
+
+        assertThat(collector.retrieveMetrics()).isEmpty();
+    }
+
+    @Test
+    public void shouldAccumulateBytesWrittenAcrossReconnects() throws Exception {
+
+        CommandEncoder encoder1 = new CommandEncoder();
+        CommandEncoder encoder2 = new CommandEncoder();
+        when(context.pipeline()).thenReturn(pipeline);
+        when(pipeline.toMap()).thenReturn(Collections.singletonMap("encoder", encoder1),
+                Collections.singletonMap("encoder", encoder2));
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+        encoder1.encode(context, command, Unpooled.buffer());
+        long written = encoder1.getBytesWritten();
+
+        sut.channelInactive(context);
+        sut.channelActive(context);
+        encoder2.encode(context, command, Unpooled.buffer());
+
+        ConnectionMetrics metrics = sut.getConnectionMetrics();
+        assertThat(written).isGreaterThan(0);
+        assertThat(metrics.getBytesWritten()).isEqualTo(written + encoder2.getBytesWritten());
+        assertThat(metrics.getReconnects()).isEqualTo(1);
+    }
+
+    @Test
+    public void perCommandTimeoutShouldOverrideConnectionTimeout() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().commandTimeout(1, TimeUnit.SECONDS).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+
+        command.setTimeout(0, TimeUnit.SECONDS);
+        sut.write(context, command, null);
+
+        verifyZeroInteractions(timer);
+        assertThat(q).containsOnly(command);
+    }
+
+    @Test
+    public void shouldCoalesceWritesFromOutsideTheEventLoop() throws Exception {
+
+        ClientOptions clientOptions = ClientOptions.builder().writeCoalescing(true).maxCommandsPerFlush(2).build();
+        sut = new CommandHandler<>(clientOptions, clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVE);
+
+        when(channel.isActive()).thenReturn(true);
+        when(channel.isWritable()).thenReturn(true);
+        when(channel.write(any())).thenAnswer(invocation -> new DefaultChannelPromise(channel));
+
+        Command<String, String, String> command2 = new Command<>(CommandType.GET, new StatusOutput<>(new Utf8StringCodec()),
+                null);
+        Command<String, String, String> command3 = new Command<>(CommandType.SET, new StatusOutput<>(new Utf8StringCodec()),
+                null);
+
+        sut.write(command);
+        sut.write(command2);
+        sut.write(command3);
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop).execute(captor.capture());
+        verify(channel, never()).writeAndFlush(any());
+        assertThat((Collection) ReflectionTestUtils.getField(sut, "transportBuffer")).containsExactly(command, command2,
+                command3);
+
+        captor.getValue().run();
+
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).write(command);
+        inOrder.verify(channel).write(command2);
+        inOrder.verify(channel).flush();
+        inOrder.verify(channel).write(command3);
+        inOrder.verify(channel).flush();
+        verify(eventLoop).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldWriteBatchWithSingleFlush() throws Exception {
+
+        when(channel.isActive()).thenReturn(true);
+        sut.channelRegistered(context);
+        sut.setState(CommandHandler.LifecycleState.ACTIVE);
+
+        Command<String, String, String> command2 = new Command<>(CommandType.GET, new StatusOutput<>(new Utf8StringCodec()),
+                null);
+
+        sut.write(Arrays.asList(command, command2));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(channel).writeAndFlush(captor.capture());
+
+        assertThat((Collection) captor.getValue()).containsExactly(command, command2);
+        assertThat((Collection) ReflectionTestUtils.getField(sut, "transportBuffer")).containsExactly(command, command2);
+    }
+
+    @Test
+    public void shouldBufferBatchWhenDisconnected() throws Exception {
+
+        when(channel.isActive()).thenReturn(true);
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        sut.setState(CommandHandler.LifecycleState.DISCONNECTED);
+
+        Command<String, String, String> command2 = new Command<>(CommandType.GET, new StatusOutput<>(new Utf8StringCodec()),
+                null);
+
+        sut.write(Arrays.asList(command, command2));
+
+        Collection buffer = (Collection) ReflectionTestUtils.getField(sut, "commandBuffer");
+        assertThat(buffer).containsExactly(command, command2);
+    }
+
+    @Test(expected = RedisException.class)
+    public void shouldRejectBatchExceedingRequestQueueSize() throws Exception {
+
+        sut = new CommandHandler<>(ClientOptions.builder().requestQueueSize(1).build(), clientResources, q);
+        sut.setRedisChannelHandler(channelHandler);
+
+        Command<String, String, String> command2 = new Command<>(CommandType.GET, new StatusOutput<>(new Utf8StringCodec()),
+                null);
+
+        sut.write(Arrays.asList(command, command2));
+    }
+
     @Test
     public void shouldSetLatency() throws Exception {
 
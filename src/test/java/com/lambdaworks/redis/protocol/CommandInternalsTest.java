@@ -18,6 +18,8 @@ package com.lambdaworks.redis.protocol;
 import static com.lambdaworks.redis.protocol.LettuceCharsets.buffer;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -113,7 +115,7 @@ public class CommandInternalsTest {
                 return null;
             }
         };
-        output.set(null);
+        output.set((ByteBuffer) null);
     }
 
     @Test(expected = IllegalStateException.class)
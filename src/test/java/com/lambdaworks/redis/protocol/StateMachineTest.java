@@ -33,6 +33,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.codec.ByteBufCodec;
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 import com.lambdaworks.redis.output.*;
@@ -146,6 +147,87 @@ public class StateMachineTest {
         assertThat(output.get().size()).isEqualTo(2);
     }
 
+    @Test
+    public void bulkFromCompositeBuffer() throws Exception {
+        CommandOutput<String, String, List<String>> output = new ValueListOutput<>(codec);
+        ByteBuf buffer = Unpooled.wrappedBuffer(buffer("*3\r\n$3\r\nfoo\r\n$4\r\nba"), buffer("zz\r\n$3\r\nbar\r\n"));
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        assertThat(output.get()).isEqualTo(Arrays.asList("foo", "bazz", "bar"));
+    }
+
+    @Test
+    public void bulkAsRetainedSliceFromCompositeBuffer() throws Exception {
+
+        ByteBuf first = buffer("*2\r\n$3\r\nfoo\r\n$4\r\nba");
+        ByteBuf buffer = Unpooled.wrappedBuffer(first, buffer("zz\r\n"));
+        CommandOutput<ByteBuf, ByteBuf, List<ByteBuf>> output = new ValueListOutput<>(ByteBufCodec.INSTANCE);
+        RedisStateMachine<ByteBuf, ByteBuf> rsm = new RedisStateMachine<>();
+
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        buffer.release();
+
+        ByteBuf foo = output.get().get(0);
+        ByteBuf bazz = output.get().get(1);
+
+        assertThat(foo.toString(charset)).isEqualTo("foo");
+        assertThat(bazz.toString(charset)).isEqualTo("bazz");
+        assertThat(first.refCnt()).isEqualTo(1);
+
+        assertThat(foo.release()).isTrue();
+        assertThat(first.refCnt()).isEqualTo(0);
+        assertThat(bazz.release()).isTrue();
+
+        rsm.close();
+    }
+
+    @Test
+    public void bulkAsCopiedByteBuf() throws Exception {
+
+        ByteBuf buffer = buffer("$3\r\nfoo\r\n");
+        CommandOutput<ByteBuf, ByteBuf, ByteBuf> output = new ValueOutput<>(ByteBufCodec.INSTANCE);
+        RedisStateMachine<ByteBuf, ByteBuf> rsm = new RedisStateMachine<>();
+
+        assertThat(rsm.decode(buffer, output)).isTrue();
+
+        assertThat(buffer.refCnt()).isEqualTo(1);
+        assertThat(output.get().toString(charset)).isEqualTo("foo");
+        assertThat(output.get().release()).isTrue();
+
+        rsm.close();
+    }
+
+    @Test
+    public void deeplyNestedMulti() throws Exception {
+
+        CommandOutput<String, String, List<Object>> output = new NestedMultiOutput<>(codec);
+        StringBuilder reply = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            reply.append("*1\r\n");
+        }
+        reply.append("$2\r\nok\r\n");
+
+        assertThat(rsm.decode(buffer(reply.toString()), output)).isTrue();
+
+        Object element = output.get();
+        for (int i = 0; i < 100; i++) {
+            assertThat(element).isInstanceOf(List.class);
+            element = ((List<?>) element).get(0);
+        }
+        assertThat(element).isEqualTo("ok");
+    }
+
+    @Test
+    public void reuseStateAfterNestedMulti() throws Exception {
+
+        CommandOutput<String, String, List<Object>> output = new NestedMultiOutput<>(codec);
+        assertThat(rsm.decode(buffer("*2\r\n*1\r\n:1\r\n$2\r\nok\r\n"), output)).isTrue();
+        assertThat(output.get()).isEqualTo(Arrays.asList(Arrays.asList(1L), "ok"));
+
+        CommandOutput<String, String, String> value = new ValueOutput<>(codec);
+        assertThat(rsm.decode(buffer("$3\r\nfoo\r\n"), value)).isTrue();
+        assertThat(value.get()).isEqualTo("foo");
+    }
+
     @Test
     public void partialFirstLine() throws Exception {
         assertThat(rsm.decode(buffer("+"), output)).isFalse();
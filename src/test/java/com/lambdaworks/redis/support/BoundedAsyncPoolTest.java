@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+
+/**
+ * @author Mark Paluch
+ */
+public class BoundedAsyncPoolTest {
+
+    private final List<StatefulRedisConnection<String, String>> created = new ArrayList<>();
+
+    @Test
+    public void shouldCreateConnectionOnDemand() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.create());
+
+        assertThat(pool.getObjectCount()).isZero();
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+
+        assertThat(created).containsOnly(connection);
+        assertThat(pool.getObjectCount()).isEqualTo(1);
+        assertThat(pool.getIdle()).isZero();
+
+        pool.release(connection).toCompletableFuture().get();
+
+        assertThat(pool.getIdle()).isEqualTo(1);
+        assertThat(pool.acquire().toCompletableFuture().get()).isSameAs(connection);
+        assertThat(created).hasSize(1);
+    }
+
+    @Test
+    public void shouldCreateMinIdleConnectionsAheadOfDemand() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.builder().minIdle(2)
+                .build());
+
+        assertThat(created).hasSize(2);
+        assertThat(pool.getIdle()).isEqualTo(2);
+
+        pool.acquire().toCompletableFuture().get();
+
+        assertThat(created).hasSize(3);
+        assertThat(pool.getIdle()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldQueueAcquisitionsIfExhausted() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.builder().maxTotal(1)
+                .build());
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+        CompletableFuture<StatefulRedisConnection<String, String>> pending = pool.acquire().toCompletableFuture();
+
+        assertThat(pending).isNotDone();
+        assertThat(pool.getPendingAcquisitions()).isEqualTo(1);
+
+        pool.release(connection);
+
+        assertThat(pending.get()).isSameAs(connection);
+        assertThat(pool.getPendingAcquisitions()).isZero();
+        assertThat(pool.getIdle()).isZero();
+    }
+
+    @Test
+    public void shouldDisposeInvalidConnectionsOnRelease() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.builder()
+                .testOnRelease(true).build());
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+        when(connection.isOpen()).thenReturn(false);
+
+        pool.release(connection).toCompletableFuture().get();
+
+        verify(connection).close();
+        assertThat(pool.getObjectCount()).isZero();
+        assertThat(pool.getIdle()).isZero();
+    }
+
+    @Test
+    public void shouldRejectForeignConnections() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.create());
+
+        CompletableFuture<Void> release = pool.release(mock(StatefulRedisConnection.class)).toCompletableFuture();
+
+        assertThat(release).isCompletedExceptionally();
+    }
+
+    @Test
+    public void shouldRejectRepeatedRelease() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.create());
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+
+        pool.release(connection).toCompletableFuture().get();
+
+        assertThat(pool.release(connection).toCompletableFuture()).isCompletedExceptionally();
+        assertThat(pool.getIdle()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCloseConnectionsUsingCloseExecutor() throws Exception {
+
+        List<Runnable> tasks = new ArrayList<>();
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = new BoundedAsyncPool<>(() -> {
+            return CompletableFuture.completedFuture(mock(StatefulRedisConnection.class));
+        }, BoundedPoolConfig.builder().testOnRelease(true).build(), tasks::add);
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+        CompletableFuture<Void> release = pool.release(connection).toCompletableFuture();
+
+        verify(connection, never()).close();
+        assertThat(release).isNotDone();
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        verify(connection).close();
+        assertThat(release).isDone();
+    }
+
+    @Test
+    public void shouldFailPendingAcquisitionsOnClose() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = createPool(BoundedPoolConfig.builder().maxTotal(1)
+                .build());
+
+        StatefulRedisConnection<String, String> connection = pool.acquire().toCompletableFuture().get();
+        CompletableFuture<StatefulRedisConnection<String, String>> pending = pool.acquire().toCompletableFuture();
+
+        pool.close().toCompletableFuture().get();
+
+        assertThat(pending).isCompletedExceptionally();
+        assertThat(pool.acquire().toCompletableFuture()).isCompletedExceptionally();
+
+        pool.release(connection).toCompletableFuture().get();
+
+        verify(connection, timeout(1000)).close();
+        assertThat(pool.getObjectCount()).isZero();
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void shouldPropagateCreationFailure() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = new BoundedAsyncPool<>(() -> {
+
+            CompletableFuture<StatefulRedisConnection<String, String>> future = new CompletableFuture<>();
+            future.completeExceptionally(new IllegalStateException());
+            return future;
+        }, BoundedPoolConfig.create());
+
+        try {
+            pool.acquire().toCompletableFuture().get();
+        } finally {
+            assertThat(pool.getObjectCount()).isZero();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void shouldStopEagerCreationOnFailure() throws Exception {
+
+        IllegalStateException cause = new IllegalStateException("Connection refused");
+        AtomicInteger attempts = new AtomicInteger();
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = new BoundedAsyncPool<>(() -> {
+
+            attempts.incrementAndGet();
+            CompletableFuture<StatefulRedisConnection<String, String>> future = new CompletableFuture<>();
+            future.completeExceptionally(cause);
+            return future;
+        }, BoundedPoolConfig.builder().minIdle(2).build());
+
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(pool.getObjectCount()).isZero();
+
+        CompletableFuture<StatefulRedisConnection<String, String>> acquire = pool.acquire().toCompletableFuture();
+
+        assertThat(acquire).isCompletedExceptionally();
+        try {
+            acquire.get();
+            fail("Missing ExecutionException");
+        } catch (ExecutionException e) {
+            assertThat(e).hasCause(cause);
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void shouldStopEagerCreationIfSupplierThrows() throws Exception {
+
+        BoundedAsyncPool<StatefulRedisConnection<String, String>> pool = new BoundedAsyncPool<>(() -> {
+            throw new IllegalStateException("Connection refused");
+        }, BoundedPoolConfig.builder().minIdle(2).build());
+
+        assertThat(pool.getObjectCount()).isZero();
+        assertThat(pool.acquire().toCompletableFuture()).isCompletedExceptionally();
+        assertThat(pool.getObjectCount()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private BoundedAsyncPool<StatefulRedisConnection<String, String>> createPool(BoundedPoolConfig config) {
+
+        return new BoundedAsyncPool<>(() -> {
+
+            StatefulRedisConnection<String, String> connection = mock(StatefulRedisConnection.class);
+            created.add(connection);
+            return CompletableFuture.completedFuture(connection);
+        }, config);
+    }
+}
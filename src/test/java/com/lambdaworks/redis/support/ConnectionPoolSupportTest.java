@@ -142,13 +142,17 @@ public class ConnectionPoolSupportTest extends AbstractRedisClientTest {
         RedisCommands<String, String> sync = connection.sync();
 
         assertThat(connection).isInstanceOf(StatefulRedisConnection.class)
-                .isNotInstanceOf(StatefulRedisClusterConnectionImpl.class);
-        assertThat(Proxy.isProxyClass(connection.getClass())).isTrue();
+                .isNotInstanceOf(StatefulRedisClusterConnectionImpl.class).isInstanceOf(PooledStatefulRedisConnection.class);
+        assertThat(Proxy.isProxyClass(connection.getClass())).isFalse();
 
-        assertThat(sync).isInstanceOf(RedisCommands.class);
-        assertThat(connection.async()).isInstanceOf(RedisAsyncCommands.class).isNotInstanceOf(RedisAsyncCommandsImpl.class);
-        assertThat(connection.reactive()).isInstanceOf(RedisReactiveCommands.class)
-                .isNotInstanceOf(RedisReactiveCommandsImpl.class);
+        StatefulRedisConnection<String, String> target = ((PooledStatefulRedisConnection<String, String>) connection)
+                .getTargetConnection();
+
+        assertThat(sync).isInstanceOf(RedisCommands.class).isNotSameAs(target.sync());
+        assertThat(connection.async()).isInstanceOf(RedisAsyncCommands.class).isNotSameAs(target.async());
+        assertThat(connection.async().getStatefulConnection()).isSameAs(connection);
+        assertThat(connection.reactive()).isInstanceOf(RedisReactiveCommands.class).isNotSameAs(target.reactive());
+        assertThat(connection.reactive().getStatefulConnection()).isSameAs(connection);
         assertThat(sync.getStatefulConnection()).isInstanceOf(StatefulRedisConnection.class)
                 .isNotInstanceOf(StatefulRedisConnectionImpl.class).isSameAs(connection);
 
@@ -269,6 +273,35 @@ public class ConnectionPoolSupportTest extends AbstractRedisClientTest {
         pool.close();
     }
 
+    @Test
+    public void wrappedObjectRemainsClosedAfterReallocation() throws Exception {
+
+        GenericObjectPool<StatefulRedisConnection<String, String>> pool = ConnectionPoolSupport
+                .createGenericObjectPool(() -> client.connect(), new GenericObjectPoolConfig(), true);
+
+        StatefulRedisConnection<String, String> connection = pool.borrowObject();
+        RedisAsyncCommands<String, String> async = connection.async();
+        connection.close();
+
+        StatefulRedisConnection<String, String> reallocated = pool.borrowObject();
+
+        assertThat(reallocated).isNotSameAs(connection);
+        assertThat(((PooledStatefulRedisConnection<String, String>) reallocated).getTargetConnection())
+                .isSameAs(((PooledStatefulRedisConnection<String, String>) connection).getTargetConnection());
+
+        try {
+            async.ping();
+            fail("Missing RedisException");
+        } catch (RedisException e) {
+            assertThat(e).hasMessageContaining("deallocated");
+        }
+
+        assertThat(reallocated.sync().ping()).isEqualTo("PONG");
+
+        reallocated.close();
+        pool.close();
+    }
+
     @Test
     public void tryWithResourcesReturnsConnectionToPool() throws Exception {
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Benchmark for {@link CRC16} across key lengths and input types. {@link #bytewise()} calculates the checksum byte by byte
+ * with a single lookup table as baseline for the slicing-by-8 implementation.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class CRC16Benchmark {
+
+    private static final int[] LOOKUP_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            LOOKUP_TABLE[i] = CRC16.crc16(new byte[] { (byte) i });
+        }
+    }
+
+    @Param({ "8", "16", "32", "64", "128", "512" })
+    int length;
+
+    private byte[] bytes;
+    private ByteBuffer heapBuffer;
+    private ByteBuffer directBuffer;
+    private ByteBuf directByteBuf;
+
+    @Setup
+    public void setup() {
+
+        bytes = new byte[length];
+        ThreadLocalRandom.current().nextBytes(bytes);
+
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(length);
+        directBuffer.put(bytes).flip();
+        directByteBuf = Unpooled.directBuffer(length).writeBytes(bytes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        directByteBuf.release();
+    }
+
+    @Benchmark
+    public int bytewise() {
+
+        int crc = 0x0000;
+
+        for (byte b : bytes) {
+            crc = ((crc << 8) ^ LOOKUP_TABLE[((crc >>> 8) ^ (b & 0xFF)) & 0xFF]);
+        }
+        return crc & 0xFFFF;
+    }
+
+    @Benchmark
+    public int byteArray() {
+        return CRC16.crc16(bytes);
+    }
+
+    @Benchmark
+    public int heapByteBuffer() {
+        return CRC16.crc16(heapBuffer);
+    }
+
+    @Benchmark
+    public int directByteBuffer() {
+        return CRC16.crc16(directBuffer);
+    }
+
+    @Benchmark
+    public int directByteBuf() {
+        return CRC16.crc16(directByteBuf);
+    }
+}
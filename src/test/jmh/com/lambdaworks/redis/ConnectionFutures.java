@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Factory for completed {@link ConnectionFuture}s to benchmark code paths that connect asynchronously without I/O.
+ *
+ * @author Mark Paluch
+ */
+public class ConnectionFutures {
+
+    private ConnectionFutures() {
+    }
+
+    /**
+     * Create a {@link ConnectionFuture} that is completed with {@code value}.
+     *
+     * @param value the value.
+     * @param <T> value type.
+     * @return the completed {@link ConnectionFuture}.
+     */
+    public static <T> ConnectionFuture<T> completed(T value) {
+        return new DefaultConnectionFuture<>(null, CompletableFuture.completedFuture(value));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+
+/**
+ * Benchmark for command dispatch through a plain connection, a {@link PooledStatefulRedisConnection} and a reflective proxy
+ * as it was used to wrap pooled connections.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class PooledConnectionBenchmark {
+
+    private final static byte[] KEY = "benchmark".getBytes();
+
+    private StatefulRedisConnection<byte[], byte[]> connection;
+    private StatefulRedisConnection<byte[], byte[]> pooled;
+    private StatefulRedisConnection<byte[], byte[]> proxy;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+
+        StatefulRedisConnectionImpl<byte[], byte[]> target = new StatefulRedisConnectionImpl<>(
+                EmptyRedisChannelWriter.INSTANCE, ByteArrayCodec.INSTANCE, 5, TimeUnit.MINUTES);
+
+        connection = target;
+        pooled = new PooledStatefulRedisConnection<>(target, c -> {
+        });
+        proxy = (StatefulRedisConnection<byte[], byte[]>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { StatefulRedisConnection.class }, (p, method, args) -> method.invoke(target, args));
+    }
+
+    @Benchmark
+    public RedisFuture<byte[]> asyncGet() {
+        return connection.async().get(KEY);
+    }
+
+    @Benchmark
+    public RedisFuture<byte[]> asyncGetPooled() {
+        return pooled.async().get(KEY);
+    }
+
+    @Benchmark
+    public RedisFuture<byte[]> asyncGetProxy() {
+        return proxy.async().get(KEY);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+
+/**
+ * Throughput benchmark for many writer threads sharing a single connection with and without write coalescing.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class WriteCoalescingBenchmark {
+
+    private final static int BATCH_SIZE = 20;
+    private final static byte[] KEY = "benchmark".getBytes();
+
+    @Param({ "false", "true" })
+    boolean writeCoalescing;
+
+    private RedisClient redisClient;
+    private StatefulRedisConnection<byte[], byte[]> connection;
+
+    @Setup
+    public void setup() {
+
+        redisClient = RedisClient.create(RedisURI.create(TestSettings.host(), TestSettings.port()));
+        redisClient.setOptions(ClientOptions.builder().writeCoalescing(writeCoalescing).build());
+        connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        connection.close();
+        redisClient.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void asyncSetBatch1Thread(Batch batch) throws Exception {
+        setBatch(batch);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void asyncSetBatch4Threads(Batch batch) throws Exception {
+        setBatch(batch);
+    }
+
+    @Benchmark
+    @Threads(16)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void asyncSetBatch16Threads(Batch batch) throws Exception {
+        setBatch(batch);
+    }
+
+    @Benchmark
+    @Threads(64)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void asyncSetBatch64Threads(Batch batch) throws Exception {
+        setBatch(batch);
+    }
+
+    private void setBatch(Batch batch) throws Exception {
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.commands[i] = connection.async().set(KEY, KEY);
+        }
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.commands[i].get();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        RedisFuture<?> commands[] = new RedisFuture[BATCH_SIZE];
+    }
+}
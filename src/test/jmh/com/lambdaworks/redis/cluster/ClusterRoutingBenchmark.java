@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.util.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.EmptyRedisChannelWriter;
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+
+/**
+ * Benchmark for slot to node routing in clusters of different sizes. Connections are mocked so the benchmark measures
+ * routing overhead only:
+ * <ul>
+ * <li>Slot cache creation through {@link Partitions#updateCache()}</li>
+ * <li>Topology refresh of {@link PooledClusterConnectionProvider}</li>
+ * <li>Connection lookup by slot</li>
+ * <li>Partitioning of a cross-slot {@code MGET} and connection lookup per slot</li>
+ * </ul>
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class ClusterRoutingBenchmark {
+
+    private final static int MGET_KEYS = 100;
+
+    @Param({ "3", "10", "100", "1000" })
+    int nodes;
+
+    private RedisClusterClient redisClusterClient;
+    private Partitions partitions;
+    private Partitions[] topologies;
+    private PooledClusterConnectionProvider<byte[], byte[]> connectionProvider;
+    private List<byte[]> keys;
+    private int[] slots;
+
+    private int slot;
+    private int refresh;
+
+    @Setup
+    public void setup() {
+
+        partitions = createPartitions(nodes, 0);
+        topologies = new Partitions[] { createPartitions(nodes, 0), createPartitions(nodes, 1) };
+
+        redisClusterClient = new EmptyRedisClusterClient(RedisURI.create("localhost", 7379));
+        connectionProvider = new PooledClusterConnectionProvider<>(redisClusterClient, EmptyRedisChannelWriter.INSTANCE,
+                ByteArrayCodec.INSTANCE);
+        connectionProvider.setPartitions(topologies[0]);
+
+        keys = new ArrayList<>(MGET_KEYS);
+        for (int i = 0; i < MGET_KEYS; i++) {
+            keys.add(("key-" + i).getBytes());
+        }
+        slots = new int[MGET_KEYS];
+
+        // resolve connections upfront to measure routing only
+        for (int i = 0; i < SlotHash.SLOT_COUNT; i++) {
+            connectionProvider.getConnection(Intent.WRITE, i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionProvider.close();
+        redisClusterClient.shutdown();
+    }
+
+    @Benchmark
+    public void updateCache() {
+        partitions.updateCache();
+    }
+
+    /**
+     * Alternate between two topologies that differ by the owner of a single slot range.
+     */
+    @Benchmark
+    public void refreshConnectionProvider() {
+        connectionProvider.setPartitions(topologies[refresh++ & 1]);
+    }
+
+    @Benchmark
+    public StatefulRedisConnection<byte[], byte[]> getConnectionBySlot() {
+        return connectionProvider.getConnection(Intent.WRITE, slot++ & (SlotHash.SLOT_COUNT - 1));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MGET_KEYS)
+    public int partitionCrossSlotMget() {
+
+        Map<Integer, List<byte[]>> partitioned = SlotHash.partition(ByteArrayCodec.INSTANCE, keys, slots);
+
+        int connections = 0;
+        for (Integer slot : partitioned.keySet()) {
+            if (connectionProvider.getConnection(Intent.WRITE, slot) != null) {
+                connections++;
+            }
+        }
+
+        return connections;
+    }
+
+    /**
+     * Create {@link Partitions} with {@code nodes} masters serving an equal share of slots. A non-zero {@code generation}
+     * moves the slots of the first slot range to the second node.
+     */
+    private static Partitions createPartitions(int nodes, int generation) {
+
+        Partitions partitions = new Partitions();
+        int slotsPerNode = SlotHash.SLOT_COUNT / nodes;
+
+        for (int node = 0; node < nodes; node++) {
+
+            int from = node * slotsPerNode;
+            int to = node == nodes - 1 ? SlotHash.SLOT_COUNT : from + slotsPerNode;
+
+            List<Integer> slots = new ArrayList<>(to - from);
+
+            if (node != 0 || generation == 0) {
+                for (int slot = from; slot < to; slot++) {
+                    slots.add(slot);
+                }
+            }
+
+            if (node == 1 && generation != 0) {
+                for (int slot = 0; slot < slotsPerNode; slot++) {
+                    slots.add(slot);
+                }
+            }
+
+            partitions.addPartition(new RedisClusterNode(RedisURI.create("localhost", 7379 + node), "node-" + node, true,
+                    null, 0, 0, 0, slots, Collections.singleton(RedisClusterNode.NodeFlag.MASTER)));
+        }
+
+        partitions.updateCache();
+        return partitions;
+    }
+}
@@ -18,6 +18,8 @@ package com.lambdaworks.redis.cluster;
 import java.net.SocketAddress;
 import java.util.function.Supplier;
 
+import com.lambdaworks.redis.ConnectionFuture;
+import com.lambdaworks.redis.ConnectionFutures;
 import com.lambdaworks.redis.EmptyStatefulRedisConnection;
 import com.lambdaworks.redis.RedisChannelWriter;
 import com.lambdaworks.redis.RedisURI;
@@ -37,4 +39,10 @@ public class EmptyRedisClusterClient extends RedisClusterClient {
             final Supplier<SocketAddress> socketAddressSupplier) {
         return EmptyStatefulRedisConnection.INSTANCE;
     }
+
+    @Override
+    <K, V> ConnectionFuture<StatefulRedisConnection<K, V>> connectToNodeAsync(RedisCodec<K, V> codec, String nodeId,
+            RedisChannelWriter<K, V> clusterWriter, Supplier<SocketAddress> socketAddressSupplier) {
+        return ConnectionFutures.<StatefulRedisConnection<K, V>> completed(EmptyStatefulRedisConnection.INSTANCE);
+    }
 }
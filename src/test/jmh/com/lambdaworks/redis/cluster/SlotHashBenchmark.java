@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for {@link SlotHash} calculation of plain keys and keys using hash tags.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class SlotHashBenchmark {
+
+    private final static String KEY = "user:1000:profile:settings";
+    private final static String TAGGED_KEY = "{user:1000}:profile:settings";
+
+    private final static byte[] KEY_BYTES = KEY.getBytes();
+    private final static byte[] TAGGED_KEY_BYTES = TAGGED_KEY.getBytes();
+
+    private final static ByteBuffer KEY_BUFFER = ByteBuffer.wrap(KEY_BYTES);
+    private final static ByteBuffer TAGGED_KEY_BUFFER = ByteBuffer.wrap(TAGGED_KEY_BYTES);
+
+    private final static ByteBuffer KEY_DIRECT_BUFFER = directBuffer(KEY_BYTES);
+    private final static ByteBuffer TAGGED_KEY_DIRECT_BUFFER = directBuffer(TAGGED_KEY_BYTES);
+
+    @Benchmark
+    public int getSlotString() {
+        return SlotHash.getSlot(KEY);
+    }
+
+    @Benchmark
+    public int getSlotTaggedString() {
+        return SlotHash.getSlot(TAGGED_KEY);
+    }
+
+    @Benchmark
+    public int getSlotBytes() {
+        return SlotHash.getSlot(KEY_BYTES);
+    }
+
+    @Benchmark
+    public int getSlotTaggedBytes() {
+        return SlotHash.getSlot(TAGGED_KEY_BYTES);
+    }
+
+    @Benchmark
+    public int getSlotHeapBuffer() {
+        return SlotHash.getSlot(KEY_BUFFER);
+    }
+
+    @Benchmark
+    public int getSlotTaggedHeapBuffer() {
+        return SlotHash.getSlot(TAGGED_KEY_BUFFER);
+    }
+
+    @Benchmark
+    public int getSlotDirectBuffer() {
+        return SlotHash.getSlot(KEY_DIRECT_BUFFER);
+    }
+
+    @Benchmark
+    public int getSlotTaggedDirectBuffer() {
+        return SlotHash.getSlot(TAGGED_KEY_DIRECT_BUFFER);
+    }
+
+    private static ByteBuffer directBuffer(byte[] bytes) {
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
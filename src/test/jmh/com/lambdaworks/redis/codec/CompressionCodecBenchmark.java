@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for {@link CompressionCodec}. Compares throughput of the built-in compression types with the stream-based GZIP
+ * implementation used up to lettuce 4.3 ({@code LEGACY_GZIP}). The compression ratio of each type is the ratio of the
+ * {@code uncompressedBytes} and {@code compressedBytes} secondary results of {@link #compress(CompressedSize)}.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Thread)
+public class CompressionCodecBenchmark {
+
+    private static final String[] WORDS = { "lettuce", "redis", "cluster", "sentinel", "value", "key", "compression",
+            "benchmark", "netty", "buffer", "{\"id\":", "\"name\":", "}" };
+
+    @Param({ "GZIP", "DEFLATE", "SNAPPY", "LEGACY_GZIP" })
+    String compression;
+
+    @Param({ "128", "4096", "65536" })
+    int valueSize;
+
+    private RedisCodec<byte[], byte[]> codec;
+    private ToByteBufEncoder<byte[], byte[]> encoder;
+    private byte[] value;
+    private ByteBuffer compressed;
+    private ByteBuf target;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) throws IOException {
+
+        this.blackhole = blackhole;
+
+        StringBuilder builder = new StringBuilder();
+        Random random = new Random(42);
+        while (builder.length() < valueSize) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(1000));
+        }
+
+        value = builder.substring(0, valueSize).getBytes();
+
+        if (compression.equals("LEGACY_GZIP")) {
+            codec = CompressionCodec.valueCompressor(ByteArrayCodec.INSTANCE, CompressionCodec.CompressionType.GZIP);
+            compressed = ByteBuffer.wrap(legacyGzip(value));
+        } else {
+            codec = CompressionCodec.valueCompressor(ByteArrayCodec.INSTANCE,
+                    CompressionCodec.CompressionType.valueOf(compression));
+            compressed = codec.encodeValue(value);
+        }
+
+        encoder = (ToByteBufEncoder<byte[], byte[]>) codec;
+        target = PooledByteBufAllocator.DEFAULT.buffer(valueSize * 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        target.release();
+    }
+
+    @Benchmark
+    public void compress(CompressedSize size) throws IOException {
+
+        size.uncompressedBytes += value.length;
+
+        if (compression.equals("LEGACY_GZIP")) {
+            byte[] bytes = legacyGzip(value);
+            size.compressedBytes += bytes.length;
+            blackhole.consume(bytes);
+            return;
+        }
+
+        target.clear();
+        encoder.encodeValue(value, target);
+        size.compressedBytes += target.readableBytes();
+    }
+
+    @Benchmark
+    public void decompress() throws IOException {
+
+        if (compression.equals("LEGACY_GZIP")) {
+            blackhole.consume(legacyGunzip(compressed.array()));
+            return;
+        }
+
+        blackhole.consume(codec.decodeValue(compressed.duplicate()));
+    }
+
+    /**
+     * Secondary results reporting the number of bytes before and after compression.
+     */
+    @State(Scope.Thread)
+    @AuxCounters
+    public static class CompressedSize {
+
+        public long uncompressedBytes;
+        public long compressedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            uncompressedBytes = 0;
+            compressedBytes = 0;
+        }
+    }
+
+    /**
+     * Stream-based compression as implemented up to lettuce 4.3.
+     */
+    private static byte[] legacyGzip(byte[] value) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(value.length / 2);
+        GZIPOutputStream compressor = new GZIPOutputStream(outputStream);
+
+        try {
+            compressor.write(value);
+        } finally {
+            compressor.close();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Stream-based decompression as implemented up to lettuce 4.3.
+     */
+    private static byte[] legacyGunzip(byte[] compressed) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(compressed.length * 2);
+        GZIPInputStream decompressor = new GZIPInputStream(new ByteArrayInputStream(compressed));
+
+        try {
+            byte[] buf = new byte[4096];
+            int read;
+            while ((read = decompressor.read(buf)) != -1) {
+                outputStream.write(buf, 0, read);
+            }
+        } finally {
+            decompressor.close();
+        }
+
+        return outputStream.toByteArray();
+    }
+}
@@ -17,15 +17,19 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
-import org.openjdk.jmh.annotations.Benchmark;
-import org.openjdk.jmh.annotations.Scope;
-import org.openjdk.jmh.annotations.Setup;
-import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
 import com.lambdaworks.redis.protocol.LettuceCharsets;
 
 /**
+ * Benchmark for {@link Utf8StringCodec}. Test cases:
+ * <ul>
+ * <li>encoding</li>
+ * <li>ASCII and non-ASCII decoding from heap and direct buffers</li>
+ * <li>concurrent decoding using a shared codec instance</li>
+ * </ul>
+ *
  * @author Mark Paluch
  */
 public class Utf8StringCodecBenchmark {
@@ -41,6 +45,50 @@ public class Utf8StringCodecBenchmark {
         input.blackhole.consume(input.codec.decodeKey(input.input));
     }
 
+    @Benchmark
+    public void decodeAscii(Input input) {
+        input.ascii.rewind();
+        input.blackhole.consume(input.codec.decodeKey(input.ascii));
+    }
+
+    @Benchmark
+    public void decodeAsciiDirect(Input input) {
+        input.asciiDirect.rewind();
+        input.blackhole.consume(input.codec.decodeKey(input.asciiDirect));
+    }
+
+    @Benchmark
+    public void decodeUtf8Direct(Input input) {
+        input.inputDirect.rewind();
+        input.blackhole.consume(input.codec.decodeKey(input.inputDirect));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeSharedCodec4Threads(Input input, SharedCodec shared) {
+        input.input.rewind();
+        input.blackhole.consume(shared.codec.decodeKey(input.input));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeAsciiSharedCodec4Threads(Input input, SharedCodec shared) {
+        input.ascii.rewind();
+        input.blackhole.consume(shared.codec.decodeKey(input.ascii));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void decodeSharedCodec16Threads(Input input, SharedCodec shared) {
+        input.input.rewind();
+        input.blackhole.consume(shared.codec.decodeKey(input.input));
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedCodec {
+        Utf8StringCodec codec = new Utf8StringCodec();
+    }
+
     @State(Scope.Thread)
     public static class Input {
 
@@ -48,12 +96,23 @@ public class Utf8StringCodecBenchmark {
         Utf8StringCodec codec = new Utf8StringCodec();
 
         String teststring = "hello üäü~∑†®†ª€∂‚¶¢ Wørld";
+        String teststringPlain = "hello uufadsfasdfadssdfadfs";
+
         ByteBuffer input = ByteBuffer.wrap(teststring.getBytes(LettuceCharsets.UTF8));
+        ByteBuffer inputDirect = direct(teststring.getBytes(LettuceCharsets.UTF8));
+        ByteBuffer ascii = ByteBuffer.wrap(teststringPlain.getBytes(LettuceCharsets.ASCII));
+        ByteBuffer asciiDirect = direct(teststringPlain.getBytes(LettuceCharsets.ASCII));
 
         @Setup
         public void setup(Blackhole bh) {
             blackhole = bh;
-            input.flip();
+        }
+
+        private static ByteBuffer direct(byte[] bytes) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return buffer;
         }
     }
 }
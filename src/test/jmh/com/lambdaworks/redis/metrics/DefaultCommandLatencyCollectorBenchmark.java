@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.protocol.CommandType;
+
+/**
+ * Benchmark for recording command latencies with {@link DefaultCommandLatencyCollector}.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class DefaultCommandLatencyCollectorBenchmark {
+
+    private final static SocketAddress LOCAL = new InetSocketAddress("127.0.0.1", 50000);
+    private final static SocketAddress REMOTE = new InetSocketAddress("127.0.0.1", 6379);
+
+    private DefaultCommandLatencyCollector collector;
+
+    @Setup
+    public void setup() {
+        collector = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+    }
+
+    @TearDown
+    public void tearDown() {
+        collector.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordCommandLatency1Thread() {
+        collector.recordCommandLatency(LOCAL, REMOTE, CommandType.GET, 120_000, 150_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordCommandLatency4Threads() {
+        collector.recordCommandLatency(LOCAL, REMOTE, CommandType.GET, 120_000, 150_000);
+    }
+
+    @Benchmark
+    public void retrieveMetrics() {
+        collector.recordCommandLatency(LOCAL, REMOTE, CommandType.GET, 120_000, 150_000);
+        collector.retrieveMetrics();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import java.util.ArrayDeque;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+
+/**
+ * Benchmark for command buffering of a disconnected {@link CommandHandler}. Concurrent writers append commands to the command
+ * buffer while the handler is not connected. Each writer discards the buffered commands after {@link #DRAIN_INTERVAL} writes
+ * to keep the buffer size bounded.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class CommandBufferBenchmark {
+
+    private final static ByteArrayCodec CODEC = new ByteArrayCodec();
+    private final static int DRAIN_INTERVAL = 16384;
+
+    @Param({ "2147483647", "4194304" })
+    int requestQueueSize;
+
+    private CommandHandler<byte[], byte[]> commandHandler;
+    private Command<byte[], byte[], byte[]> command;
+
+    @Setup
+    public void setup() {
+
+        ClientOptions clientOptions = ClientOptions.builder().requestQueueSize(requestQueueSize).build();
+        commandHandler = new CommandHandler<>(clientOptions, EmptyClientResources.INSTANCE, new ArrayDeque<>());
+        command = new Command<>(CommandType.GET, null, new CommandArgs<>(CODEC).addKey("key".getBytes()));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        commandHandler.reset();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void measureDisconnectedWrite1Thread(Writer writer) {
+        write(writer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void measureDisconnectedWrite4Threads(Writer writer) {
+        write(writer);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void measureDisconnectedWrite16Threads(Writer writer) {
+        write(writer);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void measureDisconnectedWrite64Threads(Writer writer) {
+        write(writer);
+    }
+
+    private void write(Writer writer) {
+
+        commandHandler.write(command);
+
+        if (++writer.writes == DRAIN_INTERVAL) {
+            writer.writes = 0;
+            commandHandler.reset();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        int writes;
+    }
+}
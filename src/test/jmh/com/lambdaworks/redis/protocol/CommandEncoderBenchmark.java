@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Benchmark for {@link CommandEncoder}. Test cases:
+ * <ul>
+ * <li>encode a single SET command</li>
+ * <li>encode a batch of SET commands</li>
+ * </ul>
+ * with and without writing large values as separate buffers.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class CommandEncoderBenchmark {
+
+    private final static ByteArrayCodec CODEC = ByteArrayCodec.INSTANCE;
+    private final static byte[] KEY = "key".getBytes();
+    private final static int BATCH_SIZE = 20;
+
+    @Param({ "16", "16384", "1048576" })
+    int valueSize;
+
+    @Param({ "0", "8192" })
+    int largeValueThreshold;
+
+    private EmbeddedChannel channel;
+    private Command<byte[], byte[], String> command;
+    private List<Command<byte[], byte[], String>> batch;
+
+    @Setup
+    public void setup() {
+
+        channel = new EmbeddedChannel(new CommandEncoder(true, largeValueThreshold));
+
+        byte[] value = new byte[valueSize];
+        command = new Command<>(CommandType.SET, new StatusOutput<>(CODEC), new CommandArgs<>(CODEC).addKey(KEY).addValue(value));
+
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(command);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void encodeCommand() {
+
+        channel.writeOutbound(command);
+        releaseOutbound();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void encodeBatch() {
+
+        channel.writeOutbound(batch);
+        releaseOutbound();
+    }
+
+    private void releaseOutbound() {
+
+        ByteBuf buffer;
+        while ((buffer = channel.readOutbound()) != null) {
+            buffer.release();
+        }
+    }
+}
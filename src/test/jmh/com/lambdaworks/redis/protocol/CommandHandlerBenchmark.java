@@ -16,6 +16,7 @@
 package com.lambdaworks.redis.protocol;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.openjdk.jmh.annotations.*;
@@ -24,6 +25,8 @@ import com.lambdaworks.redis.ClientOptions;
 import com.lambdaworks.redis.codec.ByteArrayCodec;
 import com.lambdaworks.redis.output.ValueOutput;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
@@ -33,6 +36,7 @@ import io.netty.channel.embedded.EmbeddedChannel;
  * <ul>
  * <li>user command writes</li>
  * <li>netty (in-eventloop) writes</li>
+ * <li>response reads with and without zero-copy decoding</li>
  * </ul>
  *
  * @author Mark Paluch
@@ -41,19 +45,29 @@ import io.netty.channel.embedded.EmbeddedChannel;
 public class CommandHandlerBenchmark {
 
     private final static ByteArrayCodec CODEC = new ByteArrayCodec();
-    private final static ClientOptions CLIENT_OPTIONS = ClientOptions.create();
     private final static EmptyContext CHANNEL_HANDLER_CONTEXT = new EmptyContext();
     private final static byte[] KEY = "key".getBytes();
     private final static ChannelFuture EMPTY = new EmptyFuture();
 
+    @Param({ "false", "true" })
+    boolean zeroCopyDecoding;
+
+    @Param({ "16", "1024", "65536" })
+    int valueSize;
+
     private CommandHandler commandHandler;
     private Collection<?> transportBuffer;
+    private ArrayDeque<RedisCommand<?, ?, ?>> queue;
     private Command command;
+    private ByteBuf response;
 
     @Setup
     public void setup() {
 
-        commandHandler = new CommandHandler(CLIENT_OPTIONS, EmptyClientResources.INSTANCE, new ArrayDeque<>()) {
+        ClientOptions clientOptions = ClientOptions.builder().zeroCopyDecoding(zeroCopyDecoding).build();
+        queue = new ArrayDeque<>();
+
+        commandHandler = new CommandHandler(clientOptions, EmptyClientResources.INSTANCE, queue) {
             @Override
             protected void setState(LifecycleState lifecycleState) {
                 CommandHandlerBenchmark.this.transportBuffer = super.transportBuffer;
@@ -66,6 +80,17 @@ public class CommandHandlerBenchmark {
         commandHandler.setState(CommandHandler.LifecycleState.CONNECTED);
 
         commandHandler.channel = new MyLocalChannel();
+
+        byte[] value = new byte[valueSize];
+        Arrays.fill(value, (byte) 'x');
+
+        response = PooledByteBufAllocator.DEFAULT.directBuffer(valueSize + 16);
+        response.writeBytes(("$" + valueSize + "\r\n").getBytes()).writeBytes(value).writeBytes("\r\n".getBytes());
+    }
+
+    @TearDown
+    public void tearDownTrial() {
+        response.release();
     }
 
     @TearDown(Level.Iteration)
@@ -84,6 +109,23 @@ public class CommandHandlerBenchmark {
         commandHandler.write(CHANNEL_HANDLER_CONTEXT, command, null);
     }
 
+    @Benchmark
+    public void measureRead() throws Exception {
+
+        queue.add(command);
+        commandHandler.channelRead(CHANNEL_HANDLER_CONTEXT, response.duplicate().retain());
+    }
+
+    @Benchmark
+    public void measureFragmentedRead() throws Exception {
+
+        queue.add(command);
+
+        int half = response.readableBytes() / 2;
+        commandHandler.channelRead(CHANNEL_HANDLER_CONTEXT, response.slice(0, half).retain());
+        commandHandler.channelRead(CHANNEL_HANDLER_CONTEXT, response.slice(half, response.readableBytes() - half).retain());
+    }
+
     private final static class MyLocalChannel extends EmbeddedChannel {
         @Override
         public boolean isActive() {
@@ -21,7 +21,9 @@ import com.lambdaworks.redis.event.DefaultEventPublisherOptions;
 import com.lambdaworks.redis.event.EventBus;
 import com.lambdaworks.redis.event.EventPublisherOptions;
 import com.lambdaworks.redis.metrics.CommandLatencyCollector;
+import com.lambdaworks.redis.metrics.ConnectionMetricsCollector;
 import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollector;
+import com.lambdaworks.redis.metrics.DefaultConnectionMetricsCollector;
 import com.lambdaworks.redis.resource.ClientResources;
 import com.lambdaworks.redis.resource.Delay;
 import com.lambdaworks.redis.resource.DnsResolver;
@@ -40,6 +42,7 @@ public class EmptyClientResources implements ClientResources {
 
     public static final DefaultEventPublisherOptions PUBLISHER_OPTIONS = DefaultEventPublisherOptions.disabled();
     public static final CommandLatencyCollector LATENCY_COLLECTOR = DefaultCommandLatencyCollector.disabled();
+    public static final ConnectionMetricsCollector CONNECTION_METRICS_COLLECTOR = DefaultConnectionMetricsCollector.disabled();
     public static final EmptyClientResources INSTANCE = new EmptyClientResources();
 
     @Override
@@ -92,6 +95,11 @@ public class EmptyClientResources implements ClientResources {
         return LATENCY_COLLECTOR;
     }
 
+    @Override
+    public ConnectionMetricsCollector connectionMetricsCollector() {
+        return CONNECTION_METRICS_COLLECTOR;
+    }
+
     @Override
     public DnsResolver dnsResolver() {
         return null;
@@ -27,6 +27,15 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 
 /**
+ * Benchmark for {@link RedisStateMachine}. Test cases:
+ * <ul>
+ * <li>mixed reply</li>
+ * <li>wide arrays (many elements, e.g. {@code LRANGE}/{@code SSCAN} pages)</li>
+ * <li>deeply nested arrays</li>
+ * </ul>
+ *
+ * Run with {@code -prof gc} to compare allocations per reply.
+ *
  * @author Mark Paluch
  */
 @State(Scope.Benchmark)
@@ -56,7 +65,15 @@ public class RedisStateMachineBenchmark {
                 }
             }, new CommandArgs(BYTE_ARRAY_CODEC).addKey(new byte[] { 1, 2, 3, 4 }));
 
+    @Param({ "100", "10000" })
+    int arrayElements;
+
+    @Param({ "8", "128" })
+    int nestingDepth;
+
     private ByteBuf masterBuffer;
+    private ByteBuf wideArrayBuffer;
+    private ByteBuf deepArrayBuffer;
 
     private final RedisStateMachine<byte[], byte[]> stateMachine = new RedisStateMachine<>();
     private final byte[] payload = ("*3\r\n" + //
@@ -71,11 +88,30 @@ public class RedisStateMachineBenchmark {
     public void setup() {
         masterBuffer = PooledByteBufAllocator.DEFAULT.ioBuffer(32);
         masterBuffer.writeBytes(payload);
+
+        StringBuilder wideArray = new StringBuilder("*").append(arrayElements).append("\r\n");
+        for (int i = 0; i < arrayElements; i++) {
+            wideArray.append("$5\r\nvalue\r\n");
+        }
+
+        wideArrayBuffer = PooledByteBufAllocator.DEFAULT.ioBuffer(wideArray.length());
+        wideArrayBuffer.writeBytes(wideArray.toString().getBytes());
+
+        StringBuilder deepArray = new StringBuilder();
+        for (int i = 0; i < nestingDepth; i++) {
+            deepArray.append("*2\r\n:1\r\n");
+        }
+        deepArray.append(":1\r\n");
+
+        deepArrayBuffer = PooledByteBufAllocator.DEFAULT.ioBuffer(deepArray.length());
+        deepArrayBuffer.writeBytes(deepArray.toString().getBytes());
     }
 
     @TearDown
     public void tearDown() {
         masterBuffer.release();
+        wideArrayBuffer.release();
+        deepArrayBuffer.release();
     }
 
     @Benchmark
@@ -83,6 +119,16 @@ public class RedisStateMachineBenchmark {
         stateMachine.decode(masterBuffer.duplicate(), byteArrayCommand, byteArrayCommand.getOutput());
     }
 
+    @Benchmark
+    public void measureDecodeWideArray() {
+        stateMachine.decode(wideArrayBuffer.duplicate(), byteArrayCommand, byteArrayCommand.getOutput());
+    }
+
+    @Benchmark
+    public void measureDecodeDeepArray() {
+        stateMachine.decode(deepArrayBuffer.duplicate(), byteArrayCommand, byteArrayCommand.getOutput());
+    }
+
     public static void main(String[] args) {
 
         RedisStateMachineBenchmark b = new RedisStateMachineBenchmark();